@@ -0,0 +1,129 @@
+package com.jeongchongmu.common;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/*
+ * BufferedSseConnection이 제공하는 기능
+ * 1. SSE 연결 하나에 보낼 이벤트를 최대 bufferSize개까지 쌓아 두고 바로 반환 (보내는 쪽은 네트워크를 기다리지 않음)
+ * 2. 쌓인 게 있을 때만 writers(가상 스레드)에서 순서대로 전송
+ * 3. 버퍼가 가득 차면(클라이언트가 못 따라오면) 연결을 끊음
+ * 4. 쌓인 이벤트를 다 보낸 뒤 닫기 (closeAfterFlush)
+ *
+ * 실시간 알림(NotificationStreamHub), 실시간 투표 현황(VoteTallyHub)이 같이 사용합니다.
+ * 연결이 닫히면(완료/타임아웃/오류/버퍼 초과) onClose가 한 번만 호출되므로 허브는 여기서 연결 목록을 정리하면 됩니다.
+ */
+public class BufferedSseConnection {
+
+    private final SseEmitter emitter;
+    private final Executor writers;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final Runnable onOverflow;
+    private final Consumer<BufferedSseConnection> onClose;
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile boolean closing;
+
+    /**
+     * @param onOverflow 버퍼가 가득 차 연결을 끊기 직전에 호출 (로그/지표용)
+     * @param onClose    연결이 닫힐 때 한 번 호출 (허브의 연결 목록 정리용)
+     */
+    public BufferedSseConnection(SseEmitter emitter, Executor writers, int bufferSize,
+                                 Runnable onOverflow, Consumer<BufferedSseConnection> onClose) {
+        this.emitter = emitter;
+        this.writers = writers;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.onOverflow = onOverflow;
+        this.onClose = onClose;
+
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    /**
+     * 이벤트를 버퍼에 넣습니다.
+     *
+     * @return 닫혔거나 버퍼가 가득 차 넣지 못했으면 false
+     */
+    public boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed.get() || closing) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            onOverflow.run();
+            close();
+            return false;
+        }
+        scheduleWrite();
+        return true;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * 버퍼에 쌓인 이벤트를 모두 보낸 뒤 닫습니다. (마지막 안내 이벤트를 보내고 끊을 때)
+     */
+    public void closeAfterFlush() {
+        if (closed.get()) {
+            return;
+        }
+        closing = true;
+        scheduleWrite();
+    }
+
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            onClose.accept(this);
+            buffer.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // 이미 완료됨
+            }
+        }
+    }
+
+    private void scheduleWrite() {
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writers.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            writing.set(false);
+            close();
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = buffer.poll()) != null) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊었거나 이미 완료된 연결
+            close();
+            return;
+        } finally {
+            writing.set(false);
+        }
+        // 마지막 poll과 플래그 해제 사이에 들어온 이벤트
+        if (!buffer.isEmpty()) {
+            scheduleWrite();
+        } else if (closing) {
+            close();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.jeongchongmu.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화 (푸시 발송 대기열 폴링/정리, 만료 토큰 정리, 알림 파티션 관리, 투표 자동 마감)
+ *
+ * BackendApplication이 아닌 별도 설정으로 두어 @DataJpaTest 같은 슬라이스 테스트에서는 스케줄러가 돌지 않게 합니다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
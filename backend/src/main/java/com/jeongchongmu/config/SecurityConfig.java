@@ -2,6 +2,7 @@ package com.jeongchongmu.config;
 
 import com.jeongchongmu.common.JwtAuthenticationEntryPoint;
 import com.jeongchongmu.common.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,6 +44,9 @@ public class SecurityConfig {
                         .authenticationEntryPoint(jwtAuthenticationEntryPoint))
 
                 .authorizeHttpRequests(auth -> auth
+                        // 실시간 알림(SSE) 비동기 디스패치 허용 (최초 요청에서 이미 인증됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Actuator Health Check 허용
                         .requestMatchers("/actuator/**").permitAll()
 
@@ -1,10 +1,8 @@
 package com.jeongchongmu.domain.expense;
 import com.jeongchongmu.domain.expense.dto.*;
 import com.jeongchongmu.domain.group.entity.Group;
-import com.jeongchongmu.domain.group.entity.GroupMember;
-import com.jeongchongmu.domain.group.entity.Role;
-import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
 import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
 import com.jeongchongmu.domain.expense.JPA.Expense;
 import com.jeongchongmu.domain.expense.JPA.ExpenseItem;
 import com.jeongchongmu.domain.expense.JPA.ExpenseParticipant;
@@ -12,16 +10,21 @@ import com.jeongchongmu.domain.expense.JPA.Tag;
 import com.jeongchongmu.domain.expense.Repository.TagRepository;
 import com.jeongchongmu.settlement.entity.Settlement;
 import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.ShareLedgerService;
+import com.jeongchongmu.statistics.SpendingDistributionService;
 import com.jeongchongmu.user.User;
 import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
 import com.jeongchongmu.user.UserRepository;
 import com.jeongchongmu.vote.entity.Vote;
 import com.jeongchongmu.vote.repository.VoteRepository;
+import com.jeongchongmu.vote.service.VoteClosedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -45,11 +48,14 @@ public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
-    private final GroupMemberRepository groupMemberRepository;
+    private final GroupAccessService groupAccessService;
     private final GroupRepository groupRepository;
     private final TagRepository tagRepository;
     private final SettlementRepository settlementRepository;
     private final VoteRepository voteRepository;
+    private final ShareLedgerService shareLedgerService;
+    private final SpendingDistributionService spendingDistributionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** [저장]기능
      * 지출 + 지출item + 참여자를 모두 저장함
@@ -63,13 +69,13 @@ public class ExpenseService {
 
         // 2. [검증] Payer가 그룹 멤버인지 확인
         User payer = userRepository.getReferenceById(payerId);
-        if (!groupMemberRepository.existsByUserAndGroup(payer, group)) {
+        if (!groupAccessService.isMember(payerId, group.getId())) {
             throw new IllegalArgumentException("지출자가 해당 그룹의 멤버가 아닙니다.");
         }
 
         // 3. [검증] Participants가 그룹 멤버인지 확인
         for (Long participantId : dto.participantIds()) {
-            if (!groupMemberRepository.existsByUserAndGroup(userRepository.getReferenceById(participantId), group)) {
+            if (!groupAccessService.isMember(participantId, group.getId())) {
                 throw new IllegalArgumentException("참여자가 그룹의 멤버가 아닙니다.");
             }
         }
@@ -112,6 +118,12 @@ public class ExpenseService {
         // 10. 저장
         Expense savedExpense = expenseRepository.save(expense);
 
+        // 11. 사용자별 분담 원장 기록 (개인 통계용)
+        shareLedgerService.record(savedExpense, null);
+
+        // 12. 그룹 지출 분포 스케치 반영
+        spendingDistributionService.recordExpense(savedExpense);
+
         return ExpenseDetailDTO.fromEntity(savedExpense);
 
 
@@ -134,11 +146,16 @@ public class ExpenseService {
 
         // 투표가 존재하는지 확인 (Optional 반환 가정)
         voteRepository.findByExpense(expense).ifPresent(vote -> {
-            // 투표를 삭제하면 -> Cascade 설정에 의해 VoteOption, UserVote 등도 같이 삭제되어야 함
-            voteRepository.delete(vote);
+            // 투표를 삭제하면 -> DB의 ON DELETE CASCADE로 VoteOption, UserVote 등도 같이 삭제
+            voteRepository.deleteCascadeById(vote.getId());
+            eventPublisher.publishEvent(new VoteClosedEvent(vote.getId()));
         });
 
-        // 3. [삭제하기]
+        // 3. 사용자별 분담 원장 + 그룹 지출 분포 스케치 삭제
+        shareLedgerService.remove(expenseId);
+        spendingDistributionService.removeExpense(expense);
+
+        // 4. [삭제하기]
         expenseRepository.delete(expense);
     }
 
@@ -163,7 +180,9 @@ public class ExpenseService {
         //    DTO에 없는 값은 기존 Entity 값을 사용하여 비교해야 안전함
         validateConsistency(expense, dto);
 
-        // 4. 기본 정보 수정 (Dirty Checking)
+        // 4. 기본 정보 수정 (Dirty Checking) - 분포 스케치 갱신을 위해 수정 전 값 보관
+        LocalDateTime previousDate = expense.getExpenseDate();
+        long previousAmount = expense.getAmount();
         expense.updateInfo(dto.title(), dto.amount(), dto.expenseData());
 
         // 5. 아이템 리스트 수정 (Null 체크)
@@ -182,7 +201,7 @@ public class ExpenseService {
 
             // 6-1. [검증] 요청된 모든 ID가 그룹 멤버인지 확인
             for (Long id : dto.participantIds()) {
-                if (!groupMemberRepository.existsByUserAndGroup(userRepository.getReferenceById(id), group)) {
+                if (!groupAccessService.isMember(id, group.getId())) {
                     throw new IllegalArgumentException("그룹 멤버가 아닌 사용자가 포함되어 있습니다. (ID: " + id + ")");
                 }
             }
@@ -220,6 +239,12 @@ public class ExpenseService {
             newTags.forEach(expense::addTag);
         }
 
+        // 8. 사용자별 분담 원장 재계산 (금액/날짜/태그 변경 반영)
+        shareLedgerService.record(expense);
+
+        // 9. 그룹 지출 분포 스케치 갱신 (금액/날짜 변경 반영)
+        spendingDistributionService.changeExpense(expense, previousDate, previousAmount);
+
         return true;
     }
 
@@ -341,15 +366,8 @@ public class ExpenseService {
             return; // 권한 있음 (통과)
         }
 
-        // [규칙 2] Payer가 아니라면, Group의 ADMIN인지 확인
-        // (ID만으로 '껍데기' User 객체를 가져옴)
-        User currentUser = userRepository.getReferenceById(currentUserId);
-        Group group = expense.getGroup();
-
-        // (방금 추가한 메서드 사용)
-        Optional<GroupMember> membership = groupMemberRepository.findByGroupAndUser(group, currentUser);
-
-        if (membership.isPresent() && membership.get().getRole() == Role.OWNER) {
+        // [규칙 2] Payer가 아니라면, Group의 OWNER인지 확인 (멤버십 캐시)
+        if (groupAccessService.isOwner(currentUserId, expense.getGroup().getId())) {
             return; // 권한 있음 (통과)
         }
 
@@ -367,8 +385,8 @@ public class ExpenseService {
      */
     private void checkReadPermission(Group group, User currentUser) throws IllegalArgumentException {
 
-        // GroupMemberRepository를 사용해 멤버인지 확인
-        boolean isMember = groupMemberRepository.existsByUserAndGroup(currentUser, group);
+        // GroupAccessService(멤버십 캐시)로 멤버인지 확인
+        boolean isMember = groupAccessService.isMember(currentUser.getId(), group.getId());
 
         if (!isMember) {
             throw new IllegalArgumentException("이 그룹의 지출 내역을 조회할 권한이 없습니다.");
@@ -17,7 +17,14 @@ import java.util.Set;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Getter
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses",
+        indexes = {
+            // 그룹 통계의 기간 조회 (group_id = ? AND expense_date >= ? AND expense_date < ?)
+            @Index(name = "idx_expense_group_date", columnList = "group_id, expense_date"),
+            // 결제자 기준 기간 조회
+            @Index(name = "idx_expense_payer_date", columnList = "payer_id, expense_date")
+        }
+)
 public class Expense extends BaseEntity {
 
     @Id
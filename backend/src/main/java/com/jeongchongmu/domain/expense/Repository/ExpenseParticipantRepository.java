@@ -17,4 +17,10 @@ public interface ExpenseParticipantRepository extends JpaRepository<ExpenseParti
 
     // 특정 유저(User)가 참여한 모든 지출 내역 찾기
     List<ExpenseParticipant> findByUser(User user);
+
+    // 특정 지출의 참여자 수 (PK (expense_id, user_id) 앞부분으로 조회)
+    long countByIdExpenseId(Long expenseId);
+
+    // 사용자가 이 지출의 참여자인지 (PK로 조회)
+    boolean existsByIdExpenseIdAndIdUserId(Long expenseId, Long userId);
 }
\ No newline at end of file
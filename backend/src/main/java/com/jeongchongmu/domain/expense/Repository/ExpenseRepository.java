@@ -3,7 +3,9 @@ package com.jeongchongmu.domain.expense.Repository;
 import com.jeongchongmu.domain.group.entity.Group;
 import com.jeongchongmu.domain.expense.JPA.Expense;
 import com.jeongchongmu.statistics.dto.CategorySummaryDto;
+import com.jeongchongmu.statistics.dto.ExpenseAmountDto;
 import com.jeongchongmu.statistics.dto.ExpenseSummaryDto;
+import com.jeongchongmu.statistics.dto.GroupAmountDto;
 import com.jeongchongmu.statistics.dto.MonthlyExpenseStatDto;
 import com.jeongchongmu.statistics.dto.TopExpenseDto;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +13,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,16 +42,19 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
 
 
+    // [통계 쿼리 공통] 기간은 [start, end) 범위로 받습니다.
+    // YEAR()/MONTH() 함수로 거르면 인덱스를 못 타므로 expenses(group_id, expense_date) 인덱스 범위 조회가 되도록 합니다.
+
     // 1. 월간 지출 요약 (총액, 횟수, 최대금액)
     @Query("SELECT new com.jeongchongmu.statistics.dto.ExpenseSummaryDto(" +
             "SUM(e.amount), COUNT(e), MAX(e.amount)) " +
             "FROM Expense e " +
             "WHERE e.group.id = :groupId " +
-            "AND YEAR(e.expenseDate) = :year " +
-            "AND MONTH(e.expenseDate) = :month")
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end")
     ExpenseSummaryDto findMonthlyExpenseSummary(@Param("groupId") Long groupId,
-                                                @Param("year") int year,
-                                                @Param("month") int month);
+                                                @Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end);
 
 
     // 2. 카테고리(태그)별 지출 통계
@@ -56,12 +63,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             "FROM Expense e " +
             "JOIN e.tags t " +
             "WHERE e.group.id = :groupId " +
-            "AND YEAR(e.expenseDate) = :year " +
-            "AND MONTH(e.expenseDate) = :month " +
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end " +
             "GROUP BY t.name")
     List<CategorySummaryDto> findMonthlyCategoryStatistics(@Param("groupId") Long groupId,
-                                                           @Param("year") int year,
-                                                           @Param("month") int month);
+                                                           @Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end);
 
 
     // 3. 가장 금액이 큰 지출 1건 상세 정보
@@ -69,12 +76,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             "e.id, e.title, e.amount) " +
             "FROM Expense e " +
             "WHERE e.group.id = :groupId " +
-            "AND YEAR(e.expenseDate) = :year " +
-            "AND MONTH(e.expenseDate) = :month " +
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end " +
             "ORDER BY e.amount DESC")
     List<TopExpenseDto> findTopExpense(@Param("groupId") Long groupId,
-                                       @Param("year") int year,
-                                       @Param("month") int month,
+                                       @Param("start") LocalDateTime start,
+                                       @Param("end") LocalDateTime end,
                                        Pageable pageable);
 
     // 4. 연간 월별 합계
@@ -82,10 +89,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             "MONTH(e.expenseDate), SUM(e.amount)) " +
             "FROM Expense e " +
             "WHERE e.group.id = :groupId " +
-            "AND YEAR(e.expenseDate) = :year " +
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end " +
             "GROUP BY MONTH(e.expenseDate)")
     List<MonthlyExpenseStatDto> findYearlyStatistics(@Param("groupId") Long groupId,
-                                                     @Param("year") int year);
+                                                     @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
 
     //이미 등록된 영수증인지 아닌지.
     boolean existsByReceiptUrl(String receiptUrl);
@@ -108,12 +117,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             "FROM Expense e " +
             "LEFT JOIN e.participants p " +
             "WHERE e.group.id = :groupId " +
-            "AND YEAR(e.expenseDate) = :year " +
-            "AND MONTH(e.expenseDate) = :month " +
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end " +
             "AND (e.payer.id = :userId OR p.user.id = :userId)")
     Long findUserMonthlyExpenseTotal(@Param("groupId") Long groupId,
-                                      @Param("year") int year,
-                                      @Param("month") int month,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
                                       @Param("userId") Long userId);
 
     // 6. 사용자별 카테고리 통계 (정산 기반)
@@ -130,13 +139,13 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             "LEFT JOIN e.participants p " +
             "JOIN e.tags t " +
             "WHERE e.group.id = :groupId " +
-            "AND YEAR(e.expenseDate) = :year " +
-            "AND MONTH(e.expenseDate) = :month " +
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end " +
             "AND (e.payer.id = :userId OR p.user.id = :userId) " +
             "GROUP BY t.name")
     List<CategorySummaryDto> findUserMonthlyCategoryStatistics(@Param("groupId") Long groupId,
-                                                                @Param("year") int year,
-                                                                @Param("month") int month,
+                                                                @Param("start") LocalDateTime start,
+                                                                @Param("end") LocalDateTime end,
                                                                 @Param("userId") Long userId);
 
     // 7. 사용자별 연간 통계 (정산 기반)
@@ -152,80 +161,15 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             "FROM Expense e " +
             "LEFT JOIN e.participants p " +
             "WHERE e.group.id = :groupId " +
-            "AND YEAR(e.expenseDate) = :year " +
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end " +
             "AND (e.payer.id = :userId OR p.user.id = :userId) " +
             "GROUP BY MONTH(e.expenseDate)")
     List<MonthlyExpenseStatDto> findUserYearlyStatistics(@Param("groupId") Long groupId,
-                                                          @Param("year") int year,
+                                                          @Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end,
                                                           @Param("userId") Long userId);
 
-    // 8. 개인 전체 월간 지출 통계 (모든 그룹 합산) - Native Query로 최적화
-    @Query(value =
-            "SELECT COALESCE(SUM(" +
-            "  CASE " +
-            "    WHEN EXISTS (SELECT 1 FROM settlement s WHERE s.expense_id = e.id) " +
-            "    THEN COALESCE((SELECT SUM(sd.amount) FROM settlement_detail sd " +
-            "                   JOIN settlement s2 ON s2.id = sd.settlement_id " +
-            "                   WHERE s2.expense_id = e.id AND sd.debtor_id = :userId), 0) " +
-            "    WHEN e.payer_id = :userId THEN e.amount " +
-            "    ELSE 0 " +
-            "  END), 0) " +
-            "FROM expense e " +
-            "LEFT JOIN expense_participant ep ON ep.expense_id = e.id " +
-            "WHERE YEAR(e.expense_date) = :year " +
-            "AND MONTH(e.expense_date) = :month " +
-            "AND (e.payer_id = :userId OR ep.user_id = :userId)",
-            nativeQuery = true)
-    Long findUserTotalMonthlyExpense(@Param("year") int year,
-                                      @Param("month") int month,
-                                      @Param("userId") Long userId);
-
-    // 9. 개인 전체 카테고리 통계 (모든 그룹 합산) - Native Query로 최적화
-    @Query(value =
-            "SELECT t.name as tagName, " +
-            "  COALESCE(SUM(" +
-            "    CASE " +
-            "      WHEN EXISTS (SELECT 1 FROM settlement s WHERE s.expense_id = e.id) " +
-            "      THEN COALESCE((SELECT SUM(sd.amount) FROM settlement_detail sd " +
-            "                     JOIN settlement s2 ON s2.id = sd.settlement_id " +
-            "                     WHERE s2.expense_id = e.id AND sd.debtor_id = :userId), 0) " +
-            "      WHEN e.payer_id = :userId THEN e.amount " +
-            "      ELSE 0 " +
-            "    END), 0) as totalAmount " +
-            "FROM expense e " +
-            "LEFT JOIN expense_participant ep ON ep.expense_id = e.id " +
-            "JOIN expense_tag et ON et.expense_id = e.id " +
-            "JOIN tag t ON t.id = et.tag_id " +
-            "WHERE YEAR(e.expense_date) = :year " +
-            "AND MONTH(e.expense_date) = :month " +
-            "AND (e.payer_id = :userId OR ep.user_id = :userId) " +
-            "GROUP BY t.name",
-            nativeQuery = true)
-    List<CategorySummaryDto> findUserTotalMonthlyCategoryStatistics(@Param("year") int year,
-                                                                     @Param("month") int month,
-                                                                     @Param("userId") Long userId);
-
-    // 10. 개인 전체 연간 통계 (모든 그룹 합산) - Native Query로 최적화
-    @Query(value =
-            "SELECT MONTH(e.expense_date) as month, " +
-            "  COALESCE(SUM(" +
-            "    CASE " +
-            "      WHEN EXISTS (SELECT 1 FROM settlement s WHERE s.expense_id = e.id) " +
-            "      THEN COALESCE((SELECT SUM(sd.amount) FROM settlement_detail sd " +
-            "                     JOIN settlement s2 ON s2.id = sd.settlement_id " +
-            "                     WHERE s2.expense_id = e.id AND sd.debtor_id = :userId), 0) " +
-            "      WHEN e.payer_id = :userId THEN e.amount " +
-            "      ELSE 0 " +
-            "    END), 0) as amount " +
-            "FROM expense e " +
-            "LEFT JOIN expense_participant ep ON ep.expense_id = e.id " +
-            "WHERE YEAR(e.expense_date) = :year " +
-            "AND (e.payer_id = :userId OR ep.user_id = :userId) " +
-            "GROUP BY MONTH(e.expense_date)",
-            nativeQuery = true)
-    List<MonthlyExpenseStatDto> findUserTotalYearlyStatistics(@Param("year") int year,
-                                                               @Param("userId") Long userId);
-
     // 11. 대시보드용: 사용자의 최근 지출 목록 (정산 정보 포함)
     @Query("SELECT DISTINCT e FROM Expense e " +
             "LEFT JOIN FETCH e.payer " +
@@ -235,4 +179,22 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             "WHERE (e.payer.id = :userId OR p.user.id = :userId) " +
             "ORDER BY e.expenseDate DESC")
     List<Expense> findRecentExpensesByUser(@Param("userId") Long userId, Pageable pageable);
+
+    // 12. 분포 스케치 재구축용: 그룹 지출의 날짜/금액만 조회 (엔티티 로딩 없이)
+    @Query("SELECT new com.jeongchongmu.statistics.dto.ExpenseAmountDto(e.expenseDate, e.amount) " +
+            "FROM Expense e " +
+            "WHERE e.group.id = :groupId")
+    List<ExpenseAmountDto> findAmountsByGroupId(@Param("groupId") Long groupId);
+
+    // 13. 대시보드용: 여러 그룹의 월간 지출 합계/건수를 한 번에 (GROUP BY group_id)
+    @Query("SELECT new com.jeongchongmu.statistics.dto.GroupAmountDto(" +
+            "e.group.id, SUM(e.amount), COUNT(e)) " +
+            "FROM Expense e " +
+            "WHERE e.group.id IN :groupIds " +
+            "AND e.expenseDate >= :start " +
+            "AND e.expenseDate < :end " +
+            "GROUP BY e.group.id")
+    List<GroupAmountDto> sumAmountsByGroupIds(@Param("groupIds") Collection<Long> groupIds,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
 }
@@ -13,4 +13,15 @@ public record GroupDto(
         int memberCount,        // 현재 그룹 멤버 수
         LocalDateTime createdAt // 그룹 생성일
         // 그룹 멤버의 정보는 N+1 문제를 야기할 수 있어, GroupMemberDTO를 따로 분리하였으니 이점 참고 바랍니다.
-) {}
+) {
+    // 이거 링크 아직 안됩니다. 처리하는 컨트롤러는 따로 만들고 있어요.
+    public static final String INVITE_BASE_URL = "https://jeongchongmu-production.up.railway.app/invite/";
+
+    // GroupRepository 프로젝션 쿼리용 (JPQL 생성자 표현식, COUNT 결과는 long)
+    public GroupDto(Long id, String name, String description, String icon, String inviteCode,
+                    Long creatorId, String creatorName, long memberCount, LocalDateTime createdAt) {
+        this(id, name, description, icon, inviteCode, INVITE_BASE_URL + inviteCode,
+                new UserSummaryDto(creatorId, creatorName), (int) memberCount, createdAt);
+    }
+}
+
@@ -3,8 +3,11 @@ package com.jeongchongmu.domain.group.repository;
 import com.jeongchongmu.domain.group.entity.Group;
 import com.jeongchongmu.domain.group.entity.GroupMember;
 import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.statistics.dto.GroupBriefDto;
 import com.jeongchongmu.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +27,10 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
     // 특정 그룹의 멤버 조회
     Optional<GroupMember> findByGroupAndUser(Group group, User user);
 
+    // [권한 확인] 유저의 그룹 내 역할만 조회 (GroupAccessService 캐시 미스 때)
+    @Query("SELECT gm.role FROM GroupMember gm WHERE gm.user.id = :userId AND gm.group.id = :groupId")
+    Optional<Role> findRoleByUserIdAndGroupId(@Param("userId") Long userId, @Param("groupId") Long groupId);
+
     // 특정 그룹의 OWNER 조회
     // -> Role에 Member가 들어갈 경우 Optional에 의해 조회 결과가 단일 값만 나와야 하는데 복수의 값이 나올 수 있음. 그렇게 되면 에러 발생하니 사용 시 유의 필요
     Optional<GroupMember> findByGroupAndRole(Group group, Role role);
@@ -36,4 +43,12 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
 
     // 특정 그룹에서 특정 유저를 삭제
     void deleteByGroupAndUser(Group group, User user);
+
+    // 대시보드용: 유저가 속한 그룹의 기본 정보만 조회 (그룹 ID 순)
+    @Query("SELECT new com.jeongchongmu.statistics.dto.GroupBriefDto(g.id, g.name, g.icon) " +
+            "FROM GroupMember gm " +
+            "JOIN gm.group g " +
+            "WHERE gm.user.id = :userId " +
+            "ORDER BY g.id")
+    List<GroupBriefDto> findGroupBriefsByUserId(@Param("userId") Long userId);
 }
@@ -1,5 +1,6 @@
 package com.jeongchongmu.domain.group.repository;
 
+import com.jeongchongmu.domain.group.dto.GroupDto;
 import com.jeongchongmu.domain.group.entity.Group;
 import com.jeongchongmu.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -26,9 +27,38 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
             "WHERE g.creator = :user OR m.user = :user")
     List<Group> findAllGroupsByUser(@Param("user") User user);
 
+    // [그룹 목록] 내가 만들었거나 속한 그룹을 생성자 요약, 멤버 수와 함께 쿼리 1번으로 조회 (최근 생성 순)
+    // 멤버 수는 그룹별 상관 서브쿼리(idx_group_id), 내 그룹 찾기는 idx_user_id / idx_creator_id를 탑니다.
+    @Query("SELECT new com.jeongchongmu.domain.group.dto.GroupDto(" +
+            "g.id, g.name, g.description, g.icon, g.inviteCode, c.id, c.name, " +
+            "(SELECT COUNT(cnt) FROM GroupMember cnt WHERE cnt.group = g), g.createdAt) " +
+            "FROM Group g JOIN g.creator c " +
+            "WHERE g.id IN (" +
+            "SELECT m.group.id FROM GroupMember m WHERE m.user.id = :userId " +
+            "UNION " +
+            "SELECT mine.id FROM Group mine WHERE mine.creator.id = :userId) " +
+            "ORDER BY g.createdAt DESC, g.id DESC")
+    List<GroupDto> findGroupDtosByUserId(@Param("userId") Long userId);
+
+    // [그룹 단건] 생성자 요약, 멤버 수까지 쿼리 1번으로 조회
+    @Query("SELECT new com.jeongchongmu.domain.group.dto.GroupDto(" +
+            "g.id, g.name, g.description, g.icon, g.inviteCode, c.id, c.name, " +
+            "(SELECT COUNT(cnt) FROM GroupMember cnt WHERE cnt.group = g), g.createdAt) " +
+            "FROM Group g JOIN g.creator c " +
+            "WHERE g.id = :groupId")
+    Optional<GroupDto> findGroupDtoById(@Param("groupId") Long groupId);
+
     // 초대 코드로 그룹 조회
     Optional<Group> findByInviteCode(String inviteCode);
 
     // 초대 코드 중복 체크
     boolean existsByInviteCode(String inviteCode);
+
+    // [초대 코드] 발급 번호 묶음(InviteCodeAllocator.BLOCK_SIZE개)의 시작 번호 예약
+    @Query(value = "SELECT nextval('group_invite_code_seq')", nativeQuery = true)
+    long reserveInviteCodeBlock();
+
+    // [초대 코드] 발급기가 처음 발급할 때 한 번, 기존 코드 전체
+    @Query("SELECT g.inviteCode FROM Group g")
+    List<String> findAllInviteCodes();
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.jeongchongmu.domain.group.service;
+
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * GroupAccessService가 제공하는 기능
+ * 1. (userId, groupId)의 그룹 멤버 여부 / 역할 조회 - 메모리에 있으면 DB를 읽지 않음 (멤버가 아닌 결과도 기억)
+ * 2. 멤버 구성이 바뀐 뒤 메모리 값 버리기 (참여, 퇴출, 탈퇴, 그룹 삭제 - 커밋된 뒤에 반영)
+ * 3. 캐시 적중/미스 지표 (group.access.cache{result=hit|miss})
+ *
+ * 원본은 group_members 테이블이고, 다른 인스턴스에서 바뀐 멤버 구성은 TTL이 지나 다시 읽을 때 반영됩니다.
+ * DB를 읽는 도중 같은 키가 evict되면 읽은 값은 저장하지 않으므로, 커밋 전에 읽은 값이 evict 뒤에 남지 않습니다.
+ * 읽기 권한 검사와 AI 도구의 멤버 확인처럼 자주 불리는 검사는 모두 여기를 거칩니다.
+ * 멤버 행을 직접 지워야 하는 퇴출/탈퇴는 기존처럼 GroupMemberRepository로 엔티티를 읽습니다.
+ */
+@Service
+public class GroupAccessService {
+
+    static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+    static final int MAX_CACHED_MEMBERSHIPS = 100_000;
+
+    private final GroupMemberRepository groupMemberRepository;
+    private final Map<MembershipKey, Entry> cache = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public GroupAccessService(GroupMemberRepository groupMemberRepository, MeterRegistry meterRegistry) {
+        this.groupMemberRepository = groupMemberRepository;
+        this.hits = Counter.builder("group.access.cache")
+                .description("그룹 멤버십 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("group.access.cache")
+                .description("그룹 멤버십 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("group.access.cache.size", cache, Map::size)
+                .description("메모리에 있는 (사용자, 그룹) 멤버십 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 그룹 내 역할을 조회합니다.
+     *
+     * @return 멤버가 아니면 Optional.empty()
+     */
+    public Optional<Role> findRole(Long userId, Long groupId) {
+        MembershipKey key = new MembershipKey(userId, groupId);
+        long now = System.nanoTime();
+        if (cache.get(key) instanceof Loaded loaded && now - loaded.loadedAt() < TTL_NANOS) {
+            hits.increment();
+            return Optional.ofNullable(loaded.role());
+        }
+
+        misses.increment();
+        if (cache.size() >= MAX_CACHED_MEMBERSHIPS) {
+            cache.clear();
+        }
+        // DB를 읽기 전에 표시를 남겨 두고, 읽는 사이 evict가 표시를 지웠으면 읽은 값을 저장하지 않음
+        // (참여 커밋 전에 읽은 "멤버 아님"이 커밋 후 evict 뒤에 저장되어 TTL 동안 남는 것을 막음)
+        Loading loading = new Loading();
+        cache.put(key, loading);
+        Role role;
+        try {
+            role = groupMemberRepository.findRoleByUserIdAndGroupId(userId, groupId).orElse(null);
+        } catch (RuntimeException e) {
+            cache.remove(key, loading);
+            throw e;
+        }
+        cache.replace(key, loading, new Loaded(role, now));
+        return Optional.ofNullable(role);
+    }
+
+    public boolean isMember(Long userId, Long groupId) {
+        return findRole(userId, groupId).isPresent();
+    }
+
+    public boolean isOwner(Long userId, Long groupId) {
+        return findRole(userId, groupId).filter(role -> role == Role.OWNER).isPresent();
+    }
+
+    // 멤버 추가/삭제와 같은 트랜잭션에서 호출 - 커밋 후 다음 조회 때 DB에서 다시 읽음
+    public void evict(Long userId, Long groupId) {
+        afterCommit(() -> cache.remove(new MembershipKey(userId, groupId)));
+    }
+
+    // 그룹 삭제와 같은 트랜잭션에서 호출 - 그 그룹의 멤버십을 모두 버림
+    public void evictGroup(Long groupId) {
+        afterCommit(() -> cache.keySet().removeIf(key -> key.groupId().equals(groupId)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record MembershipKey(Long userId, Long groupId) {
+    }
+
+    private sealed interface Entry permits Loaded, Loading {
+    }
+
+    // role == null: 멤버가 아님
+    private record Loaded(Role role, long loadedAt) implements Entry {
+    }
+
+    // DB에서 읽는 중 표시 (같은 키를 동시에 읽어도 서로 다른 표시가 되도록 객체 동일성으로 비교)
+    private static final class Loading implements Entry {
+    }
+}
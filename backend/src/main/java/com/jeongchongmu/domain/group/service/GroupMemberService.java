@@ -31,6 +31,7 @@ public class GroupMemberService {
     private final GroupMemberRepository groupMemberRepository;
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final GroupAccessService groupAccessService;
 
     // 초대 코드로 그룹에 참여
     @Transactional
@@ -52,6 +53,7 @@ public class GroupMemberService {
                 .build();
 
         GroupMember savedMember = groupMemberRepository.save(newMember);
+        groupAccessService.evict(userId, group.getId());
 
         return toGroupMemberDto(savedMember);
     }
@@ -99,6 +101,7 @@ public class GroupMemberService {
                 .orElseThrow(() -> new EntityNotFoundException("해당 사용자는 그룹 멤버가 아닙니다."));
 
         groupMemberRepository.delete(targetMember);
+        groupAccessService.evict(targetUserId, groupId);
     }
 
     // 멤버 스스로 자진 탈퇴
@@ -119,17 +122,15 @@ public class GroupMemberService {
         }
 
         groupMemberRepository.delete(member);
+        groupAccessService.evict(userId, groupId);
     }
 
-    // OWNER만 수행 가능한 기능을 사용하기 앞서 권한 검증
+    // OWNER만 수행 가능한 기능을 사용하기 앞서 권한 검증 (멤버십 캐시)
     private void validateOwnerPermission(Group group, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
-
-        GroupMember member = groupMemberRepository.findByGroupAndUser(group, user)
+        Role role = groupAccessService.findRole(userId, group.getId())
                 .orElseThrow(() -> new EntityNotFoundException("그룹 멤버가 아닙니다."));
 
-        if(member.getRole() != Role.OWNER) {
+        if(role != Role.OWNER) {
             throw new AccessDeniedException("그룹 OWNER만 수행할 수 있는 기능입니다.");
         }
     }
@@ -2,7 +2,6 @@ package com.jeongchongmu.domain.group.service;
 
 import com.jeongchongmu.domain.group.dto.GroupRequest;
 import com.jeongchongmu.domain.group.dto.GroupDto;
-import com.jeongchongmu.domain.group.dto.UserSummaryDto;
 import com.jeongchongmu.domain.group.entity.Group;
 import com.jeongchongmu.domain.group.entity.GroupMember;
 import com.jeongchongmu.domain.group.entity.Role;
@@ -17,13 +16,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
 
 /*
  * GroupService가 제공하는 기능
  * 1. 그룹 CRUD
- * 2. 초대 코드 생성 및 재생성
+ * 2. 초대 코드 생성 및 재생성 (InviteCodeAllocator - 중복 조회 없음)
  * 3. 그룹 목록 조회
  */
 @Service
@@ -33,9 +30,8 @@ public class GroupService {
     private final GroupRepository groupRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final UserRepository userRepository;
-
-    // 이거 링크 아직 안됩니다. 처리하는 컨트롤러는 따로 만들고 있어요.
-    private static final String INVITE_BASE_URL = "https://jeongchongmu-production.up.railway.app/invite/";
+    private final GroupAccessService groupAccessService;
+    private final InviteCodeAllocator inviteCodeAllocator;
 
     // 그룹 생성
     @Transactional
@@ -43,7 +39,7 @@ public class GroupService {
         User creator = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
 
-        String inviteCode = generateUniqueInviteCode();
+        String inviteCode = inviteCodeAllocator.allocate();
 
         // 그룹 생성 요청을 바탕으로 기본 그룹 정보 추가
         Group group = Group.builder()
@@ -64,27 +60,25 @@ public class GroupService {
                 .build();
 
         groupMemberRepository.save(ownerMember);
+        groupAccessService.evict(userId, savedGroup.getId());
 
-        return toGroupDto(savedGroup);
+        return toGroupDto(savedGroup.getId());
     }
 
     // 그룹 Id를 통한 단일 그룹 조회
     public GroupDto getGroup(Long groupId) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new EntityNotFoundException("그룹을 찾을 수 없습니다."));
-        return toGroupDto(group);
+        return toGroupDto(groupId);
     }
 
-    // 유저 Id를 통한 그룹 조회(내가 속한 그룹 목록 조회)
+    // 유저 Id를 통한 그룹 조회(내가 속한 그룹 목록 조회) - 그룹 수와 상관없이 쿼리 1번
     public List<GroupDto> getMyGroups(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+        List<GroupDto> groups = groupRepository.findGroupDtosByUserId(userId);
 
-        List<Group> groups = groupRepository.findAllGroupsByUser(user);
-
-        return groups.stream()
-                .map(this::toGroupDto)
-                .toList();
+        // 목록이 비었을 때만 없는 사용자인지 확인
+        if (groups.isEmpty() && !userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("사용자를 찾을 수 없습니다.");
+        }
+        return groups;
     }
 
     // 그룹 수정(OWNER만 가능)
@@ -99,7 +93,7 @@ public class GroupService {
             group.updateIcon(request.icon());
         }
 
-        return toGroupDto(group);
+        return toGroupDto(groupId);
     }
 
     // 그룹 삭제(OWNER만 가능)
@@ -110,6 +104,7 @@ public class GroupService {
         validateOwnerPermission(group, requesterId);
 
         groupRepository.delete(group);
+        groupAccessService.evictGroup(groupId);
     }
 
     // 초대 코드 재생성(OWNER만 가능)
@@ -119,58 +114,26 @@ public class GroupService {
                 .orElseThrow(() -> new EntityNotFoundException("그룹을 찾을 수 없습니다."));
         validateOwnerPermission(group, requesterId);
 
-        String newInviteCode = generateUniqueInviteCode();
+        String newInviteCode = inviteCodeAllocator.allocate();
         group.regenerateInviteCode(newInviteCode);
 
-        return toGroupDto(group);
+        return toGroupDto(groupId);
     }
 
-    // OWNER만 수행 가능한 기능을 사용하기 앞서 권한 검증
+    // OWNER만 수행 가능한 기능을 사용하기 앞서 권한 검증 (멤버십 캐시)
     private void validateOwnerPermission(Group group, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
-
-        GroupMember member = groupMemberRepository.findByGroupAndUser(group, user)
+        Role role = groupAccessService.findRole(userId, group.getId())
                 .orElseThrow(() -> new EntityNotFoundException("그룹 멤버가 아닙니다."));
 
-        if(member.getRole() != Role.OWNER) {
+        if(role != Role.OWNER) {
             throw new AccessDeniedException("그룹 OWNER만 수행할 수 있는 기능입니다.");
         }
     }
 
-    // 초대 코드 중복 조회
-    private String generateUniqueInviteCode() {
-        String inviteCode;
-        do {
-            inviteCode = generateRandomCode(8);
-        } while(groupRepository.existsByInviteCode(inviteCode));
-        return inviteCode;
-    }
-
-    // 랜덤 초대 코드 생성
-    private String generateRandomCode(int length) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        Random random = new Random();
-        return random.ints(length, 0, chars.length())
-                .mapToObj(chars::charAt)
-                .map(Object::toString)
-                .collect(Collectors.joining());
-    }
-
-    // Group Entity를 GroupDto로 변환
-    private GroupDto toGroupDto(Group group) {
-        int memberCount = groupMemberRepository.countByGroup(group);
-
-        return new GroupDto(
-                group.getId(),
-                group.getName(),
-                group.getDescription(),
-                group.getIcon(),
-                group.getInviteCode(),
-                INVITE_BASE_URL + group.getInviteCode(),
-                new UserSummaryDto(group.getCreator().getId(), group.getCreator().getName()),
-                memberCount,
-                group.getCreatedAt()
-        );
+    // 생성자 요약, 멤버 수까지 프로젝션 쿼리 1번으로 GroupDto 조회
+    // (JPQL 실행 전 자동 flush로 같은 트랜잭션에서 바꾼 내용도 반영됨)
+    private GroupDto toGroupDto(Long groupId) {
+        return groupRepository.findGroupDtoById(groupId)
+                .orElseThrow(() -> new EntityNotFoundException("그룹을 찾을 수 없습니다."));
     }
 }
@@ -0,0 +1,172 @@
+package com.jeongchongmu.domain.group.service;
+
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * InviteCodeAllocator가 제공하는 기능
+ * 1. 겹치지 않는 8자리 초대 코드 발급 (DB에 중복 여부를 묻지 않음)
+ * 2. group_invite_code_seq에서 번호를 BLOCK_SIZE개씩 묶어 예약 (코드 50개당 nextval 1번)
+ *
+ * 번호 n(0 ~ 36^8-1)을 키 있는 Feistel 순열(42비트, 범위를 벗어나면 한 번 더 돌리는 cycle walking)로
+ * 같은 범위의 다른 수에 1:1로 대응시킨 뒤 36진수 8자리로 씁니다.
+ * 시퀀스 번호는 인스턴스가 여러 개여도 겹치지 않으므로 코드도 겹치지 않고, 키를 모르면 다음 코드를 추측할 수 없습니다.
+ *
+ * 발급기 도입 전 랜덤으로 만든 코드와 겹치는 경우만 따로 피합니다.
+ * 처음 발급할 때 기존 코드를 한 번 읽어, 앞으로 나올 번호와 대응되는 것만 메모리에 남깁니다.
+ */
+@Slf4j
+@Component
+public class InviteCodeAllocator {
+
+    static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    static final int CODE_LENGTH = 8;
+    static final long CODE_SPACE = 2_821_109_907_456L; // 36^8
+    static final int BLOCK_SIZE = 50; // V14 시퀀스의 INCREMENT BY와 같아야 함
+
+    private static final int HALF_BITS = 21; // 2^42 >= 36^8
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 8;
+
+    private final GroupRepository groupRepository;
+    private final Mac roundFunction;
+
+    // 예약한 번호 묶음 [next, blockEnd)
+    private long next;
+    private long blockEnd;
+    private Set<String> legacyCodes;
+
+    public InviteCodeAllocator(GroupRepository groupRepository,
+                               @Value("${group.invite-code.key}") String key) {
+        this.groupRepository = groupRepository;
+        try {
+            this.roundFunction = Mac.getInstance("HmacSHA256");
+            this.roundFunction.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("초대 코드 발급기를 초기화할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 새 초대 코드를 발급합니다. (그룹 생성/초대 코드 재생성과 같은 트랜잭션에서 호출)
+     *
+     * @return 지금까지 발급된 코드와도, 기존 그룹의 코드와도 겹치지 않는 8자리 코드
+     */
+    public synchronized String allocate() {
+        while (true) {
+            if (next >= blockEnd) {
+                reserveBlock();
+            }
+            String code = encode(permute(next++));
+            if (!legacyCodes.contains(code)) {
+                return code;
+            }
+        }
+    }
+
+    private void reserveBlock() {
+        long start = groupRepository.reserveInviteCodeBlock();
+        if (legacyCodes == null) {
+            legacyCodes = loadLegacyCodes(start);
+        }
+        next = start;
+        blockEnd = start + BLOCK_SIZE;
+    }
+
+    // 이미 지나간 번호(< start)와 대응되는 코드는 다시 나올 일이 없으므로 버림
+    private Set<String> loadLegacyCodes(long start) {
+        Set<String> codes = new HashSet<>();
+        for (String code : groupRepository.findAllInviteCodes()) {
+            long value = decode(code);
+            if (value >= 0 && inverse(value) >= start) {
+                codes.add(code);
+            }
+        }
+        log.info("🎟️ 초대 코드 발급기 시작 - 시작 번호 {}, 피해야 할 기존 코드 {}개", start, codes.size());
+        return codes;
+    }
+
+    // [0, CODE_SPACE) 위의 순열 (2^42 위의 Feistel 순열을 범위 안에 들어올 때까지 반복)
+    synchronized long permute(long value) {
+        long x = value;
+        do {
+            x = feistel(x);
+        } while (x >= CODE_SPACE);
+        return x;
+    }
+
+    synchronized long inverse(long value) {
+        long x = value;
+        do {
+            x = feistelInverse(x);
+        } while (x >= CODE_SPACE);
+        return x;
+    }
+
+    private long feistel(long x) {
+        long left = x >>> HALF_BITS;
+        long right = x & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            long mixed = left ^ round(round, right);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long feistelInverse(long x) {
+        long left = x >>> HALF_BITS;
+        long right = x & HALF_MASK;
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            long previous = right ^ round(round, left);
+            right = left;
+            left = previous;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    // HMAC-SHA256(key, round || half)의 앞 21비트
+    private long round(int round, long half) {
+        roundFunction.update((byte) round);
+        roundFunction.update((byte) (half >>> 16));
+        roundFunction.update((byte) (half >>> 8));
+        roundFunction.update((byte) half);
+        byte[] digest = roundFunction.doFinal();
+        return (((digest[0] & 0xFFL) << 16) | ((digest[1] & 0xFFL) << 8) | (digest[2] & 0xFFL)) & HALF_MASK;
+    }
+
+    static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        long rest = value;
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (rest % ALPHABET.length()));
+            rest /= ALPHABET.length();
+        }
+        return new String(code);
+    }
+
+    // 발급기 형식(대문자/숫자 8자리)이 아니면 -1 (발급기 코드와 겹칠 수 없음)
+    static long decode(String code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            int digit = ALPHABET.indexOf(code.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * ALPHABET.length() + digit;
+        }
+        return value;
+    }
+}
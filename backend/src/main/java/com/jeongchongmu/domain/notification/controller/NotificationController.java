@@ -1,13 +1,17 @@
 package com.jeongchongmu.domain.notification.controller;
 
 
-import com.jeongchongmu.domain.notification.dto.NotificationDto;
+import com.jeongchongmu.domain.notification.dto.NotificationBulkResultDto;
+import com.jeongchongmu.domain.notification.dto.NotificationPageDto;
+import com.jeongchongmu.domain.notification.dto.UnreadNotificationCountDto;
+import com.jeongchongmu.domain.notification.entity.NotificationType;
 import com.jeongchongmu.domain.notification.service.NotificationService;
+import com.jeongchongmu.domain.notification.service.NotificationStreamHub;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
@@ -15,17 +19,36 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamHub notificationStreamHub;
 
-    // 알림 목록 조회
-    @GetMapping
-    public ResponseEntity<List<NotificationDto>> getNotifications(
+    // 실시간 알림 구독 (SSE) - 연결되어 있는 동안 새 알림은 FCM 대신 이 연결로 전달됨
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
             @RequestAttribute("userId") Long userId
     ) {
-        List<NotificationDto> response = notificationService.getMyNotifications(userId);
+        return notificationStreamHub.connect(userId);
+    }
+
+    // 알림 목록 조회 (커서 페이지네이션, 최신순)
+    @GetMapping
+    public ResponseEntity<NotificationPageDto> getNotifications(
+            @RequestAttribute("userId") Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        NotificationPageDto response = notificationService.getMyNotifications(userId, cursor, size);
 
         return ResponseEntity.ok(response);
     }
 
+    // 안 읽은 알림 수 조회 (배지)
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadNotificationCountDto> getUnreadCount(
+            @RequestAttribute("userId") Long userId
+    ) {
+        return ResponseEntity.ok(new UnreadNotificationCountDto(notificationService.getUnreadCount(userId)));
+    }
+
     // 알림 읽음 처리
     @PatchMapping("/{notificationId}/read")
     public ResponseEntity<Void> readNotification(
@@ -35,4 +58,26 @@ public class NotificationController {
         notificationService.updateIsRead(notificationId, userId);
         return ResponseEntity.ok().build();
     }
+
+    // 알림 일괄 읽음 처리 (type: 이 타입만, cursor: 이 커서보다 오래된 알림만 / 생략하면 전체)
+    @PatchMapping("/read")
+    public ResponseEntity<NotificationBulkResultDto> readAllNotifications(
+            @RequestAttribute("userId") Long userId,
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(required = false) String cursor
+    ) {
+        long updated = notificationService.markAllAsRead(userId, type, cursor);
+        return ResponseEntity.ok(new NotificationBulkResultDto(updated));
+    }
+
+    // 알림 일괄 삭제 (조건은 일괄 읽음 처리와 같음)
+    @DeleteMapping
+    public ResponseEntity<NotificationBulkResultDto> deleteNotifications(
+            @RequestAttribute("userId") Long userId,
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(required = false) String cursor
+    ) {
+        long deleted = notificationService.deleteAll(userId, type, cursor);
+        return ResponseEntity.ok(new NotificationBulkResultDto(deleted));
+    }
 }
@@ -0,0 +1,6 @@
+package com.jeongchongmu.domain.notification.dto;
+
+public record NotificationBulkResultDto(
+        long affectedCount // 읽음 처리/삭제된 알림 수
+) {
+}
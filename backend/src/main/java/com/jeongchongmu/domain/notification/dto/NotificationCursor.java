@@ -0,0 +1,39 @@
+package com.jeongchongmu.domain.notification.dto;
+
+import com.jeongchongmu.domain.notification.entity.Notification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 알림함 커서 (마지막으로 받은 알림의 생성 시각 + id)
+ * 클라이언트에는 Base64 문자열로 내려가며, 다음 페이지 요청 때 그대로 돌려받습니다.
+ */
+public record NotificationCursor(LocalDateTime createdAt, Long id) {
+
+    // 커서가 없을 때 = 가장 최신 알림보다 앞 (모든 알림이 이 커서 "이후")
+    public static final NotificationCursor LATEST = new NotificationCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    public static NotificationCursor of(Notification notification) {
+        return new NotificationCursor(notification.getCreatedAt(), notification.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NotificationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new NotificationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.jeongchongmu.domain.notification.dto;
+
+import java.util.List;
+
+public record NotificationPageDto(
+        List<NotificationDto> notifications, // 최신순 알림 목록
+        String nextCursor,                   // 다음 페이지 요청 시 넘길 커서 (마지막 페이지면 null)
+        boolean hasNext                      // 다음 페이지 존재 여부
+) {
+}
@@ -0,0 +1,6 @@
+package com.jeongchongmu.domain.notification.dto;
+
+public record UnreadNotificationCountDto(
+        long unreadCount // 안 읽은 알림 수 (배지)
+) {
+}
@@ -73,7 +73,16 @@ public enum NotificationType {
      * - 대상: 그룹에 초대된 사용자
      * - 내용: "{그룹명}에 초대되었습니다."
      */
-    GROUP_INVITE("👋 그룹 초대 완료");
+    GROUP_INVITE("👋 그룹 초대 완료"),
+
+    /**
+     * 묶음 알림 (푸시 전용)
+     * - 조건: 짧은 시간에 한 사용자에게 여러 알림이 몰렸을 때 (NotificationCoalescer)
+     * - 대상: 해당 사용자
+     * - 내용: "📣 정산 요청 외 N건의 알림이 도착했습니다."
+     * - 이동: 알림함 (개별 알림은 알림함에 각각 저장됨)
+     */
+    NOTIFICATION_DIGEST("🔔 새 알림");
 
     private final String title;
 }
@@ -0,0 +1,115 @@
+package com.jeongchongmu.domain.notification.entity;
+
+import com.jeongchongmu.common.BaseEntity;
+import com.jeongchongmu.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 푸시 발송 대기열 (Transactional Outbox)
+ *
+ * 알림 저장과 같은 트랜잭션에서 한 줄을 쓰고, 실제 FCM 전송은 커밋 후 PushOutboxDispatcher가 처리합니다.
+ * 비즈니스 트랜잭션이 FCM 응답을 기다리며 DB 커넥션을 잡고 있지 않도록 하기 위함입니다.
+ *
+ * 상태 흐름: PENDING -> SENDING(임대) -> SENT
+ *                              └-> PENDING(재시도 예약) / FAILED(재시도 불가 또는 횟수 초과)
+ * SENDING 상태에서 서버가 죽으면 임대 시각(nextAttemptAt)이 지난 뒤 다시 가져가므로 최소 1회 전송이 보장됩니다.
+ */
+@Entity
+@Table(name = "push_outbox",
+        indexes = {
+            // 발송 대상 조회 (status IN (...) AND next_attempt_at <= now)
+            @Index(name = "idx_push_outbox_status_next", columnList = "status, next_attempt_at")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PushOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 토큰은 발송 시점에 다시 읽습니다. (대기 중 토큰이 바뀔 수 있음)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipient_id", nullable = false)
+    private User recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    private Long relatedId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PushOutboxStatus status;
+
+    // 지금까지 전송을 시도한 횟수
+    @Column(nullable = false)
+    private int attempts;
+
+    // PENDING: 다음 시도 가능 시각, SENDING: 임대 만료 시각
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    @Builder
+    public PushOutbox(User recipient, NotificationType type, String content, Long relatedId) {
+        this.recipient = recipient;
+        this.type = type;
+        this.content = content;
+        this.relatedId = relatedId;
+        this.status = PushOutboxStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // 발송 워커가 가져감 (임대 만료 전까지 다른 워커는 가져가지 않음)
+    public void claim(LocalDateTime leaseUntil) {
+        this.status = PushOutboxStatus.SENDING;
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = PushOutboxStatus.SENT;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    public void scheduleRetry(LocalDateTime nextAttemptAt, String error) {
+        this.status = PushOutboxStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    // 전송하지 않고 돌려놓음 (회로 차단 중 또는 시험 전송 대기) - 시도 횟수에 넣지 않음
+    public void defer(LocalDateTime nextAttemptAt, String reason) {
+        this.status = PushOutboxStatus.PENDING;
+        this.attempts = Math.max(this.attempts - 1, 0);
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(reason);
+    }
+
+    public void markFailed(String error) {
+        this.status = PushOutboxStatus.FAILED;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= 1000) {
+            return error;
+        }
+        return error.substring(0, 1000);
+    }
+}
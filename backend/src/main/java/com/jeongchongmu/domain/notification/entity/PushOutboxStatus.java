@@ -0,0 +1,15 @@
+package com.jeongchongmu.domain.notification.entity;
+
+/**
+ * 푸시 발송 대기열 상태
+ */
+public enum PushOutboxStatus {
+    // 발송 대기 (재시도 예약 포함)
+    PENDING,
+    // 워커가 가져가서 전송 중 (임대)
+    SENDING,
+    // 전송 완료
+    SENT,
+    // 재시도 불가 또는 최대 시도 횟수 초과
+    FAILED
+}
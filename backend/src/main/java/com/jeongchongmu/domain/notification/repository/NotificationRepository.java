@@ -1,14 +1,79 @@
 package com.jeongchongmu.domain.notification.repository;
 
 import com.jeongchongmu.domain.notification.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    // 특정 사용자의 알림 목록 전체를 최신순으로 조회
-    List<Notification> findAllByRecipientIdOrderByCreatedAtDesc(Long recipientId);
+    // 1. 알림함 첫 페이지 (최신순, 같은 시각이면 id 역순)
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.recipient.id = :recipientId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPage(@Param("recipientId") Long recipientId, Pageable pageable);
 
-    // 특정 사용자의 안 읽은 알림 개수 조회
+    // 2. 커서 다음 페이지 - (created_at, id) 행 비교라 오래된 페이지도 인덱스에서 바로 시작 위치를 찾음
+    // (created_at <= 조건은 중복이지만, 커서보다 최신인 월 파티션을 건너뛰게 해줌)
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.recipient.id = :recipientId " +
+            "AND n.createdAt <= :createdAt " +
+            "AND (n.createdAt, n.id) < (:createdAt, :id) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageAfter(@Param("recipientId") Long recipientId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    // 3. 특정 사용자의 안 읽은 알림 개수 조회 (users.unread_notification_count 보정용)
     long countByRecipientIdAndIsReadFalse(Long recipientId);
+
+    // 4. 일괄 읽음 처리 + 안 읽은 알림 수 차감을 SQL 1번으로 (데이터 변경 CTE)
+    // - 커서 이후(더 오래된) 알림 중 지정한 타입만 대상, 수신자 조건으로 다른 사람의 알림은 건드리지 않음
+    // - 반환값: 읽음 처리된 알림 수
+    @Query(value = "WITH updated AS (" +
+            "    UPDATE notifications SET is_read = true, updated_at = :now " +
+            "    WHERE recipient_id = :recipientId " +
+            "    AND is_read = false " +
+            "    AND type IN (:types) " +
+            "    AND created_at <= :createdAt " +
+            "    AND (created_at, id) < (:createdAt, :id) " +
+            "    RETURNING id" +
+            "), adjusted AS (" +
+            "    UPDATE users SET unread_notification_count = " +
+            "        GREATEST(unread_notification_count - (SELECT COUNT(*) FROM updated), 0) " +
+            "    WHERE id = :recipientId" +
+            ") " +
+            "SELECT COUNT(*) FROM updated",
+            nativeQuery = true)
+    long markAllAsRead(@Param("recipientId") Long recipientId,
+                       @Param("types") Collection<String> types,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("id") Long id,
+                       @Param("now") LocalDateTime now);
+
+    // 5. 일괄 삭제 + 삭제된 안 읽은 알림만큼 차감을 SQL 1번으로 (조건은 4번과 같음)
+    // - 반환값: 삭제된 알림 수
+    @Query(value = "WITH deleted AS (" +
+            "    DELETE FROM notifications " +
+            "    WHERE recipient_id = :recipientId " +
+            "    AND type IN (:types) " +
+            "    AND created_at <= :createdAt " +
+            "    AND (created_at, id) < (:createdAt, :id) " +
+            "    RETURNING is_read" +
+            "), adjusted AS (" +
+            "    UPDATE users SET unread_notification_count = " +
+            "        GREATEST(unread_notification_count - (SELECT COUNT(*) FROM deleted WHERE NOT is_read), 0) " +
+            "    WHERE id = :recipientId" +
+            ") " +
+            "SELECT COUNT(*) FROM deleted",
+            nativeQuery = true)
+    long deleteAll(@Param("recipientId") Long recipientId,
+                   @Param("types") Collection<String> types,
+                   @Param("createdAt") LocalDateTime createdAt,
+                   @Param("id") Long id);
 }
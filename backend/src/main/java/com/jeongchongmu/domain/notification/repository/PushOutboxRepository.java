@@ -0,0 +1,40 @@
+package com.jeongchongmu.domain.notification.repository;
+
+import com.jeongchongmu.domain.notification.entity.PushOutbox;
+import com.jeongchongmu.domain.notification.entity.PushOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PushOutboxRepository extends JpaRepository<PushOutbox, Long> {
+
+    // 1. 발송 대상 선점 조회
+    // - PENDING: 다음 시도 시각이 지난 행
+    // - SENDING: 임대가 만료된 행 (전송 중 서버가 죽은 경우)
+    // 다른 워커(다른 인스턴스)가 잠근 행은 SKIP LOCKED로 건너뜁니다.
+    @Query(value = "SELECT * FROM push_outbox " +
+            "WHERE status IN ('PENDING', 'SENDING') " +
+            "AND next_attempt_at <= :now " +
+            "ORDER BY id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<PushOutbox> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 2. 선점한 행의 수신자(토큰)를 한 번에 로딩
+    @Query("SELECT o FROM PushOutbox o JOIN FETCH o.recipient WHERE o.id IN :ids")
+    List<PushOutbox> findAllWithRecipientByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 3. 전송 완료 후 보관 기간이 지난 행 삭제
+    @Modifying
+    @Query("DELETE FROM PushOutbox o WHERE o.status = com.jeongchongmu.domain.notification.entity.PushOutboxStatus.SENT AND o.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+
+    // 4. 발송 대기 중인 행 수 (대기열 깊이 메트릭)
+    long countByStatusIn(Collection<PushOutboxStatus> statuses);
+}
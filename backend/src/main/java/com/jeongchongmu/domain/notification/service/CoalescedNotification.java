@@ -0,0 +1,19 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+
+/**
+ * 디바운스 창 안에 들어온 같은 (수신자, 타입, 관련 ID) 알림을 하나로 합친 결과
+ *
+ * @param type 알림 타입
+ * @param content 마지막으로 들어온 알림 내용 (가장 최신 상태)
+ * @param relatedId 관련 엔티티 ID
+ * @param mergedCount 합쳐진 알림 수
+ */
+public record CoalescedNotification(
+        NotificationType type,
+        String content,
+        Long relatedId,
+        int mergedCount
+) {
+}
@@ -1,21 +1,21 @@
 package com.jeongchongmu.domain.notification.service;
 
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.messaging.*;
 import com.jeongchongmu.domain.notification.entity.NotificationType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
- * Firebase Cloud Messaging (FCM)을 이용한 푸시 알림 전송 서비스
+ * 푸시 알림 전송 서비스
  *
  * ExpoPushService를 FCM 기반으로 전환
  * - DB 저장 기능은 NotificationService에서 처리
- * - 순수 푸시 전송만 담당
+ * - 순수 푸시 전송만 담당 (실제 전송은 PushTransport 구현체: FCM 또는 부하 테스트용 stub)
+ * - 비즈니스 트랜잭션에서는 직접 호출하지 않고, PushOutboxDispatcher가 커밋 후 호출합니다.
  *
  * @author Jeongchongmu Team
  */
@@ -24,8 +24,14 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ExpoPushService {
 
+    // FCM sendEachForMulticast 1회당 최대 토큰 수
+    public static final int MULTICAST_LIMIT = 500;
+
+    private final PushTransport pushTransport;
+    private final PushTokenPruner pushTokenPruner;
+
     /**
-     * FCM을 통한 푸시 알림 전송
+     * 푸시 알림 전송
      *
      * @param token FCM 토큰
      * @param title 알림 제목
@@ -33,133 +39,130 @@ public class ExpoPushService {
      * @param relatedId 관련 엔티티 ID (지출, 정산, 투표 등)
      */
     public void send(String token, String title, String content, Long relatedId) {
+        deliver(token, title, content, null, relatedId);
+    }
+
+    /**
+     * 푸시 알림 전송 (타입 포함)
+     *
+     * @param token FCM 토큰
+     * @param title 알림 제목
+     * @param content 알림 내용
+     * @param type 알림 타입
+     * @param relatedId 관련 엔티티 ID
+     */
+    public void send(String token, String title, String content, NotificationType type, Long relatedId) {
+        deliver(token, title, content, type, relatedId);
+    }
+
+    /**
+     * 푸시 전송 후 결과 반환 (발송 대기열의 재시도 판단용)
+     *
+     * @param token FCM 토큰
+     * @param title 알림 제목
+     * @param content 알림 내용
+     * @param type 알림 타입 (없으면 null)
+     * @param relatedId 관련 엔티티 ID
+     * @return 전송 결과
+     */
+    public PushResult deliver(String token, String title, String content, NotificationType type, Long relatedId) {
         // Firebase가 초기화되지 않았거나 FCM 토큰이 없으면 전송하지 않음
-        if (FirebaseApp.getApps().isEmpty()) {
+        if (!pushTransport.isReady()) {
             log.warn("⚠️ Firebase가 초기화되지 않아 알림을 전송하지 않습니다.");
-            return;
+            return PushResult.SKIPPED;
         }
 
         if (token == null || token.isEmpty()) {
             log.warn("⚠️ FCM 토큰이 없어 알림을 전송하지 않습니다.");
-            return;
+            return PushResult.SKIPPED;
         }
 
         try {
-            // 딥링킹을 위한 데이터 페이로드 구성
-            Map<String, String> data = new HashMap<>();
-            if (relatedId != null) {
-                data.put("relatedId", String.valueOf(relatedId));
-            }
-            data.put("title", title);
-            data.put("body", content);
-
-            // FCM 메시지 생성
-            Message message = Message.builder()
-                    .setToken(token)
-                    .setNotification(Notification.builder()
-                            .setTitle(title)
-                            .setBody(content)
-                            .build())
-                    .putAllData(data)
-                    .setAndroidConfig(AndroidConfig.builder()
-                            .setPriority(AndroidConfig.Priority.HIGH)
-                            .setNotification(AndroidNotification.builder()
-                                    .setSound("default")
-                                    .build())
-                            .build())
-                    .setApnsConfig(ApnsConfig.builder()
-                            .setAps(Aps.builder()
-                                    .setSound("default")
-                                    .build())
-                            .build())
-                    .build();
-
-            // 메시지 전송
-            String response = FirebaseMessaging.getInstance().send(message);
-            log.info("✅ FCM 푸시 알림 전송 성공 - 제목: {}, 응답: {}", title, response);
-
-        } catch (FirebaseMessagingException e) {
-            log.error("❌ FCM 알림 전송 실패 - 제목: {}, 에러: {}", title, e.getMessage(), e);
-
-            // FCM 토큰이 유효하지 않은 경우 (삭제된 토큰, 만료된 토큰 등)
-            if (e.getMessagingErrorCode() == MessagingErrorCode.INVALID_ARGUMENT
-                    || e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
-                log.warn("⚠️ FCM 토큰이 유효하지 않습니다. 토큰을 삭제해야 합니다.");
-                // TODO: 토큰 삭제 로직 추가 (선택사항)
+            PushResult result = pushTransport.send(token, new PushContent(title, content, type, relatedId));
+            pushTokenPruner.recordResult(token, result);
+            if (result == PushResult.SENT) {
+                log.info("✅ 푸시 알림 전송 성공 - 타입: {}, 제목: {}", typeTitle(type), title);
+            } else if (result == PushResult.INVALID_TOKEN) {
+                log.warn("⚠️ FCM 토큰이 유효하지 않아 토큰 정리 대기열에 추가합니다.");
             }
+            return result;
 
         } catch (Exception e) {
-            log.error("❌ 알림 전송 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            // FCM 장애 중에는 실패가 연달아 나므로 스택 트레이스는 DEBUG로만 남김
+            log.warn("❌ 알림 전송 실패: {}", e.toString());
+            log.debug("알림 전송 실패 상세", e);
+            return PushResult.FAILED;
         }
     }
 
     /**
-     * FCM을 통한 푸시 알림 전송 (타입 포함)
+     * 같은 내용의 푸시를 여러 토큰에 한 번에 전송 (멀티캐스트, 최대 500개씩)
      *
-     * @param token FCM 토큰
+     * @param tokens FCM 토큰 목록 (null/빈 토큰은 SKIPPED)
      * @param title 알림 제목
      * @param content 알림 내용
-     * @param type 알림 타입
+     * @param type 알림 타입 (없으면 null)
      * @param relatedId 관련 엔티티 ID
+     * @return 토큰별 전송 결과 (tokens와 같은 순서)
      */
-    public void send(String token, String title, String content, NotificationType type, Long relatedId) {
-        // Firebase가 초기화되지 않았거나 FCM 토큰이 없으면 전송하지 않음
-        if (FirebaseApp.getApps().isEmpty()) {
-            log.warn("⚠️ Firebase가 초기화되지 않아 알림을 전송하지 않습니다.");
-            return;
+    public List<PushResult> deliverMulticast(List<String> tokens, String title, String content, NotificationType type, Long relatedId) {
+        PushResult[] results = new PushResult[tokens.size()];
+        Arrays.fill(results, PushResult.SKIPPED);
+
+        // Firebase가 초기화되지 않았으면 전송하지 않음
+        if (!pushTransport.isReady()) {
+            log.warn("⚠️ Firebase가 초기화되지 않아 알림을 전송하지 않습니다. ({}건)", tokens.size());
+            return Arrays.asList(results);
         }
 
-        if (token == null || token.isEmpty()) {
-            log.warn("⚠️ FCM 토큰이 없어 알림을 전송하지 않습니다.");
-            return;
+        // 토큰이 있는 수신자의 위치만 모음
+        List<Integer> sendable = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token != null && !token.isEmpty()) {
+                sendable.add(i);
+            }
         }
 
+        PushContent pushContent = new PushContent(title, content, type, relatedId);
+        for (int from = 0; from < sendable.size(); from += MULTICAST_LIMIT) {
+            List<Integer> chunk = sendable.subList(from, Math.min(from + MULTICAST_LIMIT, sendable.size()));
+            sendChunk(tokens, chunk, pushContent, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    // 최대 500개 토큰을 한 번의 요청으로 전송하고, 응답을 토큰 위치에 다시 매핑
+    private void sendChunk(List<String> tokens, List<Integer> chunk, PushContent content, PushResult[] results) {
         try {
-            // 딥링킹을 위한 데이터 페이로드 구성
-            Map<String, String> data = new HashMap<>();
-            data.put("type", type.name());
-            if (relatedId != null) {
-                data.put("relatedId", String.valueOf(relatedId));
-            }
-            data.put("title", title);
-            data.put("body", content);
-
-            // FCM 메시지 생성
-            Message message = Message.builder()
-                    .setToken(token)
-                    .setNotification(Notification.builder()
-                            .setTitle(title)
-                            .setBody(content)
-                            .build())
-                    .putAllData(data)
-                    .setAndroidConfig(AndroidConfig.builder()
-                            .setPriority(AndroidConfig.Priority.HIGH)
-                            .setNotification(AndroidNotification.builder()
-                                    .setSound("default")
-                                    .build())
-                            .build())
-                    .setApnsConfig(ApnsConfig.builder()
-                            .setAps(Aps.builder()
-                                    .setSound("default")
-                                    .build())
-                            .build())
-                    .build();
-
-            // 메시지 전송
-            String response = FirebaseMessaging.getInstance().send(message);
-            log.info("✅ FCM 푸시 알림 전송 성공 - 타입: {}, 제목: {}, 응답: {}", type.getTitle(), title, response);
-
-        } catch (FirebaseMessagingException e) {
-            log.error("❌ FCM 알림 전송 실패 - 타입: {}, 제목: {}, 에러: {}", type.getTitle(), title, e.getMessage(), e);
-
-            // FCM 토큰이 유효하지 않은 경우
-            if (e.getMessagingErrorCode() == MessagingErrorCode.INVALID_ARGUMENT
-                    || e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
-                log.warn("⚠️ FCM 토큰이 유효하지 않습니다. 토큰을 삭제해야 합니다.");
+            List<PushResult> chunkResults = pushTransport.sendEach(chunk.stream().map(tokens::get).toList(), content);
+            int success = 0;
+            int invalid = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                PushResult result = chunkResults.get(i);
+                results[chunk.get(i)] = result;
+                // 토큰별 결과 기록 (만료 토큰은 정리 대기열로)
+                pushTokenPruner.recordResult(tokens.get(chunk.get(i)), result);
+                if (result == PushResult.SENT) {
+                    success++;
+                } else if (result == PushResult.INVALID_TOKEN) {
+                    invalid++;
+                }
             }
+            log.info("✅ 멀티캐스트 전송 - 타입: {}, 제목: {}, 성공: {}건, 실패: {}건 (만료 토큰 {}건)",
+                    typeTitle(content.type()), content.title(), success, chunk.size() - success, invalid);
 
         } catch (Exception e) {
-            log.error("❌ 알림 전송 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            log.warn("❌ 멀티캐스트 전송 실패 - {}건, 에러: {}", chunk.size(), e.toString());
+            log.debug("멀티캐스트 전송 실패 상세", e);
+            chunk.forEach(index -> {
+                results[index] = PushResult.FAILED;
+                pushTokenPruner.recordResult(tokens.get(index), PushResult.FAILED);
+            });
         }
     }
+
+    private String typeTitle(NotificationType type) {
+        return type != null ? type.getTitle() : "-";
+    }
 }
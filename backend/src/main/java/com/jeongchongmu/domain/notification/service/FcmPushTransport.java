@@ -0,0 +1,121 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.messaging.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Firebase Cloud Messaging(FCM) 전송 구현 (기본값)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "push.transport", havingValue = "fcm", matchIfMissing = true)
+public class FcmPushTransport implements PushTransport {
+
+    @Override
+    public boolean isReady() {
+        return !FirebaseApp.getApps().isEmpty();
+    }
+
+    @Override
+    public PushResult send(String token, PushContent content) {
+        try {
+            String response = FirebaseMessaging.getInstance().send(buildMessage(token, content));
+            log.debug("FCM 응답: {}", response);
+            return PushResult.SENT;
+        } catch (FirebaseMessagingException e) {
+            log.error("❌ FCM 알림 전송 실패 - 제목: {}, 에러: {}", content.title(), e.getMessage());
+            return classify(e);
+        }
+    }
+
+    @Override
+    public List<PushResult> sendEach(List<String> tokens, PushContent content) {
+        MulticastMessage message = MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .setNotification(notification(content))
+                .putAllData(data(content))
+                .setAndroidConfig(androidConfig())
+                .setApnsConfig(apnsConfig())
+                .build();
+
+        List<PushResult> results = new ArrayList<>(tokens.size());
+        try {
+            BatchResponse response = FirebaseMessaging.getInstance().sendEachForMulticast(message);
+            for (SendResponse sendResponse : response.getResponses()) {
+                results.add(sendResponse.isSuccessful() ? PushResult.SENT : classify(sendResponse.getException()));
+            }
+        } catch (FirebaseMessagingException e) {
+            // 요청 자체가 실패하면 토큰 문제가 아니므로 모두 재시도 대상
+            log.error("❌ FCM 멀티캐스트 전송 실패 - 제목: {}, {}건, 에러: {}", content.title(), tokens.size(), e.getMessage());
+            tokens.forEach(token -> results.add(PushResult.FAILED));
+        }
+        return results;
+    }
+
+    // FCM 토큰이 유효하지 않은 경우 (삭제된 토큰, 만료된 토큰 등) - 재시도해도 실패
+    private PushResult classify(FirebaseMessagingException e) {
+        if (e != null && (e.getMessagingErrorCode() == MessagingErrorCode.INVALID_ARGUMENT
+                || e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED
+                || e.getMessagingErrorCode() == MessagingErrorCode.SENDER_ID_MISMATCH)) {
+            return PushResult.INVALID_TOKEN;
+        }
+        return PushResult.FAILED;
+    }
+
+    // FCM 메시지 생성 (알림 + 딥링킹 데이터 + 플랫폼별 소리/우선순위)
+    private Message buildMessage(String token, PushContent content) {
+        return Message.builder()
+                .setToken(token)
+                .setNotification(notification(content))
+                .putAllData(data(content))
+                .setAndroidConfig(androidConfig())
+                .setApnsConfig(apnsConfig())
+                .build();
+    }
+
+    private Notification notification(PushContent content) {
+        return Notification.builder()
+                .setTitle(content.title())
+                .setBody(content.content())
+                .build();
+    }
+
+    // 딥링킹을 위한 데이터 페이로드 구성
+    private Map<String, String> data(PushContent content) {
+        Map<String, String> data = new HashMap<>();
+        if (content.type() != null) {
+            data.put("type", content.type().name());
+        }
+        if (content.relatedId() != null) {
+            data.put("relatedId", String.valueOf(content.relatedId()));
+        }
+        data.put("title", content.title());
+        data.put("body", content.content());
+        return data;
+    }
+
+    private AndroidConfig androidConfig() {
+        return AndroidConfig.builder()
+                .setPriority(AndroidConfig.Priority.HIGH)
+                .setNotification(AndroidNotification.builder()
+                        .setSound("default")
+                        .build())
+                .build();
+    }
+
+    private ApnsConfig apnsConfig() {
+        return ApnsConfig.builder()
+                .setAps(Aps.builder()
+                        .setSound("default")
+                        .build())
+                .build();
+    }
+}
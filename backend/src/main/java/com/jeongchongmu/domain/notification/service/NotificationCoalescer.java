@@ -0,0 +1,224 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/*
+ * NotificationCoalescer가 제공하는 기능
+ * 1. 같은 (수신자, 타입, 관련 ID) 알림을 디바운스 창(window) 동안 모아 1건으로 합침
+ *    - 창 안에 또 들어오면 마감을 뒤로 미루되, 첫 알림 후 max-wait은 넘기지 않음
+ *    - 내용은 마지막으로 들어온 것을 씀 (예: 투표 토글이 반복돼도 "투표 완료" 1건)
+ * 2. 마감된 묶음을 수신자별로 모아, digest-threshold건 이상이면 푸시 1건(NOTIFICATION_DIGEST)으로 발송
+ * 3. 들어온 알림 수 / 내보낸 알림·푸시 수 메트릭 (notification.coalesce.*)
+ *
+ * 호출한 트랜잭션이 커밋된 뒤에만 대기열에 넣습니다. (롤백되면 알림도 없음)
+ * 대기열은 메모리에만 있으므로 창(기본 3초) 안에 서버가 죽으면 그 알림은 사라집니다.
+ * 정상 종료 시에는 남은 묶음을 모두 발송합니다.
+ * 그래서 투표 완료처럼 같은 키로 반복해서 생기는 알림에만 씁니다.
+ * 정산 요청/완료처럼 키가 반복되지 않고 잃으면 안 되는 알림은 NotificationService로 업무 트랜잭션 안에서 저장합니다.
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+
+    // 대기 묶음이 이보다 많으면 합치지 않고 바로 발송 (메모리 상한)
+    static final int MAX_PENDING = 50_000;
+
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowNanos;
+    private final long maxWaitNanos;
+    private final int digestThreshold;
+
+    private final Map<CoalesceKey, Pending> pending = new ConcurrentHashMap<>();
+
+    private final Counter received;
+    private final Counter emitted;
+    private final Counter digests;
+
+    public NotificationCoalescer(NotificationService notificationService,
+                                 UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.coalesce.window:3s}") Duration window,
+                                 @Value("${notification.coalesce.max-wait:30s}") Duration maxWait,
+                                 @Value("${notification.coalesce.digest-threshold:3}") int digestThreshold) {
+        this.notificationService = notificationService;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 대기열이 가득 차면 커밋 후 콜백(afterCommit) 안에서 바로 발송하므로 항상 새 트랜잭션을 엽니다.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.windowNanos = window.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.digestThreshold = digestThreshold;
+
+        this.received = Counter.builder("notification.coalesce.received")
+                .description("묶기 전 들어온 알림 수")
+                .register(meterRegistry);
+        this.emitted = Counter.builder("notification.coalesce.emitted")
+                .description("묶은 뒤 저장한 알림 수 (알림함 행)")
+                .register(meterRegistry);
+        this.digests = Counter.builder("notification.coalesce.digests")
+                .description("여러 알림을 푸시 1건으로 묶어 보낸 횟수")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.coalesce.pending", pending, Map::size);
+    }
+
+    /**
+     * 알림을 묶음 대기열에 넣습니다. 호출한 트랜잭션이 커밋된 뒤 반영됩니다.
+     *
+     * @param recipient 알림을 받을 사용자
+     * @param type 알림 타입
+     * @param content 알림 내용
+     * @param relatedId 관련 엔티티 ID
+     */
+    public void submit(User recipient, NotificationType type, String content, Long relatedId) {
+        Long recipientId = recipient.getId();
+        afterCommit(() -> offer(recipientId, type, content, relatedId, System.nanoTime()));
+    }
+
+    /**
+     * 여러 사용자에게 같은 알림을 묶음 대기열에 넣습니다.
+     */
+    public void submitAll(List<User> recipients, NotificationType type, String content, Long relatedId) {
+        submitAllByIds(recipients.stream().map(User::getId).toList(), type, content, relatedId);
+    }
+
+    /**
+     * 사용자 ID로 같은 알림을 묶음 대기열에 넣습니다. (사용자 엔티티를 읽지 않는 일괄 작업용)
+     */
+    public void submitAllByIds(Collection<Long> recipientIds, NotificationType type, String content, Long relatedId) {
+        List<Long> distinctIds = recipientIds.stream().distinct().toList();
+        afterCommit(() -> {
+            long now = System.nanoTime();
+            distinctIds.forEach(recipientId -> offer(recipientId, type, content, relatedId, now));
+        });
+    }
+
+    @Scheduled(fixedDelay = 1_000)
+    public void flush() {
+        flush(System.nanoTime());
+    }
+
+    @PreDestroy
+    void flushAll() {
+        int flushed = flush(dueAt -> true);
+        if (flushed > 0) {
+            log.info("종료 전 대기 중이던 알림 묶음 {}건 발송", flushed);
+        }
+    }
+
+    /**
+     * 마감 시각이 지난 묶음을 발송합니다.
+     *
+     * @param now System.nanoTime() 기준 현재 시각
+     * @return 발송한 묶음 수
+     */
+    int flush(long now) {
+        return flush(dueAt -> dueAt - now <= 0);
+    }
+
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    void offer(Long recipientId, NotificationType type, String content, Long relatedId, long now) {
+        received.increment();
+        CoalesceKey key = new CoalesceKey(recipientId, type, relatedId);
+
+        if (pending.size() >= MAX_PENDING && !pending.containsKey(key)) {
+            log.warn("⚠️ 알림 묶음 대기열 가득 참 - 합치지 않고 바로 발송 (userId: {}, type: {})", recipientId, type);
+            dispatch(recipientId, List.of(new CoalescedNotification(type, content, relatedId, 1)));
+            return;
+        }
+
+        pending.merge(key, new Pending(content, 1, now, now + windowNanos),
+                (current, next) -> new Pending(
+                        next.content(),
+                        current.count() + 1,
+                        current.firstAt(),
+                        // 창을 뒤로 미루되 첫 알림 후 max-wait을 넘기지 않음
+                        Math.min(next.dueAt() - current.firstAt(), maxWaitNanos) + current.firstAt()));
+    }
+
+    private int flush(LongPredicate isDue) {
+        Map<Long, List<CoalescedNotification>> byRecipient = new LinkedHashMap<>();
+        for (Map.Entry<CoalesceKey, Pending> entry : pending.entrySet()) {
+            CoalesceKey key = entry.getKey();
+            Pending value = entry.getValue();
+            // 꺼내는 사이 새 알림이 합쳐졌으면 값이 달라 지워지지 않음 -> 다음 주기에 발송
+            if (!isDue.test(value.dueAt()) || !pending.remove(key, value)) {
+                continue;
+            }
+            byRecipient.computeIfAbsent(key.recipientId(), id -> new ArrayList<>())
+                    .add(new CoalescedNotification(key.type(), value.content(), key.relatedId(), value.count()));
+        }
+
+        byRecipient.forEach(this::dispatch);
+        return byRecipient.values().stream().mapToInt(List::size).sum();
+    }
+
+    // 수신자 1명당 트랜잭션 1번 (한 명이 실패해도 다른 사람은 발송)
+    private void dispatch(Long recipientId, List<CoalescedNotification> notifications) {
+        boolean digest = notifications.size() >= digestThreshold;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                User recipient = userRepository.getReferenceById(recipientId);
+                if (digest) {
+                    notificationService.sendDigest(recipient, notifications);
+                } else {
+                    notifications.forEach(n -> notificationService.send(recipient, n.type(), n.content(), n.relatedId()));
+                }
+            });
+            emitted.increment(notifications.size());
+            if (digest) {
+                digests.increment();
+            }
+        } catch (Exception e) {
+            log.error("❌ 알림 묶음 발송 실패 - userId: {}, {}건, 에러: {}", recipientId, notifications.size(), e.getMessage(), e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record CoalesceKey(Long recipientId, NotificationType type, Long relatedId) {
+    }
+
+    // firstAt/dueAt은 System.nanoTime() 기준
+    private record Pending(String content, int count, long firstAt, long dueAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.dto.NotificationDto;
+
+/**
+ * 실시간 연결(SSE)이 있는 사용자의 알림이 저장되었음을 알리는 이벤트
+ * 커밋 후(AFTER_COMMIT) NotificationService가 받아 NotificationStreamHub로 바로 전달합니다.
+ */
+public record NotificationCreatedEvent(Long recipientId, NotificationDto notification) {
+}
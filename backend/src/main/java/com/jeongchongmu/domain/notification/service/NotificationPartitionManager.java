@@ -0,0 +1,127 @@
+package com.jeongchongmu.domain.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * NotificationPartitionManager가 제공하는 기능
+ * 1. 앞으로 쓸 월 파티션 미리 생성 (이번 달 ~ months-ahead달 뒤)
+ * 2. 보관 기간(retention.months)이 지난 월 파티션 삭제, 또는 분리 보관(archive)
+ *
+ * notifications는 created_at 기준 월별 파티션입니다. (V8 마이그레이션)
+ * DEFAULT 파티션이 없으므로 해당 달 파티션이 없으면 알림 저장이 실패합니다. 그래서 기동 시에도 한 번 실행합니다.
+ * 파티션을 통째로 지우기 전에 그 안의 안 읽은 알림 수만큼 users.unread_notification_count를 차감합니다.
+ * (메모리 배지 값은 UnreadNotificationCounter의 TTL이 지나면 따라옴)
+ */
+@Slf4j
+@Component
+public class NotificationPartitionManager {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    // 여러 인스턴스가 동시에 DDL을 실행하지 않도록 잡는 advisory lock 키
+    private static final long LOCK_KEY = 0x4E4F544946L; // "NOTIF"
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archive;
+
+    public NotificationPartitionManager(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${notification.partition.months-ahead:3}") int monthsAhead,
+                                        @Value("${notification.retention.months:12}") int retentionMonths,
+                                        @Value("${notification.retention.archive:false}") boolean archive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archive = archive;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.error("❌ 알림 파티션 점검 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void maintain() {
+        maintain(YearMonth.now());
+    }
+
+    /**
+     * 기준 달을 중심으로 파티션을 만들고 보관 기간이 지난 파티션을 정리합니다.
+     *
+     * @param current 기준 달 (보통 이번 달)
+     * @return 삭제(또는 분리 보관)한 파티션 이름
+     */
+    List<String> maintain(YearMonth current) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+
+            for (int i = 0; i <= monthsAhead; i++) {
+                jdbcTemplate.queryForObject("SELECT create_notification_partition(?)", String.class,
+                        current.plusMonths(i).atDay(1));
+            }
+
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            List<String> removed = new ArrayList<>();
+            for (String partition : partitions()) {
+                Matcher matcher = PARTITION_NAME.matcher(partition);
+                if (matcher.matches() && YearMonth.parse(matcher.group(1), PARTITION_MONTH).isBefore(oldestKept)) {
+                    remove(partition, matcher.group(1));
+                    removed.add(partition);
+                }
+            }
+
+            if (!removed.isEmpty()) {
+                log.info("알림 파티션 정리 ({}) - {}", archive ? "분리 보관" : "삭제", removed);
+            }
+            return removed;
+        });
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'notifications'::regclass " +
+                "ORDER BY c.relname",
+                String.class);
+    }
+
+    // 이름은 PARTITION_NAME과 일치한 것만 들어오므로 SQL에 그대로 넣어도 안전
+    private void remove(String partition, String month) {
+        jdbcTemplate.update(
+                "UPDATE users u SET unread_notification_count = GREATEST(u.unread_notification_count - c.unread, 0) " +
+                "FROM (SELECT recipient_id, COUNT(*) AS unread FROM " + partition + " " +
+                "      WHERE is_read = false GROUP BY recipient_id) c " +
+                "WHERE u.id = c.recipient_id");
+
+        if (archive) {
+            jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO notifications_archive_p" + month);
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+    }
+}
@@ -1,32 +1,58 @@
 package com.jeongchongmu.domain.notification.service;
 
+import com.jeongchongmu.domain.notification.dto.NotificationCursor;
 import com.jeongchongmu.domain.notification.dto.NotificationDto;
+import com.jeongchongmu.domain.notification.dto.NotificationPageDto;
 import com.jeongchongmu.domain.notification.entity.Notification;
 import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.entity.PushOutbox;
 import com.jeongchongmu.domain.notification.repository.NotificationRepository;
+import com.jeongchongmu.domain.notification.repository.PushOutboxRepository;
 import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 /*
  * NotificationService가 제공하는 기능
  * 1. 알림 생성 및 발송
- * 2. 알림 읽음 처리
- * 3. 알림 조회
+ *    - 앱을 보고 있는 사용자(SSE 연결 있음): 커밋 후 NotificationStreamHub로 바로 전달
+ *    - 그 외: 푸시 발송 대기열에 쌓고 커밋 후 PushOutboxDispatcher가 FCM으로 전송
+ * 2. 알림 읽음 처리 (단건 / 일괄)
+ * 3. 알림함 조회 (커서 페이지네이션)
+ * 4. 안 읽은 알림 수 조회 (배지)
+ * 5. 알림 일괄 삭제
+ * 6. 한 사용자에게 몰린 알림 묶음 발송 (푸시 1건, NotificationCoalescer가 호출)
  */
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class NotificationService {
+    static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
-    private final ExpoPushService expoPushService;
+    private final PushOutboxRepository pushOutboxRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamHub notificationStreamHub;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * 알림 생성 및 발송 (DB 저장 + FCM 푸시)
+     * 알림 생성 및 발송 (DB 저장 + 실시간 전달 또는 FCM 푸시 예약)
+     * 전달/전송은 이 트랜잭션이 커밋된 뒤 이루어지므로 호출자는 기다리지 않습니다.
      *
      * @param recipient 알림을 받을 사용자
      * @param type 알림 타입
@@ -36,6 +62,60 @@ public class NotificationService {
     @Transactional
     public void send(User recipient, NotificationType type, String content, Long relatedId) {
         // 1. DB에 알림 저장
+        Notification notification = store(recipient, type, content, relatedId);
+
+        // 2. 앱을 보고 있으면 커밋 후 SSE로 바로 전달 (FCM 안 씀)
+        if (notificationStreamHub.isConnected(recipient.getId())) {
+            eventPublisher.publishEvent(new NotificationCreatedEvent(recipient.getId(), NotificationDto.from(notification)));
+            return;
+        }
+
+        // 3. 오프라인이면 FCM 푸시 발송 대기열에 추가 (같은 트랜잭션 - 롤백되면 푸시도 나가지 않음)
+        enqueuePush(recipient, type, content, relatedId);
+    }
+
+    /**
+     * 한 사용자에게 몰린 알림 묶음 발송 (NotificationCoalescer가 호출)
+     * 알림함에는 각각 저장하고, 오프라인이면 푸시는 묶음 알림 1건만 보냅니다.
+     *
+     * @param recipient 알림을 받을 사용자
+     * @param notifications 묶을 알림들 (비어 있으면 아무것도 하지 않음)
+     */
+    @Transactional
+    public void sendDigest(User recipient, List<CoalescedNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        List<Notification> stored = notifications.stream()
+                .map(n -> store(recipient, n.type(), n.content(), n.relatedId()))
+                .toList();
+
+        // 앱을 보고 있으면 알림함에 바로 하나씩 보여줌 (푸시가 아니므로 묶을 필요 없음)
+        if (notificationStreamHub.isConnected(recipient.getId())) {
+            stored.forEach(notification -> eventPublisher.publishEvent(
+                    new NotificationCreatedEvent(recipient.getId(), NotificationDto.from(notification))));
+            return;
+        }
+
+        enqueuePush(recipient, NotificationType.NOTIFICATION_DIGEST, digestContent(notifications), null);
+    }
+
+    /**
+     * 커밋 후 실시간 전달. 그 사이 연결이 끊겼으면 새 트랜잭션으로 푸시 발송 대기열에 넣습니다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (notificationStreamHub.deliver(event.recipientId(), event.notification())) {
+            return;
+        }
+        NotificationDto notification = event.notification();
+        enqueuePush(userRepository.getReferenceById(event.recipientId()),
+                NotificationType.valueOf(notification.type()), notification.content(), notification.relatedId());
+    }
+
+    private Notification store(User recipient, NotificationType type, String content, Long relatedId) {
         Notification notification = Notification.builder()
                 .recipient(recipient)
                 .type(type)
@@ -44,10 +124,29 @@ public class NotificationService {
                 .build();
 
         notificationRepository.save(notification);
+        unreadNotificationCounter.increment(recipient.getId());
+        return notification;
+    }
 
-        // 2. FCM 푸시 알림 전송 (타입 정보 포함)
-        String title = type.getTitle();
-        expoPushService.send(recipient.getFcmToken(), title, content, type, relatedId);
+    // 예: "📣 정산 요청 외 2건의 알림이 도착했습니다."
+    static String digestContent(List<CoalescedNotification> notifications) {
+        String latest = notifications.getLast().type().getTitle();
+        if (notifications.size() == 1) {
+            return latest + " 알림이 도착했습니다.";
+        }
+        return latest + " 외 " + (notifications.size() - 1) + "건의 알림이 도착했습니다.";
+    }
+
+    private void enqueuePush(User recipient, NotificationType type, String content, Long relatedId) {
+        PushOutbox outbox = pushOutboxRepository.save(PushOutbox.builder()
+                .recipient(recipient)
+                .type(type)
+                .content(content)
+                .relatedId(relatedId)
+                .build());
+
+        // 커밋 후 바로 발송하도록 디스패처에 알림
+        eventPublisher.publishEvent(new PushOutboxEnqueuedEvent(outbox.getId()));
     }
 
     @Transactional
@@ -59,11 +158,50 @@ public class NotificationService {
             throw new IllegalStateException("알림을 읽을 권한이 없습니다.");
         }
 
-        notification.updateIsRead();
+        // 이미 읽은 알림을 다시 읽어도 배지 수는 줄지 않음
+        if (!notification.isRead()) {
+            notification.updateIsRead();
+            unreadNotificationCounter.decrement(currentUserId);
+        }
+    }
+
+    /**
+     * 내 알림 일괄 읽음 처리 (UPDATE 1번, 안 읽은 알림 수도 같은 SQL에서 차감)
+     *
+     * @param userId 사용자 ID
+     * @param type 이 타입만 (null이면 전체)
+     * @param cursor 이 커서보다 오래된 알림만 (null이면 전체)
+     * @return 읽음 처리된 알림 수
+     */
+    @Transactional
+    public long markAllAsRead(Long userId, NotificationType type, String cursor) {
+        NotificationCursor before = toCursor(cursor);
+        long updated = notificationRepository.markAllAsRead(
+                userId, typeNames(type), before.createdAt(), before.id(), LocalDateTime.now());
+        unreadNotificationCounter.evict(userId);
+        return updated;
+    }
+
+    /**
+     * 내 알림 일괄 삭제 (DELETE 1번, 삭제된 안 읽은 알림만큼 같은 SQL에서 차감)
+     *
+     * @param userId 사용자 ID
+     * @param type 이 타입만 (null이면 전체)
+     * @param cursor 이 커서보다 오래된 알림만 (null이면 전체)
+     * @return 삭제된 알림 수
+     */
+    @Transactional
+    public long deleteAll(Long userId, NotificationType type, String cursor) {
+        NotificationCursor before = toCursor(cursor);
+        long deleted = notificationRepository.deleteAll(userId, typeNames(type), before.createdAt(), before.id());
+        unreadNotificationCounter.evict(userId);
+        return deleted;
     }
 
     /**
-     * 여러 사용자에게 동일한 알림 일괄 전송 (DB 저장 + FCM 푸시)
+     * 여러 사용자에게 동일한 알림 일괄 전송 (DB 저장 + FCM 푸시 예약)
+     * 여기서는 수신자마다 send로 알림과 푸시 대기열 행만 만들고, FCM 요청은 묶지 않습니다.
+     * 같은 내용의 푸시를 멀티캐스트 1회로 묶는 일은 대기열을 비우는 PushOutboxDispatcher가 합니다.
      *
      * @param recipients 알림을 받을 사용자 리스트
      * @param type 알림 타입
@@ -81,19 +219,60 @@ public class NotificationService {
                 successCount++;
             } catch (Exception e) {
                 // 개별 전송 실패 시 로그만 남기고 계속 진행
-                System.err.println("알림 전송 실패 - 사용자: " + recipient.getName() + ", 에러: " + e.getMessage());
+                log.warn("⚠️ 알림 전송 실패 - userId: {}, type: {}, 에러: {}", recipient.getId(), type, e.getMessage());
             }
         }
 
         return successCount;
     }
 
-    public List<NotificationDto> getMyNotifications(Long userId) {
-        List<Notification> notifications =
-                notificationRepository.findAllByRecipientIdOrderByCreatedAtDesc(userId);
+    /**
+     * 내 알림함 한 페이지 조회 (최신순)
+     * 커서 이후 size+1건만 읽으므로 알림이 아무리 많아도 페이지마다 조회 비용이 같습니다.
+     *
+     * @param userId 사용자 ID
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기 (1 ~ 100)
+     * @return 알림 목록과 다음 페이지 커서
+     */
+    public NotificationPageDto getMyNotifications(Long userId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // 다음 페이지 존재 여부를 알기 위해 1건 더 조회
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
 
-        return notifications.stream()
-                .map(NotificationDto::from)
-                .toList();
+        List<Notification> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = notificationRepository.findFirstPage(userId, limit);
+        } else {
+            NotificationCursor after = NotificationCursor.decode(cursor);
+            notifications = notificationRepository.findPageAfter(userId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = notifications.size() > pageSize;
+        List<Notification> page = hasNext ? notifications.subList(0, pageSize) : notifications;
+        String nextCursor = hasNext ? NotificationCursor.of(page.getLast()).encode() : null;
+
+        return new NotificationPageDto(page.stream().map(NotificationDto::from).toList(), nextCursor, hasNext);
+    }
+
+    /**
+     * 안 읽은 알림 수 조회 (배지)
+     *
+     * @param userId 사용자 ID
+     * @return 안 읽은 알림 수
+     */
+    public long getUnreadCount(Long userId) {
+        return unreadNotificationCounter.get(userId);
+    }
+
+    private static NotificationCursor toCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? NotificationCursor.LATEST : NotificationCursor.decode(cursor);
+    }
+
+    private static List<String> typeNames(NotificationType type) {
+        if (type != null) {
+            return List.of(type.name());
+        }
+        return Arrays.stream(NotificationType.values()).map(Enum::name).toList();
     }
 }
@@ -0,0 +1,153 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.common.BufferedSseConnection;
+import com.jeongchongmu.domain.notification.dto.NotificationDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * NotificationStreamHub가 제공하는 기능
+ * 1. 사용자별 실시간 알림 연결(SSE) 등록/해제 (사용자 ID -> 연결 목록)
+ * 2. 접속 중인 사용자에게 NotificationDto 바로 전달 (FCM을 거치지 않음)
+ * 3. 주기적 heartbeat로 끊어진 연결 정리
+ *
+ * 연결마다 최대 BUFFER_SIZE개까지만 쌓아 두고, 쓰기는 쌓인 게 있을 때만 가상 스레드에서 합니다. (BufferedSseConnection)
+ * 대기 중인 연결은 스레드를 잡지 않으므로 한 노드에서 수만 개의 유휴 연결을 유지할 수 있습니다.
+ * 버퍼가 가득 찬(못 따라오는) 연결은 끊고, 클라이언트가 재접속하면서 알림함/배지를 다시 조회합니다.
+ *
+ * 연결 목록은 인스턴스마다 따로 있으므로, 다른 인스턴스에 접속한 사용자는 오프라인으로 보고 FCM으로 보냅니다.
+ */
+@Slf4j
+@Component
+public class NotificationStreamHub {
+
+    static final Duration TIMEOUT = Duration.ofMinutes(30);
+    static final int BUFFER_SIZE = 32;
+    static final int MAX_CONNECTIONS_PER_USER = 5;
+
+    private final Map<Long, List<BufferedSseConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService writers =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-stream-", 0).factory());
+    private final Counter delivered;
+    private final Counter dropped;
+
+    public NotificationStreamHub(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("notification.stream.connections", connectionCount);
+        this.delivered = Counter.builder("notification.stream.delivered")
+                .description("SSE로 바로 전달한 알림 수")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notification.stream.dropped")
+                .description("버퍼가 가득 차 끊은 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 실시간 알림 연결을 엽니다.
+     *
+     * @param userId 사용자 ID
+     * @return 컨트롤러가 그대로 반환할 SseEmitter
+     */
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT.toMillis());
+        register(userId, emitter);
+        return emitter;
+    }
+
+    // 연결 등록 (테스트에서는 전송 내용을 가로채는 SseEmitter를 넣음)
+    void register(Long userId, SseEmitter emitter) {
+        BufferedSseConnection connection = new BufferedSseConnection(emitter, writers, BUFFER_SIZE,
+                () -> {
+                    log.warn("⚠️ 실시간 알림 버퍼가 가득 차 연결을 끊습니다. - userId: {}", userId);
+                    dropped.increment();
+                },
+                closed -> unregister(userId, closed));
+
+        // 마지막 연결이 빠지며 목록이 지워지는 것과 겹치지 않도록 compute 안에서 추가
+        List<BufferedSseConnection> userConnections = connections.compute(userId, (id, existing) -> {
+            List<BufferedSseConnection> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(connection);
+            return list;
+        });
+        connectionCount.incrementAndGet();
+
+        // 한 사용자가 연결을 계속 새로 열면 가장 오래된 연결부터 닫음
+        while (userConnections.size() > MAX_CONNECTIONS_PER_USER) {
+            userConnections.getFirst().close();
+        }
+
+        // 연결 직후 한 번 보내 프록시가 응답 헤더를 바로 흘려보내게 함
+        connection.offer(SseEmitter.event().name("connected").data(userId));
+    }
+
+    public boolean isConnected(Long userId) {
+        List<BufferedSseConnection> userConnections = connections.get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
+
+    /**
+     * 접속 중인 사용자의 모든 연결에 알림을 보냅니다. (버퍼에 넣기만 하고 바로 반환)
+     *
+     * @return 한 연결이라도 받았으면 true, 접속 중이 아니면 false
+     */
+    public boolean deliver(Long userId, NotificationDto notification) {
+        List<BufferedSseConnection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return false;
+        }
+
+        boolean accepted = false;
+        for (BufferedSseConnection connection : userConnections) {
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .id(String.valueOf(notification.id()))
+                    .name("notification")
+                    .data(notification, MediaType.APPLICATION_JSON);
+            accepted |= connection.offer(event);
+        }
+        if (accepted) {
+            delivered.increment();
+        }
+        return accepted;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    // 프록시/로드밸런서 유휴 타임아웃 전에 주석 한 줄을 보내고, 쓰기에 실패한 연결은 정리
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(BufferedSseConnection::close));
+        writers.shutdownNow();
+    }
+
+    private void unregister(Long userId, BufferedSseConnection connection) {
+        connections.computeIfPresent(userId, (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+}
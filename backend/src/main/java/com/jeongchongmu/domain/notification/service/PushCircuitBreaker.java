@@ -0,0 +1,106 @@
+package com.jeongchongmu.domain.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/*
+ * PushCircuitBreaker가 제공하는 기능
+ * 1. FCM 요청이 연속 failureThreshold번 실패하면 OPEN - openDuration 동안 요청하지 않음
+ * 2. openDuration이 지나면 HALF_OPEN - 시험 요청 1건만 허용하고, 그 결과에 따라 CLOSED 또는 다시 OPEN
+ *
+ * FCM 장애 중에 요청을 계속 보내 스레드와 로그를 낭비하지 않기 위함입니다.
+ * PushOutboxDispatcher가 멀티캐스트 요청 1회마다 결과를 기록합니다.
+ * 허용받은 요청은 recordSuccess/recordFailure/recordIgnored 중 하나를 꼭 호출해야 HALF_OPEN의 시험 전송 자리가 비워집니다.
+ */
+@Slf4j
+class PushCircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight; // HALF_OPEN에서 시험 요청이 나가 있는지
+
+    PushCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    PushCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * 지금 FCM에 요청해도 되는지 확인합니다. OPEN 유지 시간이 지났으면 HALF_OPEN으로 바꾸고 허용합니다.
+     * HALF_OPEN에서는 시험 요청 1건만 허용하고, 그 결과가 기록될 때까지 나머지는 거절합니다.
+     */
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            log.info("푸시 회로 차단기 HALF_OPEN - 시험 전송을 시작합니다.");
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /**
+     * 지금 요청하면 거절되는지만 확인합니다. (allowRequest와 달리 상태를 바꾸거나 시험 전송 자리를 차지하지 않음)
+     */
+    synchronized boolean isRejecting() {
+        if (state == State.OPEN) {
+            return clock.getAsLong() - openedAt < openNanos;
+        }
+        return state == State.HALF_OPEN && probeInFlight;
+    }
+
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            log.info("✅ 푸시 회로 차단기 CLOSED - FCM 전송이 회복되었습니다.");
+        }
+    }
+
+    synchronized void recordFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            log.warn("⚠️ 푸시 회로 차단기 OPEN - FCM 요청 연속 {}회 실패, {}초 동안 전송을 멈춥니다.",
+                    consecutiveFailures, Duration.ofNanos(openNanos).toSeconds());
+        }
+    }
+
+    // 허용받았지만 성공/실패를 판단할 수 없는 요청 (보낼 대상이 없었거나 중단됨) - 시험 전송 자리만 비움
+    synchronized void recordIgnored() {
+        probeInFlight = false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+}
@@ -0,0 +1,19 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+
+/**
+ * 푸시 한 건의 내용 (수신 토큰 제외)
+ *
+ * @param title 알림 제목
+ * @param content 알림 내용
+ * @param type 알림 타입 (없으면 null)
+ * @param relatedId 관련 엔티티 ID (딥링킹용)
+ */
+public record PushContent(
+        String title,
+        String content,
+        NotificationType type,
+        Long relatedId
+) {
+}
@@ -0,0 +1,367 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.entity.PushOutbox;
+import com.jeongchongmu.domain.notification.entity.PushOutboxStatus;
+import com.jeongchongmu.domain.notification.repository.PushOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/*
+ * PushOutboxDispatcher가 제공하는 기능
+ * 1. 커밋 직후(AFTER_COMMIT) 발송 대기열 비우기 시작
+ * 2. 주기적 폴링 (이벤트를 놓쳤거나 재시도 시각이 된 행, 다른 인스턴스가 쌓은 행)
+ * 3. 실패 시 지수 백오프 재시도, 재시도 불가/횟수 초과 시 FAILED
+ * 4. 오래된 SENT 행 정리
+ * 5. 초당 전송 수 제한 (PushRateLimiter, FCM 쿼터에 맞춤)
+ * 6. 회로 차단 (PushCircuitBreaker) - FCM 요청이 연속 실패하면 잠시 멈춤
+ *    - QUEUE(기본): 대기열에 그대로 두었다가 회복 후 발송 (시도 횟수 차감 없음)
+ *    - DROP: 차단 중 발송 시각이 된 행은 FAILED로 폐기
+ *    - HALF_OPEN에서 시험 요청 1건을 기다리느라 거절된 행은 정책과 상관없이 바로 다시 발송 대상으로 돌려놓음
+ * 7. 메트릭: 대기열 깊이, 전송 중 요청 수, 전송 메시지 수(속도), 제한 대기 시간, 회로 상태
+ *
+ * DB 트랜잭션은 "선점"과 "결과 반영" 두 번만 짧게 열고, FCM 전송 중에는 커넥션을 잡지 않습니다.
+ * 발송 워커는 인스턴스당 1개이며, 전송은 가상 스레드에서 최대 MAX_CONCURRENT_SENDS개까지 동시에 합니다.
+ * 같은 내용(타입/내용/관련 ID)의 행은 묶어서 FCM 멀티캐스트 1회로 보냅니다. (40명 정산 요청 = HTTP 1회)
+ * 대기열이 DB 테이블이므로 FCM이 느리거나 죽어도 요청 스레드는 막히지 않고, 메모리에 쌓이는 것은 한 배치뿐입니다.
+ */
+@Slf4j
+@Component
+public class PushOutboxDispatcher {
+
+    // 한 번에 선점할 행 수 (FCM 멀티캐스트 한도와 같게 두어 한 배치의 같은 내용은 요청 1번으로 끝남)
+    static final int BATCH_SIZE = ExpoPushService.MULTICAST_LIMIT;
+    static final int MAX_CONCURRENT_SENDS = 8;
+    static final int MAX_ATTEMPTS = 6;
+    // 선점 후 이 시간 안에 결과를 반영하지 못하면 다른 워커가 다시 가져감
+    static final Duration LEASE = Duration.ofMinutes(2);
+    static final Duration BASE_BACKOFF = Duration.ofSeconds(10);
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+    static final Duration SENT_RETENTION = Duration.ofDays(7);
+    private static final List<PushOutboxStatus> WAITING = List.of(PushOutboxStatus.PENDING, PushOutboxStatus.SENDING);
+
+    // 회로가 열려 있을 때 발송 시각이 된 행 처리 방식
+    enum OpenPolicy {
+        QUEUE, DROP
+    }
+
+    private final PushOutboxRepository outboxRepository;
+    private final ExpoPushService expoPushService;
+    private final TransactionTemplate transactionTemplate;
+    private final PushRateLimiter rateLimiter;
+    private final PushCircuitBreaker circuitBreaker;
+    private final Duration openDuration;
+    private final OpenPolicy openPolicy;
+
+    private final ExecutorService drainExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("push-outbox-drain").factory());
+    private final Semaphore sendPermits = new Semaphore(MAX_CONCURRENT_SENDS);
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean drainRequested = new AtomicBoolean(false);
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private final Counter dispatched;
+    private final Counter dropped;
+    private final Timer throttled;
+
+    public PushOutboxDispatcher(PushOutboxRepository outboxRepository,
+                                ExpoPushService expoPushService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                // FCM HTTP v1 기본 쿼터: 프로젝트당 분당 60만 건 = 초당 1만 건
+                                @Value("${push.rate-limit.per-second:10000}") int permitsPerSecond,
+                                @Value("${push.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                @Value("${push.circuit-breaker.open-duration:30s}") Duration openDuration,
+                                @Value("${push.circuit-breaker.open-policy:QUEUE}") OpenPolicy openPolicy) {
+        this.outboxRepository = outboxRepository;
+        this.expoPushService = expoPushService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = new PushRateLimiter(permitsPerSecond);
+        this.circuitBreaker = new PushCircuitBreaker(failureThreshold, openDuration);
+        this.openDuration = openDuration;
+        this.openPolicy = openPolicy;
+
+        this.dispatched = Counter.builder("push.dispatch.messages")
+                .description("FCM으로 보낸 메시지 수 (토큰 기준)")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("push.dispatch.dropped")
+                .description("회로 차단 중 DROP 정책으로 폐기한 행 수")
+                .register(meterRegistry);
+        this.throttled = Timer.builder("push.dispatch.throttled")
+                .description("초당 전송 수 제한으로 기다린 시간")
+                .register(meterRegistry);
+        meterRegistry.gauge("push.outbox.pending", queueDepth);
+        meterRegistry.gauge("push.dispatch.in_flight", sendPermits, permits -> MAX_CONCURRENT_SENDS - permits.availablePermits());
+        // 0: CLOSED, 1: HALF_OPEN, 2: OPEN
+        meterRegistry.gauge("push.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal());
+    }
+
+    // 알림을 저장한 트랜잭션이 커밋되면 바로 발송 시작 (호출한 요청 스레드는 기다리지 않음)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnqueued(PushOutboxEnqueuedEvent event) {
+        requestDrain();
+    }
+
+    @Scheduled(fixedDelay = 5_000)
+    public void poll() {
+        queueDepth.set(outboxRepository.countByStatusIn(WAITING));
+        requestDrain();
+    }
+
+    @Scheduled(cron = "0 0 4 * * *")
+    public void purgeSent() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(LocalDateTime.now().minus(SENT_RETENTION)));
+        log.info("푸시 발송 대기열 정리 - SENT {}건 삭제", deleted);
+    }
+
+    /**
+     * 발송 워커에 대기열 비우기를 요청합니다.
+     * 이미 돌고 있으면 플래그만 세우고, 워커가 한 바퀴 더 돕니다.
+     */
+    public void requestDrain() {
+        drainRequested.set(true);
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            drainExecutor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+            // 종료 중 - 남은 행은 다음 기동 시 폴링으로 발송
+            draining.set(false);
+        }
+    }
+
+    /**
+     * 지금 발송 가능한 행을 모두 처리합니다. (호출 스레드에서 동기 실행)
+     *
+     * @return 처리한 행 수
+     */
+    public int drainNow() {
+        int total = 0;
+        int processed;
+        while ((processed = dispatchBatch()) > 0) {
+            total += processed;
+        }
+        return total;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        drainExecutor.shutdown();
+        if (!drainExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("푸시 발송 워커가 제때 종료되지 않았습니다. 선점된 행은 임대 만료 후 다시 발송됩니다.");
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (drainRequested.getAndSet(false)) {
+                drainNow();
+            }
+        } catch (Exception e) {
+            log.error("❌ 푸시 발송 대기열 처리 중 오류: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+            // 종료 직전에 들어온 요청은 다시 처리
+            if (drainRequested.get()) {
+                requestDrain();
+            }
+        }
+    }
+
+    PushCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    void resetCircuit() {
+        circuitBreaker.reset();
+    }
+
+    // 한 배치 선점 -> 같은 내용끼리 묶어 멀티캐스트 전송 -> 결과 반영
+    private int dispatchBatch() {
+        // 회로가 열려 있으면 QUEUE는 선점하지 않고 기다림 (다음 폴링 때 다시 확인)
+        if (openPolicy == OpenPolicy.QUEUE && circuitBreaker.isRejecting()) {
+            return 0;
+        }
+
+        List<PushMessage> messages = claim();
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        Map<PushPayload, List<PushMessage>> byPayload = messages.stream()
+                .collect(Collectors.groupingBy(PushMessage::payload, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Long, PushResult> results = new ConcurrentHashMap<>();
+        try (ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("push-send-", 0).factory())) {
+            byPayload.forEach((payload, group) -> senders.execute(() -> {
+                List<PushResult> groupResults = sendWithPermit(payload, group);
+                if (groupResults == null) {
+                    return; // 회로 차단 또는 시험 요청 대기 - 결과 없음
+                }
+                for (int i = 0; i < group.size(); i++) {
+                    results.put(group.get(i).id(), groupResults.get(i));
+                }
+            }));
+        } // close()가 모든 전송이 끝날 때까지 기다림
+
+        List<Long> rejected = messages.stream().map(PushMessage::id).filter(id -> !results.containsKey(id)).toList();
+        complete(results, rejected);
+        return messages.size();
+    }
+
+    /**
+     * 허가를 받아 멀티캐스트 1회 전송하고 결과로 회로 상태를 갱신합니다.
+     *
+     * @return 토큰별 결과, 회로가 열려 있거나 시험 요청이 나가 있어 보내지 않았으면 null
+     */
+    private List<PushResult> sendWithPermit(PushPayload payload, List<PushMessage> group) {
+        List<PushResult> failed = group.stream().map(message -> PushResult.FAILED).toList();
+        try {
+            sendPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed;
+        }
+        try {
+            // 허가를 기다리는 사이 다른 요청이 회로를 열었을 수 있음
+            if (!circuitBreaker.allowRequest()) {
+                return null;
+            }
+            throttled.record(rateLimiter.acquire(group.size()), TimeUnit.NANOSECONDS);
+
+            List<String> tokens = group.stream().map(PushMessage::token).toList();
+            List<PushResult> results = expoPushService.deliverMulticast(tokens, payload.type().getTitle(), payload.content(),
+                    payload.type(), payload.relatedId());
+            dispatched.increment(group.size());
+            recordOutcome(results);
+            return results;
+        } catch (InterruptedException e) {
+            circuitBreaker.recordIgnored();
+            Thread.currentThread().interrupt();
+            return failed;
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            log.error("❌ 푸시 전송 중 예상치 못한 오류 - {}건, 에러: {}", group.size(), e.getMessage(), e);
+            return failed;
+        } finally {
+            sendPermits.release();
+        }
+    }
+
+    // FCM이 응답했으면(성공 또는 토큰 문제) 성공, 모든 토큰이 일시 실패면 실패로 기록. 모두 SKIPPED면 판단하지 않음
+    private void recordOutcome(List<PushResult> results) {
+        if (results.stream().anyMatch(result -> result == PushResult.SENT || result == PushResult.INVALID_TOKEN)) {
+            circuitBreaker.recordSuccess();
+        } else if (results.stream().anyMatch(PushResult::retryable)) {
+            circuitBreaker.recordFailure();
+        } else {
+            circuitBreaker.recordIgnored();
+        }
+    }
+
+    // 발송할 행을 잠그고 SENDING(임대)으로 바꾼 뒤, 전송에 필요한 값만 꺼내 트랜잭션을 닫습니다.
+    private List<PushMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PushOutbox> due = outboxRepository.findDueForUpdate(now, BATCH_SIZE);
+            if (due.isEmpty()) {
+                return List.<PushMessage>of();
+            }
+
+            // 수신자 토큰을 한 번에 로딩 (행마다 users 조회 방지)
+            outboxRepository.findAllWithRecipientByIdIn(due.stream().map(PushOutbox::getId).toList());
+
+            List<PushMessage> messages = new ArrayList<>(due.size());
+            for (PushOutbox outbox : due) {
+                outbox.claim(now.plus(LEASE));
+                messages.add(new PushMessage(outbox.getId(), outbox.getRecipient().getFcmToken(),
+                        new PushPayload(outbox.getType(), outbox.getContent(), outbox.getRelatedId())));
+            }
+            return messages;
+        });
+    }
+
+    // rejected: 회로 차단기가 거절해 보내지 못한 행
+    // - 회로가 OPEN이면 QUEUE는 회로가 다시 닫힐 즈음으로 미루고, DROP이면 폐기
+    // - HALF_OPEN 시험 요청 때문에 거절됐을 뿐이면 (배치가 끝나면 시험 결과가 나와 있음) 시도 횟수 차감 없이 바로 다시 발송 대상으로
+    private void complete(Map<Long, PushResult> results, List<Long> rejected) {
+        boolean open = circuitBreaker.getState() == PushCircuitBreaker.State.OPEN;
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (PushOutbox outbox : outboxRepository.findAllById(rejected)) {
+                if (!open) {
+                    outbox.defer(now, "회로 시험 전송 결과 대기");
+                } else if (openPolicy == OpenPolicy.DROP) {
+                    outbox.markFailed("회로 차단 중 폐기 (FCM 장애)");
+                } else {
+                    outbox.defer(now.plus(openDuration), "회로 차단으로 대기 (FCM 장애)");
+                }
+            }
+            if (open && openPolicy == OpenPolicy.DROP) {
+                dropped.increment(rejected.size());
+            }
+
+            for (PushOutbox outbox : outboxRepository.findAllById(results.keySet())) {
+                PushResult result = results.get(outbox.getId());
+                switch (result) {
+                    case SENT -> outbox.markSent(now);
+                    case SKIPPED -> outbox.markFailed("전송 건너뜀 (FCM 토큰 없음 또는 Firebase 미초기화)");
+                    case INVALID_TOKEN -> outbox.markFailed("유효하지 않은 FCM 토큰");
+                    case FAILED -> {
+                        if (outbox.getAttempts() >= MAX_ATTEMPTS) {
+                            outbox.markFailed("최대 재시도 횟수 초과");
+                            log.warn("⚠️ 푸시 발송 포기 - outboxId: {}, 시도: {}회", outbox.getId(), outbox.getAttempts());
+                        } else {
+                            outbox.scheduleRetry(now.plus(backoff(outbox.getAttempts())), "FCM 전송 실패");
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    // 지수 백오프 (10초, 20초, 40초 ... 최대 30분) + 최대 20% 지터
+    static Duration backoff(int attempts) {
+        long base = BASE_BACKOFF.toMillis() << Math.min(Math.max(attempts - 1, 0), 20);
+        long capped = Math.min(base, MAX_BACKOFF.toMillis());
+        long jitter = ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+        return Duration.ofMillis(capped + jitter);
+    }
+
+    // 트랜잭션 밖에서 전송할 때 쓰는 값 (엔티티를 넘기지 않음)
+    private record PushMessage(Long id, String token, PushPayload payload) {
+    }
+
+    // 멀티캐스트로 묶는 기준 (수신자만 다르고 내용이 같은 푸시)
+    private record PushPayload(NotificationType type, String content, Long relatedId) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.jeongchongmu.domain.notification.service;
+
+/**
+ * 발송 대기열에 푸시가 쌓였음을 알리는 이벤트
+ * 커밋 후(AFTER_COMMIT) PushOutboxDispatcher가 받아 바로 발송을 시작합니다.
+ */
+public record PushOutboxEnqueuedEvent(Long outboxId) {
+}
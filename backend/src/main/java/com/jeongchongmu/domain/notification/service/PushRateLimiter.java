@@ -0,0 +1,55 @@
+package com.jeongchongmu.domain.notification.service;
+
+import java.util.function.LongSupplier;
+
+/*
+ * PushRateLimiter가 제공하는 기능
+ * 1. 초당 전송 메시지 수 제한 (토큰 버킷, 최대 1초 분량까지 몰아서 허용)
+ *
+ * 멀티캐스트 1회는 토큰 수만큼 허가를 씁니다. 남은 허가보다 많이 요청하면 미리 당겨 쓰고,
+ * 모자란 만큼 기다린 뒤 돌아옵니다. (발송 워커는 가상 스레드이므로 기다려도 요청 스레드에 영향 없음)
+ */
+class PushRateLimiter {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private final LongSupplier clock;
+
+    private double available;
+    private long refilledAt;
+
+    PushRateLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    PushRateLimiter(int permitsPerSecond, LongSupplier clock) {
+        this.permitsPerNano = permitsPerSecond / 1e9;
+        this.capacity = permitsPerSecond;
+        this.clock = clock;
+        this.available = permitsPerSecond;
+        this.refilledAt = clock.getAsLong();
+    }
+
+    /**
+     * 허가를 받을 때까지 기다립니다.
+     *
+     * @param permits 보낼 메시지 수
+     * @return 기다린 시간 (나노초)
+     */
+    long acquire(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+        return waitNanos;
+    }
+
+    // 허가를 예약하고, 예약분이 채워질 때까지 기다려야 하는 시간을 돌려줌
+    synchronized long reserve(int permits) {
+        long now = clock.getAsLong();
+        available = Math.min(capacity, available + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        available -= permits;
+        return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jeongchongmu.domain.notification.service;
+
+/**
+ * FCM 전송 결과 (발송 대기열의 재시도 여부 판단용)
+ */
+public enum PushResult {
+    // 전송 성공
+    SENT,
+    // 보낼 수 없는 상태라 건너뜀 (Firebase 미초기화, 토큰 없음) - 재시도하지 않음
+    SKIPPED,
+    // 토큰이 만료/삭제됨 - 재시도하지 않음
+    INVALID_TOKEN,
+    // 일시적 실패 (네트워크, FCM 쿼터 등) - 재시도 대상
+    FAILED;
+
+    public boolean retryable() {
+        return this == FAILED;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/*
+ * PushTokenPruner가 제공하는 기능
+ * 1. 전송 결과별 카운터 (push.deliveries{result=...}) - 만료 토큰 비율 = invalid_token / 전체
+ * 2. 만료/삭제된 FCM 토큰을 대기열에 모아 주기적으로 users.fcm_token을 일괄 삭제 (UPDATE ... IN)
+ *
+ * 토큰 값으로 지우므로 그 사이 새 토큰을 등록한 사용자는 영향을 받지 않습니다.
+ * 대기열은 메모리에만 있어 재시작 시 사라지지만, 남은 만료 토큰은 다음 전송에서 다시 보고됩니다.
+ */
+@Slf4j
+@Component
+public class PushTokenPruner {
+
+    static final int MAX_QUEUED = 10_000;
+    static final int UPDATE_BATCH_SIZE = 1_000;
+
+    private final UserRepository userRepository;
+    private final BlockingQueue<String> deadTokens = new LinkedBlockingQueue<>(MAX_QUEUED);
+    private final Map<PushResult, Counter> deliveries = new EnumMap<>(PushResult.class);
+    private final Counter prunedUsers;
+
+    public PushTokenPruner(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        for (PushResult result : PushResult.values()) {
+            deliveries.put(result, Counter.builder("push.deliveries")
+                    .description("푸시 전송 결과 (토큰 단위)")
+                    .tag("result", result.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.prunedUsers = Counter.builder("push.tokens.pruned")
+                .description("만료 토큰을 삭제한 사용자 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("push.tokens.prune.queue", deadTokens, BlockingQueue::size);
+    }
+
+    /**
+     * 토큰 1개의 전송 결과를 기록합니다. 만료 토큰이면 삭제 대기열에 넣습니다.
+     *
+     * @param token 전송한 FCM 토큰
+     * @param result 전송 결과
+     */
+    public void recordResult(String token, PushResult result) {
+        deliveries.get(result).increment();
+        if (result == PushResult.INVALID_TOKEN && token != null && !deadTokens.offer(token)) {
+            log.warn("⚠️ 만료 토큰 대기열이 가득 찼습니다. ({}개) 다음 정리 때 다시 보고됩니다.", MAX_QUEUED);
+        }
+    }
+
+    /**
+     * 대기열의 만료 토큰을 1,000개 단위 UPDATE로 삭제합니다.
+     *
+     * @return 토큰을 삭제한 사용자 수
+     */
+    @Scheduled(fixedDelay = 30_000)
+    @Transactional
+    public int flush() {
+        int pruned = 0;
+        List<String> batch = new ArrayList<>(UPDATE_BATCH_SIZE);
+        while (deadTokens.drainTo(batch, UPDATE_BATCH_SIZE) > 0) {
+            pruned += userRepository.clearFcmTokens(new LinkedHashSet<>(batch));
+            batch.clear();
+        }
+        if (pruned > 0) {
+            prunedUsers.increment(pruned);
+            log.info("만료된 FCM 토큰 정리 - 사용자 {}명", pruned);
+        }
+        return pruned;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jeongchongmu.domain.notification.service;
+
+import java.util.List;
+
+/**
+ * 푸시 전송 수단
+ *
+ * - FcmPushTransport: Firebase Cloud Messaging (기본, push.transport=fcm)
+ * - StubPushTransport: 프로세스 내 가짜 전송 (부하 테스트용, push.transport=stub)
+ *
+ * 토큰 검증(빈 토큰 건너뛰기), 500개 단위 분할, 로그는 ExpoPushService가 담당하고
+ * 구현체는 "받은 토큰에 그대로 보내고 토큰별 결과를 돌려주는" 일만 합니다.
+ */
+public interface PushTransport {
+
+    /**
+     * 전송 가능한 상태인지 (예: Firebase 초기화 여부)
+     */
+    boolean isReady();
+
+    /**
+     * 토큰 1개에 전송
+     *
+     * @param token 비어있지 않은 FCM 토큰
+     * @param content 푸시 내용
+     * @return 전송 결과
+     */
+    PushResult send(String token, PushContent content);
+
+    /**
+     * 같은 내용을 여러 토큰에 한 번의 요청으로 전송
+     *
+     * @param tokens 비어있지 않은 FCM 토큰 목록 (최대 ExpoPushService.MULTICAST_LIMIT개)
+     * @param content 푸시 내용
+     * @return 토큰별 전송 결과 (tokens와 같은 순서)
+     */
+    List<PushResult> sendEach(List<String> tokens, PushContent content);
+}
@@ -0,0 +1,100 @@
+package com.jeongchongmu.domain.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프로세스 내 가짜 푸시 전송 (Google 없이 알림 발송 부하 테스트용)
+ *
+ * push.transport=stub 일 때 사용합니다.
+ * - push.stub.latency-ms: 요청 1회당 지연 (단건/멀티캐스트 동일, 기본 20ms)
+ * - push.stub.failure-rate: 토큰별 일시 실패 비율 (재시도 대상, 기본 0)
+ * - push.stub.invalid-token-rate: 토큰별 만료 토큰 비율 (기본 0)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "push.transport", havingValue = "stub")
+public class StubPushTransport implements PushTransport {
+
+    private final Duration latency;
+    private final double failureRate;
+    private final double invalidTokenRate;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong messageCount = new AtomicLong();
+
+    public StubPushTransport(@Value("${push.stub.latency-ms:20}") long latencyMillis,
+                             @Value("${push.stub.failure-rate:0}") double failureRate,
+                             @Value("${push.stub.invalid-token-rate:0}") double invalidTokenRate) {
+        this.latency = Duration.ofMillis(latencyMillis);
+        this.failureRate = failureRate;
+        this.invalidTokenRate = invalidTokenRate;
+        log.warn("⚠️ 가짜 푸시 전송(stub)을 사용합니다. 지연: {}ms, 실패율: {}, 만료 토큰 비율: {}",
+                latencyMillis, failureRate, invalidTokenRate);
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public PushResult send(String token, PushContent content) {
+        return sendEach(List.of(token), content).getFirst();
+    }
+
+    @Override
+    public List<PushResult> sendEach(List<String> tokens, PushContent content) {
+        requestCount.incrementAndGet();
+        messageCount.addAndGet(tokens.size());
+        sleep();
+
+        List<PushResult> results = new ArrayList<>(tokens.size());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < tokens.size(); i++) {
+            double roll = random.nextDouble();
+            if (roll < invalidTokenRate) {
+                results.add(PushResult.INVALID_TOKEN);
+            } else if (roll < invalidTokenRate + failureRate) {
+                results.add(PushResult.FAILED);
+            } else {
+                results.add(PushResult.SENT);
+            }
+        }
+        return results;
+    }
+
+    // 지금까지 받은 HTTP 요청 수 (멀티캐스트 1회 = 1)
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    // 지금까지 받은 토큰 수
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    public void resetCounts() {
+        requestCount.set(0);
+        messageCount.set(0);
+    }
+
+    private void sleep() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * UnreadNotificationCounter가 제공하는 기능
+ * 1. 안 읽은 알림 수 조회 (배지) - 메모리에 있으면 DB를 읽지 않음
+ * 2. 알림 저장/읽음 시 users.unread_notification_count 원자적 증감
+ * 3. 일괄 읽음/삭제 후 메모리 값 버리기 (컬럼은 일괄 처리 SQL이 직접 차감)
+ *
+ * 원본은 users 컬럼이고, 메모리 값은 트랜잭션이 커밋된 뒤에만 같은 만큼 증감합니다. (롤백되면 그대로)
+ * 다른 인스턴스에서 바뀐 값은 TTL이 지나 다시 읽을 때 반영됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    static final int MAX_CACHED_USERS = 100_000;
+
+    private final UserRepository userRepository;
+    private final Map<Long, CachedCount> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 안 읽은 알림 수를 조회합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 안 읽은 알림 수
+     */
+    public long get(Long userId) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(userId);
+        if (cached != null && now - cached.loadedAt() < TTL_NANOS) {
+            return cached.count();
+        }
+
+        long count = userRepository.findUnreadNotificationCount(userId).orElse(0);
+        if (cache.size() >= MAX_CACHED_USERS) {
+            cache.clear();
+        }
+        cache.put(userId, new CachedCount(count, now));
+        return count;
+    }
+
+    // 알림 저장과 같은 트랜잭션에서 호출
+    public void increment(Long userId) {
+        userRepository.incrementUnreadNotificationCount(userId);
+        afterCommit(() -> adjust(userId, 1));
+    }
+
+    // 알림 읽음과 같은 트랜잭션에서 호출 (이미 0이면 변화 없음)
+    public void decrement(Long userId) {
+        if (userRepository.decrementUnreadNotificationCount(userId) > 0) {
+            afterCommit(() -> adjust(userId, -1));
+        }
+    }
+
+    // 일괄 처리와 같은 트랜잭션에서 호출 - 커밋 후 다음 조회 때 컬럼에서 다시 읽음
+    public void evict(Long userId) {
+        afterCommit(() -> cache.remove(userId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 메모리에 있는 사용자만 증감 (없으면 다음 조회 때 컬럼에서 읽음)
+    private void adjust(Long userId, long delta) {
+        cache.computeIfPresent(userId, (id, cached) ->
+                new CachedCount(Math.max(cached.count() + delta, 0), cached.loadedAt()));
+    }
+
+    private record CachedCount(long count, long loadedAt) {
+    }
+}
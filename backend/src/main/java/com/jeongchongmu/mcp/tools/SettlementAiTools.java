@@ -6,7 +6,7 @@ import com.jeongchongmu.domain.expense.JPA.Expense;
 import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
 import com.jeongchongmu.domain.expense.dto.ExpenseSimpleDTO;
 import com.jeongchongmu.domain.group.entity.Group;
-import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
 import com.jeongchongmu.settlement.dto.*;
 import com.jeongchongmu.settlement.entity.Settlement;
 import com.jeongchongmu.settlement.entity.SettlementDetail;
@@ -39,7 +39,7 @@ public class SettlementAiTools {
     private final SettlementDetailRepository settlementDetailRepository;
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
-    private final GroupMemberRepository groupMemberRepository;
+    private final GroupAccessService groupAccessService;
     private final ObjectMapper objectMapper;
 
     // =================================================================================
@@ -59,7 +59,7 @@ public class SettlementAiTools {
             Expense expense = getExpense(expenseId);
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, expense.getGroup())) {
+            if (!groupAccessService.isMember(user.getId(), expense.getGroup().getId())) {
                 return "❌ 해당 그룹의 멤버만 정산을 생성할 수 있습니다.";
             }
 
@@ -107,7 +107,7 @@ public class SettlementAiTools {
             Expense expense = getExpense(expenseId);
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, expense.getGroup())) {
+            if (!groupAccessService.isMember(user.getId(), expense.getGroup().getId())) {
                 return "❌ 해당 그룹의 멤버만 정산을 생성할 수 있습니다.";
             }
 
@@ -163,7 +163,7 @@ public class SettlementAiTools {
             Expense expense = getExpense(expenseId);
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, expense.getGroup())) {
+            if (!groupAccessService.isMember(user.getId(), expense.getGroup().getId())) {
                 return "❌ 해당 그룹의 멤버만 정산을 생성할 수 있습니다.";
             }
 
@@ -218,7 +218,7 @@ public class SettlementAiTools {
             Expense expense = getExpense(expenseId);
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, expense.getGroup())) {
+            if (!groupAccessService.isMember(user.getId(), expense.getGroup().getId())) {
                 return "❌ 해당 그룹의 멤버만 정산을 생성할 수 있습니다.";
             }
 
@@ -262,7 +262,7 @@ public class SettlementAiTools {
             Expense expense = getExpense(expenseId);
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, expense.getGroup())) {
+            if (!groupAccessService.isMember(user.getId(), expense.getGroup().getId())) {
                 return "❌ 해당 그룹의 멤버만 조회할 수 있습니다.";
             }
 
@@ -492,7 +492,7 @@ public class SettlementAiTools {
             Group group = expense.getGroup();
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, group)) {
+            if (!groupAccessService.isMember(user.getId(), group.getId())) {
                 return "❌ 해당 그룹의 멤버만 정산을 삭제할 수 있습니다.";
             }
 
@@ -526,8 +526,7 @@ public class SettlementAiTools {
             User user = getUser(userId);
 
             // 1. 본인이 속한 그룹인지 확인 (보안)
-            if (!groupMemberRepository.existsByUserAndGroup(user,
-                    com.jeongchongmu.domain.group.entity.Group.builder().id(groupId).build())) {
+            if (!groupAccessService.isMember(user.getId(), groupId)) {
                 return "❌ 해당 그룹의 멤버만 조회할 수 있습니다.";
             }
 
@@ -3,27 +3,36 @@ package com.jeongchongmu.mcp.tools;
 import com.jeongchongmu.domain.expense.JPA.Expense;
 import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
 import com.jeongchongmu.domain.group.entity.Group;
-import com.jeongchongmu.domain.group.entity.GroupMember;
-import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
 import com.jeongchongmu.settlement.repository.SettlementRepository;
 import com.jeongchongmu.user.User;
 import com.jeongchongmu.user.UserRepository;
-import com.jeongchongmu.vote.entity.UserVote;
+import com.jeongchongmu.vote.dto.OngoingVoteSummary;
+import com.jeongchongmu.vote.dto.VoteTallyRow;
 import com.jeongchongmu.vote.entity.Vote;
 import com.jeongchongmu.vote.entity.VoteOption;
 import com.jeongchongmu.vote.repository.UserVoteRepository;
 import com.jeongchongmu.vote.repository.VoteOptionRepository;
 import com.jeongchongmu.vote.repository.VoteRepository;
+import com.jeongchongmu.vote.service.VoteClosedEvent;
+import com.jeongchongmu.vote.service.VoteCompletionTracker;
+import com.jeongchongmu.vote.service.VoteSelectionChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,9 +46,11 @@ public class VoteAiTools {
     private final UserVoteRepository userVoteRepository;
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
-    private final GroupMemberRepository groupMemberRepository;
+    private final GroupAccessService groupAccessService;
 
     private final SettlementRepository settlementRepository;
+    private final VoteCompletionTracker voteCompletionTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     // =================================================================================
     // 1. 투표 생성
@@ -58,7 +69,7 @@ public class VoteAiTools {
             Group group = expense.getGroup();
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, group)) {
+            if (!groupAccessService.isMember(user.getId(), group.getId())) {
                 return "❌ 해당 그룹의 멤버만 투표를 생성할 수 있습니다.";
             }
 
@@ -85,17 +96,12 @@ public class VoteAiTools {
             // 투표 생성 로직 (기존과 동일)
             Vote vote = Vote.builder()
                     .expense(expense)
+                    .deadline(LocalDateTime.now().plus(Vote.DEFAULT_VOTING_PERIOD))
                     .build();
             voteRepository.save(vote);
 
-            // 지출 항목들을 투표 선택지로 변환
-            for (var item : expense.getItems()) {
-                VoteOption option = VoteOption.builder()
-                        .vote(vote)
-                        .expenseItem(item)
-                        .build();
-                voteOptionRepository.save(option);
-            }
+            // 지출 항목들을 투표 선택지로 변환 (SQL 1번)
+            int optionCount = voteOptionRepository.insertAllForExpense(vote.getId(), expense.getId());
 
             // 참여자 목록
             String participants = expense.getParticipants().stream()
@@ -111,7 +117,7 @@ public class VoteAiTools {
                     vote.getId(),
                     expense.getTitle(),
                     expense.getAmount(),
-                    expense.getItems().size(),
+                    optionCount,
                     participants);
 
         } catch (Exception e) {
@@ -146,7 +152,7 @@ public class VoteAiTools {
             }
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, group)) {
+            if (!groupAccessService.isMember(user.getId(), group.getId())) {
                 return "❌ 해당 그룹의 멤버만 투표할 수 있습니다.";
             }
 
@@ -157,38 +163,24 @@ public class VoteAiTools {
                 return "❌ 해당 지출의 참여자만 투표할 수 있습니다.";
             }
 
-            // 토글 처리
-            boolean alreadyVoted = userVoteRepository.existsByUserAndVoteOption(user, option);
+            // 토글 처리 (먼저 조회하지 않고 SQL 1번)
+            int changed = userVoteRepository.toggle(userId, option.getId());
             String itemName = option.getExpenseItem().getName();
+            if (changed != 0) {
+                eventPublisher.publishEvent(VoteSelectionChangedEvent.of(vote.getId(), userId, option.getId(), changed));
+            }
 
-            if (alreadyVoted) {
-                userVoteRepository.deleteByUserAndVoteOption(user, option);
-                return String.format("🔄 '%s' 항목 투표를 취소했습니다.", itemName);
-            } else {
-                UserVote userVote = UserVote.builder()
-                        .user(user)
-                        .voteOption(option)
-                        .build();
-                userVoteRepository.save(userVote);
-
-                // 모든 참여자 투표 완료 여부 확인
-                List<User> participants = expense.getParticipants().stream()
-                        .map(p -> p.getUser())
-                        .collect(Collectors.toList());
-
-                boolean allVoted = participants.stream()
-                        .allMatch(participant ->
-                                vote.getOptions().stream()
-                                        .anyMatch(opt -> userVoteRepository.existsByUserAndVoteOption(participant, opt))
-                        );
-
-                if (allVoted) {
-                    return String.format("✅ '%s' 항목에 투표했습니다!\n\n" +
-                            "🎉 모든 참여자가 투표를 완료했습니다! 정산 결과를 확인할 수 있습니다.", itemName);
-                }
+            // 투표자 수 카운터 반영 + 이번 선택으로 모든 참여자가 투표를 마쳤는지 판정
+            boolean allVoted = voteCompletionTracker.recordSelectionChange(vote.getId(), expense.getId(), userId, changed);
 
-                return String.format("✅ '%s' 항목에 투표했습니다!", itemName);
+            if (changed < 0) {
+                return String.format("🔄 '%s' 항목 투표를 취소했습니다.", itemName);
+            }
+            if (allVoted) {
+                return String.format("✅ '%s' 항목에 투표했습니다!\n\n" +
+                        "🎉 모든 참여자가 투표를 완료했습니다! 정산 결과를 확인할 수 있습니다.", itemName);
             }
+            return String.format("✅ '%s' 항목에 투표했습니다!", itemName);
 
         } catch (Exception e) {
             log.error("투표 실패", e);
@@ -213,7 +205,7 @@ public class VoteAiTools {
             Group group = expense.getGroup();
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, group)) {
+            if (!groupAccessService.isMember(user.getId(), group.getId())) {
                 return "❌ 해당 그룹의 멤버만 조회할 수 있습니다.";
             }
 
@@ -230,15 +222,15 @@ public class VoteAiTools {
                     .map(p -> p.getUser().getId())
                     .collect(Collectors.toSet());
 
-            // 모든 투표 내역 조회
-            List<UserVote> allVotes = userVoteRepository.findAll().stream()
-                    .filter(uv -> vote.getOptions().stream()
-                            .anyMatch(opt -> opt.getId().equals(uv.getVoteOption().getId())))
-                    .collect(Collectors.toList());
+            // 이 투표의 선택지별 투표 내역만 쿼리 1번으로 (선택지 순서로 정렬됨)
+            List<VoteTallyRow> tally = voteOptionRepository.findTallyByVoteId(vote.getId());
+            Map<Long, List<VoteTallyRow>> rowsByOption = tally.stream()
+                    .collect(Collectors.groupingBy(VoteTallyRow::optionId, LinkedHashMap::new, Collectors.toList()));
 
             // 투표한 사람 ID 집합
-            Set<Long> votedUserIds = allVotes.stream()
-                    .map(uv -> uv.getUser().getId())
+            Set<Long> votedUserIds = tally.stream()
+                    .map(VoteTallyRow::userId)
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toSet());
 
             // 미투표자
@@ -246,9 +238,14 @@ public class VoteAiTools {
                     .filter(id -> !votedUserIds.contains(id))
                     .collect(Collectors.toSet());
 
-            List<User> nonVotedUsers = userRepository.findAllById(nonVotedUserIds);
-            String nonVotedNames = nonVotedUsers.isEmpty() ? "없음" :
-                    nonVotedUsers.stream().map(User::getName).collect(Collectors.joining(", "));
+            // 투표자와 미투표자 이름을 한 번에 조회
+            Set<Long> namedUserIds = new HashSet<>(votedUserIds);
+            namedUserIds.addAll(nonVotedUserIds);
+            Map<Long, String> namesById = userRepository.findAllById(namedUserIds).stream()
+                    .collect(Collectors.toMap(User::getId, User::getName));
+
+            String nonVotedNames = nonVotedUserIds.isEmpty() ? "없음" :
+                    nonVotedUserIds.stream().map(namesById::get).collect(Collectors.joining(", "));
 
             // 응답 생성
             StringBuilder sb = new StringBuilder();
@@ -260,21 +257,23 @@ public class VoteAiTools {
 
             sb.append("📋 항목별 현황:\n");
 
-            for (VoteOption option : vote.getOptions()) {
-                List<String> voterNames = allVotes.stream()
-                        .filter(uv -> uv.getVoteOption().getId().equals(option.getId()))
-                        .map(uv -> uv.getUser().getName())
+            rowsByOption.forEach((optionId, rows) -> {
+                VoteTallyRow option = rows.get(0);
+                List<String> voterNames = rows.stream()
+                        .map(VoteTallyRow::userId)
+                        .filter(Objects::nonNull)
+                        .map(namesById::get)
                         .collect(Collectors.toList());
 
                 String voters = voterNames.isEmpty() ? "아직 없음" : String.join(", ", voterNames);
 
                 sb.append(String.format("  [옵션 ID:%d] %s (%,d원) - %d명\n",
-                        option.getId(),
-                        option.getExpenseItem().getName(),
-                        option.getExpenseItem().getPrice().longValue(),
+                        optionId,
+                        option.itemName(),
+                        option.price(),
                         voterNames.size()));
                 sb.append(String.format("    → 선택: %s\n", voters));
-            }
+            });
 
             sb.append("\n💡 투표하려면 옵션 ID를 사용하세요.");
 
@@ -303,7 +302,7 @@ public class VoteAiTools {
             Group group = expense.getGroup();
 
             // 그룹 멤버 확인
-            if (!groupMemberRepository.existsByUserAndGroup(user, group)) {
+            if (!groupAccessService.isMember(user.getId(), group.getId())) {
                 return "❌ 해당 그룹의 멤버만 투표를 삭제할 수 있습니다.";
             }
 
@@ -318,18 +317,9 @@ public class VoteAiTools {
 
             String expenseTitle = expense.getTitle();
 
-            // 투표와 관련된 모든 데이터 삭제
-            // 1. 먼저 UserVote 삭제
-            List<VoteOption> options = voteOptionRepository.findByVote(vote);
-            for (VoteOption option : options) {
-                userVoteRepository.deleteAllByVoteOption(option);
-            }
-
-            // 2. VoteOption 삭제
-            voteOptionRepository.deleteAllByVote(vote);
-
-            // 3. Vote 삭제
-            voteRepository.delete(vote);
+            // 투표와 관련된 모든 데이터 삭제 (선택지/투표 내역은 DB의 ON DELETE CASCADE로 같이 삭제)
+            voteRepository.deleteCascadeById(vote.getId());
+            eventPublisher.publishEvent(new VoteClosedEvent(vote.getId()));
 
             return String.format("✅ '%s' 지출의 투표가 삭제되었습니다.\n필요하면 새로 투표를 생성할 수 있습니다.", expenseTitle);
 
@@ -348,44 +338,26 @@ public class VoteAiTools {
         Long userId = getUserIdFromContext(context);
 
         try {
-            User user = getUser(userId);
-
-            // 1. 내가 속한 그룹 찾기
-            List<GroupMember> myMemberships = groupMemberRepository.findByUser(user);
-            if (myMemberships.isEmpty()) {
-                return "가입된 그룹이 없어 투표를 조회할 수 없습니다.";
-            }
-
-            List<Long> myGroupIds = myMemberships.stream()
-                    .map(gm -> gm.getGroup().getId())
-                    .collect(Collectors.toList());
-
-            // 2. 진행 중인 투표 조회
-            List<Vote> ongoingVotes = voteRepository.findByExpense_Group_IdInAndIsClosedFalse(myGroupIds);
+            // 1. 내 그룹들의 진행 중인 투표를 투표자 수/내 참여 여부와 함께 한 번에 조회
+            List<OngoingVoteSummary> ongoingVotes = voteRepository.findOngoingSummariesForUser(userId);
 
             if (ongoingVotes.isEmpty()) {
                 return "현재 진행 중인 투표가 없습니다. 새로운 지출(ID)에 대해 투표를 생성해보세요!";
             }
 
-            // 3. 결과 포맷팅
+            // 2. 결과 포맷팅
             StringBuilder sb = new StringBuilder();
             sb.append("🗳️ **현재 참여 가능한 투표 목록**\n\n");
 
-            for (Vote vote : ongoingVotes) {
-                Expense expense = vote.getExpense();
-                Group group = expense.getGroup();
-
-                // 내가 이미 참여했는지(하나라도 찍었는지) 체크
-                boolean iVoted = vote.getOptions().stream()
-                        .anyMatch(opt -> userVoteRepository.existsByUserAndVoteOption(user, opt));
-
-                String status = iVoted ? "✅참여완료 (수정가능)" : "🔥참여필요";
-                String dateStr = expense.getExpenseDate().format(DateTimeFormatter.ofPattern("MM/dd"));
+            for (OngoingVoteSummary vote : ongoingVotes) {
+                // 내가 이미 참여했는지(하나라도 찍었는지)
+                String status = vote.votedByMe() ? "✅참여완료 (수정가능)" : "🔥참여필요";
+                String dateStr = vote.expenseDate().format(DateTimeFormatter.ofPattern("MM/dd"));
 
-                sb.append(String.format("📌 **지출 ID: %d** | %s\n", expense.getId(), status)); // 사용자가 지출ID로 접근하는게 편하므로 지출 ID 강조
-                sb.append(String.format("   - 항목: **%s** (%,d원)\n", expense.getTitle(), expense.getAmount()));
-                sb.append(String.format("   - 그룹: %s | 날짜: %s\n", group.getName(), dateStr));
-                sb.append(String.format("   - 투표 인원: %d명 참여중\n\n", countVoters(vote)));
+                sb.append(String.format("📌 **지출 ID: %d** | %s\n", vote.expenseId(), status)); // 사용자가 지출ID로 접근하는게 편하므로 지출 ID 강조
+                sb.append(String.format("   - 항목: **%s** (%,d원)\n", vote.expenseTitle(), vote.amount()));
+                sb.append(String.format("   - 그룹: %s | 날짜: %s\n", vote.groupName(), dateStr));
+                sb.append(String.format("   - 투표 인원: %d명 참여중\n\n", vote.voterCount()));
             }
 
             sb.append("💡 투표에 참여하려면 **'지출 ID OOO번 상세 보여줘'** 또는 **'OOO(항목명) 투표할래'**라고 말씀해주세요.");
@@ -419,12 +391,4 @@ public class VoteAiTools {
         return expenseRepository.findById(expenseId)
                 .orElseThrow(() -> new IllegalArgumentException("지출 내역을 찾을 수 없습니다."));
     }
-
-    private long countVoters(Vote vote) {
-        return userVoteRepository.findAll().stream()
-                .filter(uv -> uv.getVoteOption().getVote().getId().equals(vote.getId()))
-                .map(uv -> uv.getUser().getId())
-                .distinct()
-                .count();
-    }
 }
\ No newline at end of file
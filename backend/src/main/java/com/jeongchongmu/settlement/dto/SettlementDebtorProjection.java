@@ -0,0 +1,9 @@
+package com.jeongchongmu.settlement.dto;
+
+/**
+ * 일괄 생성된 정산 상세 1줄 (정산 ID, 채무자 ID) - 정산 요청 알림 대상
+ */
+public interface SettlementDebtorProjection {
+    Long getSettlementId();
+    Long getDebtorId();
+}
@@ -14,7 +14,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "settlements")
+@Table(name = "settlements",
+        indexes = {
+            // 그룹 정산 통계의 기간 조회 (지출 조인 후 created_at 범위)
+            @Index(name = "idx_settlement_expense_created", columnList = "expense_id, created_at")
+        }
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -1,13 +1,50 @@
 package com.jeongchongmu.settlement.repository;
 
+import com.jeongchongmu.settlement.dto.SettlementDebtorProjection;
 import com.jeongchongmu.settlement.entity.SettlementDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 // JpaRepository<관리할 엔티티, 엔티티의 ID 타입>
 public interface SettlementDetailRepository extends JpaRepository<SettlementDetail, Long> {
 
-    // 여기도 마찬가지로 기본 메서드 외에
-    // 특별히 추가할 것은 당장 없음.
+    // 1. 내가 받아야 할 돈 (진행 중인 정산 중 아직 송금되지 않은 내역) - creditor_id 인덱스
+    @Query("SELECT COALESCE(SUM(sd.amount), 0) " +
+            "FROM SettlementDetail sd " +
+            "WHERE sd.creditor.id = :userId " +
+            "AND sd.isSent = false " +
+            "AND sd.settlement.status <> 'COMPLETED'")
+    Long sumPendingAmountByCreditor(@Param("userId") Long userId);
 
+    // 2. 내가 보내야 할 돈 - debtor_id 인덱스
+    @Query("SELECT COALESCE(SUM(sd.amount), 0) " +
+            "FROM SettlementDetail sd " +
+            "WHERE sd.debtor.id = :userId " +
+            "AND sd.isSent = false " +
+            "AND sd.settlement.status <> 'COMPLETED'")
+    Long sumPendingAmountByDebtor(@Param("userId") Long userId);
 
+    // 3. [자동 정산] 항목별 정산 상세를 투표 내역으로 한 번에 생성 (SettlementService.calculateItem과 같은 규칙)
+    // 메뉴 가격(가격 x 수량)을 고른 사람 수로 나눠(나머지 버림) 채무자별로 합산, 결제자 본인은 제외
+    @Query(value = "INSERT INTO settlement_details (settlement_id, debtor_id, creditor_id, amount, is_sent, created_at, updated_at) " +
+            "SELECT s.id, picks.user_id, e.payer_id, SUM(picks.split_price), false, now(), now() " +
+            "FROM settlements s " +
+            "JOIN expenses e ON e.id = s.expense_id " +
+            "JOIN votes v ON v.expense_id = s.expense_id " +
+            "CROSS JOIN LATERAL (" +
+            "SELECT uv.user_id, i.price * i.quantity / COUNT(*) OVER (PARTITION BY o.id) AS split_price " +
+            "FROM vote_options o " +
+            "JOIN expense_items i ON i.id = o.expense_item_id " +
+            "JOIN user_votes uv ON uv.vote_option_id = o.id " +
+            "WHERE o.vote_id = v.id" +
+            ") picks " +
+            "WHERE s.id IN (:settlementIds) AND picks.user_id <> e.payer_id " +
+            "GROUP BY s.id, picks.user_id, e.payer_id " +
+            "RETURNING settlement_id AS settlementId, debtor_id AS debtorId",
+            nativeQuery = true)
+    List<SettlementDebtorProjection> insertItemDetails(@Param("settlementIds") Collection<Long> settlementIds);
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.jeongchongmu.settlement.repository;
 
 import com.jeongchongmu.settlement.entity.Settlement;
+import com.jeongchongmu.statistics.dto.GroupAmountDto;
 import com.jeongchongmu.statistics.dto.SettlementSummaryDto;
 import com.jeongchongmu.statistics.dto.SettlementSummaryItemDto;
 import com.jeongchongmu.statistics.dto.TopExpenseDto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +26,15 @@ public interface SettlementRepository extends JpaRepository<Settlement, Long> {
     // 찾아야 할 수도 있으므로, 아래 메서드를 추가해두면 유용합니다.
     Optional<Settlement> findByExpenseId(Long expenseId);
 
+    // [자동 정산] 지출들에 항목별(ITEM) 정산을 한 번에 생성 (이미 정산이 있는 지출은 건너뜀), 생성된 정산 ID 반환
+    @Query(value = "INSERT INTO settlements (expense_id, method, status, created_at, updated_at) " +
+            "SELECT e.id, 'ITEM', 'PENDING', now(), now() FROM expenses e " +
+            "WHERE e.id IN (:expenseIds) " +
+            "ON CONFLICT (expense_id) DO NOTHING " +
+            "RETURNING id",
+            nativeQuery = true)
+    List<Long> insertItemSettlements(@Param("expenseIds") Collection<Long> expenseIds);
+
 
     // 1. 정산 요약 (총 횟수, 미완료 횟수)
     // 1. 정산 요약 (총 횟수, 미완료 횟수)
@@ -29,32 +42,44 @@ public interface SettlementRepository extends JpaRepository<Settlement, Long> {
     // 1. 정산 요약 (총 횟수, 미완료 횟수)
     // DB 구조: Settlement -> Expense -> Group 순으로 연결됨
     // 스키마의 created_at 컬럼은 자바 엔티티에서 createdAt 필드로 매핑된다고 가정합니다.
+    // 기간은 [start, end) 범위로 받아 settlements(expense_id, created_at) 인덱스를 탈 수 있게 합니다.
     @Query("SELECT new com.jeongchongmu.statistics.dto.SettlementSummaryDto(" +
             "COUNT(s), " +
             "SUM(CASE WHEN s.status <> 'COMPLETED' THEN 1L ELSE 0L END)) " +
             "FROM Settlement s " +
             "WHERE s.expense.group.id = :groupId " +
-            "AND YEAR(s.createdAt) = :year " +
-            "AND MONTH(s.createdAt) = :month")
+            "AND s.createdAt >= :start " +
+            "AND s.createdAt < :end")
     SettlementSummaryDto findMonthlySettlementSummary(@Param("groupId") Long groupId,
-                                                      @Param("year") int year,
-                                                      @Param("month") int month);
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end);
 
     @Query("SELECT new com.jeongchongmu.statistics.dto.SettlementSummaryItemDto(" +
             "s.id, s.expense.id, s.expense.title, s.expense.amount) " +
             "FROM Settlement s " +
             "WHERE s.expense.group.id = :groupId " +
-            "AND YEAR(s.createdAt) = :year " +
-            "AND MONTH(s.createdAt) = :month " +
+            "AND s.createdAt >= :start " +
+            "AND s.createdAt < :end " +
             "AND s.status <> 'COMPLETED'")
     List<SettlementSummaryItemDto> findIncompletedSettlements(@Param("groupId") Long groupId,
-                                                               @Param("year") int year,
-                                                               @Param("month") int month);
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("end") LocalDateTime end);
 
     // [NEW] 특정 그룹에서 이미 정산이 생성된 지출의 ID 목록 조회
     // (이 리스트에 없는 지출이 바로 '미정산 지출'입니다)
     @Query("SELECT s.expense.id FROM Settlement s WHERE s.expense.group.id = :groupId")
     List<Long> findSettledExpenseIdsByGroupId(@Param("groupId") Long groupId);
 
-
-}
\ No newline at end of file
+    // 대시보드용: 여러 그룹의 월간 미완료 정산 수를 한 번에 (amount는 사용하지 않음)
+    @Query("SELECT new com.jeongchongmu.statistics.dto.GroupAmountDto(" +
+            "s.expense.group.id, 0L, COUNT(s)) " +
+            "FROM Settlement s " +
+            "WHERE s.expense.group.id IN :groupIds " +
+            "AND s.createdAt >= :start " +
+            "AND s.createdAt < :end " +
+            "AND s.status <> 'COMPLETED' " +
+            "GROUP BY s.expense.group.id")
+    List<GroupAmountDto> countIncompletedByGroupIds(@Param("groupIds") Collection<Long> groupIds,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+}
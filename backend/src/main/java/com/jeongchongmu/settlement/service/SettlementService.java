@@ -7,13 +7,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import com.jeongchongmu.domain.expense.JPA.Expense;
 import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
 import com.jeongchongmu.domain.group.entity.Group;
-import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
 import com.jeongchongmu.domain.notification.entity.NotificationType;
 import com.jeongchongmu.domain.notification.service.NotificationService;
 import com.jeongchongmu.user.User;
@@ -21,6 +22,7 @@ import com.jeongchongmu.user.UserRepository;
 import com.jeongchongmu.settlement.dto.DirectSettlementEntry;
 import com.jeongchongmu.settlement.dto.PercentSettlementEntry;
 import com.jeongchongmu.settlement.dto.SettlementCreateRequest;
+import com.jeongchongmu.settlement.dto.SettlementDebtorProjection;
 import com.jeongchongmu.settlement.dto.SettlementResponse;
 import com.jeongchongmu.settlement.dto.SettlementSummaryResponse;
 import com.jeongchongmu.settlement.entity.Settlement;
@@ -28,6 +30,7 @@ import com.jeongchongmu.settlement.entity.SettlementDetail;
 import com.jeongchongmu.settlement.enums.SettlementStatus;
 import com.jeongchongmu.settlement.repository.SettlementDetailRepository;
 import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.ShareLedgerService;
 
 import com.jeongchongmu.vote.entity.Vote;
 import com.jeongchongmu.vote.entity.VoteOption;
@@ -44,11 +47,12 @@ public class SettlementService {
     private final SettlementDetailRepository settlementDetailRepository;
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
-    private final GroupMemberRepository groupMemberRepository;
+    private final GroupAccessService groupAccessService;
     private final VoteRepository voteRepository;
     private final UserVoteRepository userVoteRepository;
     private final NotificationService notificationService;
     private final GroupRepository groupRepository;
+    private final ShareLedgerService shareLedgerService;
 
     @Transactional
     public SettlementResponse createSettlement(SettlementCreateRequest request) {
@@ -73,7 +77,7 @@ public class SettlementService {
             throw new IllegalArgumentException("참여 멤버 중 존재하지 않는 유저가 있습니다.");
         }
         for (User user : participants) {
-            if (!groupMemberRepository.existsByUserAndGroup(user, group)) {
+            if (!groupAccessService.isMember(user.getId(), group.getId())) {
                 throw new IllegalStateException("그룹 멤버가 아닌 유저가 정산에 포함되었습니다: " + user.getName());
             }
         }
@@ -94,6 +98,9 @@ public class SettlementService {
             case ITEM -> calculateItem(newSettlement, payer, expense);
         }
 
+        // 사용자별 분담 원장 갱신 (정산 금액 기준으로 재계산)
+        shareLedgerService.record(expense, newSettlement);
+
         // 6. 푸시 알림 전송 (SETTLEMENT_REQUEST)
         // 정산에 포함된 참여자들에게 알림 전송 (본인 제외)
         List<User> debtors = newSettlement.getDetails().stream()
@@ -112,6 +119,30 @@ public class SettlementService {
         return SettlementResponse.from(newSettlement, totalAmount);
     }
 
+    /**
+     * [자동 정산] 마감된 투표들의 지출에 항목별(ITEM) 정산을 한 번에 만듭니다.
+     * 지출 수와 무관하게 정산 생성 1번 + 상세 생성 1번 + 원장 재계산으로 처리하며, 이미 정산이 있는 지출은 건너뜁니다.
+     * 알림은 보내지 않으므로 호출하는 쪽에서 모아서 보냅니다.
+     *
+     * @param expenseIds 투표가 마감된 지출 ID
+     * @return 생성된 정산 상세의 (정산 ID, 채무자 ID)
+     */
+    @Transactional
+    public List<SettlementDebtorProjection> createItemSettlements(Collection<Long> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> settlementIds = settlementRepository.insertItemSettlements(expenseIds);
+        if (settlementIds.isEmpty()) {
+            return List.of();
+        }
+        List<SettlementDebtorProjection> debtors = settlementDetailRepository.insertItemDetails(settlementIds);
+
+        // 사용자별 분담 원장 갱신 (결제자 전액 -> 채무자별 정산 금액)
+        shareLedgerService.recordAll(expenseIds);
+        return debtors;
+    }
+
     // [R] 정산 조회 로직
     public SettlementResponse getSettlement(Long settlementId) {
         Settlement settlement = settlementRepository.findById(settlementId)
@@ -161,6 +192,9 @@ public class SettlementService {
         // 5. 변경된 정산 상태 저장 (JPA Dirty Checking에 의해 자동 반영되지만 명시적 저장도 가능)
         settlementRepository.save(settlement);
 
+        // 6. 사용자별 분담 원장 갱신
+        shareLedgerService.record(settlement.getExpense(), settlement);
+
         return SettlementResponse.from(settlement, totalAmount);
     }
 
@@ -170,7 +204,11 @@ public class SettlementService {
         Settlement settlement = settlementRepository.findById(settlementId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 정산 내역이 존재하지 않습니다."));
 
+        Expense expense = settlement.getExpense();
         settlementRepository.delete(settlement);
+
+        // 정산이 사라졌으므로 결제자 전체 부담으로 원장 복원
+        shareLedgerService.record(expense, null);
     }
 
     /**
@@ -185,33 +223,10 @@ public class SettlementService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-        // 완료되지 않은 정산 내역만 조회
-        List<SettlementDetail> allDetails = settlementDetailRepository.findAll();
-
-        long toReceive = 0L;
-        long toSend = 0L;
-
-        for (SettlementDetail detail : allDetails) {
-            // 완료된 정산은 제외
-            if (detail.getSettlement().getStatus() == SettlementStatus.COMPLETED) {
-                continue;
-            }
-
-            // 송금 완료된 내역은 제외
-            if (detail.isSent()) {
-                continue;
-            }
-
-            // 내가 채권자인 경우 (받을 돈)
-            if (detail.getCreditor().getId().equals(userId)) {
-                toReceive += detail.getAmount();
-            }
-
-            // 내가 채무자인 경우 (보낼 돈)
-            if (detail.getDebtor().getId().equals(userId)) {
-                toSend += detail.getAmount();
-            }
-        }
+        // 완료되지 않은 정산 중 송금하지 않은 내역만 DB에서 합산
+        // (전체 정산 상세를 읽어 메모리에서 거르지 않도록 채권자/채무자 인덱스 조회)
+        long toReceive = settlementDetailRepository.sumPendingAmountByCreditor(user.getId());
+        long toSend = settlementDetailRepository.sumPendingAmountByDebtor(user.getId());
 
         return SettlementSummaryResponse.builder()
                 .toReceive(toReceive)
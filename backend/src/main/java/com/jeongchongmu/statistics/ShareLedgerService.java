@@ -0,0 +1,223 @@
+package com.jeongchongmu.statistics;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.JPA.Tag;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.settlement.entity.Settlement;
+import com.jeongchongmu.settlement.entity.SettlementDetail;
+import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.dto.ShareAmountProjection;
+import com.jeongchongmu.statistics.entity.UserExpenseShare;
+import com.jeongchongmu.statistics.repository.UserExpenseShareRepository;
+import com.jeongchongmu.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * ShareLedgerService가 제공하는 기능
+ * 1. 지출/정산 저장 시 사용자별 분담 원장(UserExpenseShare) 갱신
+ * 2. 지출 삭제 시 원장 삭제
+ * 3. 원장 전체 재구축 (기존 데이터 백필)
+ * 4. 여러 지출의 원장을 지출 수와 무관한 SQL 몇 번으로 재계산 (투표 자동 마감 후 일괄 정산)
+ * 5. 원장 변경분을 멤버별 분포 스케치(SpendingDistributionService)에 반영
+ *
+ * 분담 금액 규칙은 기존 그룹 통계 쿼리와 동일합니다.
+ * - 정산이 있으면: 채무자별 정산 금액의 합
+ * - 정산이 없으면: 결제자가 전체 금액
+ *
+ * 원장 전체 재구축은 지출 REBUILD_PAGE_SIZE건마다 트랜잭션을 따로 열어, 지출이 많아도 긴 트랜잭션이나 큰 영속성 컨텍스트 없이 처리합니다.
+ */
+@Slf4j
+@Service
+@Transactional
+public class ShareLedgerService {
+
+    private static final int REBUILD_PAGE_SIZE = 200;
+
+    private final UserExpenseShareRepository shareRepository;
+    private final SettlementRepository settlementRepository;
+    private final ExpenseRepository expenseRepository;
+    private final SpendingDistributionService spendingDistributionService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShareLedgerService(UserExpenseShareRepository shareRepository,
+                              SettlementRepository settlementRepository,
+                              ExpenseRepository expenseRepository,
+                              SpendingDistributionService spendingDistributionService,
+                              PlatformTransactionManager transactionManager) {
+        this.shareRepository = shareRepository;
+        this.settlementRepository = settlementRepository;
+        this.expenseRepository = expenseRepository;
+        this.spendingDistributionService = spendingDistributionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 지출 1건의 원장을 다시 계산합니다. (정산은 DB에서 조회)
+     *
+     * @param expense 저장/수정된 지출
+     */
+    public void record(Expense expense) {
+        Settlement settlement = settlementRepository.findByExpenseId(expense.getId()).orElse(null);
+        record(expense, settlement);
+    }
+
+    /**
+     * 지출 1건의 원장을 다시 계산합니다.
+     *
+     * @param expense 저장/수정된 지출
+     * @param settlement 해당 지출의 정산 (없거나 삭제된 경우 null)
+     */
+    public void record(Expense expense, Settlement settlement) {
+        List<UserExpenseShare> previous = deleteShares(expense.getId());
+
+        Set<String> tagNames = expense.getTags().stream()
+                .map(Tag::getName)
+                .collect(Collectors.toSet());
+
+        List<UserExpenseShare> shares = calculateShares(expense, settlement).entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> UserExpenseShare.builder()
+                        .user(entry.getKey())
+                        .expense(expense)
+                        .group(expense.getGroup())
+                        .expenseDate(expense.getExpenseDate())
+                        .shareAmount(entry.getValue())
+                        .tagNames(new HashSet<>(tagNames))
+                        .build())
+                .toList();
+
+        shareRepository.saveAll(shares);
+        spendingDistributionService.apply(toSamples(previous), toSamples(shares));
+    }
+
+    /**
+     * 여러 지출의 원장을 한 번에 다시 계산합니다. (정산은 DB 기준, record와 같은 규칙)
+     * 지출마다 엔티티를 읽지 않고 삭제/생성을 SQL로 처리하며, 분포 스케치는 바뀐 (그룹, 멤버, 월)마다 1번만 갱신합니다.
+     *
+     * @param expenseIds 정산이 새로 생기거나 바뀐 지출 ID
+     */
+    public void recordAll(Collection<Long> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return;
+        }
+        shareRepository.deleteTagsByExpenseIdIn(expenseIds);
+        List<ShareAmountProjection> previous = shareRepository.deleteByExpenseIdIn(expenseIds);
+        List<ShareAmountProjection> shares = shareRepository.insertForExpenseIdIn(expenseIds);
+        shareRepository.insertTagsForExpenseIdIn(expenseIds);
+
+        spendingDistributionService.apply(
+                previous.stream().map(SpendingSample::ofShare).toList(),
+                shares.stream().map(SpendingSample::ofShare).toList());
+    }
+
+    /**
+     * 지출 삭제 전에 해당 지출의 원장을 삭제합니다.
+     *
+     * @param expenseId 삭제할 지출 ID
+     */
+    public void remove(Long expenseId) {
+        spendingDistributionService.apply(toSamples(deleteShares(expenseId)), List.of());
+    }
+
+    /**
+     * 원장 전체 재구축
+     * 모든 지출을 페이지 단위로 읽어 원장을 다시 만듭니다.
+     * 호출한 쪽에 트랜잭션이 없으면 페이지마다 트랜잭션을 따로 열고 커밋하며, 있으면 그 트랜잭션에 참여합니다.
+     *
+     * @return 처리한 지출 수
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long rebuildAll() {
+        long processed = 0;
+        int page = 0;
+        boolean hasNext = true;
+        while (hasNext) {
+            int current = page++;
+            Page<Expense> expenses = transactionTemplate.execute(status -> rebuildPage(current));
+            processed += expenses.getNumberOfElements();
+            hasNext = expenses.hasNext();
+        }
+
+        log.info("사용자 분담 원장 재구축 완료 - 지출 {}건", processed);
+        return processed;
+    }
+
+    /**
+     * 원장이 비어있는데 지출이 있으면 (기존 DB) 시작 시 한 번 백필합니다.
+     * 전체를 하나의 트랜잭션으로 묶지 않도록 트랜잭션 없이 시작합니다. (페이지별 트랜잭션은 rebuildAll에서)
+     */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (shareRepository.count() == 0 && expenseRepository.count() > 0) {
+            log.info("사용자 분담 원장이 비어있어 백필을 시작합니다.");
+            rebuildAll();
+        }
+    }
+
+    // 페이지 1개 = 트랜잭션 1개 (트랜잭션이 끝나면 읽은 지출과 원장 엔티티도 영속성 컨텍스트에서 정리됨)
+    private Page<Expense> rebuildPage(int page) {
+        Page<Expense> expenses = expenseRepository.findAll(PageRequest.of(page, REBUILD_PAGE_SIZE, Sort.by("id")));
+        for (Expense expense : expenses) {
+            record(expense);
+        }
+        return expenses;
+    }
+
+    // 지출의 기존 원장 행 삭제 후 반환
+    private List<UserExpenseShare> deleteShares(Long expenseId) {
+        List<UserExpenseShare> existing = shareRepository.findByExpenseId(expenseId);
+        if (!existing.isEmpty()) {
+            shareRepository.deleteAll(existing);
+            shareRepository.flush(); // (user_id, expense_id) 유니크 제약 때문에 insert 전에 먼저 반영
+        }
+        return existing;
+    }
+
+    private List<SpendingSample> toSamples(List<UserExpenseShare> shares) {
+        return shares.stream().map(SpendingSample::ofShare).toList();
+    }
+
+    // 사용자별 분담 금액 계산 (User -> 금액)
+    private Map<User, Long> calculateShares(Expense expense, Settlement settlement) {
+        Map<User, Long> shares = new LinkedHashMap<>();
+
+        if (settlement == null) {
+            // 정산이 없으면 결제자가 전체 금액 부담
+            shares.put(expense.getPayer(), expense.getAmount());
+            return shares;
+        }
+
+        // 정산이 있으면 채무자별 정산 금액 합산 (같은 사람이 여러 줄일 수 있음)
+        Map<Long, User> usersById = new LinkedHashMap<>();
+        Map<Long, Long> amountsById = new LinkedHashMap<>();
+        for (SettlementDetail detail : settlement.getDetails()) {
+            User debtor = detail.getDebtor();
+            usersById.putIfAbsent(debtor.getId(), debtor);
+            amountsById.merge(debtor.getId(), detail.getAmount(), Long::sum);
+        }
+        amountsById.forEach((userId, amount) -> shares.put(usersById.get(userId), amount));
+
+        return shares;
+    }
+}
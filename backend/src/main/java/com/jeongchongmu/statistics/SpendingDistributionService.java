@@ -0,0 +1,348 @@
+package com.jeongchongmu.statistics;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.entity.GroupMember;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.statistics.dto.GroupSpendingDistributionResponseDto;
+import com.jeongchongmu.statistics.dto.HistogramBucketDto;
+import com.jeongchongmu.statistics.dto.MemberSpendingDistributionDto;
+import com.jeongchongmu.statistics.dto.SpendingDistributionDto;
+import com.jeongchongmu.statistics.entity.SpendingSketch;
+import com.jeongchongmu.statistics.repository.SpendingSketchRepository;
+import com.jeongchongmu.statistics.repository.UserExpenseShareRepository;
+import com.jeongchongmu.statistics.sketch.QuantileSketch;
+import com.jeongchongmu.statistics.sketch.SpendingHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/*
+ * SpendingDistributionService가 제공하는 기능
+ * 1. 지출/분담 원장 변경 시 분포 스케치 갱신 (그룹/월, 그룹/멤버/월)
+ * 2. 기간 내 스케치를 병합해 분위수/히스토그램 조회
+ * 3. 그룹 단위 스케치 재구축 (기존 데이터 백필, 스케치가 원본과 어긋났을 때)
+ *
+ * 조회 비용은 기간(최대 MAX_RANGE_MONTHS개월) x 멤버 수 만큼의 행 병합이며,
+ * 그룹의 지출 건수와 무관합니다.
+ * 전체 재구축은 그룹마다 트랜잭션을 따로 열어, 그룹이 많아도 긴 트랜잭션이나 큰 영속성 컨텍스트 없이 처리합니다.
+ */
+@Slf4j
+@Service
+@Transactional
+public class SpendingDistributionService {
+
+    static final int MAX_RANGE_MONTHS = 36;
+    private static final int REBUILD_PAGE_SIZE = 100;
+
+    private final SpendingSketchRepository sketchRepository;
+    private final UserExpenseShareRepository shareRepository;
+    private final ExpenseRepository expenseRepository;
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupAccessService groupAccessService;
+    private final TransactionTemplate transactionTemplate;
+
+    public SpendingDistributionService(SpendingSketchRepository sketchRepository,
+                                       UserExpenseShareRepository shareRepository,
+                                       ExpenseRepository expenseRepository,
+                                       GroupRepository groupRepository,
+                                       GroupMemberRepository groupMemberRepository,
+                                       GroupAccessService groupAccessService,
+                                       PlatformTransactionManager transactionManager) {
+        this.sketchRepository = sketchRepository;
+        this.shareRepository = shareRepository;
+        this.expenseRepository = expenseRepository;
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.groupAccessService = groupAccessService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 새 지출을 그룹 분포에 반영합니다.
+     */
+    public void recordExpense(Expense expense) {
+        apply(List.of(), List.of(SpendingSample.ofExpense(expense.getGroup().getId(), expense.getExpenseDate(), expense.getAmount())));
+    }
+
+    /**
+     * 지출 수정을 그룹 분포에 반영합니다.
+     *
+     * @param expense 수정된 지출
+     * @param previousDate 수정 전 지출 날짜
+     * @param previousAmount 수정 전 금액
+     */
+    public void changeExpense(Expense expense, LocalDateTime previousDate, long previousAmount) {
+        apply(List.of(SpendingSample.ofExpense(expense.getGroup().getId(), previousDate, previousAmount)),
+                List.of(SpendingSample.ofExpense(expense.getGroup().getId(), expense.getExpenseDate(), expense.getAmount())));
+    }
+
+    /**
+     * 삭제할 지출을 그룹 분포에서 뺍니다.
+     */
+    public void removeExpense(Expense expense) {
+        apply(List.of(SpendingSample.ofExpense(expense.getGroup().getId(), expense.getExpenseDate(), expense.getAmount())), List.of());
+    }
+
+    /**
+     * 빠진 금액/추가된 금액을 스케치에 반영합니다.
+     * 같은 (그룹, 멤버, 월)에 같은 금액이 빠지고 다시 들어오면 서로 상쇄되어 행을 건드리지 않습니다.
+     */
+    void apply(List<SpendingSample> removed, List<SpendingSample> added) {
+        // 키 순서대로 잠가서 동시 갱신 시 교착 상태 방지
+        Map<SketchKey, Changes> changesByKey = new TreeMap<>();
+        removed.forEach(sample -> changesByKey.computeIfAbsent(SketchKey.of(sample), key -> new Changes()).removed.add(sample.amount()));
+        added.forEach(sample -> changesByKey.computeIfAbsent(SketchKey.of(sample), key -> new Changes()).added.add(sample.amount()));
+
+        changesByKey.forEach((key, changes) -> {
+            changes.cancelOut();
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            sketchRepository.insertIfAbsent(key.groupId(), key.userId(), key.statMonth());
+            SpendingSketch row = sketchRepository.findForUpdate(key.groupId(), key.userId(), key.statMonth())
+                    .orElseThrow(() -> new IllegalStateException("분포 스케치를 찾을 수 없습니다."));
+
+            QuantileSketch sketch = row.quantileSketch();
+            SpendingHistogram histogram = row.spendingHistogram();
+            long totalAmount = row.getTotalAmount();
+
+            boolean consistent = true;
+            for (long amount : changes.removed) {
+                consistent &= sketch.remove(amount);
+                consistent &= histogram.remove(amount);
+                totalAmount -= amount;
+            }
+            for (long amount : changes.added) {
+                sketch.add(amount);
+                histogram.add(amount);
+                totalAmount += amount;
+            }
+            if (!consistent) {
+                log.warn("분포 스케치가 원본과 어긋났습니다. 재구축이 필요합니다. groupId={}, userId={}, month={}",
+                        key.groupId(), key.userId(), key.statMonth());
+            }
+
+            row.update(sketch, histogram, Math.max(totalAmount, 0L));
+        });
+    }
+
+    /**
+     * 그룹 지출 분포 조회 (그룹 전체 + 멤버별)
+     *
+     * @param groupId 그룹 ID
+     * @param from 시작 월 (포함)
+     * @param to 종료 월 (포함)
+     * @param userId 조회하는 사용자 ID (그룹 멤버만 조회 가능)
+     * @return 기간 내 스케치를 병합한 분포
+     */
+    @Transactional(readOnly = true)
+    public GroupSpendingDistributionResponseDto getGroupDistribution(Long groupId, YearMonth from, YearMonth to, Long userId) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작 월이 종료 월보다 늦을 수 없습니다.");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_RANGE_MONTHS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_RANGE_MONTHS + "개월입니다.");
+        }
+
+        // 멤버 확인은 캐시로 (없는 그룹도 멤버가 아니므로 여기서 걸러짐)
+        if (!groupAccessService.isMember(userId, groupId)) {
+            throw new IllegalArgumentException("해당 그룹의 멤버가 아닙니다.");
+        }
+        List<GroupMember> members = groupMemberRepository.findByGroup(groupRepository.getReferenceById(groupId));
+
+        // (userId -> 병합된 스케치)
+        Map<Long, Merged> mergedByUser = new HashMap<>();
+        List<SpendingSketch> rows = sketchRepository.findByGroupIdAndStatMonthBetween(groupId,
+                SpendingSketch.toStatMonth(from.getYear(), from.getMonthValue()),
+                SpendingSketch.toStatMonth(to.getYear(), to.getMonthValue()));
+        for (SpendingSketch row : rows) {
+            mergedByUser.computeIfAbsent(row.getUserId(), id -> new Merged()).merge(row);
+        }
+
+        List<MemberSpendingDistributionDto> memberDistributions = members.stream()
+                .map(GroupMember::getUser)
+                .map(user -> new MemberSpendingDistributionDto(
+                        user.getId(),
+                        user.getName(),
+                        mergedByUser.getOrDefault(user.getId(), new Merged()).toDto()))
+                .toList();
+
+        return new GroupSpendingDistributionResponseDto(
+                groupId,
+                from,
+                to,
+                mergedByUser.getOrDefault(SpendingSketch.GROUP_SCOPE, new Merged()).toDto(),
+                memberDistributions);
+    }
+
+    /**
+     * 그룹 스케치 재구축
+     * 그룹의 지출(그룹 분포)과 분담 원장(멤버 분포)을 다시 읽어 스케치를 새로 만듭니다.
+     */
+    public void rebuildGroup(Long groupId) {
+        sketchRepository.deleteByGroupId(groupId);
+
+        Map<SketchKey, Merged> rebuilt = new TreeMap<>();
+        Stream.concat(
+                expenseRepository.findAmountsByGroupId(groupId).stream()
+                        .map(expense -> SpendingSample.ofExpense(groupId, expense.expenseDate(), expense.amount())),
+                shareRepository.findByGroupId(groupId).stream()
+                        .map(SpendingSample::ofShare)
+        ).forEach(sample -> rebuilt.computeIfAbsent(SketchKey.of(sample), key -> new Merged()).add(sample.amount()));
+
+        List<SpendingSketch> rows = new ArrayList<>();
+        rebuilt.forEach((key, merged) -> {
+            SpendingSketch row = SpendingSketch.builder()
+                    .groupId(key.groupId())
+                    .userId(key.userId())
+                    .statMonth(key.statMonth())
+                    .build();
+            row.update(merged.sketch, merged.histogram, merged.totalAmount);
+            rows.add(row);
+        });
+        sketchRepository.saveAll(rows);
+    }
+
+    /**
+     * 전체 그룹 스케치 재구축
+     * 그룹 목록을 페이지 단위로 읽고, 호출한 쪽에 트랜잭션이 없으면 그룹마다 트랜잭션을 따로 열고 커밋하며, 있으면 그 트랜잭션에 참여합니다.
+     *
+     * @return 처리한 그룹 수
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long rebuildAll() {
+        long processed = 0;
+        int page = 0;
+        Page<Group> groups;
+        do {
+            groups = groupRepository.findAll(PageRequest.of(page++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            for (Group group : groups) {
+                // 그룹 1개 = 트랜잭션 1개 (트랜잭션이 끝나면 읽은 지출/원장과 새 스케치도 영속성 컨텍스트에서 정리됨)
+                Long groupId = group.getId();
+                transactionTemplate.executeWithoutResult(status -> rebuildGroup(groupId));
+                processed++;
+            }
+        } while (groups.hasNext());
+
+        log.info("지출 분포 스케치 재구축 완료 - 그룹 {}개", processed);
+        return processed;
+    }
+
+    /**
+     * 그룹 분포 스케치가 하나도 없는데 지출이 있으면 (기존 DB) 시작 시 한 번 백필합니다.
+     * 멤버 분포는 분담 원장을 읽으므로 원장 백필(ShareLedgerService) 이후에 실행합니다.
+     * 전체를 하나의 트랜잭션으로 묶지 않도록 트랜잭션 없이 시작합니다. (그룹별 트랜잭션은 rebuildAll에서)
+     */
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (!sketchRepository.existsByUserId(SpendingSketch.GROUP_SCOPE) && expenseRepository.count() > 0) {
+            log.info("지출 분포 스케치가 비어있어 백필을 시작합니다.");
+            rebuildAll();
+        }
+    }
+
+    private record SketchKey(Long groupId, Long userId, int statMonth) implements Comparable<SketchKey> {
+
+        static SketchKey of(SpendingSample sample) {
+            return new SketchKey(sample.groupId(), sample.userId(), sample.statMonth());
+        }
+
+        @Override
+        public int compareTo(SketchKey other) {
+            int result = groupId.compareTo(other.groupId);
+            if (result == 0) result = userId.compareTo(other.userId);
+            if (result == 0) result = Integer.compare(statMonth, other.statMonth);
+            return result;
+        }
+    }
+
+    // 한 스케치 행에 대한 변경분
+    private static class Changes {
+        final List<Long> removed = new ArrayList<>();
+        final List<Long> added = new ArrayList<>();
+
+        void cancelOut() {
+            removed.removeIf(added::remove);
+        }
+
+        boolean isEmpty() {
+            return removed.isEmpty() && added.isEmpty();
+        }
+    }
+
+    // 여러 달 스케치 병합 결과
+    private static class Merged {
+        final QuantileSketch sketch = new QuantileSketch();
+        final SpendingHistogram histogram = new SpendingHistogram();
+        long totalAmount;
+
+        void add(long amount) {
+            sketch.add(amount);
+            histogram.add(amount);
+            totalAmount += amount;
+        }
+
+        void merge(SpendingSketch row) {
+            sketch.merge(row.quantileSketch());
+            histogram.merge(row.spendingHistogram());
+            totalAmount += row.getTotalAmount();
+        }
+
+        SpendingDistributionDto toDto() {
+            long[] counts = histogram.counts();
+            List<HistogramBucketDto> buckets = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                buckets.add(new HistogramBucketDto(SpendingHistogram.lowerBound(i), SpendingHistogram.upperBound(i), counts[i]));
+            }
+
+            if (sketch.isEmpty()) {
+                return SpendingDistributionDto.builder()
+                        .count(0L)
+                        .totalAmount(0L)
+                        .histogram(buckets)
+                        .build();
+            }
+
+            Long p25 = sketch.quantile(0.25);
+            Long p75 = sketch.quantile(0.75);
+            return SpendingDistributionDto.builder()
+                    .count(sketch.count())
+                    .totalAmount(totalAmount)
+                    .averageAmount(totalAmount / sketch.count())
+                    .p50(sketch.quantile(0.5))
+                    .p75(p75)
+                    .p90(sketch.quantile(0.9))
+                    .p99(sketch.quantile(0.99))
+                    .outlierThreshold(Math.round(p75 + 1.5 * (p75 - p25)))
+                    .histogram(buckets)
+                    .build();
+        }
+    }
+}
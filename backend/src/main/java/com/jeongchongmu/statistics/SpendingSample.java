@@ -0,0 +1,33 @@
+package com.jeongchongmu.statistics;
+
+import com.jeongchongmu.statistics.dto.ShareAmountProjection;
+import com.jeongchongmu.statistics.entity.SpendingSketch;
+import com.jeongchongmu.statistics.entity.UserExpenseShare;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분포 스케치에 넣고 빼는 금액 1건
+ *
+ * @param userId 멤버 ID, 그룹 전체 분포면 SpendingSketch.GROUP_SCOPE
+ */
+record SpendingSample(Long groupId, Long userId, int statMonth, long amount) {
+
+    static SpendingSample ofExpense(Long groupId, LocalDateTime expenseDate, long amount) {
+        return new SpendingSample(groupId, SpendingSketch.GROUP_SCOPE, statMonthOf(expenseDate), amount);
+    }
+
+    static SpendingSample ofShare(UserExpenseShare share) {
+        return new SpendingSample(share.getGroup().getId(), share.getUser().getId(),
+                statMonthOf(share.getExpenseDate()), share.getShareAmount());
+    }
+
+    static SpendingSample ofShare(ShareAmountProjection share) {
+        return new SpendingSample(share.getGroupId(), share.getUserId(),
+                statMonthOf(share.getExpenseDate()), share.getShareAmount());
+    }
+
+    private static int statMonthOf(LocalDateTime date) {
+        return SpendingSketch.toStatMonth(date.getYear(), date.getMonthValue());
+    }
+}
@@ -1,5 +1,7 @@
 package com.jeongchongmu.statistics;
 
+import com.jeongchongmu.statistics.dto.DashboardStatisticsResponseDto;
+import com.jeongchongmu.statistics.dto.GroupSpendingDistributionResponseDto;
 import com.jeongchongmu.statistics.dto.MonthlyStatisticsResponseDto;
 import com.jeongchongmu.user.User;
 import jakarta.websocket.server.PathParam;
@@ -8,10 +10,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+
 @RestController
 @RequiredArgsConstructor
 public class StatisticsController {
     private final StatisticsService statisticsService;
+    private final SpendingDistributionService spendingDistributionService;
 
     /**
      * 사용자별 그룹 월간 통계 조회 API
@@ -52,4 +57,44 @@ public class StatisticsController {
                 statisticsService.getUserTotalStatistics(year, month, user.getId());
         return ResponseEntity.ok(monthlyStatisticsResponseDto);
     }
-}
\ No newline at end of file
+
+    /**
+     * 홈 화면 대시보드 통계 조회 API (내가 속한 모든 그룹의 월간 요약을 한 번에)
+     *
+     * @param year 연도
+     * @param month 월
+     * @param user 인증된 사용자 (Spring Security에서 자동 주입)
+     * @return 그룹별 월간 지출 합계, 미완료 정산 수, 내 분담액
+     */
+    @GetMapping("/api/statistics/dashboard")
+    public ResponseEntity<DashboardStatisticsResponseDto> getDashboardStatistics(
+            @RequestParam("year") int year,
+            @RequestParam("month") int month,
+            @AuthenticationPrincipal User user
+    ){
+        DashboardStatisticsResponseDto dashboard =
+                statisticsService.getDashboardStatistics(year, month, user.getId());
+        return ResponseEntity.ok(dashboard);
+    }
+
+    /**
+     * 그룹 지출 분포 조회 API (그룹 전체 + 멤버별 분위수/히스토그램)
+     *
+     * @param groupId 그룹 ID
+     * @param from 시작 월 (yyyy-MM, 포함)
+     * @param to 종료 월 (yyyy-MM, 포함)
+     * @param user 인증된 사용자 (Spring Security에서 자동 주입)
+     * @return 기간 내 지출 1건당 금액 분포
+     */
+    @GetMapping("/api/groups/{groupId}/statistics/distribution")
+    public ResponseEntity<GroupSpendingDistributionResponseDto> getGroupDistribution(
+            @PathVariable("groupId") Long groupId,
+            @RequestParam("from") YearMonth from,
+            @RequestParam("to") YearMonth to,
+            @AuthenticationPrincipal User user
+    ){
+        GroupSpendingDistributionResponseDto distribution =
+                spendingDistributionService.getGroupDistribution(groupId, from, to, user.getId());
+        return ResponseEntity.ok(distribution);
+    }
+}
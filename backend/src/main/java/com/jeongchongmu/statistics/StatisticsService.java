@@ -2,32 +2,43 @@ package com.jeongchongmu.statistics;
 
 
 import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
 import com.jeongchongmu.settlement.repository.SettlementRepository;
 import com.jeongchongmu.statistics.dto.*;
+import com.jeongchongmu.statistics.repository.UserExpenseShareRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class StatisticsService {
+    // 전체 기간 조회용 범위
+    private static final LocalDateTime ALL_TIME_START = LocalDate.of(1970, 1, 1).atStartOfDay();
+    private static final LocalDateTime ALL_TIME_END = LocalDate.of(3000, 1, 1).atStartOfDay();
+
     private final ExpenseRepository expenseRepository;
     private final SettlementRepository settlementRepository;
+    private final UserExpenseShareRepository userExpenseShareRepository;
+    private final GroupMemberRepository groupMemberRepository;
 
 
     /**
      * 사용자별 월간 통계 조회
      *
      * @param groupId 그룹 ID
-     * @param year 연도
-     * @param month 월
+     * @param year 연도 (null이면 전체 기간)
+     * @param month 월 (null이면 해당 연도 전체)
      * @param userId 사용자 ID (통계를 조회할 사용자)
      * @return 사용자별 월간 통계 데이터
      *
@@ -36,25 +47,43 @@ public class StatisticsService {
      * - 내가 참여자인 경우: 정산이 있으면 내 채무만, 정산이 없으면 제외
      */
     @Transactional(readOnly = true)
-    public MonthlyStatisticsResponseDto getMonthlyStatistics(Long groupId, int year, int month, Long userId){
+    public MonthlyStatisticsResponseDto getMonthlyStatistics(Long groupId, Integer year, Integer month, Long userId){
+        // 조회 범위: [해당 월 1일, 다음 달 1일), [해당 연도 1월 1일, 다음 해 1월 1일)
+        // year가 없으면 전체 기간, month가 없으면 해당 연도 전체 (AI 도구의 기간 생략 조회)
+        int chartYear = year != null ? year : LocalDate.now().getYear();
+        LocalDateTime yearStart = LocalDate.of(chartYear, 1, 1).atStartOfDay();
+        LocalDateTime yearEnd = yearStart.plusYears(1);
+        LocalDateTime monthStart;
+        LocalDateTime monthEnd;
+        if (year == null) {
+            monthStart = ALL_TIME_START;
+            monthEnd = ALL_TIME_END;
+        } else if (month == null) {
+            monthStart = yearStart;
+            monthEnd = yearEnd;
+        } else {
+            monthStart = LocalDate.of(year, month, 1).atStartOfDay();
+            monthEnd = monthStart.plusMonths(1);
+        }
+
         // 1. 사용자별 지출 총액 (정산 기반 계산)
-        Long userTotalExpense = expenseRepository.findUserMonthlyExpenseTotal(groupId, year, month, userId);
+        Long userTotalExpense = expenseRepository.findUserMonthlyExpenseTotal(groupId, monthStart, monthEnd, userId);
 
         // 2. 사용자별 카테고리 통계 (정산 기반)
-        List<CategorySummaryDto> categoryStatistics = expenseRepository.findUserMonthlyCategoryStatistics(groupId, year, month, userId);
+        List<CategorySummaryDto> categoryStatistics = expenseRepository.findUserMonthlyCategoryStatistics(groupId, monthStart, monthEnd, userId);
 
         // 3. 가장 큰 지출 (그룹 전체 기준 - 참고용)
-        List<TopExpenseDto> topExpenses = expenseRepository.findTopExpense(groupId, year, month, PageRequest.of(0, 1));
+        List<TopExpenseDto> topExpenses = expenseRepository.findTopExpense(groupId, monthStart, monthEnd, PageRequest.of(0, 1));
         TopExpenseDto topExpense = topExpenses.isEmpty() ? null : topExpenses.getFirst();
 
         // 4. 정산 요약 (그룹 전체 기준)
-        SettlementSummaryDto settlementSummary = settlementRepository.findMonthlySettlementSummary(groupId, year, month);
+        SettlementSummaryDto settlementSummary = settlementRepository.findMonthlySettlementSummary(groupId, monthStart, monthEnd);
 
         // 5. 미완료 정산 목록 (그룹 전체 기준)
-        List<SettlementSummaryItemDto> incompletedSettlements = settlementRepository.findIncompletedSettlements(groupId, year, month);
+        List<SettlementSummaryItemDto> incompletedSettlements = settlementRepository.findIncompletedSettlements(groupId, monthStart, monthEnd);
 
         // 6. [연간 차트 로직] 사용자별 1~12월 데이터 채우기
-        List<MonthlyExpenseStatDto> yearlyRawData = expenseRepository.findUserYearlyStatistics(groupId, year, userId);
+        List<MonthlyExpenseStatDto> yearlyRawData = expenseRepository.findUserYearlyStatistics(groupId, yearStart, yearEnd, userId);
         Map<Integer, Long> monthlyMap = yearlyRawData.stream()
                 .collect(Collectors.toMap(MonthlyExpenseStatDto::month, MonthlyExpenseStatDto::amount));
 
@@ -98,20 +127,26 @@ public class StatisticsService {
      * @return 개인 전체 월간 통계 데이터
      *
      * 로직:
-     * - 모든 그룹의 지출을 합산
+     * - 모든 그룹의 지출을 합산 (사용자별 분담 원장 UserExpenseShare를 범위 조회)
      * - 내가 결제자인 경우: 정산이 있으면 내 채무만, 정산이 없으면 전체 금액
      * - 내가 참여자인 경우: 정산이 있으면 내 채무만, 정산이 없으면 제외
      */
     @Transactional(readOnly = true)
     public MonthlyStatisticsResponseDto getUserTotalStatistics(int year, int month, Long userId){
-        // 1. 개인 전체 지출 총액 (모든 그룹 합산)
-        Long userTotalExpense = expenseRepository.findUserTotalMonthlyExpense(year, month, userId);
+        // 조회 범위: [해당 월 1일, 다음 달 1일), [해당 연도 1월 1일, 다음 해 1월 1일)
+        LocalDateTime monthStart = LocalDate.of(year, month, 1).atStartOfDay();
+        LocalDateTime monthEnd = monthStart.plusMonths(1);
+        LocalDateTime yearStart = LocalDate.of(year, 1, 1).atStartOfDay();
+        LocalDateTime yearEnd = yearStart.plusYears(1);
+
+        // 1. 개인 전체 지출 총액 (모든 그룹 합산, 분담 원장 기준)
+        Long userTotalExpense = userExpenseShareRepository.sumShareAmount(userId, monthStart, monthEnd);
 
         // 2. 개인 전체 카테고리 통계 (모든 그룹 합산)
-        List<CategorySummaryDto> categoryStatistics = expenseRepository.findUserTotalMonthlyCategoryStatistics(year, month, userId);
+        List<CategorySummaryDto> categoryStatistics = userExpenseShareRepository.findCategoryShares(userId, monthStart, monthEnd);
 
         // 3. 개인 전체 연간 통계 (모든 그룹 합산)
-        List<MonthlyExpenseStatDto> yearlyRawData = expenseRepository.findUserTotalYearlyStatistics(year, userId);
+        List<MonthlyExpenseStatDto> yearlyRawData = userExpenseShareRepository.findMonthlyShares(userId, yearStart, yearEnd);
         Map<Integer, Long> monthlyMap = yearlyRawData.stream()
                 .collect(Collectors.toMap(MonthlyExpenseStatDto::month, MonthlyExpenseStatDto::amount));
 
@@ -142,4 +177,71 @@ public class StatisticsService {
                 .build();
     }
 
+    /**
+     * 홈 화면 대시보드 통계 조회 (내가 속한 모든 그룹을 한 번에)
+     *
+     * @param year 연도
+     * @param month 월
+     * @param userId 사용자 ID
+     * @return 그룹별 월간 지출/미완료 정산 수/내 분담액
+     *
+     * 그룹 수와 상관없이 SQL 4번으로 끝납니다. (그룹 목록 1 + 그룹별 GROUP BY 집계 3)
+     * 그룹마다 getMonthlyStatistics를 부르면 그룹 1개당 쿼리 6번이 나갑니다.
+     */
+    @Transactional(readOnly = true)
+    public DashboardStatisticsResponseDto getDashboardStatistics(int year, int month, Long userId){
+        LocalDateTime monthStart = LocalDate.of(year, month, 1).atStartOfDay();
+        LocalDateTime monthEnd = monthStart.plusMonths(1);
+
+        // 1. 내가 속한 그룹 목록
+        List<GroupBriefDto> groups = groupMemberRepository.findGroupBriefsByUserId(userId);
+        if (groups.isEmpty()) {
+            return DashboardStatisticsResponseDto.builder()
+                    .year(year)
+                    .month(month)
+                    .myTotalShareAmount(0L)
+                    .groups(Collections.emptyList())
+                    .build();
+        }
+        List<Long> groupIds = groups.stream().map(GroupBriefDto::groupId).toList();
+
+        // 2. 그룹별 월간 지출 합계/건수 (그룹 전체 기준)
+        Map<Long, GroupAmountDto> expenses = byGroupId(expenseRepository.sumAmountsByGroupIds(groupIds, monthStart, monthEnd));
+
+        // 3. 그룹별 월간 미완료 정산 수 (그룹 전체 기준)
+        Map<Long, GroupAmountDto> incompleted = byGroupId(settlementRepository.countIncompletedByGroupIds(groupIds, monthStart, monthEnd));
+
+        // 4. 그룹별 내 분담액 (분담 원장 기준)
+        Map<Long, GroupAmountDto> shares = byGroupId(userExpenseShareRepository.sumShareAmountByGroupIds(userId, groupIds, monthStart, monthEnd));
+
+        // 집계 결과가 없는 그룹은 0으로 채웁니다.
+        GroupAmountDto empty = new GroupAmountDto(null, 0L, 0L);
+        List<GroupDashboardDto> groupDashboards = groups.stream()
+                .map(group -> {
+                    GroupAmountDto expense = expenses.getOrDefault(group.groupId(), empty);
+                    return GroupDashboardDto.builder()
+                            .groupId(group.groupId())
+                            .groupName(group.name())
+                            .icon(group.icon())
+                            .totalExpenseAmount(expense.amount())
+                            .totalExpenseCount(expense.count())
+                            .notCompletedSettlementCount(incompleted.getOrDefault(group.groupId(), empty).count())
+                            .myShareAmount(shares.getOrDefault(group.groupId(), empty).amount())
+                            .build();
+                })
+                .toList();
+
+        long myTotalShareAmount = groupDashboards.stream().mapToLong(GroupDashboardDto::myShareAmount).sum();
+
+        return DashboardStatisticsResponseDto.builder()
+                .year(year)
+                .month(month)
+                .myTotalShareAmount(myTotalShareAmount)
+                .groups(groupDashboards)
+                .build();
+    }
+
+    private Map<Long, GroupAmountDto> byGroupId(List<GroupAmountDto> rows) {
+        return rows.stream().collect(Collectors.toMap(GroupAmountDto::groupId, Function.identity()));
+    }
 }
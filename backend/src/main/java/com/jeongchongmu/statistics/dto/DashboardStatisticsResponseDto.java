@@ -0,0 +1,17 @@
+package com.jeongchongmu.statistics.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record DashboardStatisticsResponseDto(
+        int year,
+        int month,
+
+        // 모든 그룹의 내 월간 분담액 합계
+        Long myTotalShareAmount,
+
+        List<GroupDashboardDto> groups
+) {
+}
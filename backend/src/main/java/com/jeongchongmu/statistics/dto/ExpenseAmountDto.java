@@ -0,0 +1,8 @@
+package com.jeongchongmu.statistics.dto;
+
+import java.time.LocalDateTime;
+
+public record ExpenseAmountDto(
+        LocalDateTime expenseDate,
+        Long amount
+) {}
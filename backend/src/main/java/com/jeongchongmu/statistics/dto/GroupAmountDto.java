@@ -0,0 +1,8 @@
+package com.jeongchongmu.statistics.dto;
+
+// 그룹별 집계 결과 한 줄 (GROUP BY group_id)
+public record GroupAmountDto(
+        Long groupId,
+        Long amount,
+        Long count
+) { }
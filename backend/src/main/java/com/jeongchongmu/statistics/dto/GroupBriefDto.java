@@ -0,0 +1,8 @@
+package com.jeongchongmu.statistics.dto;
+
+// 대시보드용 그룹 기본 정보 (엔티티 로딩 없이 조회)
+public record GroupBriefDto(
+        Long groupId,
+        String name,
+        String icon
+) { }
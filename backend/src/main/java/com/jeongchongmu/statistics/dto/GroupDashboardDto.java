@@ -0,0 +1,21 @@
+package com.jeongchongmu.statistics.dto;
+
+import lombok.Builder;
+
+@Builder
+public record GroupDashboardDto(
+        Long groupId,
+        String groupName,
+        String icon,
+
+        // 그룹 전체 기준 월간 지출
+        Long totalExpenseAmount,
+        Long totalExpenseCount,
+
+        // 그룹 전체 기준 월간 미완료 정산 수
+        Long notCompletedSettlementCount,
+
+        // 이 그룹에서 내 월간 분담액 (분담 원장 기준)
+        Long myShareAmount
+) {
+}
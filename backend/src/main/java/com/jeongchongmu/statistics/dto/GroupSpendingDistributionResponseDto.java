@@ -0,0 +1,16 @@
+package com.jeongchongmu.statistics.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public record GroupSpendingDistributionResponseDto(
+        Long groupId,
+        YearMonth from,
+        YearMonth to,
+
+        // 그룹 전체: 지출 1건당 금액
+        SpendingDistributionDto group,
+
+        // 멤버별: 지출 1건당 분담 금액
+        List<MemberSpendingDistributionDto> members
+) {}
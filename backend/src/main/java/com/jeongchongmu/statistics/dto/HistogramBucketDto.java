@@ -0,0 +1,11 @@
+package com.jeongchongmu.statistics.dto;
+
+/**
+ * 금액 구간 [lowerBound, upperBound) 의 지출 건수
+ * 마지막 구간은 upperBound가 null
+ */
+public record HistogramBucketDto(
+        Long lowerBound,
+        Long upperBound,
+        Long count
+) {}
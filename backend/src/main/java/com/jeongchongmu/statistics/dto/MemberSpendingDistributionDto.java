@@ -0,0 +1,7 @@
+package com.jeongchongmu.statistics.dto;
+
+public record MemberSpendingDistributionDto(
+        Long userId,
+        String userName,
+        SpendingDistributionDto distribution
+) {}
@@ -0,0 +1,13 @@
+package com.jeongchongmu.statistics.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Native Query(RETURNING) 결과를 매핑하기 위한 Projection 인터페이스 - 원장 행 1줄의 분포 스케치 반영분
+ */
+public interface ShareAmountProjection {
+    Long getGroupId();
+    Long getUserId();
+    LocalDateTime getExpenseDate();
+    Long getShareAmount();
+}
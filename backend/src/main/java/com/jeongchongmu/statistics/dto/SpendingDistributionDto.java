@@ -0,0 +1,27 @@
+package com.jeongchongmu.statistics.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * 지출 1건당 금액 분포
+ * 분위수(p50~p99)는 근사치이며 실제 값과의 상대 오차는 1% 이내입니다.
+ * 지출이 없으면 분위수/평균/이상치 기준은 null
+ */
+@Builder
+public record SpendingDistributionDto(
+        Long count,
+        Long totalAmount,
+        Long averageAmount,
+
+        Long p50,
+        Long p75,
+        Long p90,
+        Long p99,
+
+        // 이 금액을 넘는 지출은 이상치로 표시 (p75 + 1.5 * (p75 - p25))
+        Long outlierThreshold,
+
+        List<HistogramBucketDto> histogram
+) {}
@@ -0,0 +1,79 @@
+package com.jeongchongmu.statistics.entity;
+
+import com.jeongchongmu.statistics.sketch.QuantileSketch;
+import com.jeongchongmu.statistics.sketch.SpendingHistogram;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 지출 금액 분포 스케치 (그룹/월, 그룹/멤버/월 단위)
+ *
+ * - userId = GROUP_SCOPE(0): 그룹 전체 지출 1건당 금액 분포 ("한 번 모일 때 보통 얼마?")
+ * - userId = 멤버 ID: 해당 멤버의 지출 1건당 분담 금액 분포 (UserExpenseShare 기준)
+ *
+ * 분위수 스케치(QuantileSketch)와 고정 구간 히스토그램(SpendingHistogram)을 직렬화해 저장하며,
+ * 여러 달의 행을 병합해 기간 분포를 계산합니다. 갱신은 SpendingDistributionService가 행 잠금 후 수행합니다.
+ */
+@Entity
+@Table(name = "spending_sketches",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                name = "uk_sketch_group_user_month",
+                columnNames = {"group_id", "user_id", "stat_month"}
+            )
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SpendingSketch {
+
+    // 그룹 전체 분포를 나타내는 userId
+    public static final long GROUP_SCOPE = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // yyyyMM (예: 202503)
+    @Column(name = "stat_month", nullable = false)
+    private Integer statMonth;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Column(name = "sketch")
+    private byte[] sketch;
+
+    @Column(name = "histogram")
+    private byte[] histogram;
+
+    public QuantileSketch quantileSketch() {
+        return QuantileSketch.fromBytes(sketch);
+    }
+
+    public SpendingHistogram spendingHistogram() {
+        return SpendingHistogram.fromBytes(histogram);
+    }
+
+    public void update(QuantileSketch quantileSketch, SpendingHistogram spendingHistogram, long totalAmount) {
+        this.sketch = quantileSketch.toBytes();
+        this.histogram = spendingHistogram.toBytes();
+        this.sampleCount = quantileSketch.count();
+        this.totalAmount = totalAmount;
+    }
+
+    public static int toStatMonth(int year, int month) {
+        return year * 100 + month;
+    }
+}
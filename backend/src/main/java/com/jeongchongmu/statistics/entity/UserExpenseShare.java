@@ -0,0 +1,75 @@
+package com.jeongchongmu.statistics.entity;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 사용자별 지출 분담 원장 (개인 통계 전용)
+ *
+ * 지출 1건에 대해 "이 사용자가 실제로 부담한 금액"을 한 줄로 기록합니다.
+ * - 정산이 있으면: 채무자별 정산 금액
+ * - 정산이 없으면: 결제자가 전체 금액
+ *
+ * 지출/정산이 저장될 때 ShareLedgerService가 갱신하며,
+ * 개인 통계는 (user_id, expense_date) 인덱스를 타는 범위 조회만으로 계산됩니다.
+ */
+@Entity
+@Table(name = "user_expense_shares",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                name = "uk_share_user_expense",
+                columnNames = {"user_id", "expense_id"}
+            )
+        },
+        indexes = {
+            @Index(name = "idx_share_user_date", columnList = "user_id, expense_date"),
+            @Index(name = "idx_share_expense", columnList = "expense_id")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class UserExpenseShare {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "expense_id", nullable = false)
+    private Expense expense;
+
+    // 그룹별 집계(대시보드)에 쓰기 위해 비정규화
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    private Group group;
+
+    @Column(name = "expense_date", nullable = false)
+    private LocalDateTime expenseDate;
+
+    // 이 사용자가 부담한 금액
+    @Column(nullable = false)
+    private Long shareAmount;
+
+    // 지출에 달린 태그 이름 (카테고리 통계용, 비정규화)
+    @Builder.Default
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(
+            name = "user_expense_share_tags",
+            joinColumns = @JoinColumn(name = "share_id")
+    )
+    @Column(name = "tag_name", nullable = false, length = 50)
+    private Set<String> tagNames = new HashSet<>();
+}
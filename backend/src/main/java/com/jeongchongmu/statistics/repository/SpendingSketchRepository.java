@@ -0,0 +1,46 @@
+package com.jeongchongmu.statistics.repository;
+
+import com.jeongchongmu.statistics.entity.SpendingSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SpendingSketchRepository extends JpaRepository<SpendingSketch, Long> {
+
+    // 1. 스케치 행이 없으면 빈 행 생성 (동시 생성 시 유니크 제약 충돌 대신 무시)
+    @Modifying
+    @Query(value = "INSERT INTO spending_sketches (group_id, user_id, stat_month, sample_count, total_amount) " +
+            "VALUES (:groupId, :userId, :statMonth, 0, 0) " +
+            "ON CONFLICT (group_id, user_id, stat_month) DO NOTHING",
+            nativeQuery = true)
+    void insertIfAbsent(@Param("groupId") Long groupId,
+                        @Param("userId") Long userId,
+                        @Param("statMonth") Integer statMonth);
+
+    // 2. 갱신용 조회 (행 잠금 - 같은 그룹/월에 동시에 지출이 저장돼도 카운트가 유실되지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SpendingSketch s " +
+            "WHERE s.groupId = :groupId " +
+            "AND s.userId = :userId " +
+            "AND s.statMonth = :statMonth")
+    Optional<SpendingSketch> findForUpdate(@Param("groupId") Long groupId,
+                                           @Param("userId") Long userId,
+                                           @Param("statMonth") Integer statMonth);
+
+    // 3. 그룹의 기간 내 모든 스케치 (그룹 전체 + 멤버별)
+    List<SpendingSketch> findByGroupIdAndStatMonthBetween(Long groupId, Integer fromMonth, Integer toMonth);
+
+    // 4. 재구축 전 그룹 스케치 삭제
+    @Modifying
+    @Query("DELETE FROM SpendingSketch s WHERE s.groupId = :groupId")
+    void deleteByGroupId(@Param("groupId") Long groupId);
+
+    // 5. 백필 필요 여부 확인용
+    boolean existsByUserId(Long userId);
+}
@@ -0,0 +1,116 @@
+package com.jeongchongmu.statistics.repository;
+
+import com.jeongchongmu.statistics.dto.CategorySummaryDto;
+import com.jeongchongmu.statistics.dto.GroupAmountDto;
+import com.jeongchongmu.statistics.dto.MonthlyExpenseStatDto;
+import com.jeongchongmu.statistics.dto.ShareAmountProjection;
+import com.jeongchongmu.statistics.entity.UserExpenseShare;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserExpenseShareRepository extends JpaRepository<UserExpenseShare, Long> {
+
+    // 특정 지출에 대한 원장 행 (지출/정산 변경 시 재계산용)
+    List<UserExpenseShare> findByExpenseId(Long expenseId);
+
+    // 특정 그룹의 원장 행 (분포 스케치 재구축용)
+    List<UserExpenseShare> findByGroupId(Long groupId);
+
+    // [일괄 재계산] 지출들의 원장 태그 삭제 (원장 행보다 먼저)
+    @Modifying
+    @Query(value = "DELETE FROM user_expense_share_tags WHERE share_id IN (" +
+            "SELECT id FROM user_expense_shares WHERE expense_id IN (:expenseIds))",
+            nativeQuery = true)
+    int deleteTagsByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    // [일괄 재계산] 지출들의 원장 행 삭제, 삭제된 금액 반환 (분포 스케치에서 빼기용)
+    @Query(value = "DELETE FROM user_expense_shares WHERE expense_id IN (:expenseIds) " +
+            "RETURNING group_id AS groupId, user_id AS userId, expense_date AS expenseDate, share_amount AS shareAmount",
+            nativeQuery = true)
+    List<ShareAmountProjection> deleteByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    // [일괄 재계산] 지출들의 원장 행 생성 (ShareLedgerService.calculateShares와 같은 규칙), 생성된 금액 반환
+    // - 정산이 있으면: 채무자별 정산 금액의 합
+    // - 정산이 없으면: 결제자가 전체 금액
+    @Query(value = "INSERT INTO user_expense_shares (user_id, expense_id, group_id, expense_date, share_amount) " +
+            "SELECT shares.user_id, e.id, e.group_id, e.expense_date, shares.amount " +
+            "FROM expenses e " +
+            "CROSS JOIN LATERAL (" +
+            "SELECT sd.debtor_id AS user_id, SUM(sd.amount) AS amount " +
+            "FROM settlements s JOIN settlement_details sd ON sd.settlement_id = s.id " +
+            "WHERE s.expense_id = e.id " +
+            "GROUP BY sd.debtor_id " +
+            "UNION ALL " +
+            "SELECT e.payer_id, e.amount " +
+            "WHERE NOT EXISTS (SELECT 1 FROM settlements s WHERE s.expense_id = e.id)" +
+            ") shares " +
+            "WHERE e.id IN (:expenseIds) AND shares.amount > 0 " +
+            "RETURNING group_id AS groupId, user_id AS userId, expense_date AS expenseDate, share_amount AS shareAmount",
+            nativeQuery = true)
+    List<ShareAmountProjection> insertForExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    // [일괄 재계산] 지출들의 태그를 원장 행마다 복사
+    @Modifying
+    @Query(value = "INSERT INTO user_expense_share_tags (share_id, tag_name) " +
+            "SELECT DISTINCT us.id, t.name FROM user_expense_shares us " +
+            "JOIN expense_tags et ON et.expense_id = us.expense_id " +
+            "JOIN tags t ON t.id = et.tag_id " +
+            "WHERE us.expense_id IN (:expenseIds)",
+            nativeQuery = true)
+    int insertTagsForExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    // 1. 개인 전체 지출 총액 (모든 그룹 합산) - [start, end) 범위 조회
+    @Query("SELECT COALESCE(SUM(s.shareAmount), 0) " +
+            "FROM UserExpenseShare s " +
+            "WHERE s.user.id = :userId " +
+            "AND s.expenseDate >= :start " +
+            "AND s.expenseDate < :end")
+    Long sumShareAmount(@Param("userId") Long userId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+    // 2. 개인 전체 카테고리(태그)별 통계
+    @Query("SELECT new com.jeongchongmu.statistics.dto.CategorySummaryDto(" +
+            "t, SUM(s.shareAmount)) " +
+            "FROM UserExpenseShare s " +
+            "JOIN s.tagNames t " +
+            "WHERE s.user.id = :userId " +
+            "AND s.expenseDate >= :start " +
+            "AND s.expenseDate < :end " +
+            "GROUP BY t")
+    List<CategorySummaryDto> findCategoryShares(@Param("userId") Long userId,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end);
+
+    // 3. 개인 전체 월별 합계 (연간 차트용)
+    @Query("SELECT new com.jeongchongmu.statistics.dto.MonthlyExpenseStatDto(" +
+            "MONTH(s.expenseDate), SUM(s.shareAmount)) " +
+            "FROM UserExpenseShare s " +
+            "WHERE s.user.id = :userId " +
+            "AND s.expenseDate >= :start " +
+            "AND s.expenseDate < :end " +
+            "GROUP BY MONTH(s.expenseDate)")
+    List<MonthlyExpenseStatDto> findMonthlyShares(@Param("userId") Long userId,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    // 4. 대시보드용: 그룹별 내 분담액 (GROUP BY group_id)
+    @Query("SELECT new com.jeongchongmu.statistics.dto.GroupAmountDto(" +
+            "s.group.id, SUM(s.shareAmount), COUNT(s)) " +
+            "FROM UserExpenseShare s " +
+            "WHERE s.user.id = :userId " +
+            "AND s.group.id IN :groupIds " +
+            "AND s.expenseDate >= :start " +
+            "AND s.expenseDate < :end " +
+            "GROUP BY s.group.id")
+    List<GroupAmountDto> sumShareAmountByGroupIds(@Param("userId") Long userId,
+                                                  @Param("groupIds") Collection<Long> groupIds,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+}
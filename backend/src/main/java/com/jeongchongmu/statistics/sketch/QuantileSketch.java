@@ -0,0 +1,171 @@
+package com.jeongchongmu.statistics.sketch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 병합 가능한 분위수 스케치 (DDSketch 방식의 로그 버킷)
+ *
+ * 금액 v를 ceil(log_γ(v)) 번 버킷에 세기만 하므로
+ * - 병합: 버킷별 카운트 합산
+ * - 삭제: 버킷 카운트 차감 (지출 수정/삭제 반영 가능)
+ * - 정확도: 반환된 분위수는 실제 값 대비 상대 오차 RELATIVE_ACCURACY 이내
+ *
+ * 버킷 수는 값의 범위에만 의존합니다. (1원 ~ 100억 원 구간이면 최대 약 1,200개)
+ */
+public class QuantileSketch {
+
+    // 상대 오차 1%
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte FORMAT_VERSION = 1;
+
+    private final TreeMap<Integer, Long> bins = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public void add(long value) {
+        validate(value);
+        if (value == 0) {
+            zeroCount++;
+        } else {
+            bins.merge(indexOf(value), 1L, Long::sum);
+        }
+        count++;
+    }
+
+    /**
+     * 이전에 추가한 값을 제거합니다.
+     *
+     * @return 해당 값이 들어있던 버킷이 비어있었다면 false (스케치가 원본과 어긋난 상태, 재구축 필요)
+     */
+    public boolean remove(long value) {
+        validate(value);
+        if (value == 0) {
+            if (zeroCount == 0) {
+                return false;
+            }
+            zeroCount--;
+        } else {
+            int index = indexOf(value);
+            Long binCount = bins.get(index);
+            if (binCount == null) {
+                return false;
+            }
+            if (binCount == 1) {
+                bins.remove(index);
+            } else {
+                bins.put(index, binCount - 1);
+            }
+        }
+        count--;
+        return true;
+    }
+
+    public void merge(QuantileSketch other) {
+        other.bins.forEach((index, binCount) -> bins.merge(index, binCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * q 분위수 (0.0 ~ 1.0)
+     * 정렬된 값 중 floor(q * (count - 1)) 번째 값의 근사치를 반환합니다.
+     *
+     * @return 근사 분위수, 비어있으면 null
+     */
+    public Long quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("분위수는 0과 1 사이여야 합니다.");
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        long rank = (long) Math.floor(q * (count - 1));
+        long cumulative = zeroCount;
+        if (rank < cumulative) {
+            return 0L;
+        }
+        for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+            cumulative += bin.getValue();
+            if (rank < cumulative) {
+                return Math.round(valueOf(bin.getKey()));
+            }
+        }
+        return Math.round(valueOf(bins.lastKey()));
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + bins.size() * 12);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(zeroCount);
+            out.writeInt(bins.size());
+            for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+                out.writeInt(bin.getKey());
+                out.writeLong(bin.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static QuantileSketch fromBytes(byte[] data) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (data == null || data.length == 0) {
+            return sketch;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("지원하지 않는 스케치 형식입니다: " + version);
+            }
+            sketch.zeroCount = in.readLong();
+            sketch.count = sketch.zeroCount;
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                int index = in.readInt();
+                long binCount = in.readLong();
+                sketch.bins.put(index, binCount);
+                sketch.count += binCount;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sketch;
+    }
+
+    // 값 v가 속하는 버킷: (γ^(i-1), γ^i]
+    private static int indexOf(long value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    // 버킷 i의 대표값 (버킷 양 끝 모두에 대해 상대 오차가 RELATIVE_ACCURACY 이하가 되는 지점)
+    private static double valueOf(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    private static void validate(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("금액은 0 이상이어야 합니다.");
+        }
+    }
+}
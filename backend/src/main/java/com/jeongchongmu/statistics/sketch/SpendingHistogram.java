@@ -0,0 +1,90 @@
+package com.jeongchongmu.statistics.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 고정 구간 지출 금액 히스토그램
+ *
+ * 구간 경계가 모든 그룹/월에서 같으므로 구간별 카운트를 더하기만 하면 병합됩니다.
+ * i번째 구간은 [BOUNDARIES[i-1], BOUNDARIES[i]) 이며, 마지막 구간은 상한이 없습니다.
+ */
+public class SpendingHistogram {
+
+    // 구간 경계 (원)
+    public static final long[] BOUNDARIES = {
+            5_000L, 10_000L, 20_000L, 30_000L, 50_000L, 100_000L, 200_000L, 500_000L
+    };
+
+    private final long[] counts;
+
+    public SpendingHistogram() {
+        this.counts = new long[BOUNDARIES.length + 1];
+    }
+
+    private SpendingHistogram(long[] counts) {
+        this.counts = counts;
+    }
+
+    public void add(long value) {
+        counts[bucketOf(value)]++;
+    }
+
+    /**
+     * @return 해당 구간이 비어있었다면 false (원본과 어긋난 상태, 재구축 필요)
+     */
+    public boolean remove(long value) {
+        int bucket = bucketOf(value);
+        if (counts[bucket] == 0) {
+            return false;
+        }
+        counts[bucket]--;
+        return true;
+    }
+
+    public void merge(SpendingHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long[] counts() {
+        return counts.clone();
+    }
+
+    // i번째 구간의 하한
+    public static long lowerBound(int bucket) {
+        return bucket == 0 ? 0L : BOUNDARIES[bucket - 1];
+    }
+
+    // i번째 구간의 상한 (마지막 구간은 null)
+    public static Long upperBound(int bucket) {
+        return bucket < BOUNDARIES.length ? BOUNDARIES[bucket] : null;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(counts.length * Long.BYTES);
+        for (long c : counts) {
+            buffer.putLong(c);
+        }
+        return buffer.array();
+    }
+
+    public static SpendingHistogram fromBytes(byte[] data) {
+        if (data == null || data.length == 0) {
+            return new SpendingHistogram();
+        }
+        if (data.length != (BOUNDARIES.length + 1) * Long.BYTES) {
+            throw new IllegalStateException("히스토그램 구간 수가 현재 설정과 다릅니다. 재구축이 필요합니다.");
+        }
+        long[] counts = new long[BOUNDARIES.length + 1];
+        ByteBuffer.wrap(data).asLongBuffer().get(counts);
+        return new SpendingHistogram(counts);
+    }
+
+    private static int bucketOf(long value) {
+        int position = Arrays.binarySearch(BOUNDARIES, value);
+        // 경계값과 같으면 그 경계부터 시작하는 다음 구간
+        return position >= 0 ? position + 1 : -(position + 1);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -42,6 +43,11 @@ public class User extends BaseEntity {
     @Column(nullable = true)
     private String fcmToken; // 로그인 시 발급 받아야 하는 푸시 토큰
 
+    // 안 읽은 알림 수 (배지). UserRepository의 원자적 UPDATE로만 바뀌므로 엔티티 저장 시에는 쓰지 않음
+    @ColumnDefault("0")
+    @Column(name = "unread_notification_count", nullable = false, insertable = false, updatable = false)
+    private int unreadNotificationCount;
+
 
 
     // @Builder
@@ -2,10 +2,35 @@ package com.jeongchongmu.user;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByEmail(String email);
+
+    // 만료/삭제된 FCM 토큰 일괄 삭제 (토큰 값으로 매칭 - 그 사이 새 토큰을 등록한 사용자는 제외)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+
+    // 안 읽은 알림 수 조회 (배지)
+    @Query("SELECT u.unreadNotificationCount FROM User u WHERE u.id = :userId")
+    Optional<Integer> findUnreadNotificationCount(@Param("userId") Long userId);
+
+    // 안 읽은 알림 수 +1 (알림 저장과 같은 트랜잭션)
+    @Modifying
+    @Query("UPDATE User u SET u.unreadNotificationCount = u.unreadNotificationCount + 1 WHERE u.id = :userId")
+    int incrementUnreadNotificationCount(@Param("userId") Long userId);
+
+    // 안 읽은 알림 수 -1 (0 밑으로 내려가지 않음)
+    @Modifying
+    @Query("UPDATE User u SET u.unreadNotificationCount = u.unreadNotificationCount - 1 " +
+            "WHERE u.id = :userId AND u.unreadNotificationCount > 0")
+    int decrementUnreadNotificationCount(@Param("userId") Long userId);
 }
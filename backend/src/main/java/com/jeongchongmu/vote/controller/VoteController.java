@@ -1,11 +1,21 @@
 package com.jeongchongmu.vote.controller;
 
+import com.jeongchongmu.user.User;
 import com.jeongchongmu.vote.dto.CastVoteRequest;
+import com.jeongchongmu.vote.dto.OngoingVoteSummary;
+import com.jeongchongmu.vote.dto.SetVoteSelectionRequest;
+import com.jeongchongmu.vote.dto.SubmitVoteSelectionsRequest;
 import com.jeongchongmu.vote.dto.VoteResponse;
 import com.jeongchongmu.vote.service.VoteService;
+import com.jeongchongmu.vote.service.VoteTallyHub;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/votes")
@@ -13,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class VoteController {
 
     private final VoteService voteService;
+    private final VoteTallyHub voteTallyHub;
 
     @PostMapping("/{expenseId}")
     public ResponseEntity<Long> createVote(@PathVariable Long expenseId) {
@@ -25,6 +36,34 @@ public class VoteController {
         return ResponseEntity.ok("투표 반영 완료");
     }
 
+    // 토글 대신 원하는 선택 상태를 지정 (네트워크 재시도에 안전) - 로그인한 사용자 본인의 선택만
+    @PutMapping("/selection")
+    public ResponseEntity<String> setSelection(@AuthenticationPrincipal User user,
+                                               @RequestBody SetVoteSelectionRequest request) {
+        voteService.setSelection(user.getId(), request);
+        return ResponseEntity.ok("투표 반영 완료");
+    }
+
+    // 내 선택 목록 제출 (메뉴마다 요청하지 않고 고른 항목 전체를 한 번에) - 로그인한 사용자 본인의 선택만
+    @PutMapping("/selections")
+    public ResponseEntity<String> submitSelections(@AuthenticationPrincipal User user,
+                                                   @RequestBody SubmitVoteSelectionsRequest request) {
+        voteService.submitSelections(user.getId(), request);
+        return ResponseEntity.ok("투표 반영 완료");
+    }
+
+    // 투표 현황 실시간 구독 (SSE) - 처음에 전체 현황(snapshot), 이후 바뀐 선택만(delta) 전달되므로 새로고침할 필요 없음 (그룹 멤버만)
+    @GetMapping(value = "/{voteId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamVoteTally(@AuthenticationPrincipal User user, @PathVariable Long voteId) {
+        return voteTallyHub.subscribe(user.getId(), voteId);
+    }
+
+    // 내 그룹들의 진행 중인 투표 목록 (투표자 수, 내 참여 여부 포함)
+    @GetMapping("/ongoing")
+    public ResponseEntity<List<OngoingVoteSummary>> getOngoingVotes(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(voteService.getOngoingVotes(user.getId()));
+    }
+
     @GetMapping("/{expenseId}")
     public ResponseEntity<VoteResponse> getVoteStatus(@PathVariable Long expenseId) {
         return ResponseEntity.ok(voteService.getVoteStatus(expenseId));
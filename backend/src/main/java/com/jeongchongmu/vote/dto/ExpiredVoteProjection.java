@@ -0,0 +1,14 @@
+package com.jeongchongmu.vote.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 자동 마감된 투표 1건 (VoteRepository.closeExpired의 RETURNING 결과)
+ */
+public interface ExpiredVoteProjection {
+    Long getVoteId();
+    Long getExpenseId();
+    Long getPayerId();
+    LocalDateTime getDeadline();
+    Integer getVoterCount();
+}
@@ -0,0 +1,15 @@
+package com.jeongchongmu.vote.dto;
+
+import java.time.LocalDateTime;
+
+// 내 그룹들의 진행 중인 투표 한 건 (지출/그룹 정보 + 투표자 수 + 내 참여 여부)
+public record OngoingVoteSummary(
+        Long voteId,
+        Long expenseId,
+        String expenseTitle,
+        Long amount,
+        LocalDateTime expenseDate,
+        String groupName,
+        int voterCount,
+        boolean votedByMe
+) { }
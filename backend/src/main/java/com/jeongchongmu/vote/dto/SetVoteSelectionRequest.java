@@ -0,0 +1,13 @@
+package com.jeongchongmu.vote.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 토글과 달리 원하는 최종 상태를 보내므로 같은 요청을 여러 번 보내도 결과가 같음 (재시도 안전)
+// 투표하는 사용자는 로그인 정보에서 가져옴
+@Getter
+@NoArgsConstructor
+public class SetVoteSelectionRequest {
+    private Long optionId;
+    private boolean selected;
+}
@@ -0,0 +1,15 @@
+package com.jeongchongmu.vote.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 한 투표에서 내가 고른 선택지 전체 (기존 선택은 이 목록으로 교체, 빈 목록이면 전부 해제)
+// 투표하는 사용자는 로그인 정보에서 가져옴
+@Getter
+@NoArgsConstructor
+public class SubmitVoteSelectionsRequest {
+    private Long voteId;
+    private List<Long> optionIds;
+}
@@ -3,8 +3,9 @@ package com.jeongchongmu.vote.dto;
 import com.jeongchongmu.vote.entity.Vote;
 import lombok.Builder;
 import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Builder
@@ -13,6 +14,7 @@ public class VoteResponse {
     private Long expenseId;
     private Long payerId; // 지출 등록자 ID (투표 생성자)
     private boolean isClosed;
+    private LocalDateTime deadline; // 자동 마감 시각
     private List<VoteOptionDto> options;
 
     @Getter
@@ -24,25 +26,45 @@ public class VoteResponse {
         private List<Long> votedUserIds; // 이 메뉴를 선택한 사람들
     }
 
-    public static VoteResponse from(Vote vote, List<com.jeongchongmu.vote.entity.UserVote> allUserVotes) {
+    /**
+     * 선택지 순서로 정렬된 현황(VoteTallyRow)을 한 번 훑어 선택지별로 묶습니다. (줄 수에 비례, 선택지마다 다시 훑지 않음)
+     */
+    public static VoteResponse from(Vote vote, List<VoteTallyRow> tally) {
+        List<VoteOptionDto> options = new ArrayList<>();
+        VoteTallyRow current = null;
+        List<Long> voterIds = null;
+        for (VoteTallyRow row : tally) {
+            if (current == null || !current.optionId().equals(row.optionId())) {
+                if (current != null) {
+                    options.add(toOptionDto(current, voterIds));
+                }
+                current = row;
+                voterIds = new ArrayList<>();
+            }
+            if (row.userId() != null) {
+                voterIds.add(row.userId());
+            }
+        }
+        if (current != null) {
+            options.add(toOptionDto(current, voterIds));
+        }
+
         return VoteResponse.builder()
                 .voteId(vote.getId())
                 .expenseId(vote.getExpense().getId())
                 .payerId(vote.getExpense().getPayer().getId()) // 지출 등록자 ID 추가
                 .isClosed(vote.isClosed())
-                .options(vote.getOptions().stream().map(option -> {
-                    List<Long> voterIds = allUserVotes.stream()
-                            .filter(uv -> uv.getVoteOption().getId().equals(option.getId()))
-                            .map(uv -> uv.getUser().getId())
-                            .collect(Collectors.toList());
+                .deadline(vote.getDeadline())
+                .options(options)
+                .build();
+    }
 
-                    return VoteOptionDto.builder()
-                            .optionId(option.getId())
-                            .itemName(option.getExpenseItem().getName())
-                            .price(option.getExpenseItem().getPrice().longValue()) // BigDecimal -> Long
-                            .votedUserIds(voterIds)
-                            .build();
-                }).collect(Collectors.toList()))
+    private static VoteOptionDto toOptionDto(VoteTallyRow option, List<Long> voterIds) {
+        return VoteOptionDto.builder()
+                .optionId(option.optionId())
+                .itemName(option.itemName())
+                .price(option.price())
+                .votedUserIds(voterIds)
                 .build();
     }
-}
\ No newline at end of file
+}
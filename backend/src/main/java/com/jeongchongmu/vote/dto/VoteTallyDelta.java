@@ -0,0 +1,12 @@
+package com.jeongchongmu.vote.dto;
+
+import java.util.List;
+
+/**
+ * 실시간 투표 현황 변경분 (한 사용자의 선택 추가/취소)
+ *
+ * @param added   userId가 새로 고른 선택지 ID
+ * @param removed userId가 취소한 선택지 ID
+ */
+public record VoteTallyDelta(long seq, Long userId, List<Long> added, List<Long> removed) {
+}
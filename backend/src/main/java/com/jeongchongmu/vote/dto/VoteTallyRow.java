@@ -0,0 +1,9 @@
+package com.jeongchongmu.vote.dto;
+
+// 투표 현황 한 줄 (선택지 x 투표자). 아무도 고르지 않은 선택지는 userId가 null인 1줄
+public record VoteTallyRow(
+        Long optionId,
+        String itemName,
+        Long price,
+        Long userId
+) { }
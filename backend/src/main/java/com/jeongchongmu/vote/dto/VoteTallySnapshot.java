@@ -0,0 +1,13 @@
+package com.jeongchongmu.vote.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실시간 투표 현황 전체 (구독 직후, 서버와 어긋났을 때 전송)
+ *
+ * @param seq             이후 오는 VoteTallyDelta의 seq는 여기서 1씩 증가. 건너뛰면 재구독해서 다시 받으면 됨
+ * @param votersByOption  선택지 ID -> 고른 사용자 ID 목록
+ */
+public record VoteTallySnapshot(Long voteId, long seq, Map<Long, List<Long>> votersByOption) {
+}
@@ -6,7 +6,14 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "user_votes")
+@Table(name = "user_votes",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                name = "uk_user_vote_user_option",
+                columnNames = {"user_id", "vote_option_id"}
+            )
+        }
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
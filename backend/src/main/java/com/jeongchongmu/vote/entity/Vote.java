@@ -4,6 +4,10 @@ import com.jeongchongmu.common.BaseEntity;
 import com.jeongchongmu.domain.expense.JPA.Expense;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,6 +19,9 @@ import java.util.List;
 @Builder
 public class Vote extends BaseEntity {
 
+    // 생성 시 마감 시각을 따로 정하지 않으면 이 기간 뒤에 자동 마감
+    public static final Duration DEFAULT_VOTING_PERIOD = Duration.ofDays(3);
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -26,6 +33,15 @@ public class Vote extends BaseEntity {
     @Builder.Default
     private boolean isClosed = false; // 투표 마감 여부
 
+    // 이 시각이 지나면 VoteAutoCloser가 마감하고 항목별 정산을 만듦
+    @Column(nullable = false)
+    private LocalDateTime deadline;
+
+    // 한 항목 이상 고른 사용자 수. VoteRepository의 원자적 UPDATE로만 바뀌므로 엔티티 저장 시에는 쓰지 않음
+    @ColumnDefault("0")
+    @Column(name = "voter_count", nullable = false, insertable = false, updatable = false)
+    private int voterCount;
+
     @OneToMany(mappedBy = "vote", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<VoteOption> options = new ArrayList<>();
@@ -4,11 +4,61 @@ import com.jeongchongmu.vote.entity.UserVote;
 import com.jeongchongmu.vote.entity.VoteOption;
 import com.jeongchongmu.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserVoteRepository extends JpaRepository<UserVote, Long> {
     List<UserVote> findByVoteOption(VoteOption voteOption);
-    void deleteByUserAndVoteOption(User user, VoteOption voteOption); // 투표 취소용
-    void deleteAllByVoteOption(VoteOption voteOption); // 투표 삭제 시 모든 유저 투표 삭제
     boolean existsByUserAndVoteOption(User user, VoteOption voteOption);
+
+    // [토글] 선택돼 있으면 취소, 없으면 추가 (SQL 1번, 먼저 조회하지 않음)
+    // 추가했으면 1, 취소했으면 -1, 같은 추가가 동시에 먼저 반영돼 바뀐 게 없으면 0
+    @Query(value = "WITH removed AS (" +
+            "DELETE FROM user_votes WHERE user_id = :userId AND vote_option_id = :optionId RETURNING id" +
+            "), added AS (" +
+            "INSERT INTO user_votes (user_id, vote_option_id, created_at) " +
+            "SELECT :userId, :optionId, LOCALTIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM removed) " +
+            "ON CONFLICT (user_id, vote_option_id) DO NOTHING RETURNING id" +
+            ") SELECT (SELECT COUNT(*) FROM added) - (SELECT COUNT(*) FROM removed)",
+            nativeQuery = true)
+    int toggle(@Param("userId") Long userId, @Param("optionId") Long optionId);
+
+    // [선택 지정] 이미 선택돼 있으면 아무것도 하지 않음. 새로 추가했을 때만 ID를 돌려줌
+    @Query(value = "INSERT INTO user_votes (user_id, vote_option_id, created_at) " +
+            "VALUES (:userId, :optionId, LOCALTIMESTAMP) " +
+            "ON CONFLICT (user_id, vote_option_id) DO NOTHING RETURNING id",
+            nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("userId") Long userId, @Param("optionId") Long optionId);
+
+    // [선택 해제] 실제로 지웠을 때만 ID를 돌려줌
+    @Query(value = "DELETE FROM user_votes WHERE user_id = :userId AND vote_option_id = :optionId RETURNING id",
+            nativeQuery = true)
+    Optional<Long> deleteIfPresent(@Param("userId") Long userId, @Param("optionId") Long optionId);
+
+    // [선택 제출] 이 투표에서 사용자가 고른 선택지 중 새 선택 목록에 없는 것 삭제. 지운 선택지 ID를 돌려줌
+    @Query(value = "DELETE FROM user_votes uv USING vote_options o " +
+            "WHERE o.id = uv.vote_option_id AND o.vote_id = :voteId AND uv.user_id = :userId " +
+            "AND uv.vote_option_id NOT IN (:optionIds) " +
+            "RETURNING uv.vote_option_id",
+            nativeQuery = true)
+    List<Long> deleteSelectionsNotIn(@Param("userId") Long userId, @Param("voteId") Long voteId, @Param("optionIds") Collection<Long> optionIds);
+
+    // [선택 제출] 선택 목록 전체 해제 (빈 목록 제출). 지운 선택지 ID를 돌려줌
+    @Query(value = "DELETE FROM user_votes uv USING vote_options o " +
+            "WHERE o.id = uv.vote_option_id AND o.vote_id = :voteId AND uv.user_id = :userId " +
+            "RETURNING uv.vote_option_id",
+            nativeQuery = true)
+    List<Long> deleteAllSelections(@Param("userId") Long userId, @Param("voteId") Long voteId);
+
+    // [선택 제출] 새 선택 목록 중 아직 없는 것만 추가. 추가한 선택지 ID를 돌려줌
+    @Query(value = "INSERT INTO user_votes (user_id, vote_option_id, created_at) " +
+            "SELECT :userId, o.id, LOCALTIMESTAMP FROM vote_options o WHERE o.vote_id = :voteId AND o.id IN (:optionIds) " +
+            "ON CONFLICT (user_id, vote_option_id) DO NOTHING " +
+            "RETURNING vote_option_id",
+            nativeQuery = true)
+    List<Long> insertSelections(@Param("userId") Long userId, @Param("voteId") Long voteId, @Param("optionIds") Collection<Long> optionIds);
 }
\ No newline at end of file
@@ -1,12 +1,37 @@
 package com.jeongchongmu.vote.repository;
 
+import com.jeongchongmu.vote.dto.VoteTallyRow;
 import com.jeongchongmu.vote.entity.Vote;
 import com.jeongchongmu.vote.entity.VoteOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface VoteOptionRepository extends JpaRepository<VoteOption, Long> {
     List<VoteOption> findByVote(Vote vote);
-    void deleteAllByVote(Vote vote);
+
+    // [투표 생성] 지출 항목 전체를 선택지로 한 번에 추가 (항목 수와 무관하게 SQL 1번)
+    @Modifying
+    @Query(value = "INSERT INTO vote_options (vote_id, expense_item_id) " +
+            "SELECT :voteId, i.id FROM expense_items i WHERE i.expense_id = :expenseId",
+            nativeQuery = true)
+    int insertAllForExpense(@Param("voteId") Long voteId, @Param("expenseId") Long expenseId);
+
+    // [선택 제출] 이 투표의 선택지 중 요청한 ID 개수 (다른 투표의 선택지가 섞였는지 확인)
+    long countByVoteIdAndIdIn(Long voteId, Collection<Long> ids);
+
+    // 투표 하나의 현황 (선택지별 메뉴 이름/가격 + 고른 사람 ID)
+    // 이 투표의 선택지와 그 투표 내역만 읽으므로 전체 투표 수와 무관하게 비용이 일정합니다.
+    // 선택지 순서대로 정렬되어 있어 호출 쪽에서 연속된 줄끼리 묶으면 됩니다.
+    @Query("SELECT new com.jeongchongmu.vote.dto.VoteTallyRow(o.id, i.name, i.price, uv.user.id) " +
+            "FROM VoteOption o " +
+            "JOIN o.expenseItem i " +
+            "LEFT JOIN UserVote uv ON uv.voteOption = o " +
+            "WHERE o.vote.id = :voteId " +
+            "ORDER BY o.id, uv.id")
+    List<VoteTallyRow> findTallyByVoteId(@Param("voteId") Long voteId);
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.jeongchongmu.vote.repository;
 
 import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.vote.dto.ExpiredVoteProjection;
+import com.jeongchongmu.vote.dto.OngoingVoteSummary;
 import com.jeongchongmu.vote.entity.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +18,71 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
 
     // [추가] 특정 그룹 리스트에 속한 지출 중, 마감되지 않은 투표 목록 조회
     List<Vote> findByExpense_Group_IdInAndIsClosedFalse(List<Long> groupIds);
+
+    // [진행 중인 투표 목록] 내가 속한 모든 그룹의 마감 전 투표를 지출/그룹 정보, 투표자 수, 내 참여 여부와 함께 조회 (SQL 1번)
+    // 투표자 수는 유지 중인 카운터(voter_count)를 쓰고, 내 참여 여부는 (user_id, vote_option_id) 유니크 인덱스로 확인
+    @Query("SELECT new com.jeongchongmu.vote.dto.OngoingVoteSummary(" +
+            "v.id, e.id, e.title, e.amount, e.expenseDate, g.name, v.voterCount, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM UserVote uv WHERE uv.user.id = :userId AND uv.voteOption.vote = v) " +
+            "THEN true ELSE false END) " +
+            "FROM Vote v JOIN v.expense e JOIN e.group g " +
+            "WHERE v.isClosed = false " +
+            "AND EXISTS (SELECT 1 FROM GroupMember gm WHERE gm.group = g AND gm.user.id = :userId) " +
+            "ORDER BY e.expenseDate DESC, v.id DESC")
+    List<OngoingVoteSummary> findOngoingSummariesForUser(@Param("userId") Long userId);
+
+    // [투표 완료 판정] 사용자 선택 수 변화 반영 (사용자별 선택 수 += delta, 0개 <-> 1개 이상으로 바뀌면 투표자 수 ±1)
+    // 투표자 여부가 바뀌었을 때만 바뀐 투표자 수를 돌려줌 (동시에 들어와도 votes 행 잠금으로 순서대로 증감)
+    @Query(value = "WITH voter AS (" +
+            "INSERT INTO vote_voters (vote_id, user_id, selection_count) VALUES (:voteId, :userId, :delta) " +
+            "ON CONFLICT (vote_id, user_id) DO UPDATE SET selection_count = vote_voters.selection_count + :delta " +
+            "RETURNING selection_count" +
+            "), counted AS (" +
+            "UPDATE votes SET voter_count = voter_count + (SELECT CASE WHEN selection_count > 0 THEN 1 ELSE -1 END FROM voter) " +
+            "WHERE id = :voteId AND (SELECT (selection_count > 0) <> (selection_count - :delta > 0) FROM voter) " +
+            "RETURNING voter_count" +
+            ") SELECT voter_count FROM counted",
+            nativeQuery = true)
+    Optional<Integer> changeVoterSelections(@Param("voteId") Long voteId, @Param("userId") Long userId, @Param("delta") int delta);
+
+    @Query("SELECT v.voterCount FROM Vote v WHERE v.id = :voteId")
+    Optional<Integer> findVoterCount(@Param("voteId") Long voteId);
+
+    // 투표가 속한 그룹 ID (투표 권한 확인용 - 지출 엔티티를 읽지 않음)
+    @Query("SELECT e.group.id FROM Vote v JOIN v.expense e WHERE v.id = :voteId")
+    Optional<Long> findGroupIdById(@Param("voteId") Long voteId);
+
+    // [투표 완료 판정] 아직 한 항목도 고르지 않은 현재 참여자 수 (카운터가 완료를 가리킬 때만 확인용으로 실행)
+    @Query(value = "SELECT COUNT(*) FROM expense_participants ep " +
+            "WHERE ep.expense_id = :expenseId " +
+            "AND NOT EXISTS (SELECT 1 FROM vote_voters vv " +
+            "WHERE vv.vote_id = :voteId AND vv.user_id = ep.user_id AND vv.selection_count > 0)",
+            nativeQuery = true)
+    long countParticipantsNotVoted(@Param("voteId") Long voteId, @Param("expenseId") Long expenseId);
+
+    // [자동 마감] 마감 시각이 지난 진행 중 투표를 (deadline, id) 순서로 최대 :limit개 마감 (SQL 1번)
+    // 커서(:afterDeadline, :afterId) 뒤부터 읽고, 다른 인스턴스가 마감 중인 행은 건너뜀 (다음 실행에서 처리)
+    @Query(value = "WITH due AS (" +
+            "SELECT id FROM votes " +
+            "WHERE is_closed = false AND deadline <= :now " +
+            "AND (deadline, id) > (:afterDeadline, :afterId) " +
+            "ORDER BY deadline, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED" +
+            ") " +
+            "UPDATE votes v SET is_closed = true, updated_at = :now " +
+            "FROM due, expenses e " +
+            "WHERE v.id = due.id AND e.id = v.expense_id " +
+            "RETURNING v.id AS voteId, v.expense_id AS expenseId, e.payer_id AS payerId, " +
+            "v.deadline AS deadline, v.voter_count AS voterCount",
+            nativeQuery = true)
+    List<ExpiredVoteProjection> closeExpired(@Param("now") LocalDateTime now,
+                                             @Param("afterDeadline") LocalDateTime afterDeadline,
+                                             @Param("afterId") Long afterId,
+                                             @Param("limit") int limit);
+
+    // [투표 삭제] 선택지/투표 내역/투표자 수는 외래 키 ON DELETE CASCADE로 같이 삭제 (SQL 1번)
+    @Modifying
+    @Query(value = "DELETE FROM votes WHERE id = :voteId", nativeQuery = true)
+    int deleteCascadeById(@Param("voteId") Long voteId);
 }
\ No newline at end of file
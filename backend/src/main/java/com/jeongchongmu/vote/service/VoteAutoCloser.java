@@ -0,0 +1,162 @@
+package com.jeongchongmu.vote.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.service.NotificationService;
+import com.jeongchongmu.settlement.dto.SettlementDebtorProjection;
+import com.jeongchongmu.settlement.service.SettlementService;
+import com.jeongchongmu.user.UserRepository;
+import com.jeongchongmu.vote.dto.ExpiredVoteProjection;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+ * VoteAutoCloser가 제공하는 기능
+ * 1. 마감 시각(deadline)이 지난 진행 중 투표를 batch-size개 묶음 단위로 마감 (묶음당 UPDATE 1번)
+ * 2. 한 명이라도 고른 투표는 항목별(ITEM) 정산을 묶음 단위로 생성 (SettlementService.createItemSettlements)
+ * 3. 채무자 정산 요청, 결제자 마감 안내 알림을 묶음과 같은 트랜잭션에서 저장 (커밋되면 푸시 발송 대기열로)
+ * 4. 마감된 투표의 실시간 현황 구독 종료 (VoteClosedEvent -> VoteTallyHub)
+ *
+ * 묶음마다 트랜잭션을 따로 열고 (deadline, id) 커서로 다음 묶음을 읽으므로, 오래 쌓인 투표 수천 개도 긴 트랜잭션 없이 처리합니다.
+ * 여러 인스턴스가 동시에 돌아도 FOR UPDATE SKIP LOCKED로 같은 투표를 두 번 마감하지 않으며,
+ * 정산은 지출당 1개(유니크 제약)라 이미 정산이 있는 지출은 건너뜁니다.
+ */
+@Slf4j
+@Component
+public class VoteAutoCloser {
+
+    // 커서 시작값 (모든 마감 시각보다 이전)
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Comparator<ExpiredVoteProjection> CURSOR_ORDER =
+            Comparator.comparing(ExpiredVoteProjection::getDeadline).thenComparing(ExpiredVoteProjection::getVoteId);
+
+    private final VoteRepository voteRepository;
+    private final SettlementService settlementService;
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter closedVotes;
+
+    public VoteAutoCloser(VoteRepository voteRepository,
+                          SettlementService settlementService,
+                          NotificationService notificationService,
+                          UserRepository userRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${vote.auto-close.batch-size:500}") int batchSize) {
+        this.voteRepository = voteRepository;
+        this.settlementService = settlementService;
+        this.notificationService = notificationService;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.closedVotes = Counter.builder("vote.auto_close.closed")
+                .description("마감 시각이 지나 자동 마감한 투표 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void run() {
+        closeExpired(LocalDateTime.now());
+    }
+
+    /**
+     * now 기준으로 마감 시각이 지난 투표를 모두 마감하고 항목별 정산을 만듭니다.
+     * 중간 묶음이 실패하면 그 묶음은 알림까지 함께 롤백되고 멈추며, 남은 투표는 다음 실행에서 처리합니다.
+     *
+     * @return 마감한 투표 수
+     */
+    int closeExpired(LocalDateTime now) {
+        List<ExpiredVoteProjection> closed = new ArrayList<>();
+        List<SettlementDebtorProjection> debtors = new ArrayList<>();
+        LocalDateTime afterDeadline = CURSOR_START;
+        long afterId = 0L;
+
+        while (true) {
+            Batch batch;
+            try {
+                LocalDateTime cursorDeadline = afterDeadline;
+                long cursorId = afterId;
+                batch = transactionTemplate.execute(status -> closeBatch(now, cursorDeadline, cursorId));
+            } catch (Exception e) {
+                log.error("❌ 투표 자동 마감 실패 - 다음 실행에서 다시 시도합니다. 에러: {}", e.getMessage(), e);
+                break;
+            }
+            closed.addAll(batch.votes());
+            debtors.addAll(batch.debtors());
+
+            // SKIP LOCKED로 건너뛴 행을 빼고도 묶음이 덜 찼으면 남은 투표 없음
+            if (batch.votes().size() < batchSize) {
+                break;
+            }
+            ExpiredVoteProjection last = batch.votes().stream().max(CURSOR_ORDER).orElseThrow();
+            afterDeadline = last.getDeadline();
+            afterId = last.getVoteId();
+        }
+
+        if (!closed.isEmpty()) {
+            closedVotes.increment(closed.size());
+            log.info("✅ 투표 자동 마감 - 투표 {}건, 정산 요청 {}건", closed.size(), debtors.size());
+        }
+        return closed.size();
+    }
+
+    // 묶음 1개 = 트랜잭션 1개 (마감 UPDATE 1번 + 정산/상세 INSERT 1번씩 + 원장 재계산 + 알림 저장)
+    private Batch closeBatch(LocalDateTime now, LocalDateTime afterDeadline, long afterId) {
+        List<ExpiredVoteProjection> votes = voteRepository.closeExpired(now, afterDeadline, afterId, batchSize);
+        votes.forEach(vote -> eventPublisher.publishEvent(new VoteClosedEvent(vote.getVoteId())));
+
+        // 아무도 고르지 않은 투표는 정산 없이 마감만 (결제자가 다른 방식으로 정산할 수 있게)
+        List<Long> settleableExpenseIds = votes.stream()
+                .filter(vote -> vote.getVoterCount() > 0)
+                .map(ExpiredVoteProjection::getExpenseId)
+                .toList();
+        List<SettlementDebtorProjection> debtors = settlementService.createItemSettlements(settleableExpenseIds);
+        notifyClosed(votes, debtors);
+        return new Batch(votes, debtors);
+    }
+
+    // 정산/마감과 같은 트랜잭션에서 알림과 푸시 대기열 행을 저장 (서버가 재시작돼도 잃지 않음)
+    private void notifyClosed(List<ExpiredVoteProjection> closed, List<SettlementDebtorProjection> debtors) {
+        Map<Long, List<Long>> debtorsBySettlement = debtors.stream()
+                .collect(Collectors.groupingBy(SettlementDebtorProjection::getSettlementId, LinkedHashMap::new,
+                        Collectors.mapping(SettlementDebtorProjection::getDebtorId, Collectors.toList())));
+        debtorsBySettlement.forEach((settlementId, debtorIds) -> notificationService.sendToMultipleUsers(
+                debtorIds.stream().map(userRepository::getReferenceById).toList(),
+                NotificationType.SETTLEMENT_REQUEST,
+                "투표가 마감되어 항목별 정산이 생성되었습니다. 확인 후 송금해주세요.",
+                settlementId));
+
+        for (ExpiredVoteProjection vote : closed) {
+            notificationService.send(
+                    userRepository.getReferenceById(vote.getPayerId()),
+                    NotificationType.VOTE_CLOSE,
+                    vote.getVoterCount() > 0
+                            ? "투표가 마감되었습니다. 항목별 정산을 확인해주세요."
+                            : "아무도 투표하지 않아 정산 없이 투표가 마감되었습니다.",
+                    vote.getExpenseId());
+        }
+    }
+
+    private record Batch(List<ExpiredVoteProjection> votes, List<SettlementDebtorProjection> debtors) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.jeongchongmu.vote.service;
+
+/**
+ * 투표가 마감되거나 삭제되어 더 이상 선택이 바뀌지 않음을 알리는 이벤트
+ * 커밋 후(AFTER_COMMIT) VoteTallyHub가 받아 구독 연결을 닫습니다.
+ */
+public record VoteClosedEvent(Long voteId) {
+}
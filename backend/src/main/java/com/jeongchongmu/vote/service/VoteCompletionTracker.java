@@ -0,0 +1,48 @@
+package com.jeongchongmu.vote.service;
+
+import com.jeongchongmu.domain.expense.Repository.ExpenseParticipantRepository;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/*
+ * VoteCompletionTracker가 제공하는 기능
+ * 1. 한 사용자의 선택 수 변화를 투표자 수 카운터에 반영 (SQL 1번)
+ * 2. 이번 변화로 모든 참여자가 투표를 마쳤는지 판정
+ *
+ * 카운터(votes.voter_count)는 참여자 여부와 상관없이 한 항목 이상 고른 사용자 수입니다.
+ * 투표 후 참여자가 바뀔 수 있으므로 카운터가 참여자 수에 닿았을 때만 실제 참여자 기준 쿼리로 한 번 더 확인합니다.
+ * (카운터는 실제 완료 투표자 수보다 작을 수 없으므로 완료를 놓치지 않음)
+ * 호출하는 쪽의 트랜잭션 안에서 UserVote 저장/삭제와 같이 호출해야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class VoteCompletionTracker {
+
+    private final VoteRepository voteRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
+
+    /**
+     * 한 사용자의 선택 수 변화를 반영합니다. (항목 하나 토글은 +1/-1, 선택 목록 제출은 여러 항목이 한꺼번에 바뀜)
+     *
+     * @param delta 추가된 선택 수 - 삭제된 선택 수
+     * @return 이 변화로 모든 참여자가 투표를 마쳤으면 true (이미 완료된 상태에서 또 고른 경우는 false)
+     */
+    public boolean recordSelectionChange(Long voteId, Long expenseId, Long userId, int delta) {
+        if (delta == 0) {
+            return false;
+        }
+        // 투표자 여부가 바뀐 경우에만 값이 오며, 새 투표자가 생겼을 때(delta > 0)만 완료 가능
+        return voteRepository.changeVoterSelections(voteId, userId, delta)
+                .filter(voters -> delta > 0)
+                .map(voters -> isComplete(voteId, expenseId, voters))
+                .orElse(false);
+    }
+
+    private boolean isComplete(Long voteId, Long expenseId, int voters) {
+        if (voters < expenseParticipantRepository.countByIdExpenseId(expenseId)) {
+            return false;
+        }
+        return voteRepository.countParticipantsNotVoted(voteId, expenseId) == 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jeongchongmu.vote.service;
+
+import java.util.List;
+
+/**
+ * 한 사용자의 투표 선택이 실제로 바뀌었음을 알리는 이벤트
+ * 커밋 후(AFTER_COMMIT) VoteTallyHub가 받아 실시간 투표 현황에 반영하고 구독자에게 보냅니다.
+ */
+public record VoteSelectionChangedEvent(Long voteId, Long userId, List<Long> added, List<Long> removed) {
+
+    public static VoteSelectionChangedEvent of(Long voteId, Long userId, Long optionId, int changed) {
+        return changed > 0
+                ? new VoteSelectionChangedEvent(voteId, userId, List.of(optionId), List.of())
+                : new VoteSelectionChangedEvent(voteId, userId, List.of(), List.of(optionId));
+    }
+}
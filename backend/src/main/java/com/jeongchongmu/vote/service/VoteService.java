@@ -1,29 +1,36 @@
 package com.jeongchongmu.vote.service;
 
 import com.jeongchongmu.domain.expense.JPA.Expense;
-import com.jeongchongmu.domain.expense.JPA.ExpenseItem;
 import com.jeongchongmu.domain.expense.JPA.ExpenseParticipant;
+import com.jeongchongmu.domain.expense.Repository.ExpenseParticipantRepository;
 import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
 import com.jeongchongmu.domain.group.entity.Group;
-import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
 import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.service.NotificationCoalescer;
 import com.jeongchongmu.domain.notification.service.NotificationService;
 import com.jeongchongmu.settlement.repository.SettlementRepository;
 import com.jeongchongmu.user.User;
 import com.jeongchongmu.user.UserRepository;
 import com.jeongchongmu.vote.dto.CastVoteRequest;
+import com.jeongchongmu.vote.dto.OngoingVoteSummary;
+import com.jeongchongmu.vote.dto.SetVoteSelectionRequest;
+import com.jeongchongmu.vote.dto.SubmitVoteSelectionsRequest;
 import com.jeongchongmu.vote.dto.VoteResponse;
-import com.jeongchongmu.vote.entity.UserVote;
 import com.jeongchongmu.vote.entity.Vote;
 import com.jeongchongmu.vote.entity.VoteOption;
 import com.jeongchongmu.vote.repository.UserVoteRepository;
 import com.jeongchongmu.vote.repository.VoteOptionRepository;
 import com.jeongchongmu.vote.repository.VoteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,10 +42,14 @@ public class VoteService {
     private final VoteOptionRepository voteOptionRepository;
     private final UserVoteRepository userVoteRepository;
     private final ExpenseRepository expenseRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
     private final UserRepository userRepository;
-    private final GroupMemberRepository groupMemberRepository;
+    private final GroupAccessService groupAccessService;
     private final NotificationService notificationService;
+    private final NotificationCoalescer notificationCoalescer;
+    private final VoteCompletionTracker voteCompletionTracker;
     private final SettlementRepository settlementRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 1. 투표 생성 (수정됨)
     public Long createVote(Long expenseId) {
@@ -57,17 +68,14 @@ public class VoteService {
         }
 
         // --- 아래는 기존 생성 로직과 동일 ---
-        Vote vote = Vote.builder().expense(expense).build();
+        Vote vote = Vote.builder()
+                .expense(expense)
+                .deadline(LocalDateTime.now().plus(Vote.DEFAULT_VOTING_PERIOD))
+                .build();
         voteRepository.save(vote);
 
-        // 지출 항목들을 투표 선택지로 변환
-        for (ExpenseItem item : expense.getItems()) {
-            VoteOption option = VoteOption.builder()
-                    .vote(vote)
-                    .expenseItem(item)
-                    .build();
-            voteOptionRepository.save(option);
-        }
+        // 지출 항목들을 투표 선택지로 변환 (항목 수와 무관하게 SQL 1번)
+        voteOptionRepository.insertAllForExpense(vote.getId(), expenseId);
 
         // 푸시 알림 전송 (VOTE_CREATED)
         // 해당 지출의 참여자들에게 알림 전송
@@ -87,41 +95,98 @@ public class VoteService {
     }
 
     // 2. 투표 하기 / 취소 하기 (토글)
+    // 먼저 조회하지 않고 SQL 1번으로 토글 (더블 탭/동시 요청에도 중복 저장 없음)
     public void castVote(CastVoteRequest request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
-        VoteOption option = voteOptionRepository.findById(request.getOptionId())
-                .orElseThrow(() -> new IllegalArgumentException("옵션 없음"));
+        VoteOption option = findOptionForVoter(request.getUserId(), request.getOptionId());
+
+        int changed = userVoteRepository.toggle(request.getUserId(), option.getId());
+        if (changed != 0) {
+            applySelectionChange(option.getVote(),
+                    VoteSelectionChangedEvent.of(option.getVote().getId(), request.getUserId(), option.getId(), changed));
+        }
+    }
+
+    // 2-1. 투표 선택 상태 지정 (같은 요청을 재시도해도 결과가 같음)
+    // userId는 로그인한 사용자 (요청 본문에서 받지 않음)
+    public void setSelection(Long userId, SetVoteSelectionRequest request) {
+        VoteOption option = findOptionForVoter(userId, request.getOptionId());
+        checkVoter(userId, option.getVote());
+
+        int changed = request.isSelected()
+                ? userVoteRepository.insertIfAbsent(userId, option.getId()).map(id -> 1).orElse(0)
+                : userVoteRepository.deleteIfPresent(userId, option.getId()).map(id -> -1).orElse(0);
+        if (changed != 0) {
+            applySelectionChange(option.getVote(),
+                    VoteSelectionChangedEvent.of(option.getVote().getId(), userId, option.getId(), changed));
+        }
+    }
 
-        if (userVoteRepository.existsByUserAndVoteOption(user, option)) {
-            userVoteRepository.deleteByUserAndVoteOption(user, option); // 이미 했으면 취소
+    // 2-2. 내 선택 목록 제출 (이 투표에서 내가 고른 선택지를 요청한 목록으로 통째로 교체)
+    // 항목 수와 무관하게 삭제 1번 + 추가 1번, 투표자 수 반영도 1번
+    // userId는 로그인한 사용자 (요청 본문에서 받지 않음)
+    public void submitSelections(Long userId, SubmitVoteSelectionsRequest request) {
+        Vote vote = voteRepository.findById(request.getVoteId())
+                .orElseThrow(() -> new IllegalArgumentException("투표가 존재하지 않습니다."));
+        if (vote.isClosed()) {
+            throw new IllegalStateException("이미 마감된 투표입니다.");
+        }
+        checkVoter(userId, vote);
+
+        Set<Long> optionIds = request.getOptionIds() == null ? Set.of() : new HashSet<>(request.getOptionIds());
+        List<Long> added;
+        List<Long> removed;
+        if (optionIds.isEmpty()) {
+            added = List.of();
+            removed = userVoteRepository.deleteAllSelections(userId, vote.getId());
         } else {
-            UserVote userVote = UserVote.builder().user(user).voteOption(option).build();
-            userVoteRepository.save(userVote);
+            if (voteOptionRepository.countByVoteIdAndIdIn(vote.getId(), optionIds) != optionIds.size()) {
+                throw new IllegalArgumentException("이 투표의 선택지가 아닌 항목이 포함되어 있습니다.");
+            }
+            added = userVoteRepository.insertSelections(userId, vote.getId(), optionIds);
+            removed = userVoteRepository.deleteSelectionsNotIn(userId, vote.getId(), optionIds);
         }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            applySelectionChange(vote, new VoteSelectionChangedEvent(vote.getId(), userId, added, removed));
+        }
+    }
 
-        // 투표 완료 여부 확인
-        Vote vote = option.getVote();
-        Expense expense = vote.getExpense();
+    private VoteOption findOptionForVoter(Long userId, Long optionId) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("유저 없음");
+        }
+        VoteOption option = voteOptionRepository.findById(optionId)
+                .orElseThrow(() -> new IllegalArgumentException("옵션 없음"));
+        if (option.getVote().isClosed()) {
+            throw new IllegalStateException("이미 마감된 투표입니다.");
+        }
+        return option;
+    }
 
-        // 참여자 목록 가져오기
-        List<User> participants = expense.getParticipants().stream()
-                .map(ExpenseParticipant::getUser)
-                .collect(Collectors.toList());
+    // 그룹 멤버이면서 지출 참여자만 투표할 수 있음 (AI 투표 도구와 같은 기준)
+    // 지출은 읽지 않고 그룹 ID 조회 1번 + 참여자 확인 1번 (멤버 확인은 캐시)
+    private void checkVoter(Long userId, Vote vote) {
+        Long groupId = voteRepository.findGroupIdById(vote.getId()).orElseThrow();
+        if (!groupAccessService.isMember(userId, groupId)) {
+            throw new IllegalArgumentException("해당 그룹의 멤버만 투표할 수 있습니다.");
+        }
+        Long expenseId = vote.getExpense().getId(); // 지연 로딩 프록시의 ID라 지출은 조회하지 않음
+        if (!expenseParticipantRepository.existsByIdExpenseIdAndIdUserId(expenseId, userId)) {
+            throw new IllegalArgumentException("해당 지출의 참여자만 투표할 수 있습니다.");
+        }
+    }
 
-        // 모든 참여자가 투표했는지 확인
-        boolean allVoted = participants.stream()
-                .allMatch(participant -> {
-                    // 각 참여자가 최소 1개 이상의 항목에 투표했는지 확인
-                    return vote.getOptions().stream()
-                            .anyMatch(opt -> userVoteRepository.existsByUserAndVoteOption(participant, opt));
-                });
+    // 실제로 바뀐 선택만 투표자 수와 실시간 현황(커밋 후)에 반영
+    private void applySelectionChange(Vote vote, VoteSelectionChangedEvent change) {
+        Long expenseId = vote.getExpense().getId(); // 지연 로딩 프록시의 ID라 지출은 조회하지 않음
+        eventPublisher.publishEvent(change);
 
-        // 모든 참여자가 투표를 완료했으면 지출자(payer)에게 알림 전송
-        if (allVoted) {
+        // 이 변화로 모든 참여자가 투표를 마쳤을 때만 지출자(payer)에게 알림 전송 (투표자 수 카운터로 판정, 토글당 쿼리 수 일정)
+        int delta = change.added().size() - change.removed().size();
+        if (voteCompletionTracker.recordSelectionChange(vote.getId(), expenseId, change.userId(), delta)) {
+            Expense expense = vote.getExpense();
             User payer = expense.getPayer();
 
-            notificationService.send(
+            notificationCoalescer.submit(
                     payer,
                     NotificationType.VOTE_COMPLETED,
                     "모든 참여자가 투표를 완료했습니다. 정산 결과를 확인하세요.",
@@ -138,10 +203,14 @@ public class VoteService {
         Vote vote = voteRepository.findByExpense(expense)
                 .orElseThrow(() -> new IllegalArgumentException("투표가 아직 생성되지 않았습니다."));
 
-        // 모든 투표 내역 가져오기 (성능 최적화는 나중에 fetch join으로)
-        List<UserVote> allVotes = userVoteRepository.findAll();
+        // 이 투표의 선택지별 투표 내역만 쿼리 1번으로 가져오기
+        return VoteResponse.from(vote, voteOptionRepository.findTallyByVoteId(vote.getId()));
+    }
 
-        return VoteResponse.from(vote, allVotes);
+    // 3-1. 내 그룹들의 진행 중인 투표 목록 (투표 수와 무관하게 SQL 1번)
+    @Transactional(readOnly = true)
+    public List<OngoingVoteSummary> getOngoingVotes(Long userId) {
+        return voteRepository.findOngoingSummariesForUser(userId);
     }
 
     // 4. 투표 삭제 (투표를 다시 진행하고 싶을 때)
@@ -156,17 +225,8 @@ public class VoteService {
             throw new IllegalStateException("이미 마감된 투표는 삭제할 수 없습니다.");
         }
 
-        // 투표와 관련된 모든 데이터 삭제
-        // 1. 먼저 UserVote 삭제
-        List<VoteOption> options = voteOptionRepository.findByVote(vote);
-        for (VoteOption option : options) {
-            userVoteRepository.deleteAllByVoteOption(option);
-        }
-
-        // 2. VoteOption 삭제
-        voteOptionRepository.deleteAllByVote(vote);
-
-        // 3. Vote 삭제
-        voteRepository.delete(vote);
+        // 투표와 관련된 모든 데이터 삭제 (선택지/투표 내역은 DB의 ON DELETE CASCADE로 같이 삭제)
+        voteRepository.deleteCascadeById(vote.getId());
+        eventPublisher.publishEvent(new VoteClosedEvent(vote.getId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.jeongchongmu.vote.service;
+
+import com.jeongchongmu.common.BufferedSseConnection;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.vote.dto.VoteTallyDelta;
+import com.jeongchongmu.vote.dto.VoteTallyRow;
+import com.jeongchongmu.vote.dto.VoteTallySnapshot;
+import com.jeongchongmu.vote.entity.Vote;
+import com.jeongchongmu.vote.repository.VoteOptionRepository;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * VoteTallyHub가 제공하는 기능
+ * 1. 투표별 실시간 현황 구독(SSE) - 구독 직후 전체 현황(snapshot), 이후 선택이 바뀔 때마다 변경분(delta)만 전송 (투표가 속한 그룹의 멤버만)
+ * 2. 구독 중인 투표의 현황을 메모리에 유지 (선택지 ID -> 고른 사용자 ID 집합)
+ * 3. 주기적으로 DB와 비교해 어긋난 현황 바로잡기, heartbeat
+ *
+ * 메모리 현황은 구독자가 있는 투표만 들고 있으며, 첫 구독 때 DB에서 쿼리 1번으로 채우고 마지막 구독자가 나가면 버립니다.
+ * 서버가 재시작되면 클라이언트가 재접속하면서 DB 기준으로 다시 채우므로 DB와 어긋난 채로 남지 않습니다.
+ * 변경분은 커밋된 선택만 반영하며(AFTER_COMMIT), 다른 인스턴스에서 커밋된 선택은 주기적 비교(resync)로 따라잡습니다.
+ */
+@Slf4j
+@Component
+public class VoteTallyHub {
+
+    static final Duration TIMEOUT = Duration.ofMinutes(30);
+    static final int BUFFER_SIZE = 64;
+
+    private final VoteRepository voteRepository;
+    private final VoteOptionRepository voteOptionRepository;
+    private final GroupAccessService groupAccessService;
+    private final Map<Long, LiveTally> tallies = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService writers =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("vote-tally-stream-", 0).factory());
+    private final Counter deltas;
+    private final Counter resyncs;
+
+    public VoteTallyHub(VoteRepository voteRepository, VoteOptionRepository voteOptionRepository,
+                        GroupAccessService groupAccessService, MeterRegistry meterRegistry) {
+        this.voteRepository = voteRepository;
+        this.voteOptionRepository = voteOptionRepository;
+        this.groupAccessService = groupAccessService;
+        meterRegistry.gauge("vote.tally.subscribers", subscriberCount);
+        this.deltas = Counter.builder("vote.tally.deltas")
+                .description("실시간 투표 현황 변경분 전송 수 (구독자 수와 무관하게 변경 1건당 1)")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("vote.tally.resyncs")
+                .description("DB와 어긋나 전체 현황을 다시 보낸 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 투표 현황 실시간 구독을 엽니다.
+     *
+     * @param userId 구독하는 사용자 ID (투표가 속한 그룹의 멤버만 구독 가능)
+     * @param voteId 투표 ID
+     * @return 컨트롤러가 그대로 반환할 SseEmitter
+     */
+    public SseEmitter subscribe(Long userId, Long voteId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT.toMillis());
+        register(userId, voteId, emitter);
+        return emitter;
+    }
+
+    // 구독 등록 (테스트에서는 전송 내용을 가로채는 SseEmitter를 넣음)
+    void register(Long userId, Long voteId, SseEmitter emitter) {
+        // 구독자를 등록하기 전에 권한 확인 (그룹 ID 조회 1번 + 멤버 확인은 캐시)
+        Long groupId = voteRepository.findGroupIdById(voteId)
+                .orElseThrow(() -> new IllegalArgumentException("투표가 존재하지 않습니다."));
+        if (!groupAccessService.isMember(userId, groupId)) {
+            throw new IllegalArgumentException("해당 그룹의 멤버만 투표 현황을 볼 수 있습니다.");
+        }
+        Vote vote = voteRepository.findById(voteId)
+                .orElseThrow(() -> new IllegalArgumentException("투표가 존재하지 않습니다."));
+
+        BufferedSseConnection connection = new BufferedSseConnection(emitter, writers, BUFFER_SIZE,
+                () -> log.warn("⚠️ 실시간 투표 현황 버퍼가 가득 차 연결을 끊습니다. - voteId: {}", voteId),
+                closed -> unregister(voteId, closed));
+
+        // 마지막 구독자가 빠지며 현황이 버려지는 것과 겹치지 않도록 compute 안에서 추가
+        boolean[] created = new boolean[1];
+        LiveTally tally = tallies.compute(voteId, (id, existing) -> {
+            LiveTally live = existing;
+            if (live == null) {
+                live = new LiveTally(id);
+                created[0] = true;
+            }
+            live.subscribers.add(connection);
+            return live;
+        });
+        subscriberCount.incrementAndGet();
+
+        if (created[0]) {
+            // 처음 구독한 쪽이 DB에서 채우고, 그동안 들어온 변경분은 채운 뒤 이어서 반영
+            try {
+                tally.seed(voteOptionRepository.findTallyByVoteId(voteId));
+            } catch (RuntimeException e) {
+                // 못 채운 현황을 기다리는 구독자가 남지 않도록 모두 닫음 (재접속 시 다시 채움)
+                tally.subscribers.forEach(BufferedSseConnection::close);
+                throw e;
+            }
+        } else {
+            tally.sendSnapshot(connection);
+        }
+
+        if (vote.isClosed()) {
+            connection.offer(SseEmitter.event().name("closed").data(voteId));
+            connection.closeAfterFlush();
+        }
+    }
+
+    /**
+     * 커밋된 선택 변경을 메모리 현황에 반영하고 구독자에게 변경분을 보냅니다. (구독자가 없는 투표는 무시)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSelectionChanged(VoteSelectionChangedEvent event) {
+        LiveTally tally = tallies.get(event.voteId());
+        if (tally != null) {
+            tally.apply(event);
+        }
+    }
+
+    /**
+     * 마감되거나 삭제된 투표의 구독자에게 알리고 연결을 닫습니다.
+     * (자동 마감, 투표 삭제, 지출 삭제에서 발행)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoteClosed(VoteClosedEvent event) {
+        LiveTally tally = tallies.get(event.voteId());
+        if (tally != null) {
+            tally.subscribers.forEach(connection -> {
+                connection.offer(SseEmitter.event().name("closed").data(event.voteId()));
+                connection.closeAfterFlush();
+            });
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public boolean isTracking(Long voteId) {
+        return tallies.containsKey(voteId);
+    }
+
+    // 다른 인스턴스에서 커밋된 선택, 순서가 뒤바뀐 변경분 등으로 어긋난 현황을 DB 기준으로 바로잡음 (구독 중인 투표당 쿼리 1번)
+    @Scheduled(fixedDelay = 30_000)
+    public void resync() {
+        tallies.values().forEach(tally -> {
+            long seqBefore = tally.getSeq();
+            List<VoteTallyRow> rows = voteOptionRepository.findTallyByVoteId(tally.voteId);
+            if (tally.resync(rows, seqBefore)) {
+                resyncs.increment();
+            }
+        });
+    }
+
+    // 프록시/로드밸런서 유휴 타임아웃 전에 주석 한 줄을 보냄
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        tallies.values().forEach(tally ->
+                tally.subscribers.forEach(connection -> connection.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        tallies.values().forEach(tally -> tally.subscribers.forEach(BufferedSseConnection::close));
+        writers.shutdownNow();
+    }
+
+    private void unregister(Long voteId, BufferedSseConnection connection) {
+        tallies.computeIfPresent(voteId, (id, tally) -> {
+            if (tally.subscribers.remove(connection)) {
+                subscriberCount.decrementAndGet();
+            }
+            return tally.subscribers.isEmpty() ? null : tally;
+        });
+    }
+
+    private static Map<Long, Set<Long>> toVoters(List<VoteTallyRow> rows) {
+        Map<Long, Set<Long>> voters = new LinkedHashMap<>();
+        for (VoteTallyRow row : rows) {
+            Set<Long> optionVoters = voters.computeIfAbsent(row.optionId(), id -> new LinkedHashSet<>());
+            if (row.userId() != null) {
+                optionVoters.add(row.userId());
+            }
+        }
+        return voters;
+    }
+
+    /*
+     * 투표 하나의 메모리 현황
+     * 변경 반영과 전송 순서(seq)를 맞추기 위해 투표 하나당 잠금 하나를 씁니다. (메모리 연산과 버퍼에 넣기만 하므로 짧음)
+     * 구독자 목록은 잠금 밖(tallies.compute 안)에서 바뀌므로 CopyOnWriteArrayList를 씁니다.
+     */
+    private final class LiveTally {
+        private final Long voteId;
+        private final List<BufferedSseConnection> subscribers = new CopyOnWriteArrayList<>();
+        private final List<VoteSelectionChangedEvent> pending = new ArrayList<>();
+        private Map<Long, Set<Long>> voters = Map.of();
+        private boolean loaded;
+        private long seq;
+
+        private LiveTally(Long voteId) {
+            this.voteId = voteId;
+        }
+
+        synchronized long getSeq() {
+            return seq;
+        }
+
+        synchronized void seed(List<VoteTallyRow> rows) {
+            voters = toVoters(rows);
+            loaded = true;
+            // 채우는 동안 커밋된 변경분: 선택 추가/취소는 같은 걸 두 번 반영해도 결과가 같으므로 그대로 이어서 반영
+            // (아직 현황을 받은 구독자가 없으므로 변경분은 보내지 않고 아래 전체 현황에 포함)
+            pending.forEach(this::update);
+            pending.clear();
+            subscribers.forEach(this::offerSnapshot);
+        }
+
+        synchronized void sendSnapshot(BufferedSseConnection connection) {
+            // 아직 채우는 중이면 seed()가 끝날 때 보냄
+            if (loaded) {
+                offerSnapshot(connection);
+            }
+        }
+
+        synchronized void apply(VoteSelectionChangedEvent event) {
+            if (!loaded) {
+                pending.add(event);
+                return;
+            }
+            applyLoaded(event);
+        }
+
+        // DB에서 읽는 동안 변경분이 들어왔으면(seq가 바뀌었으면) 오래된 값이므로 이번에는 건너뜀
+        synchronized boolean resync(List<VoteTallyRow> rows, long seqBefore) {
+            Map<Long, Set<Long>> fresh = toVoters(rows);
+            if (!loaded || seq != seqBefore || fresh.equals(voters)) {
+                return false;
+            }
+            voters = fresh;
+            seq++;
+            subscribers.forEach(this::offerSnapshot);
+            return true;
+        }
+
+        private void applyLoaded(VoteSelectionChangedEvent event) {
+            update(event);
+            deltas.increment();
+
+            VoteTallyDelta delta = new VoteTallyDelta(seq, event.userId(), event.added(), event.removed());
+            subscribers.forEach(connection -> connection.offer(SseEmitter.event()
+                    .id(String.valueOf(seq))
+                    .name("delta")
+                    .data(delta, MediaType.APPLICATION_JSON)));
+        }
+
+        private void update(VoteSelectionChangedEvent event) {
+            event.added().forEach(optionId ->
+                    voters.computeIfAbsent(optionId, id -> new LinkedHashSet<>()).add(event.userId()));
+            event.removed().forEach(optionId -> {
+                Set<Long> optionVoters = voters.get(optionId);
+                if (optionVoters != null) {
+                    optionVoters.remove(event.userId());
+                }
+            });
+            seq++;
+        }
+
+        private void offerSnapshot(BufferedSseConnection connection) {
+            Map<Long, List<Long>> votersByOption = new LinkedHashMap<>();
+            voters.forEach((optionId, optionVoters) -> votersByOption.put(optionId, List.copyOf(optionVoters)));
+            connection.offer(SseEmitter.event()
+                    .id(String.valueOf(seq))
+                    .name("snapshot")
+                    .data(new VoteTallySnapshot(voteId, seq, votersByOption), MediaType.APPLICATION_JSON));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+-- ============================================================
+-- V10: 투표 완료 판정용 투표자 수
+-- 토글마다 참여자 x 선택지 exists 쿼리를 돌리는 대신,
+-- 사용자별 선택 수(vote_voters)와 투표별 투표자 수(votes.voter_count)를 SQL 1번으로 같이 증감합니다.
+-- ============================================================
+
+-- [투표] 선택이 1개 이상인 사용자 수 (선택 수가 0 -> 1, 1 -> 0으로 바뀔 때만 증감)
+ALTER TABLE votes
+    ADD COLUMN voter_count integer NOT NULL DEFAULT 0;
+
+-- [투표] 사용자별 현재 선택한 항목 수. 투표가 삭제되면 같이 삭제
+CREATE TABLE vote_voters (
+    vote_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    selection_count integer NOT NULL,
+    PRIMARY KEY (vote_id, user_id),
+    CONSTRAINT fk_vote_voters_vote FOREIGN KEY (vote_id) REFERENCES votes ON DELETE CASCADE,
+    CONSTRAINT fk_vote_voters_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+INSERT INTO vote_voters (vote_id, user_id, selection_count)
+SELECT vo.vote_id, uv.user_id, COUNT(*)
+FROM user_votes uv
+JOIN vote_options vo ON vo.id = uv.vote_option_id
+GROUP BY vo.vote_id, uv.user_id;
+
+UPDATE votes v
+SET voter_count = c.voters
+FROM (SELECT vote_id, COUNT(*) AS voters
+      FROM vote_voters
+      WHERE selection_count > 0
+      GROUP BY vote_id) c
+WHERE v.id = c.vote_id;
@@ -0,0 +1,28 @@
+-- ============================================================
+-- V11: 사용자-투표 항목 유니크 제약
+-- 확인 후 저장(exists -> save) 방식이라 더블 탭/재시도가 동시에 들어오면 같은 선택이 중복 저장될 수 있었습니다.
+-- 유니크 제약을 걸고 토글은 INSERT ... ON CONFLICT DO NOTHING / DELETE ... RETURNING 으로 처리합니다.
+-- ============================================================
+
+-- 이미 중복 저장된 선택은 가장 먼저 저장된 행만 남김
+DELETE FROM user_votes uv
+USING user_votes dup
+WHERE uv.user_id = dup.user_id
+  AND uv.vote_option_id = dup.vote_option_id
+  AND uv.id > dup.id;
+
+-- V10에서 중복 행까지 센 사용자별 선택 수 다시 계산 (선택 여부는 그대로이므로 votes.voter_count는 변하지 않음)
+UPDATE vote_voters vv
+SET selection_count = c.selections
+FROM (SELECT vo.vote_id, uv.user_id, COUNT(*) AS selections
+      FROM user_votes uv
+      JOIN vote_options vo ON vo.id = uv.vote_option_id
+      GROUP BY vo.vote_id, uv.user_id) c
+WHERE vv.vote_id = c.vote_id
+  AND vv.user_id = c.user_id;
+
+-- 같은 컬럼의 일반 인덱스(V4)는 유니크 제약 인덱스로 대체
+DROP INDEX IF EXISTS idx_user_vote_user_option;
+
+ALTER TABLE user_votes
+    ADD CONSTRAINT uk_user_vote_user_option UNIQUE (user_id, vote_option_id);
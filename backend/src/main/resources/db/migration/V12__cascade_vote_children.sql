@@ -0,0 +1,15 @@
+-- ============================================================
+-- V12: 투표 삭제 시 선택지/투표 내역을 DB에서 같이 삭제
+-- 선택지마다 deleteAllByVoteOption을 돌리던 것을 DELETE FROM votes 1번으로 처리합니다.
+-- (vote_voters는 V10에서 이미 ON DELETE CASCADE)
+-- ============================================================
+
+ALTER TABLE user_votes
+    DROP CONSTRAINT FK6jejn6mad7bdox1orjl7tluf2,
+    ADD CONSTRAINT fk_user_votes_vote_option
+        FOREIGN KEY (vote_option_id) REFERENCES vote_options ON DELETE CASCADE;
+
+ALTER TABLE vote_options
+    DROP CONSTRAINT FKl2akx1lll3m5b004q80729oui,
+    ADD CONSTRAINT fk_vote_options_vote
+        FOREIGN KEY (vote_id) REFERENCES votes ON DELETE CASCADE;
@@ -0,0 +1,19 @@
+-- ============================================================
+-- V13: 투표 마감 시각
+-- 마감 시각이 지난 진행 중 투표는 VoteAutoCloser가 묶음 단위로 마감하고 항목별 정산을 만듭니다.
+-- 기존 투표는 생성 후 3일(Vote.DEFAULT_VOTING_PERIOD)을 마감 시각으로 채웁니다.
+-- ============================================================
+
+ALTER TABLE votes
+    ADD COLUMN deadline timestamp(6);
+
+UPDATE votes
+SET deadline = created_at + interval '3 days';
+
+ALTER TABLE votes
+    ALTER COLUMN deadline SET NOT NULL;
+
+-- [자동 마감] 진행 중 투표만 (deadline, id) 순서로 커서 조회 (마감된 투표는 인덱스에서 빠짐)
+CREATE INDEX idx_votes_open_deadline
+    ON votes (deadline, id)
+    WHERE is_closed = false;
@@ -0,0 +1,13 @@
+-- ============================================================
+-- V14: 초대 코드 발급용 시퀀스
+-- InviteCodeAllocator가 nextval 1번으로 번호 50개(INCREMENT BY, InviteCodeAllocator.BLOCK_SIZE)를 예약하고,
+-- 번호를 키 있는 순열로 8자리 코드(36^8가지)에 1:1로 대응시킵니다. (번호가 겹치지 않으니 코드도 겹치지 않음)
+-- MAXVALUE: 마지막 묶음의 끝 번호(+49)까지 36^8 - 1을 넘지 않는 가장 큰 50의 배수
+-- ============================================================
+
+CREATE SEQUENCE group_invite_code_seq
+    START WITH 0
+    MINVALUE 0
+    MAXVALUE 2821109907400
+    INCREMENT BY 50
+    NO CYCLE;
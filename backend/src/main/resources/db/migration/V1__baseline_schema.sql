@@ -0,0 +1,262 @@
+-- ============================================================
+-- V1: 기본 스키마 (Flyway 도입 전 ddl-auto로 만들어지던 스키마)
+--
+-- 이미 운영 중인 DB는 baseline-on-migrate로 V1을 건너뛰고 V2부터 적용됩니다.
+-- 새 DB(로컬/CI)는 이 파일부터 순서대로 생성됩니다.
+-- 외래 키 이름은 기존 DB와 맞추기 위해 Hibernate가 생성하던 이름을 그대로 사용합니다.
+-- ============================================================
+
+create table expense_items (
+    quantity integer not null,
+    expense_id bigint not null,
+    id bigint generated by default as identity,
+    price bigint not null,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table expense_participants (
+    expense_id bigint not null,
+    user_id bigint not null,
+    primary key (expense_id, user_id)
+);
+
+create table expense_tags (
+    expense_id bigint not null,
+    tag_id bigint not null,
+    primary key (expense_id, tag_id)
+);
+
+create table expenses (
+    amount bigint not null,
+    created_at timestamp(6) not null,
+    expense_date timestamp(6) not null,
+    group_id bigint not null,
+    id bigint generated by default as identity,
+    payer_id bigint not null,
+    updated_at timestamp(6),
+    receipt_url varchar(1000),
+    title varchar(255) not null,
+    primary key (id)
+);
+
+create table group_members (
+    created_at timestamp(6) not null,
+    group_id bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    role varchar(255) not null check (role in ('OWNER','MEMBER')),
+    primary key (id),
+    constraint uk_user_group unique (user_id, group_id)
+);
+
+create table groups (
+    created_at timestamp(6) not null,
+    creator_id bigint not null,
+    id bigint generated by default as identity,
+    invite_code varchar(8) not null unique,
+    updated_at timestamp(6),
+    icon varchar(10),
+    name varchar(50) not null,
+    description varchar(1000),
+    primary key (id)
+);
+
+create table notifications (
+    is_read boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    recipient_id bigint not null,
+    related_id bigint,
+    updated_at timestamp(6),
+    content TEXT not null,
+    type varchar(255) not null check (type in ('SETTLEMENT_REQUEST','SETTLEMENT_COMPLETED','SETTLEMENT_REMINDER','VOTE_CREATED','VOTE_COMPLETED','VOTE_CLOSE','EXPENSE_ADDED','GROUP_INVITE')),
+    primary key (id)
+);
+
+create table settlement_details (
+    is_sent boolean not null,
+    amount bigint not null,
+    created_at timestamp(6) not null,
+    creditor_id bigint not null,
+    debtor_id bigint not null,
+    id bigint generated by default as identity,
+    settlement_id bigint not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table settlements (
+    created_at timestamp(6) not null,
+    deadline timestamp(6),
+    expense_id bigint not null unique,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    method varchar(255) not null check (method in ('N_BUN_1','DIRECT','PERCENT','ITEM')),
+    status varchar(255) not null check (status in ('PENDING','COMPLETED')),
+    primary key (id)
+);
+
+create table tags (
+    group_id bigint not null,
+    id bigint generated by default as identity,
+    name varchar(50) not null,
+    primary key (id),
+    constraint uk_group_id_tag_name unique (group_id, name)
+);
+
+create table user_votes (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    vote_option_id bigint not null,
+    primary key (id)
+);
+
+create table users (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    account_number varchar(255) not null,
+    bank_name varchar(255) not null,
+    email varchar(255) not null unique,
+    fcm_token varchar(255),
+    name varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+);
+
+create table vote_options (
+    expense_item_id bigint not null unique,
+    id bigint generated by default as identity,
+    vote_id bigint not null,
+    primary key (id)
+);
+
+create table votes (
+    is_closed boolean not null,
+    created_at timestamp(6) not null,
+    expense_id bigint not null unique,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_user_id
+   on group_members (user_id);
+
+create index idx_group_id
+   on group_members (group_id);
+
+create index idx_role
+   on group_members (role);
+
+create index idx_creator_id
+   on groups (creator_id);
+
+alter table if exists expense_items
+   add constraint FK48hitjm52l1x76gjdywnb3hg9
+   foreign key (expense_id)
+   references expenses;
+
+alter table if exists expense_participants
+   add constraint FKc65ugmdfhjd6lxjx871fjkjxp
+   foreign key (expense_id)
+   references expenses;
+
+alter table if exists expense_participants
+   add constraint FKbt1naml92d64c1w07hjec43sv
+   foreign key (user_id)
+   references users;
+
+alter table if exists expense_tags
+   add constraint FK6dl1qhw04157qmkpdgbmqq3r4
+   foreign key (tag_id)
+   references tags;
+
+alter table if exists expense_tags
+   add constraint FK8m3dl4pjdqfjsejrkuontwjwh
+   foreign key (expense_id)
+   references expenses;
+
+alter table if exists expenses
+   add constraint FKne4jfgy6h5e1gv78elj8bypb5
+   foreign key (group_id)
+   references groups;
+
+alter table if exists expenses
+   add constraint FKp2j9bd9avgsllmn3q7ssmdku
+   foreign key (payer_id)
+   references users;
+
+alter table if exists group_members
+   add constraint FKkv9vlrye4rmhqjq4qohy2n5a6
+   foreign key (group_id)
+   references groups;
+
+alter table if exists group_members
+   add constraint FKnr9qg33qt2ovmv29g4vc3gtdx
+   foreign key (user_id)
+   references users;
+
+alter table if exists groups
+   add constraint FKjq37pdrj0mtih03a22mc7noun
+   foreign key (creator_id)
+   references users;
+
+alter table if exists notifications
+   add constraint FKqqnsjxlwleyjbxlmm213jaj3f
+   foreign key (recipient_id)
+   references users;
+
+alter table if exists settlement_details
+   add constraint FKq7s8nkhpuxhjpd0u50e9otjib
+   foreign key (creditor_id)
+   references users;
+
+alter table if exists settlement_details
+   add constraint FK9ry5jg5002oscas497fve2s21
+   foreign key (debtor_id)
+   references users;
+
+alter table if exists settlement_details
+   add constraint FKp4mgppkq69u31oicxnkyijkag
+   foreign key (settlement_id)
+   references settlements;
+
+alter table if exists settlements
+   add constraint FK2mku6ekahr1nwum91xn5fci8b
+   foreign key (expense_id)
+   references expenses;
+
+alter table if exists tags
+   add constraint FK4pl976ffchu75q1vbicwmpuua
+   foreign key (group_id)
+   references groups;
+
+alter table if exists user_votes
+   add constraint FK7sg00sr5h4395xrgufxvsmagv
+   foreign key (user_id)
+   references users;
+
+alter table if exists user_votes
+   add constraint FK6jejn6mad7bdox1orjl7tluf2
+   foreign key (vote_option_id)
+   references vote_options;
+
+alter table if exists vote_options
+   add constraint FK91uihslo4jsmao0k76u8o4ju6
+   foreign key (expense_item_id)
+   references expense_items;
+
+alter table if exists vote_options
+   add constraint FKl2akx1lll3m5b004q80729oui
+   foreign key (vote_id)
+   references votes;
+
+alter table if exists votes
+   add constraint FKpis86ll0sl0n6qme1lq7qb9el
+   foreign key (expense_id)
+   references expenses;
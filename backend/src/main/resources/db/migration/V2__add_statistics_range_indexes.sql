@@ -0,0 +1,15 @@
+-- ============================================================
+-- 통계 기간 조회용 복합 인덱스
+-- YEAR()/MONTH() 대신 [start, end) 범위 조건으로 조회하므로
+-- (그룹/결제자/지출, 날짜) 순서의 인덱스로 범위 스캔이 가능합니다.
+-- 엔티티의 @Index 이름과 동일하게 유지해야 합니다.
+-- ============================================================
+
+CREATE INDEX IF NOT EXISTS idx_expense_group_date
+    ON expenses (group_id, expense_date);
+
+CREATE INDEX IF NOT EXISTS idx_expense_payer_date
+    ON expenses (payer_id, expense_date);
+
+CREATE INDEX IF NOT EXISTS idx_settlement_expense_created
+    ON settlements (expense_id, created_at);
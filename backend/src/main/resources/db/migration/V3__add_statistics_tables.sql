@@ -0,0 +1,47 @@
+-- ============================================================
+-- V3: 통계 전용 테이블
+-- - user_expense_shares / user_expense_share_tags: 사용자별 분담 원장 (개인 통계)
+-- - spending_sketches: 그룹/멤버 월별 지출 분포 스케치
+--
+-- Flyway 도입 전에 ddl-auto로 이미 생성된 DB가 있으므로 IF NOT EXISTS로 작성합니다.
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS user_expense_shares (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    expense_id bigint not null,
+    group_id bigint not null,
+    expense_date timestamp(6) not null,
+    share_amount bigint not null,
+    primary key (id),
+    constraint uk_share_user_expense unique (user_id, expense_id),
+    constraint FK7dryi83l0slmk5co2u8sssm6d foreign key (user_id) references users,
+    constraint FKo4pm7q47sb73hctfr7301ct12 foreign key (expense_id) references expenses,
+    constraint FKfg6p5560c2b3e4go1hqi5qlk3 foreign key (group_id) references groups
+);
+
+CREATE INDEX IF NOT EXISTS idx_share_user_date
+    ON user_expense_shares (user_id, expense_date);
+
+CREATE INDEX IF NOT EXISTS idx_share_expense
+    ON user_expense_shares (expense_id);
+
+CREATE TABLE IF NOT EXISTS user_expense_share_tags (
+    share_id bigint not null,
+    tag_name varchar(50) not null,
+    primary key (share_id, tag_name),
+    constraint FKs8rqha6kr5paexio1fms9dtmm foreign key (share_id) references user_expense_shares
+);
+
+CREATE TABLE IF NOT EXISTS spending_sketches (
+    id bigint generated by default as identity,
+    group_id bigint not null,
+    user_id bigint not null,
+    stat_month integer not null,
+    sample_count bigint not null,
+    total_amount bigint not null,
+    sketch bytea,
+    histogram bytea,
+    primary key (id),
+    constraint uk_sketch_group_user_month unique (group_id, user_id, stat_month)
+);
@@ -0,0 +1,62 @@
+-- ============================================================
+-- V4: 외래 키 / 자주 쓰는 조회 조건 인덱스
+-- PostgreSQL은 외래 키에 인덱스를 자동으로 만들지 않으므로,
+-- 실제 Repository 메서드의 WHERE/JOIN 조건 기준으로 필요한 것만 추가합니다.
+--
+-- 이미 있는 인덱스 (추가하지 않음)
+-- - group_members (user_id, group_id) : uk_user_group 유니크 제약
+-- - settlements (expense_id)          : 1:1 유니크 제약
+-- - tags (group_id, name)             : uk_group_id_tag_name 유니크 제약
+-- - expenses (group_id, ...), (payer_id, ...) : V2
+-- ============================================================
+
+-- [정산 상세] settlement.getDetails(), 채무자/채권자별 정산 조회, 통계 서브쿼리 (sd.debtor.id = ?)
+CREATE INDEX IF NOT EXISTS idx_settlement_detail_settlement
+    ON settlement_details (settlement_id);
+
+CREATE INDEX IF NOT EXISTS idx_settlement_detail_debtor
+    ON settlement_details (debtor_id);
+
+CREATE INDEX IF NOT EXISTS idx_settlement_detail_creditor
+    ON settlement_details (creditor_id);
+
+-- [투표] findByVoteOption / deleteAllByVoteOption
+CREATE INDEX IF NOT EXISTS idx_user_vote_option
+    ON user_votes (vote_option_id);
+
+-- [투표] existsByUserAndVoteOption / deleteByUserAndVoteOption
+CREATE INDEX IF NOT EXISTS idx_user_vote_user_option
+    ON user_votes (user_id, vote_option_id);
+
+-- [투표] findByVote / deleteAllByVote
+CREATE INDEX IF NOT EXISTS idx_vote_option_vote
+    ON vote_options (vote_id);
+
+-- [알림] findAllByRecipientIdOrderByCreatedAtDesc (정렬까지 인덱스로 처리)
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_created
+    ON notifications (recipient_id, created_at DESC);
+
+-- [알림] countByRecipientIdAndIsReadFalse (안 읽은 알림만 부분 인덱스)
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_unread
+    ON notifications (recipient_id)
+    WHERE is_read = false;
+
+-- [지출] existsByReceiptUrl (등호 비교만 하고 URL이 길어서 해시 인덱스)
+CREATE INDEX IF NOT EXISTS idx_expense_receipt_url
+    ON expenses USING hash (receipt_url);
+
+-- [지출] findByExpense (항목), 지출 삭제 시 cascade
+CREATE INDEX IF NOT EXISTS idx_expense_item_expense
+    ON expense_items (expense_id);
+
+-- [지출] ExpenseParticipantRepository.findByUser (PK가 (expense_id, user_id)라 user_id 단독 조회용)
+CREATE INDEX IF NOT EXISTS idx_expense_participant_user
+    ON expense_participants (user_id);
+
+-- [태그] 태그 삭제/태그별 지출 조회 (PK가 (expense_id, tag_id)라 tag_id 단독 조회용)
+CREATE INDEX IF NOT EXISTS idx_expense_tag_tag
+    ON expense_tags (tag_id);
+
+-- [분담 원장] findByGroupId (분포 스케치 재구축), 그룹 삭제 시 외래 키 검사
+CREATE INDEX IF NOT EXISTS idx_share_group
+    ON user_expense_shares (group_id);
@@ -0,0 +1,24 @@
+-- ============================================================
+-- V5: 푸시 발송 대기열 (Transactional Outbox)
+-- 알림 저장 트랜잭션에서 한 줄을 쓰고, 커밋 후 PushOutboxDispatcher가 FCM으로 전송합니다.
+-- ============================================================
+
+create table push_outbox (
+    attempts integer not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    next_attempt_at timestamp(6) not null,
+    recipient_id bigint not null,
+    related_id bigint,
+    sent_at timestamp(6),
+    updated_at timestamp(6),
+    status varchar(20) not null check (status in ('PENDING','SENDING','SENT','FAILED')),
+    last_error varchar(1000),
+    content TEXT not null,
+    type varchar(255) not null check (type in ('SETTLEMENT_REQUEST','SETTLEMENT_COMPLETED','SETTLEMENT_REMINDER','VOTE_CREATED','VOTE_COMPLETED','VOTE_CLOSE','EXPENSE_ADDED','GROUP_INVITE')),
+    primary key (id),
+    constraint fk_push_outbox_recipient foreign key (recipient_id) references users
+);
+
+-- 발송 대상 선점 조회 (status IN ('PENDING','SENDING') AND next_attempt_at <= now ORDER BY id)
+create index idx_push_outbox_status_next on push_outbox (status, next_attempt_at);
@@ -0,0 +1,7 @@
+-- ============================================================
+-- V6: 만료 FCM 토큰 일괄 삭제용 인덱스
+-- PushTokenPruner가 "UPDATE users SET fcm_token = NULL WHERE fcm_token IN (...)"를 주기적으로 실행합니다.
+-- 토큰이 있는 사용자만 대상이므로 부분 인덱스로 둡니다.
+-- ============================================================
+
+create index idx_users_fcm_token on users (fcm_token) where fcm_token is not null;
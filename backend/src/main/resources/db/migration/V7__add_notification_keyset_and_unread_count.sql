@@ -0,0 +1,22 @@
+-- ============================================================
+-- V7: 알림함 커서 페이지네이션 + 안 읽은 알림 수 컬럼
+-- ============================================================
+
+-- [알림] (created_at, id) 커서 페이지 - 같은 시각의 알림도 id로 순서가 정해지도록 id까지 포함
+-- V4의 (recipient_id, created_at DESC) 인덱스는 이 인덱스의 앞부분이므로 대체합니다.
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_created_id
+    ON notifications (recipient_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_notification_recipient_created;
+
+-- [사용자] 안 읽은 알림 수 (배지) - 알림 저장/읽음 시 원자적 UPDATE로 증감
+ALTER TABLE users
+    ADD COLUMN unread_notification_count integer NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET unread_notification_count = c.unread
+FROM (SELECT recipient_id, COUNT(*) AS unread
+      FROM notifications
+      WHERE is_read = false
+      GROUP BY recipient_id) c
+WHERE u.id = c.recipient_id;
@@ -0,0 +1,82 @@
+-- ============================================================
+-- V8: notifications 월별 범위 파티셔닝 (created_at)
+-- 알림은 멤버 수만큼 쌓이기만 하므로 월 단위로 나눠, 오래된 달은 파티션째 삭제/보관합니다.
+-- (NotificationPartitionManager가 매일 앞으로 쓸 파티션을 만들고 보관 기간이 지난 파티션을 정리)
+--
+-- - 파티션 키가 PK에 포함되어야 하므로 PK는 (id, created_at). id는 identity 시퀀스로 계속 유일합니다.
+-- - DEFAULT 파티션은 두지 않습니다. (있으면 최신순 조회가 파티션 순서대로 읽는 Append를 못 씀)
+-- - 기존 행을 복사하는 동안 테이블이 잠기므로 알림이 많은 환경은 점검 시간에 적용해야 합니다.
+-- ============================================================
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT notifications_pkey TO notifications_unpartitioned_pkey;
+ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT notifications_type_check TO notifications_unpartitioned_type_check;
+ALTER SEQUENCE IF EXISTS notifications_id_seq RENAME TO notifications_unpartitioned_id_seq;
+DROP INDEX IF EXISTS idx_notification_recipient_created_id;
+DROP INDEX IF EXISTS idx_notification_recipient_unread;
+
+CREATE TABLE notifications (
+    is_read boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    recipient_id bigint not null,
+    related_id bigint,
+    updated_at timestamp(6),
+    content TEXT not null,
+    type varchar(255) not null
+        constraint notifications_type_check
+        check (type in ('SETTLEMENT_REQUEST','SETTLEMENT_COMPLETED','SETTLEMENT_REMINDER','VOTE_CREATED','VOTE_COMPLETED','VOTE_CLOSE','EXPENSE_ADDED','GROUP_INVITE')),
+    constraint notifications_pkey primary key (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- 월 파티션 생성 (이미 있으면 그대로). 파티션 이름: notifications_pYYYYMM
+CREATE OR REPLACE FUNCTION create_notification_partition(p_month date) RETURNS text AS $$
+DECLARE
+    start_date date := date_trunc('month', p_month)::date;
+    partition_name text := 'notifications_p' || to_char(start_date, 'YYYYMM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_date, (start_date + interval '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 알림이 있는 가장 오래된 달(없으면 지난달)부터 3달 뒤까지
+DO $$
+DECLARE
+    month_start date;
+BEGIN
+    SELECT date_trunc('month', LEAST(COALESCE(MIN(created_at), LOCALTIMESTAMP), LOCALTIMESTAMP - interval '1 month'))::date
+    INTO month_start
+    FROM notifications_unpartitioned;
+
+    WHILE month_start <= date_trunc('month', LOCALTIMESTAMP + interval '3 months')::date LOOP
+        PERFORM create_notification_partition(month_start);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO notifications (is_read, created_at, id, recipient_id, related_id, updated_at, content, type)
+SELECT is_read, created_at, id, recipient_id, related_id, updated_at, content, type
+FROM notifications_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('notifications', 'id'), COALESCE(MAX(id), 0) + 1, false)
+FROM notifications;
+
+DROP TABLE notifications_unpartitioned;
+
+-- 부모에 만든 인덱스/FK는 모든 파티션(앞으로 만들 파티션 포함)에 적용됩니다.
+ALTER TABLE notifications
+    ADD CONSTRAINT FKqqnsjxlwleyjbxlmm213jaj3f
+    FOREIGN KEY (recipient_id)
+    REFERENCES users;
+
+-- [알림] 최신순 커서 페이지
+CREATE INDEX idx_notification_recipient_created_id
+    ON notifications (recipient_id, created_at DESC, id DESC);
+
+-- [알림] 안 읽은 알림 (부분 인덱스)
+CREATE INDEX idx_notification_recipient_unread
+    ON notifications (recipient_id)
+    WHERE is_read = false;
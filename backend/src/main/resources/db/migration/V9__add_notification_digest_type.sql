@@ -0,0 +1,14 @@
+-- ============================================================
+-- V9: 묶음 알림(NOTIFICATION_DIGEST) 타입 추가
+-- NotificationCoalescer가 한 사용자에게 여러 알림이 몰리면 푸시를 1건으로 묶어 보냅니다.
+-- 알림함에는 원래 알림이 각각 저장되고, 묶음 타입은 푸시 발송 대기열에만 쓰이지만 enum과 맞춰 둘 다 갱신합니다.
+-- ============================================================
+
+ALTER TABLE push_outbox DROP CONSTRAINT push_outbox_type_check;
+ALTER TABLE push_outbox ADD CONSTRAINT push_outbox_type_check
+    check (type in ('SETTLEMENT_REQUEST','SETTLEMENT_COMPLETED','SETTLEMENT_REMINDER','VOTE_CREATED','VOTE_COMPLETED','VOTE_CLOSE','EXPENSE_ADDED','GROUP_INVITE','NOTIFICATION_DIGEST'));
+
+-- 파티션 테이블에서 바꾸면 모든 월 파티션에 같이 적용됩니다.
+ALTER TABLE notifications DROP CONSTRAINT notifications_type_check;
+ALTER TABLE notifications ADD CONSTRAINT notifications_type_check
+    check (type in ('SETTLEMENT_REQUEST','SETTLEMENT_COMPLETED','SETTLEMENT_REMINDER','VOTE_CREATED','VOTE_COMPLETED','VOTE_CLOSE','EXPENSE_ADDED','GROUP_INVITE','NOTIFICATION_DIGEST'));
@@ -16,7 +16,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 
-@DataJpaTest
+// H2 내장 DB는 PostgreSQL 문법인 Flyway 마이그레이션 대신 엔티티로 스키마 생성
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
 class GroupMemberRepositoryTest {
 
     @Autowired GroupMemberRepository groupMemberRepository;
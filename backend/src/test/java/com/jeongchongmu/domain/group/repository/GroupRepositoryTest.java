@@ -14,7 +14,9 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
-@DataJpaTest // JPA 관련 컴포넌트만 로드하여 빠르게 테스트
+// JPA 관련 컴포넌트만 로드하여 빠르게 테스트
+// H2 내장 DB는 PostgreSQL 문법인 Flyway 마이그레이션 대신 엔티티로 스키마 생성
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
 class GroupRepositoryTest {
 
     @Autowired GroupRepository groupRepository;
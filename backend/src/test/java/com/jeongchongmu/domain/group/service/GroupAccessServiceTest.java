@@ -0,0 +1,128 @@
+package com.jeongchongmu.domain.group.service;
+
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("그룹 멤버십 캐시")
+class GroupAccessServiceTest {
+
+    @Mock GroupMemberRepository groupMemberRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GroupAccessService groupAccessService;
+
+    @BeforeEach
+    void setUp() {
+        groupAccessService = new GroupAccessService(groupMemberRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("같은 (사용자, 그룹)은 DB를 한 번만 읽고, 멤버가 아닌 결과도 기억한다")
+    void findRole_cachesMembersAndNonMembers() {
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(1L, 10L)).willReturn(Optional.of(Role.OWNER));
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(2L, 10L)).willReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(groupAccessService.isOwner(1L, 10L)).isTrue();
+            assertThat(groupAccessService.isMember(2L, 10L)).isFalse();
+        }
+
+        verify(groupMemberRepository, times(1)).findRoleByUserIdAndGroupId(1L, 10L);
+        verify(groupMemberRepository, times(1)).findRoleByUserIdAndGroupId(2L, 10L);
+        assertThat(meterRegistry.get("group.access.cache").tag("result", "hit").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("group.access.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("참여/탈퇴 트랜잭션이 커밋된 뒤에만 캐시를 버린다")
+    void evict_afterCommit() {
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(2L, 10L))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(Role.MEMBER));
+        assertThat(groupAccessService.isMember(2L, 10L)).isFalse();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            groupAccessService.evict(2L, 10L);
+            // 커밋 전에는 이전 값
+            assertThat(groupAccessService.isMember(2L, 10L)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(groupAccessService.isMember(2L, 10L)).isTrue();
+        verify(groupMemberRepository, times(2)).findRoleByUserIdAndGroupId(2L, 10L);
+    }
+
+    @Test
+    @DisplayName("DB를 읽는 사이 참여가 커밋되어 evict되면, 읽은 \"멤버 아님\"을 저장하지 않는다")
+    void missInterleavedWithEvict_doesNotStoreStaleResult() {
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(2L, 10L))
+                .willAnswer(invocation -> {
+                    // 참여 커밋 전 스냅샷으로 읽은 직후, 참여 트랜잭션이 커밋되고 evict 실행
+                    groupAccessService.evict(2L, 10L);
+                    return Optional.empty();
+                })
+                .willReturn(Optional.of(Role.MEMBER));
+
+        assertThat(groupAccessService.isMember(2L, 10L)).isFalse();
+        // 이전 값이 남지 않아 다시 DB를 읽음
+        assertThat(groupAccessService.isMember(2L, 10L)).isTrue();
+        assertThat(groupAccessService.isMember(2L, 10L)).isTrue();
+        verify(groupMemberRepository, times(2)).findRoleByUserIdAndGroupId(2L, 10L);
+    }
+
+    @Test
+    @DisplayName("DB를 읽는 사이 그룹 삭제로 evict되면, 읽은 역할을 저장하지 않는다")
+    void missInterleavedWithEvictGroup_doesNotStoreStaleRole() {
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(2L, 10L))
+                .willAnswer(invocation -> {
+                    groupAccessService.evictGroup(10L);
+                    return Optional.of(Role.MEMBER);
+                })
+                .willReturn(Optional.empty());
+
+        assertThat(groupAccessService.isMember(2L, 10L)).isTrue();
+        assertThat(groupAccessService.isMember(2L, 10L)).isFalse();
+        verify(groupMemberRepository, times(2)).findRoleByUserIdAndGroupId(2L, 10L);
+    }
+
+    @Test
+    @DisplayName("그룹을 삭제하면 그 그룹의 멤버십만 모두 버린다")
+    void evictGroup_dropsOnlyThatGroup() {
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(1L, 10L)).willReturn(Optional.of(Role.OWNER));
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(2L, 10L)).willReturn(Optional.of(Role.MEMBER));
+        given(groupMemberRepository.findRoleByUserIdAndGroupId(1L, 20L)).willReturn(Optional.of(Role.MEMBER));
+        groupAccessService.findRole(1L, 10L);
+        groupAccessService.findRole(2L, 10L);
+        groupAccessService.findRole(1L, 20L);
+
+        groupAccessService.evictGroup(10L);
+        groupAccessService.findRole(1L, 10L);
+        groupAccessService.findRole(2L, 10L);
+        groupAccessService.findRole(1L, 20L);
+
+        verify(groupMemberRepository, times(2)).findRoleByUserIdAndGroupId(1L, 10L);
+        verify(groupMemberRepository, times(2)).findRoleByUserIdAndGroupId(2L, 10L);
+        verify(groupMemberRepository, times(1)).findRoleByUserIdAndGroupId(1L, 20L);
+    }
+}
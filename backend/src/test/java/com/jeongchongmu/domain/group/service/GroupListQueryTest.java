@@ -0,0 +1,114 @@
+package com.jeongchongmu.domain.group.service;
+
+import com.jeongchongmu.domain.group.dto.GroupDto;
+import com.jeongchongmu.domain.group.dto.GroupRequest;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.entity.GroupMember;
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.support.SqlCaptor;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@PostgresJpaTest
+@Import({GroupService.class, GroupAccessService.class, InviteCodeAllocator.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor")
+@DisplayName("그룹 목록/단건 프로젝션 조회 (PostgreSQL)")
+class GroupListQueryTest {
+
+    @Autowired GroupService groupService;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired GroupMemberRepository groupMemberRepository;
+    @Autowired EntityManager em;
+
+    User jiseong, kyunghwan, minji;
+
+    @BeforeEach
+    void setUp() {
+        jiseong = userRepository.save(user("list1@test.com", "지성"));
+        kyunghwan = userRepository.save(user("list2@test.com", "경환"));
+        minji = userRepository.save(user("list3@test.com", "민지"));
+    }
+
+    @Test
+    @DisplayName("그룹 수와 상관없이 쿼리 1번으로 생성자와 멤버 수까지 조회한다")
+    void getMyGroups_singleQuery() {
+        Group trip = saveGroup("제주도 여행", jiseong, "LIST0001", jiseong, kyunghwan, minji);
+        Group dinner = saveGroup("회식 정산", minji, "LIST0002", minji, jiseong);
+        // 내가 만들었지만 멤버 행이 없는 그룹도 목록에 포함
+        Group legacy = groupRepository.save(Group.builder().name("예전 모임").creator(jiseong).inviteCode("LIST0003").build());
+        // 내가 속하지 않은 그룹
+        saveGroup("다른 모임", kyunghwan, "LIST0004", kyunghwan);
+
+        em.flush();
+        em.clear();
+        SqlCaptor.clear();
+
+        List<GroupDto> groups = groupService.getMyGroups(jiseong.getId());
+
+        assertThat(SqlCaptor.count()).isEqualTo(1);
+        assertThat(groups)
+                .extracting(GroupDto::id, GroupDto::memberCount, dto -> dto.creator().name(), GroupDto::inviteLink)
+                .containsExactlyInAnyOrder(
+                        tuple(trip.getId(), 3, "지성", GroupDto.INVITE_BASE_URL + "LIST0001"),
+                        tuple(dinner.getId(), 2, "민지", GroupDto.INVITE_BASE_URL + "LIST0002"),
+                        tuple(legacy.getId(), 0, "지성", GroupDto.INVITE_BASE_URL + "LIST0003"));
+    }
+
+    @Test
+    @DisplayName("생성/수정/초대 코드 재생성 직후 응답도 같은 프로젝션으로 만들고, 같은 트랜잭션에서 바꾼 내용이 반영된다")
+    void createAndUpdate_returnProjection() {
+        GroupDto created = groupService.createGroup(jiseong.getId(), new GroupRequest("제주도 여행", "가을", "🍊"));
+        assertThat(created.memberCount()).isEqualTo(1);
+        assertThat(created.creator().id()).isEqualTo(jiseong.getId());
+        assertThat(created.inviteLink()).isEqualTo(GroupDto.INVITE_BASE_URL + created.inviteCode());
+
+        GroupDto updated = groupService.updateGroup(created.id(), jiseong.getId(), new GroupRequest("부산 여행", "겨울", null));
+        assertThat(updated)
+                .extracting(GroupDto::name, GroupDto::description, GroupDto::icon, GroupDto::memberCount)
+                .containsExactly("부산 여행", "겨울", "🍊", 1);
+
+        // 초대 코드 재생성도 발급기에서 (시퀀스 번호가 달라 이전 코드와 겹치지 않음)
+        GroupDto regenerated = groupService.regenerateInviteCode(created.id(), jiseong.getId());
+        assertThat(regenerated.inviteCode()).matches("[A-Z0-9]{8}").isNotEqualTo(created.inviteCode());
+    }
+
+    private Group saveGroup(String name, User creator, String inviteCode, User... members) {
+        Group group = groupRepository.save(Group.builder().name(name).creator(creator).inviteCode(inviteCode).build());
+        for (User member : members) {
+            groupMemberRepository.save(GroupMember.builder()
+                    .group(group)
+                    .user(member)
+                    .role(member == creator ? Role.OWNER : Role.MEMBER)
+                    .build());
+        }
+        return group;
+    }
+
+    private User user(String email, String name) {
+        return User.builder()
+                .email(email)
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build();
+    }
+}
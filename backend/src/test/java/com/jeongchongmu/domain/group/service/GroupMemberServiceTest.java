@@ -40,6 +40,9 @@ class GroupMemberServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private GroupAccessService groupAccessService;
+
     @InjectMocks
     private GroupMemberService groupMemberService;
 
@@ -131,6 +134,7 @@ class GroupMemberServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.user().id()).isEqualTo(newUser.getId());
             assertThat(result.role()).isEqualTo(Role.MEMBER);
+            verify(groupAccessService).evict(newUser.getId(), testGroup.getId()); // "멤버 아님" 캐시 버리기
         }
 
         @Test
@@ -292,10 +296,8 @@ class GroupMemberServiceTest {
         void removeMember_Success() {
             // given
             when(groupRepository.findById(testGroup.getId())).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(ownerUser.getId())).thenReturn(Optional.of(ownerUser));
+            when(groupAccessService.findRole(ownerUser.getId(), testGroup.getId())).thenReturn(Optional.of(Role.OWNER));
             when(userRepository.findById(memberUser.getId())).thenReturn(Optional.of(memberUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, ownerUser))
-                    .thenReturn(Optional.of(ownerMember));
             when(groupMemberRepository.findByGroupAndUser(testGroup, memberUser))
                     .thenReturn(Optional.of(normalMember));
 
@@ -304,6 +306,7 @@ class GroupMemberServiceTest {
 
             // then
             verify(groupMemberRepository).delete(normalMember);
+            verify(groupAccessService).evict(memberUser.getId(), testGroup.getId());
         }
 
         @Test
@@ -311,9 +314,7 @@ class GroupMemberServiceTest {
         void removeMember_RemoveSelf() {
             // given
             when(groupRepository.findById(testGroup.getId())).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(ownerUser.getId())).thenReturn(Optional.of(ownerUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, ownerUser))
-                    .thenReturn(Optional.of(ownerMember));
+            when(groupAccessService.findRole(ownerUser.getId(), testGroup.getId())).thenReturn(Optional.of(Role.OWNER));
 
             // when & then
             assertThatThrownBy(() -> groupMemberService.removeMember(testGroup.getId(), ownerUser.getId(), ownerUser.getId()))
@@ -328,9 +329,7 @@ class GroupMemberServiceTest {
         void removeMember_Forbidden() {
             // given
             when(groupRepository.findById(testGroup.getId())).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(memberUser.getId())).thenReturn(Optional.of(memberUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, memberUser))
-                    .thenReturn(Optional.of(normalMember));
+            when(groupAccessService.findRole(memberUser.getId(), testGroup.getId())).thenReturn(Optional.of(Role.MEMBER));
 
             // when & then
             assertThatThrownBy(() -> groupMemberService.removeMember(testGroup.getId(), memberUser.getId(), newUser.getId()))
@@ -346,10 +345,8 @@ class GroupMemberServiceTest {
             // given
             Long targetUserId = 999L;
             when(groupRepository.findById(testGroup.getId())).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(ownerUser.getId())).thenReturn(Optional.of(ownerUser));
+            when(groupAccessService.findRole(ownerUser.getId(), testGroup.getId())).thenReturn(Optional.of(Role.OWNER));
             when(userRepository.findById(targetUserId)).thenReturn(Optional.of(newUser)); // newUser 객체 재사용
-            when(groupMemberRepository.findByGroupAndUser(testGroup, ownerUser))
-                    .thenReturn(Optional.of(ownerMember));
             when(groupMemberRepository.findByGroupAndUser(testGroup, newUser))
                     .thenReturn(Optional.empty());
 
@@ -378,6 +375,7 @@ class GroupMemberServiceTest {
 
             // then
             verify(groupMemberRepository).delete(normalMember);
+            verify(groupAccessService).evict(memberUser.getId(), testGroup.getId());
         }
 
         @Test
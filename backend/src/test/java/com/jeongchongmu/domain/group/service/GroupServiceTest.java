@@ -15,6 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -40,6 +41,12 @@ class GroupServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private GroupAccessService groupAccessService;
+
+    @Mock
+    private InviteCodeAllocator inviteCodeAllocator;
+
     @InjectMocks
     private GroupService groupService;
 
@@ -82,10 +89,10 @@ class GroupServiceTest {
             GroupRequest request = new GroupRequest("제주도 여행", "2024년 가을 여행", null);
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(groupRepository.existsByInviteCode(anyString())).thenReturn(false);
+            when(inviteCodeAllocator.allocate()).thenReturn("K7Q2M9XA");
             when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
             when(groupMemberRepository.save(any(GroupMember.class))).thenReturn(testGroupMember);
-            when(groupMemberRepository.countByGroup(any(Group.class))).thenReturn(1);
+            when(groupRepository.findGroupDtoById(1L)).thenReturn(Optional.of(dtoOf(testGroup, 1)));
 
             // when
             GroupDto result = groupService.createGroup(1L, request);
@@ -109,10 +116,10 @@ class GroupServiceTest {
             GroupRequest request = new GroupRequest("제주도 여행", null, null);
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(groupRepository.existsByInviteCode(anyString())).thenReturn(false);
+            when(inviteCodeAllocator.allocate()).thenReturn("K7Q2M9XA");
             when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
             when(groupMemberRepository.save(any(GroupMember.class))).thenReturn(testGroupMember);
-            when(groupMemberRepository.countByGroup(any(Group.class))).thenReturn(1);
+            when(groupRepository.findGroupDtoById(1L)).thenReturn(Optional.of(dtoOf(testGroup, 1)));
 
             // when
             GroupDto result = groupService.createGroup(1L, request);
@@ -138,26 +145,26 @@ class GroupServiceTest {
         }
 
         @Test
-        @DisplayName("Edge Case: 초대 코드 중복 시 재생성")
-        void createGroup_DuplicateInviteCode() {
+        @DisplayName("Edge Case: 초대 코드는 발급기에서 받고 중복 조회를 하지 않음")
+        void createGroup_AllocatesInviteCode() {
             // given
             GroupRequest request = new GroupRequest("제주도 여행", "설명", null);
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            // 첫 번째는 중복, 두 번째는 중복 아님
-            when(groupRepository.existsByInviteCode(anyString()))
-                    .thenReturn(true)
-                    .thenReturn(false);
+            when(inviteCodeAllocator.allocate()).thenReturn("K7Q2M9XA");
             when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
             when(groupMemberRepository.save(any(GroupMember.class))).thenReturn(testGroupMember);
-            when(groupMemberRepository.countByGroup(any(Group.class))).thenReturn(1);
+            when(groupRepository.findGroupDtoById(1L)).thenReturn(Optional.of(dtoOf(testGroup, 1)));
 
             // when
             GroupDto result = groupService.createGroup(1L, request);
 
             // then
             assertThat(result).isNotNull();
-            verify(groupRepository, atLeast(2)).existsByInviteCode(anyString());
+            ArgumentCaptor<Group> groupCaptor = ArgumentCaptor.forClass(Group.class);
+            verify(groupRepository).save(groupCaptor.capture());
+            assertThat(groupCaptor.getValue().getInviteCode()).isEqualTo("K7Q2M9XA");
+            verify(groupRepository, never()).existsByInviteCode(anyString());
         }
     }
 
@@ -169,8 +176,7 @@ class GroupServiceTest {
         @DisplayName("Happy Path: 그룹 조회 성공")
         void getGroup_Success() {
             // given
-            when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(groupMemberRepository.countByGroup(testGroup)).thenReturn(5);
+            when(groupRepository.findGroupDtoById(1L)).thenReturn(Optional.of(dtoOf(testGroup, 5)));
 
             // when
             GroupDto result = groupService.getGroup(1L);
@@ -186,7 +192,7 @@ class GroupServiceTest {
         @DisplayName("Error Case: 존재하지 않는 그룹")
         void getGroup_NotFound() {
             // given
-            when(groupRepository.findById(999L)).thenReturn(Optional.empty());
+            when(groupRepository.findGroupDtoById(999L)).thenReturn(Optional.empty());
 
             // when & then
             assertThatThrownBy(() -> groupService.getGroup(999L))
@@ -210,10 +216,8 @@ class GroupServiceTest {
                     .inviteCode("XYZ67890")
                     .build();
 
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(groupRepository.findAllGroupsByUser(testUser))
-                    .thenReturn(List.of(testGroup, group2));
-            when(groupMemberRepository.countByGroup(any())).thenReturn(3);
+            when(groupRepository.findGroupDtosByUserId(1L))
+                    .thenReturn(List.of(dtoOf(testGroup, 3), dtoOf(group2, 3)));
 
             // when
             List<GroupDto> result = groupService.getMyGroups(1L);
@@ -222,14 +226,16 @@ class GroupServiceTest {
             assertThat(result).hasSize(2);
             assertThat(result).extracting("name")
                     .containsExactly("제주도 여행", "회식 정산");
+            // 그룹마다 멤버 수/생성자를 따로 조회하지 않음
+            verifyNoInteractions(groupMemberRepository, userRepository);
         }
 
         @Test
         @DisplayName("Edge Case: 속한 그룹이 없는 경우")
         void getMyGroups_EmptyList() {
             // given
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(groupRepository.findAllGroupsByUser(testUser)).thenReturn(List.of());
+            when(groupRepository.findGroupDtosByUserId(1L)).thenReturn(List.of());
+            when(userRepository.existsById(1L)).thenReturn(true);
 
             // when
             List<GroupDto> result = groupService.getMyGroups(1L);
@@ -242,7 +248,8 @@ class GroupServiceTest {
         @DisplayName("Error Case: 존재하지 않는 사용자")
         void getMyGroups_UserNotFound() {
             // given
-            when(userRepository.findById(999L)).thenReturn(Optional.empty());
+            when(groupRepository.findGroupDtosByUserId(999L)).thenReturn(List.of());
+            when(userRepository.existsById(999L)).thenReturn(false);
 
             // when & then
             assertThatThrownBy(() -> groupService.getMyGroups(999L))
@@ -261,10 +268,8 @@ class GroupServiceTest {
             GroupRequest request = new GroupRequest("제주도 여행 (수정)", "수정된 설명", null);
 
             when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, testUser))
-                    .thenReturn(Optional.of(testGroupMember));
-            when(groupMemberRepository.countByGroup(testGroup)).thenReturn(5);
+            when(groupAccessService.findRole(1L, 1L)).thenReturn(Optional.of(testGroupMember.getRole()));
+            when(groupRepository.findGroupDtoById(1L)).thenReturn(Optional.of(dtoOf(testGroup, 5)));
 
             // when
             GroupDto result = groupService.updateGroup(1L, 1L, request);
@@ -289,9 +294,7 @@ class GroupServiceTest {
             GroupRequest request = new GroupRequest("수정", "시도", null);
 
             when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(2L)).thenReturn(Optional.of(memberUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, memberUser))
-                    .thenReturn(Optional.of(member));
+            when(groupAccessService.findRole(2L, 1L)).thenReturn(Optional.of(member.getRole()));
 
             // when & then
             assertThatThrownBy(() -> groupService.updateGroup(1L, 2L, request))
@@ -307,9 +310,7 @@ class GroupServiceTest {
             GroupRequest request = new GroupRequest("수정", "시도", null);
 
             when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(3L)).thenReturn(Optional.of(otherUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, otherUser))
-                    .thenReturn(Optional.empty());
+            when(groupAccessService.findRole(3L, 1L)).thenReturn(Optional.empty());
 
             // when & then
             assertThatThrownBy(() -> groupService.updateGroup(1L, 3L, request))
@@ -327,15 +328,14 @@ class GroupServiceTest {
         void deleteGroup_Success() {
             // given
             when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, testUser))
-                    .thenReturn(Optional.of(testGroupMember));
+            when(groupAccessService.findRole(1L, 1L)).thenReturn(Optional.of(testGroupMember.getRole()));
 
             // when
             groupService.deleteGroup(1L, 1L);
 
             // then
             verify(groupRepository).delete(testGroup);
+            verify(groupAccessService).evictGroup(1L);
         }
 
         @Test
@@ -350,9 +350,7 @@ class GroupServiceTest {
                     .build();
 
             when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(2L)).thenReturn(Optional.of(memberUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, memberUser))
-                    .thenReturn(Optional.of(member));
+            when(groupAccessService.findRole(2L, 1L)).thenReturn(Optional.of(member.getRole()));
 
             // when & then
             assertThatThrownBy(() -> groupService.deleteGroup(1L, 2L))
@@ -371,11 +369,9 @@ class GroupServiceTest {
         void regenerateInviteCode_Success() {
             // given
             when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, testUser))
-                    .thenReturn(Optional.of(testGroupMember));
-            when(groupRepository.existsByInviteCode(anyString())).thenReturn(false);
-            when(groupMemberRepository.countByGroup(testGroup)).thenReturn(5);
+            when(groupAccessService.findRole(1L, 1L)).thenReturn(Optional.of(testGroupMember.getRole()));
+            when(inviteCodeAllocator.allocate()).thenReturn("K7Q2M9XA");
+            when(groupRepository.findGroupDtoById(1L)).thenReturn(Optional.of(dtoOf(testGroup, 5)));
 
             String oldCode = testGroup.getInviteCode();
 
@@ -384,7 +380,7 @@ class GroupServiceTest {
 
             // then
             assertThat(result).isNotNull();
-            assertThat(testGroup.getInviteCode()).isNotEqualTo(oldCode);
+            assertThat(testGroup.getInviteCode()).isNotEqualTo(oldCode).isEqualTo("K7Q2M9XA");
         }
 
         @Test
@@ -399,13 +395,18 @@ class GroupServiceTest {
                     .build();
 
             when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-            when(userRepository.findById(2L)).thenReturn(Optional.of(memberUser));
-            when(groupMemberRepository.findByGroupAndUser(testGroup, memberUser))
-                    .thenReturn(Optional.of(member));
+            when(groupAccessService.findRole(2L, 1L)).thenReturn(Optional.of(member.getRole()));
 
             // when & then
             assertThatThrownBy(() -> groupService.regenerateInviteCode(1L, 2L))
                     .isInstanceOf(AccessDeniedException.class);
         }
     }
-}
\ No newline at end of file
+
+    // 프로젝션 쿼리 결과 (GroupRepository.findGroupDtoById / findGroupDtosByUserId)
+    private GroupDto dtoOf(Group group, long memberCount) {
+        return new GroupDto(group.getId(), group.getName(), group.getDescription(), group.getIcon(),
+                group.getInviteCode(), group.getCreator().getId(), group.getCreator().getName(),
+                memberCount, group.getCreatedAt());
+    }
+}
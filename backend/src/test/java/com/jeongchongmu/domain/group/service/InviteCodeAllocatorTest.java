@@ -0,0 +1,82 @@
+package com.jeongchongmu.domain.group.service;
+
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("초대 코드 발급기")
+class InviteCodeAllocatorTest {
+
+    @Mock GroupRepository groupRepository;
+
+    private InviteCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new InviteCodeAllocator(groupRepository, "test-key");
+    }
+
+    @Test
+    @DisplayName("번호와 코드는 1:1로 대응되고, 코드는 대문자/숫자 8자리다")
+    void permute_isBijection() {
+        Set<Long> seen = new HashSet<>();
+        for (long n = 0; n < 20_000; n++) {
+            long permuted = allocator.permute(n);
+            assertThat(permuted).isBetween(0L, InviteCodeAllocator.CODE_SPACE - 1);
+            assertThat(allocator.inverse(permuted)).isEqualTo(n);
+            assertThat(seen.add(permuted)).isTrue();
+        }
+        // 범위 끝 번호도 범위 안으로
+        long last = InviteCodeAllocator.CODE_SPACE - 1;
+        assertThat(allocator.inverse(allocator.permute(last))).isEqualTo(last);
+
+        String code = InviteCodeAllocator.encode(allocator.permute(0));
+        assertThat(code).matches("[A-Z0-9]{8}");
+        assertThat(InviteCodeAllocator.decode(code)).isEqualTo(allocator.permute(0));
+        assertThat(InviteCodeAllocator.decode("abc")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("번호 50개당 시퀀스를 한 번만 읽고, 중복 조회 없이 겹치지 않는 코드를 낸다")
+    void allocate_reservesBlocks() {
+        given(groupRepository.reserveInviteCodeBlock()).willReturn(0L, 50L, 100L);
+        given(groupRepository.findAllInviteCodes()).willReturn(List.of());
+
+        List<String> codes = IntStream.range(0, 120).mapToObj(i -> allocator.allocate()).toList();
+
+        assertThat(codes).doesNotHaveDuplicates().allMatch(code -> code.matches("[A-Z0-9]{8}"));
+        // 연속 번호여도 코드 순서는 추측할 수 없게 흩어짐
+        assertThat(codes).isNotEqualTo(codes.stream().sorted().toList());
+        verify(groupRepository, times(3)).reserveInviteCodeBlock();
+        verify(groupRepository, times(1)).findAllInviteCodes();
+        verify(groupRepository, never()).existsByInviteCode(anyString());
+    }
+
+    @Test
+    @DisplayName("발급기 도입 전 랜덤 코드와 겹치는 번호는 건너뛴다")
+    void allocate_skipsLegacyCodes() {
+        String legacy = InviteCodeAllocator.encode(allocator.permute(50));
+        String alreadyPassed = InviteCodeAllocator.encode(allocator.permute(10)); // 시작 번호 이전과 대응 -> 버림
+        given(groupRepository.reserveInviteCodeBlock()).willReturn(50L);
+        given(groupRepository.findAllInviteCodes()).willReturn(List.of(legacy, alreadyPassed, "hot-q"));
+
+        assertThat(allocator.allocate()).isEqualTo(InviteCodeAllocator.encode(allocator.permute(51)));
+    }
+}
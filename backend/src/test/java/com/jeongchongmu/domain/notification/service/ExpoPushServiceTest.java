@@ -0,0 +1,97 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ExpoPushServiceTest {
+
+    @InjectMocks
+    private ExpoPushService expoPushService;
+
+    @Mock
+    private PushTransport pushTransport;
+
+    @Mock
+    private PushTokenPruner pushTokenPruner;
+
+    @Nested
+    @DisplayName("멀티캐스트 전송 테스트")
+    class DeliverMulticast {
+
+        @Test
+        @DisplayName("토큰을 500개씩 나눠 보내고, 토큰별 결과를 원래 위치에 돌려준다")
+        void splitsIntoChunksAndMapsResults() {
+            // given: 1,201명 중 1명은 토큰 없음, "token-7"은 만료된 토큰
+            List<String> tokens = new ArrayList<>();
+            for (int i = 0; i < 1_201; i++) {
+                tokens.add(i == 3 ? null : "token-" + i);
+            }
+            given(pushTransport.isReady()).willReturn(true);
+            given(pushTransport.sendEach(anyList(), any(PushContent.class))).willAnswer(invocation -> {
+                List<String> chunk = invocation.getArgument(0);
+                return chunk.stream()
+                        .map(token -> token.equals("token-7") ? PushResult.INVALID_TOKEN : PushResult.SENT)
+                        .toList();
+            });
+
+            // when
+            List<PushResult> results = expoPushService.deliverMulticast(
+                    tokens, "📣 정산 요청", "정산을 요청했습니다.", NotificationType.SETTLEMENT_REQUEST, 1L);
+
+            // then
+            verify(pushTransport, times(2)).sendEach(argThat(chunk -> chunk.size() == 500), any(PushContent.class));
+            verify(pushTransport, times(1)).sendEach(argThat(chunk -> chunk.size() == 200), any(PushContent.class));
+            assertThat(results).hasSize(1_201);
+            assertThat(results.get(3)).isEqualTo(PushResult.SKIPPED);
+            assertThat(results.get(7)).isEqualTo(PushResult.INVALID_TOKEN);
+            assertThat(results.get(1_200)).isEqualTo(PushResult.SENT);
+
+            // 토큰별 결과가 기록되고, 만료 토큰은 정리 대기열로 보고된다 (토큰 없는 1명은 전송하지 않았으므로 제외)
+            verify(pushTokenPruner, times(1_200)).recordResult(any(), any());
+            verify(pushTokenPruner).recordResult("token-7", PushResult.INVALID_TOKEN);
+        }
+
+        @Test
+        @DisplayName("전송 수단이 준비되지 않았으면 보내지 않고 모두 SKIPPED")
+        void notReady() {
+            given(pushTransport.isReady()).willReturn(false);
+
+            List<PushResult> results = expoPushService.deliverMulticast(
+                    List.of("token-1", "token-2"), "제목", "내용", null, null);
+
+            assertThat(results).containsOnly(PushResult.SKIPPED);
+            verify(pushTransport, never()).sendEach(anyList(), any(PushContent.class));
+        }
+
+        @Test
+        @DisplayName("전송 수단에서 예외가 나면 해당 묶음은 모두 재시도 대상(FAILED)")
+        void transportThrows() {
+            given(pushTransport.isReady()).willReturn(true);
+            given(pushTransport.sendEach(anyList(), any(PushContent.class))).willThrow(new IllegalStateException("timeout"));
+
+            List<PushResult> results = expoPushService.deliverMulticast(
+                    List.of("token-1", "token-2"), "제목", "내용", null, null);
+
+            assertThat(results).containsOnly(PushResult.FAILED);
+        }
+    }
+}
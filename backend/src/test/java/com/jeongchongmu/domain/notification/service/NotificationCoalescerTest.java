@@ -0,0 +1,146 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("알림 묶음 대기열")
+class NotificationCoalescerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescerTest.class);
+
+    private static final Duration WINDOW = Duration.ofSeconds(3);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(30);
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Mock NotificationService notificationService;
+    @Mock UserRepository userRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new NotificationCoalescer(notificationService, userRepository, transactionManager,
+                meterRegistry, WINDOW, MAX_WAIT, 3);
+        given(userRepository.getReferenceById(anyLong()))
+                .willAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+    }
+
+    @Test
+    @DisplayName("투표 토글로 같은 완료 알림이 반복돼도 창이 끝나면 마지막 내용으로 1건만 보낸다")
+    void sameKey_coalescedIntoOne() {
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            coalescer.offer(1L, NotificationType.VOTE_COMPLETED, "투표 완료 " + i, 7L, now + i * SECOND);
+        }
+
+        // 마지막 알림 후 창(3초)이 지나기 전에는 보내지 않음
+        assertThat(coalescer.flush(now + 6 * SECOND)).isZero();
+        verify(notificationService, never()).send(any(), any(), any(), any());
+
+        assertThat(coalescer.flush(now + 7 * SECOND)).isEqualTo(1);
+        verify(notificationService, times(1)).send(any(User.class), eq(NotificationType.VOTE_COMPLETED), eq("투표 완료 4"), eq(7L));
+        assertThat(coalescer.getPendingCount()).isZero();
+
+        // 보낼 알림 5건 -> 알림함 1건 + 푸시 1건
+        log.info("묶기 전 {}건 -> 묶은 뒤 {}건",
+                meterRegistry.get("notification.coalesce.received").counter().count(),
+                meterRegistry.get("notification.coalesce.emitted").counter().count());
+        assertThat(meterRegistry.get("notification.coalesce.received").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("notification.coalesce.emitted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("계속 들어와도 첫 알림 후 max-wait이 지나면 보낸다")
+    void keepsArriving_flushedAfterMaxWait() {
+        for (int i = 0; i <= 40; i++) {
+            coalescer.offer(1L, NotificationType.VOTE_COMPLETED, "투표 완료", 7L, i * SECOND);
+            coalescer.flush(i * SECOND);
+        }
+
+        // 0초, 30초 두 번 창이 시작되어 40초까지 1건 발송, 1건 대기
+        verify(notificationService, times(1)).send(any(User.class), eq(NotificationType.VOTE_COMPLETED), any(), eq(7L));
+        assertThat(coalescer.getPendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 사용자에게 정산 요청이 여러 건 몰리면 묶음 알림 1번으로, 적은 사용자는 그대로 보낸다")
+    void manyForOneUser_sentAsDigest() {
+        IntStream.rangeClosed(1, 4).forEach(settlementId ->
+                coalescer.offer(1L, NotificationType.SETTLEMENT_REQUEST, "정산 요청 " + settlementId, (long) settlementId, 0));
+        coalescer.offer(2L, NotificationType.SETTLEMENT_REQUEST, "정산 요청 1", 1L, 0);
+
+        assertThat(coalescer.flush(WINDOW.toNanos())).isEqualTo(5);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CoalescedNotification>> digest = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(1)).sendDigest(any(User.class), digest.capture());
+        assertThat(digest.getValue())
+                .extracting(CoalescedNotification::relatedId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        verify(notificationService, times(1)).send(any(User.class), eq(NotificationType.SETTLEMENT_REQUEST), eq("정산 요청 1"), eq(1L));
+        assertThat(meterRegistry.get("notification.coalesce.digests").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("호출한 트랜잭션이 커밋된 뒤에만 대기열에 들어간다")
+    void submit_waitsForCommit() {
+        User payer = User.builder().id(1L).build();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coalescer.submit(payer, NotificationType.VOTE_COMPLETED, "투표 완료", 7L);
+            coalescer.submitAll(List.of(payer, User.builder().id(2L).build(), payer),
+                    NotificationType.SETTLEMENT_REQUEST, "정산 요청", 3L);
+            assertThat(coalescer.getPendingCount()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(coalescer.getPendingCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("종료 시에는 창이 끝나지 않았어도 남은 묶음을 모두 보낸다")
+    void flushAll_onShutdown() {
+        coalescer.offer(1L, NotificationType.VOTE_COMPLETED, "투표 완료", 7L, System.nanoTime());
+
+        coalescer.flushAll();
+
+        verify(notificationService, times(1)).send(any(User.class), eq(NotificationType.VOTE_COMPLETED), eq("투표 완료"), eq(7L));
+        assertThat(coalescer.getPendingCount()).isZero();
+    }
+}
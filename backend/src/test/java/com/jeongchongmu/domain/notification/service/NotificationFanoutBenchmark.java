@@ -0,0 +1,140 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 팬아웃 벤치마크 (디스패처 용량 산정용)
+ *
+ * NotificationService.sendToMultipleUsers 를 수신자 10 ~ 10,000명으로 호출하고
+ * - 요청 스레드가 기다린 시간 (알림/대기열 저장 + 커밋)
+ * - 커밋 후 모든 행의 첫 전송 시도가 끝날 때까지의 시간과 처리량 (건/초)
+ * - 대기열 적재 -> 전송 완료 지연의 p99 (push_outbox.created_at ~ sent_at)
+ * - DB 쓰기 수 (Hibernate 통계: insert 수, 실행한 SQL 수)
+ * - 전송 수단이 받은 요청 수 (멀티캐스트 1회 = 1)
+ * 를 로그로 남깁니다. FCM 대신 StubPushTransport(요청당 20ms, 1% 일시 실패)를 사용합니다.
+ *
+ * 실행: PUSH_BENCHMARK=true SPRING_DATASOURCE_URL=... ./gradlew test --tests '*NotificationFanoutBenchmark'
+ */
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({NotificationService.class, UnreadNotificationCounter.class, NotificationStreamHub.class, PushOutboxDispatcher.class,
+        ExpoPushService.class, StubPushTransport.class, PushTokenPruner.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+        "push.transport=stub",
+        "push.stub.latency-ms=20",
+        "push.stub.failure-rate=0.01",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@EnabledIfEnvironmentVariable(named = "PUSH_BENCHMARK", matches = "true")
+@DisplayName("알림 팬아웃 벤치마크 (PostgreSQL, stub 전송)")
+class NotificationFanoutBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutBenchmark.class);
+    private static final String EMAIL_DOMAIN = "@fanout.bench";
+
+    @Autowired NotificationService notificationService;
+    @Autowired StubPushTransport stubPushTransport;
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        String benchUsers = "(SELECT id FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "')";
+        jdbcTemplate.update("DELETE FROM push_outbox WHERE recipient_id IN " + benchUsers);
+        jdbcTemplate.update("DELETE FROM notifications WHERE recipient_id IN " + benchUsers);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'");
+    }
+
+    @ParameterizedTest(name = "수신자 {0}명")
+    @ValueSource(ints = {10, 100, 1_000, 10_000})
+    void fanout(int recipients) throws InterruptedException {
+        long runId = System.nanoTime();
+        List<User> users = createUsers(runId, recipients);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        stubPushTransport.resetCounts();
+
+        // 1. 요청 스레드: 알림 + 대기열 저장 후 커밋
+        long startedAt = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                notificationService.sendToMultipleUsers(users, NotificationType.SETTLEMENT_REQUEST, "정산을 요청했습니다.", runId));
+        long committedAt = System.nanoTime();
+        long inserts = statistics.getEntityInsertCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        // 2. 백그라운드 디스패처가 모든 행의 첫 시도를 끝낼 때까지 대기 (재시도 예약분은 제외)
+        awaitFirstAttempts(runId, recipients);
+        double dispatchSeconds = (System.nanoTime() - committedAt) / 1e9;
+
+        Double p99Millis = jdbcTemplate.queryForObject(
+                "SELECT percentile_cont(0.99) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM sent_at - created_at) * 1000) " +
+                        "FROM push_outbox WHERE related_id = ? AND status = 'SENT'",
+                Double.class, runId);
+
+        log.info("[팬아웃 {}명] 요청 {}ms | 발송 {}s, {}건/초 | p99 {}ms | insert {}건, SQL {}회 | 전송 요청 {}회",
+                recipients,
+                (committedAt - startedAt) / 1_000_000,
+                "%.2f".formatted(dispatchSeconds),
+                "%.0f".formatted(recipients / dispatchSeconds),
+                p99Millis == null ? "-" : "%.0f".formatted(p99Millis),
+                inserts, statements,
+                stubPushTransport.getRequestCount());
+
+        // 발송이 재시도 간격(10초)보다 오래 걸리면 1% 일시 실패분이 재전송되어 더 많을 수 있음
+        assertThat(stubPushTransport.getMessageCount()).isGreaterThanOrEqualTo(recipients);
+    }
+
+    // 토큰을 가진 수신자 생성 (JPA 대신 한 문장으로 넣어 벤치마크 준비 시간을 줄임)
+    private List<User> createUsers(long runId, int count) {
+        jdbcTemplate.update("INSERT INTO users (email, password, name, bank_name, account_number, fcm_token, created_at) " +
+                        "SELECT 'u' || ? || '-' || g || '" + EMAIL_DOMAIN + "', 'pw', '멤버' || g, '토스뱅크', '1000-0000', 'token-' || g, now() " +
+                        "FROM generate_series(1, ?) g",
+                runId, count);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE ?", Long.class, "u" + runId + "-%" + EMAIL_DOMAIN);
+        return userRepository.findAllById(ids);
+    }
+
+    private void awaitFirstAttempts(long runId, int recipients) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 300_000;
+        while (true) {
+            Integer remaining = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM push_outbox WHERE related_id = ? AND (attempts = 0 OR status = 'SENDING')",
+                    Integer.class, runId);
+            if (remaining != null && remaining == 0) {
+                return;
+            }
+            assertThat(System.currentTimeMillis()).as("%d명 발송이 5분 안에 끝나지 않음", recipients).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
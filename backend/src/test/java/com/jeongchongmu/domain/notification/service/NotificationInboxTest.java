@@ -0,0 +1,236 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.dto.NotificationDto;
+import com.jeongchongmu.domain.notification.dto.NotificationPageDto;
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.support.SqlCaptor;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 배지 캐시는 커밋 후에만 반영되므로 테스트 트랜잭션 없이 실행하고 직접 정리합니다.
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({NotificationService.class, UnreadNotificationCounter.class, NotificationStreamHub.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor")
+@DisplayName("알림함 커서 페이지네이션 + 안 읽은 알림 수 + 일괄 읽음/삭제 (PostgreSQL)")
+class NotificationInboxTest {
+
+    @Autowired NotificationService notificationService;
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    User user, other;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(user("inbox@test.com", "지성"));
+        other = userRepository.save(user("inbox2@test.com", "경환"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (User saved : List.of(user, other)) {
+            jdbcTemplate.update("DELETE FROM push_outbox WHERE recipient_id = ?", saved.getId());
+            jdbcTemplate.update("DELETE FROM notifications WHERE recipient_id = ?", saved.getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", saved.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("알림 45건을 20건씩 커서로 넘기면 중복/누락 없이 최신순으로 3페이지, 페이지마다 SELECT 1번")
+    void paginatesWithCursor() {
+        for (int i = 0; i < 45; i++) {
+            send("알림" + i);
+        }
+        // 같은 시각에 저장된 알림도 id로 순서가 정해지는지 확인
+        jdbcTemplate.update("UPDATE notifications SET created_at = date_trunc('second', created_at) WHERE recipient_id = ?",
+                user.getId());
+
+        List<NotificationDto> all = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            SqlCaptor.clear();
+            NotificationPageDto page = notificationService.getMyNotifications(user.getId(), cursor, 20);
+            assertThat(SqlCaptor.count()).isEqualTo(1);
+
+            all.addAll(page.notifications());
+            pageSizes.add(page.notifications().size());
+            cursor = page.nextCursor();
+            assertThat(page.hasNext()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(20, 20, 5);
+        assertThat(all).extracting(NotificationDto::id).doesNotHaveDuplicates().hasSize(45);
+        assertThat(all).isSortedAccordingTo(Comparator.comparing(NotificationDto::createdAt)
+                .thenComparing(NotificationDto::id).reversed());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 IllegalArgumentException")
+    void invalidCursor() {
+        assertThatThrownBy(() -> notificationService.getMyNotifications(user.getId(), "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다.");
+    }
+
+    @Test
+    @DisplayName("안 읽은 알림 수는 저장/읽음 시 컬럼과 메모리가 함께 바뀌고, 조회는 메모리에서 끝난다")
+    void unreadCounter() {
+        assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+
+        send("알림1");
+        send("알림2");
+        send("알림3");
+
+        SqlCaptor.clear();
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(3);
+        assertThat(SqlCaptor.count()).isZero();
+        assertThat(unreadColumn()).isEqualTo(3);
+
+        Long first = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM notifications WHERE recipient_id = ?", Long.class, user.getId());
+        notificationService.updateIsRead(first, user.getId());
+        notificationService.updateIsRead(first, user.getId()); // 두 번 읽어도 한 번만 감소
+
+        SqlCaptor.clear();
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(2);
+        assertThat(SqlCaptor.count()).isZero();
+        assertThat(unreadColumn()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("알림 저장 트랜잭션이 롤백되면 안 읽은 알림 수도 그대로")
+    void unreadCounter_rollback() {
+        send("알림1");
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notificationService.send(user, NotificationType.EXPENSE_ADDED, "롤백될 알림", 1L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(1);
+        assertThat(unreadColumn()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("알림 2,000건 전체 읽음은 SQL 1번이고, 안 읽은 알림 수도 같은 SQL에서 0이 된다")
+    void markAllAsRead_singleStatement() {
+        seed(user, 2_000);
+        seed(other, 10);
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(2_000);
+
+        SqlCaptor.clear();
+        long updated = notificationService.markAllAsRead(user.getId(), null, null);
+
+        assertThat(updated).isEqualTo(2_000);
+        assertThat(SqlCaptor.count()).isEqualTo(1);
+        assertThat(unreadColumn()).isZero();
+        assertThat(unreadRows(user)).isZero();
+        assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+
+        // 다른 사용자의 알림/배지는 그대로
+        assertThat(unreadRows(other)).isEqualTo(10);
+        assertThat(notificationService.getUnreadCount(other.getId())).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("타입/커서 조건을 주면 그 범위만 읽음 처리하고 그만큼만 차감한다")
+    void markAllAsRead_byTypeAndCursor() {
+        seed(user, 100); // 짝수: EXPENSE_ADDED 50건, 홀수: VOTE_CREATED 50건
+
+        assertThat(notificationService.markAllAsRead(user.getId(), NotificationType.VOTE_CREATED, null)).isEqualTo(50);
+        assertThat(unreadColumn()).isEqualTo(50);
+
+        // 첫 페이지(최신 20건)는 남기고 그보다 오래된 알림만 읽음 처리
+        String cursor = notificationService.getMyNotifications(user.getId(), null, 20).nextCursor();
+        long updated = notificationService.markAllAsRead(user.getId(), null, cursor);
+
+        long unreadOnFirstPage = notificationService.getMyNotifications(user.getId(), null, 20).notifications().stream()
+                .filter(notification -> !notification.isRead())
+                .count();
+        assertThat(updated).isEqualTo(50 - unreadOnFirstPage);
+        assertThat(unreadColumn()).isEqualTo(unreadOnFirstPage).isEqualTo(unreadRows(user));
+        assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(unreadOnFirstPage);
+    }
+
+    @Test
+    @DisplayName("일괄 삭제는 SQL 1번이고, 삭제된 안 읽은 알림만큼만 차감한다")
+    void deleteAll_adjustsUnreadCount() {
+        seed(user, 2_000);
+        jdbcTemplate.update("UPDATE notifications SET is_read = true WHERE recipient_id = ? AND related_id <= 500", user.getId());
+        jdbcTemplate.update("UPDATE users SET unread_notification_count = 1500 WHERE id = ?", user.getId());
+        seed(other, 10);
+
+        // 타입 하나만 삭제: 1,000건 중 읽은 250건 제외한 750건만 차감
+        assertThat(notificationService.deleteAll(user.getId(), NotificationType.EXPENSE_ADDED, null)).isEqualTo(1_000);
+        assertThat(unreadColumn()).isEqualTo(750).isEqualTo(unreadRows(user));
+
+        SqlCaptor.clear();
+        assertThat(notificationService.deleteAll(user.getId(), null, null)).isEqualTo(1_000);
+        assertThat(SqlCaptor.count()).isEqualTo(1);
+        assertThat(unreadColumn()).isZero();
+        assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE recipient_id = ?", Integer.class, other.getId())).isEqualTo(10);
+    }
+
+    // 안 읽은 알림 count건을 SQL로 바로 넣고 배지 컬럼도 맞춤 (related_id = 1..count, 짝수는 EXPENSE_ADDED)
+    private void seed(User recipient, int count) {
+        jdbcTemplate.update("INSERT INTO notifications (recipient_id, type, content, related_id, is_read, created_at) " +
+                "SELECT ?, CASE WHEN g % 2 = 0 THEN 'EXPENSE_ADDED' ELSE 'VOTE_CREATED' END, '알림' || g, g, false, " +
+                "LOCALTIMESTAMP - g * INTERVAL '1 second' " +
+                "FROM generate_series(1, ?) g", recipient.getId(), count);
+        jdbcTemplate.update("UPDATE users SET unread_notification_count = unread_notification_count + ? WHERE id = ?",
+                count, recipient.getId());
+    }
+
+    private int unreadRows(User recipient) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE recipient_id = ? AND is_read = false",
+                Integer.class, recipient.getId());
+    }
+
+    private User user(String email, String name) {
+        return User.builder()
+                .email(email)
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build();
+    }
+
+    private void send(String content) {
+        notificationService.send(user, NotificationType.EXPENSE_ADDED, content, 1L);
+    }
+
+    private int unreadColumn() {
+        return jdbcTemplate.queryForObject(
+                "SELECT unread_notification_count FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+}
@@ -0,0 +1,141 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 파티션 DDL은 실제로 커밋되어야 하므로 테스트 트랜잭션 없이 실행하고 직접 정리합니다.
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("알림 월 파티션 생성/보관 기간 정리 (PostgreSQL)")
+class NotificationPartitionManagerTest {
+
+    private static final YearMonth NOW = YearMonth.now();
+    private static final YearMonth EXPIRED = NOW.minusMonths(24);
+    private static final String EXPIRED_SUFFIX = EXPIRED.format(DateTimeFormatter.ofPattern("yyyyMM"));
+
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("partition@test.com")
+                .password("pw")
+                .name("지성")
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE recipient_id = ?", user.getId());
+        jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_p" + EXPIRED_SUFFIX);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_archive_p" + EXPIRED_SUFFIX);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+
+    @Test
+    @DisplayName("이번 달부터 3달 뒤까지 파티션을 만들고, 여러 번 실행해도 같다")
+    void createsFuturePartitions() {
+        NotificationPartitionManager manager = manager(false);
+
+        manager.maintain(NOW);
+        manager.maintain(NOW);
+
+        for (int i = 0; i <= 3; i++) {
+            assertThat(partitions()).contains(partitionName(NOW.plusMonths(i)));
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT relkind FROM pg_class WHERE relname = 'notifications'", String.class)).isEqualTo("p");
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 파티션은 삭제하고, 그 안의 안 읽은 알림만큼 배지 수를 차감한다")
+    void dropsExpiredPartition() {
+        seedExpiredAndCurrent();
+
+        List<String> removed = manager(false).maintain(NOW);
+
+        assertThat(removed).containsExactly("notifications_p" + EXPIRED_SUFFIX);
+        assertThat(partitions()).doesNotContain("notifications_p" + EXPIRED_SUFFIX);
+        assertThat(tableExists("notifications_archive_p" + EXPIRED_SUFFIX)).isFalse();
+        assertThat(notificationCount()).isEqualTo(1);
+        assertThat(unreadColumn()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("archive 설정이면 파티션을 분리해 별도 테이블로 보관한다")
+    void archivesExpiredPartition() {
+        seedExpiredAndCurrent();
+
+        manager(true).maintain(NOW);
+
+        assertThat(partitions()).doesNotContain("notifications_p" + EXPIRED_SUFFIX);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications_archive_p" + EXPIRED_SUFFIX, Integer.class)).isEqualTo(3);
+        assertThat(notificationCount()).isEqualTo(1);
+        assertThat(unreadColumn()).isEqualTo(1);
+    }
+
+    // 2년 전 알림 3건(안 읽음 2건) + 이번 달 안 읽은 알림 1건, 배지 3
+    private void seedExpiredAndCurrent() {
+        jdbcTemplate.queryForObject("SELECT create_notification_partition(?)", String.class, EXPIRED.atDay(1));
+        jdbcTemplate.update("INSERT INTO notifications (recipient_id, type, content, is_read, created_at) VALUES " +
+                        "(?, 'EXPENSE_ADDED', '오래된 알림1', false, ?), " +
+                        "(?, 'EXPENSE_ADDED', '오래된 알림2', false, ?), " +
+                        "(?, 'EXPENSE_ADDED', '오래된 알림3', true, ?), " +
+                        "(?, 'EXPENSE_ADDED', '이번 달 알림', false, LOCALTIMESTAMP)",
+                user.getId(), EXPIRED.atDay(1).atTime(9, 0),
+                user.getId(), EXPIRED.atDay(2).atTime(9, 0),
+                user.getId(), EXPIRED.atDay(3).atTime(9, 0),
+                user.getId());
+        jdbcTemplate.update("UPDATE users SET unread_notification_count = 3 WHERE id = ?", user.getId());
+    }
+
+    private NotificationPartitionManager manager(boolean archive) {
+        return new NotificationPartitionManager(jdbcTemplate, transactionManager, 3, 12, archive);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'notifications'::regclass", String.class);
+    }
+
+    private String partitionName(YearMonth month) {
+        return "notifications_p" + month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    private boolean tableExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+    }
+
+    private int notificationCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE recipient_id = ?", Integer.class, user.getId());
+    }
+
+    private int unreadColumn() {
+        return jdbcTemplate.queryForObject(
+                "SELECT unread_notification_count FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+}
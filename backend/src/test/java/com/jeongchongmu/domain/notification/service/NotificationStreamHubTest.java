@@ -0,0 +1,144 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.dto.NotificationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("실시간 알림 허브 (SSE)")
+class NotificationStreamHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationStreamHub hub = new NotificationStreamHub(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("접속 중인 사용자의 모든 연결로 알림을 보내고, 접속하지 않은 사용자는 false")
+    void deliver_toAllConnectionsOfUser() throws InterruptedException {
+        RecordingEmitter phone = new RecordingEmitter();
+        RecordingEmitter tablet = new RecordingEmitter();
+        RecordingEmitter otherUser = new RecordingEmitter();
+        hub.register(1L, phone);
+        hub.register(1L, tablet);
+        hub.register(2L, otherUser);
+
+        NotificationDto notification = notification(10L);
+        assertThat(hub.deliver(1L, notification)).isTrue();
+        assertThat(hub.deliver(3L, notification)).isFalse();
+
+        await(() -> phone.received(notification) && tablet.received(notification));
+        assertThat(otherUser.received(notification)).isFalse();
+        assertThat(hub.getConnectionCount()).isEqualTo(3);
+        assertThat(meterRegistry.get("notification.stream.connections").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("못 따라오는 연결은 버퍼가 가득 차면 끊는다 (알림 생성 쪽은 기다리지 않음)")
+    void slowConnection_isDropped() throws InterruptedException {
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    stuck.await(); // 네트워크가 막힌 클라이언트
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        hub.register(1L, slow);
+
+        int accepted = 0;
+        long startedAt = System.nanoTime();
+        while (hub.deliver(1L, notification(accepted)) && accepted < NotificationStreamHub.BUFFER_SIZE * 2) {
+            accepted++;
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        stuck.countDown();
+
+        assertThat(accepted).isLessThanOrEqualTo(NotificationStreamHub.BUFFER_SIZE + 1);
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(hub.isConnected(1L)).isFalse();
+        assertThat(slow.completed).isTrue();
+        assertThat(meterRegistry.get("notification.stream.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쓰기에 실패한(끊어진) 연결은 목록에서 빠진다")
+    void brokenConnection_isRemoved() throws InterruptedException {
+        RecordingEmitter broken = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        hub.register(1L, broken);
+
+        await(() -> !hub.isConnected(1L));
+        assertThat(hub.getConnectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 사용자의 연결은 최대 5개, 넘치면 가장 오래된 연결을 닫는다")
+    void maxConnectionsPerUser() {
+        List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+        for (int i = 0; i <= NotificationStreamHub.MAX_CONNECTIONS_PER_USER; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            hub.register(1L, emitter);
+        }
+
+        assertThat(hub.getConnectionCount()).isEqualTo(NotificationStreamHub.MAX_CONNECTIONS_PER_USER);
+        assertThat(emitters.getFirst().completed).isTrue();
+        assertThat(emitters.getLast().completed).isFalse();
+    }
+
+    private NotificationDto notification(long id) {
+        return new NotificationDto(id, "VOTE_CREATED", "투표가 생성되었습니다.", 1L, false, LocalDateTime.now());
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("5초 안에 조건을 만족하지 않음").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    // 실제 HTTP 응답 대신 보낸 내용을 기록하는 SseEmitter
+    private static class RecordingEmitter extends SseEmitter {
+        final List<Object> sent = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            builder.build().stream().map(ResponseBodyEmitter.DataWithMediaType::getData).forEach(sent::add);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        boolean received(NotificationDto notification) {
+            return sent.contains(notification);
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.jeongchongmu.domain.notification.service;
 
-import com.jeongchongmu.domain.notification.dto.NotificationDto;
+import com.jeongchongmu.domain.notification.dto.NotificationPageDto;
 import com.jeongchongmu.domain.notification.entity.Notification;
 import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.entity.PushOutbox;
 import com.jeongchongmu.domain.notification.repository.NotificationRepository;
+import com.jeongchongmu.domain.notification.repository.PushOutboxRepository;
+import com.jeongchongmu.domain.notification.dto.NotificationDto;
 import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -33,15 +42,28 @@ class NotificationServiceTest {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private ExpoPushService expoPushService;
+    private PushOutboxRepository pushOutboxRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationStreamHub notificationStreamHub;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
-    @DisplayName("알림 전송 시 DB 저장과 푸시 발송이 모두 호출되어야 한다")
+    @DisplayName("알림 전송 시 DB 저장과 푸시 발송 대기열 추가가 모두 호출되어야 한다")
     void send_success() {
         // given
         User recipient = User.builder().id(1L).name("김철수").fcmToken("ExponentPushToken[xxx]").build();
         String content = "테스트 알림입니다.";
         Long relatedId = 100L;
+        given(pushOutboxRepository.save(any(PushOutbox.class))).willAnswer(invocation -> invocation.getArgument(0));
 
         // when
         notificationService.send(recipient, NotificationType.SETTLEMENT_REQUEST, content, relatedId);
@@ -50,13 +72,100 @@ class NotificationServiceTest {
         // 1. DB 저장 메서드가 호출되었는지 검증
         verify(notificationRepository, times(1)).save(any(Notification.class));
 
-        // 2. Expo 푸시 서비스가 호출되었는지 검증 (타입에 맞는 제목이 들어갔는지 확인)
-        verify(expoPushService, times(1))
-                .send(eq("ExponentPushToken[xxx]"), any(String.class), eq(content), eq(relatedId));
+        // 2. 푸시는 직접 보내지 않고 발송 대기열에 쌓여야 함 (커밋 후 디스패처가 전송)
+        ArgumentCaptor<PushOutbox> outbox = ArgumentCaptor.forClass(PushOutbox.class);
+        verify(pushOutboxRepository, times(1)).save(outbox.capture());
+        assertThat(outbox.getValue().getRecipient()).isEqualTo(recipient);
+        assertThat(outbox.getValue().getType()).isEqualTo(NotificationType.SETTLEMENT_REQUEST);
+        assertThat(outbox.getValue().getContent()).isEqualTo(content);
+        assertThat(outbox.getValue().getRelatedId()).isEqualTo(relatedId);
+
+        // 3. 커밋 후 발송을 위한 이벤트 발행
+        verify(eventPublisher, times(1)).publishEvent(any(PushOutboxEnqueuedEvent.class));
+
+        // 4. 안 읽은 알림 수 증가
+        verify(unreadNotificationCounter, times(1)).increment(1L);
     }
 
     @Test
-    @DisplayName("내 알림 목록을 조회하면 DTO로 변환되어 반환된다")
+    @DisplayName("앱을 보고 있는 사용자에게는 FCM 대기열에 넣지 않고 커밋 후 실시간 전달 이벤트만 발행한다")
+    void send_connectedUser_skipsPush() {
+        // given
+        User recipient = User.builder().id(1L).name("김철수").fcmToken("ExponentPushToken[xxx]").build();
+        given(notificationStreamHub.isConnected(1L)).willReturn(true);
+
+        // when
+        notificationService.send(recipient, NotificationType.VOTE_CREATED, "투표가 생성되었습니다.", 7L);
+
+        // then
+        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(pushOutboxRepository, never()).save(any(PushOutbox.class));
+        ArgumentCaptor<NotificationCreatedEvent> event = ArgumentCaptor.forClass(NotificationCreatedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().recipientId()).isEqualTo(1L);
+        assertThat(event.getValue().notification().content()).isEqualTo("투표가 생성되었습니다.");
+    }
+
+    @Test
+    @DisplayName("커밋 후 전달하려는데 연결이 끊겼으면 FCM 발송 대기열로 대신 보낸다")
+    void onNotificationCreated_fallsBackToPush() {
+        // given
+        User recipient = User.builder().id(1L).build();
+        NotificationDto notification = new NotificationDto(
+                10L, "VOTE_CREATED", "투표가 생성되었습니다.", 7L, false, LocalDateTime.now());
+        given(notificationStreamHub.deliver(1L, notification)).willReturn(false);
+        given(userRepository.getReferenceById(1L)).willReturn(recipient);
+        given(pushOutboxRepository.save(any(PushOutbox.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        notificationService.onNotificationCreated(new NotificationCreatedEvent(1L, notification));
+
+        // then
+        ArgumentCaptor<PushOutbox> outbox = ArgumentCaptor.forClass(PushOutbox.class);
+        verify(pushOutboxRepository, times(1)).save(outbox.capture());
+        assertThat(outbox.getValue().getType()).isEqualTo(NotificationType.VOTE_CREATED);
+        assertThat(outbox.getValue().getRelatedId()).isEqualTo(7L);
+        verify(eventPublisher, times(1)).publishEvent(any(PushOutboxEnqueuedEvent.class));
+    }
+
+    @Test
+    @DisplayName("묶음 발송 시 알림함에는 각각 저장하고, 푸시는 묶음 알림 1건만 대기열에 넣는다")
+    void sendDigest_singlePush() {
+        // given
+        User recipient = User.builder().id(1L).build();
+        given(pushOutboxRepository.save(any(PushOutbox.class))).willAnswer(invocation -> invocation.getArgument(0));
+        List<CoalescedNotification> notifications = List.of(
+                new CoalescedNotification(NotificationType.SETTLEMENT_REQUEST, "정산 요청 1", 1L, 1),
+                new CoalescedNotification(NotificationType.SETTLEMENT_REQUEST, "정산 요청 2", 2L, 1),
+                new CoalescedNotification(NotificationType.VOTE_COMPLETED, "투표 완료", 7L, 4));
+
+        // when
+        notificationService.sendDigest(recipient, notifications);
+
+        // then
+        verify(notificationRepository, times(3)).save(any(Notification.class));
+        verify(unreadNotificationCounter, times(3)).increment(1L);
+        ArgumentCaptor<PushOutbox> outbox = ArgumentCaptor.forClass(PushOutbox.class);
+        verify(pushOutboxRepository, times(1)).save(outbox.capture());
+        assertThat(outbox.getValue().getType()).isEqualTo(NotificationType.NOTIFICATION_DIGEST);
+        assertThat(outbox.getValue().getContent()).isEqualTo("✅ 투표 완료 외 2건의 알림이 도착했습니다.");
+        assertThat(outbox.getValue().getRelatedId()).isNull();
+    }
+
+    @Test
+    @DisplayName("커밋 후 실시간 전달에 성공하면 FCM은 쓰지 않는다")
+    void onNotificationCreated_delivered() {
+        NotificationDto notification = new NotificationDto(
+                10L, "VOTE_CREATED", "투표가 생성되었습니다.", 7L, false, LocalDateTime.now());
+        given(notificationStreamHub.deliver(1L, notification)).willReturn(true);
+
+        notificationService.onNotificationCreated(new NotificationCreatedEvent(1L, notification));
+
+        verify(pushOutboxRepository, never()).save(any(PushOutbox.class));
+    }
+
+    @Test
+    @DisplayName("내 알림 첫 페이지를 조회하면 DTO로 변환되어 반환된다")
     void getMyNotifications_success() {
         // given
         Long userId = 1L;
@@ -70,16 +179,18 @@ class NotificationServiceTest {
                 .build(); // isRead = false
 
         // Repository가 알림 리스트를 반환한다고 가정 (Mocking)
-        given(notificationRepository.findAllByRecipientIdOrderByCreatedAtDesc(userId))
+        given(notificationRepository.findFirstPage(eq(userId), any(Pageable.class)))
                 .willReturn(List.of(notification1));
 
         // when
-        List<NotificationDto> result = notificationService.getMyNotifications(userId);
+        NotificationPageDto result = notificationService.getMyNotifications(userId, null, 20);
 
         // then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).content()).isEqualTo("알림1");
-        assertThat(result.get(0).isRead()).isFalse();
+        assertThat(result.notifications()).hasSize(1);
+        assertThat(result.notifications().get(0).content()).isEqualTo("알림1");
+        assertThat(result.notifications().get(0).isRead()).isFalse();
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
     }
 
     @Test
@@ -105,6 +216,11 @@ class NotificationServiceTest {
 
         // then
         assertThat(notification.isRead()).isTrue(); // 상태가 변경되었는지 확인
+        verify(unreadNotificationCounter, times(1)).decrement(userId);
+
+        // 이미 읽은 알림을 다시 읽어도 배지 수는 한 번만 줄어든다
+        notificationService.updateIsRead(notificationId, userId);
+        verify(unreadNotificationCounter, times(1)).decrement(userId);
     }
 
     @Test
@@ -131,5 +247,6 @@ class NotificationServiceTest {
         assertThatThrownBy(() -> notificationService.updateIsRead(notificationId, myId))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("알림을 읽을 권한이 없습니다.");
+        verify(unreadNotificationCounter, never()).decrement(any());
     }
 }
\ No newline at end of file
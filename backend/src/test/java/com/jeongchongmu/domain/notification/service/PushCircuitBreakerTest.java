@@ -0,0 +1,120 @@
+package com.jeongchongmu.domain.notification.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("푸시 회로 차단기 / 전송 속도 제한")
+class PushCircuitBreakerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 닿으면 열리고, 중간에 성공하면 다시 센다")
+    void opensAfterConsecutiveFailures() {
+        PushCircuitBreaker breaker = new PushCircuitBreaker(3, Duration.ofSeconds(30), clock::get);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThat(breaker.allowRequest()).isTrue();
+
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(PushCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    @DisplayName("열린 뒤 유지 시간이 지나면 시험 요청을 허용하고, 결과에 따라 닫히거나 다시 열린다")
+    void halfOpenTrial() {
+        PushCircuitBreaker breaker = new PushCircuitBreaker(1, Duration.ofSeconds(30), clock::get);
+        breaker.recordFailure();
+
+        clock.addAndGet(29 * SECOND);
+        assertThat(breaker.allowRequest()).isFalse();
+
+        clock.addAndGet(SECOND);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(PushCircuitBreaker.State.HALF_OPEN);
+
+        // 시험 요청 실패 -> 다시 30초
+        breaker.recordFailure();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        clock.addAndGet(30 * SECOND);
+        assertThat(breaker.allowRequest()).isTrue();
+        breaker.recordSuccess();
+        assertThat(breaker.getState()).isEqualTo(PushCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN에서는 동시에 요청해도 시험 요청 1건만 허용하고, 결과가 기록되면 자리가 비워진다")
+    void halfOpen_allowsSingleProbe() throws Exception {
+        PushCircuitBreaker breaker = new PushCircuitBreaker(1, Duration.ofSeconds(30), clock::get);
+        breaker.recordFailure();
+        clock.addAndGet(30 * SECOND);
+        assertThat(breaker.isRejecting()).isFalse();
+
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> request = () -> {
+            start.await();
+            return breaker.allowRequest();
+        };
+        List<Future<Boolean>> results;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            results = IntStream.range(0, threads).mapToObj(i -> executor.submit(request)).toList();
+            start.countDown();
+        }
+
+        long allowed = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(1);
+        assertThat(breaker.getState()).isEqualTo(PushCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.isRejecting()).isTrue();
+
+        // 시험 요청이 판단 없이 끝나면 다음 요청 1건이 다시 시험
+        breaker.recordIgnored();
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        breaker.recordSuccess();
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    @DisplayName("초당 허용량을 넘긴 만큼 기다려야 하고, 시간이 지나면 1초 분량까지 다시 채워진다")
+    void rateLimiter_reservesAheadAndRefills() {
+        PushRateLimiter limiter = new PushRateLimiter(1_000, clock::get);
+
+        assertThat(limiter.reserve(500)).isZero();
+        assertThat(limiter.reserve(500)).isZero();
+        // 허가가 바닥난 뒤 500건 멀티캐스트 -> 0.5초 대기
+        assertThat(limiter.reserve(500)).isEqualTo(SECOND / 2);
+
+        // 10초가 지나도 1초 분량(1,000)까지만 채워짐
+        clock.addAndGet(10 * SECOND);
+        assertThat(limiter.reserve(500)).isZero();
+        assertThat(limiter.reserve(1_000)).isEqualTo(SECOND / 2);
+    }
+}
@@ -0,0 +1,297 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.entity.PushOutbox;
+import com.jeongchongmu.domain.notification.entity.PushOutboxStatus;
+import com.jeongchongmu.domain.notification.repository.PushOutboxRepository;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 선점(SKIP LOCKED)과 커밋 후 발송은 실제 커밋이 필요하므로 테스트 트랜잭션 없이 실행하고 직접 정리합니다.
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({NotificationService.class, UnreadNotificationCounter.class, NotificationStreamHub.class, SimpleMeterRegistry.class,
+        PushOutboxDispatcher.class})
+@DisplayName("푸시 발송 대기열 디스패처 (PostgreSQL)")
+class PushOutboxDispatcherTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PushOutboxDispatcherTest.class);
+
+    @Autowired PushOutboxDispatcher dispatcher;
+    @Autowired NotificationService notificationService;
+    @Autowired PushOutboxRepository outboxRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @MockitoBean ExpoPushService expoPushService;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        dispatcher.resetCircuit();
+        for (Long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM push_outbox WHERE recipient_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM notifications WHERE recipient_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    @DisplayName("성공은 SENT, 일시 실패는 백오프 후 재시도 예약, 유효하지 않은 토큰은 FAILED")
+    void drain_appliesResults() {
+        PushOutbox ok = enqueue(user("ok", "token-ok"));
+        PushOutbox flaky = enqueue(user("flaky", "token-flaky"));
+        PushOutbox invalid = enqueue(user("invalid", "token-invalid"));
+        stubTransport(0, token -> switch (token) {
+            case "token-ok" -> PushResult.SENT;
+            case "token-flaky" -> PushResult.FAILED;
+            default -> PushResult.INVALID_TOKEN;
+        });
+
+        assertThat(dispatcher.drainNow()).isEqualTo(3);
+
+        assertThat(reload(ok).getStatus()).isEqualTo(PushOutboxStatus.SENT);
+        assertThat(reload(ok).getSentAt()).isNotNull();
+        assertThat(reload(invalid).getStatus()).isEqualTo(PushOutboxStatus.FAILED);
+
+        PushOutbox retried = reload(flaky);
+        assertThat(retried.getStatus()).isEqualTo(PushOutboxStatus.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        // 재시도 시각 전에는 다시 가져가지 않는다
+        assertThat(dispatcher.drainNow()).isZero();
+    }
+
+    @Test
+    @DisplayName("전송 중 서버가 죽어 임대가 만료된 행은 다시 가져가 발송한다 (최소 1회 전송)")
+    void drain_reclaimsExpiredLease() {
+        PushOutbox outbox = enqueue(user("crash", "token-crash"));
+        update(outbox, o -> o.claim(LocalDateTime.now().minusSeconds(1)));
+        stubTransport(0, token -> PushResult.SENT);
+
+        assertThat(dispatcher.drainNow()).isEqualTo(1);
+
+        PushOutbox sent = reload(outbox);
+        assertThat(sent.getStatus()).isEqualTo(PushOutboxStatus.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수를 넘기면 더 이상 재시도하지 않는다")
+    void drain_givesUpAfterMaxAttempts() {
+        PushOutbox outbox = enqueue(user("giveup", "token-giveup"));
+        update(outbox, o -> {
+            for (int i = 1; i < PushOutboxDispatcher.MAX_ATTEMPTS; i++) {
+                o.claim(LocalDateTime.now());
+            }
+            o.scheduleRetry(LocalDateTime.now().minusSeconds(1), "FCM 전송 실패");
+        });
+        stubTransport(0, token -> PushResult.FAILED);
+
+        dispatcher.drainNow();
+
+        PushOutbox failed = reload(outbox);
+        assertThat(failed.getStatus()).isEqualTo(PushOutboxStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(PushOutboxDispatcher.MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("알림 트랜잭션은 FCM 응답을 기다리지 않고, 커밋 후 백그라운드에서 발송된다")
+    void send_doesNotWaitForPush() throws InterruptedException {
+        User recipient = user("async", "token-async");
+        stubTransport(1_000, token -> PushResult.SENT); // 느린 FCM
+
+        long startedAt = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                notificationService.send(recipient, NotificationType.SETTLEMENT_REQUEST, "정산 요청", 1L));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(500);
+        await(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM push_outbox WHERE recipient_id = ? AND status = 'SENT'",
+                Integer.class, recipient.getId()) == 1);
+    }
+
+    @Test
+    @DisplayName("같은 내용의 푸시 200건은 멀티캐스트 1회로 보내고, 토큰별 결과를 각 행에 반영한다")
+    void drain_groupsSamePayloadIntoMulticast() {
+        List<PushOutbox> club = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            club.add(enqueue(user("member" + i, "token-" + i)));
+        }
+        PushOutbox other = enqueue(user("payer", "token-payer"), NotificationType.VOTE_COMPLETED);
+        // 로컬 스텁: 요청 1회당 50ms, 199번 토큰만 만료
+        stubTransport(50, token -> token.equals("token-199") ? PushResult.INVALID_TOKEN : PushResult.SENT);
+
+        long startedAt = System.nanoTime();
+        int processed = dispatcher.drainNow();
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log.info("멀티캐스트 발송 처리량: {}건 / {}초 = {}건/초", processed, "%.3f".formatted(seconds),
+                "%.0f".formatted(processed / seconds));
+
+        assertThat(processed).isEqualTo(201);
+        // 내용이 같은 200건은 1번, 다른 내용 1건은 1번
+        verify(expoPushService, times(2)).deliverMulticast(any(), any(), any(), any(), any());
+        verify(expoPushService).deliverMulticast(argThat(tokens -> tokens.size() == 200),
+                eq(NotificationType.SETTLEMENT_REQUEST.getTitle()), eq("정산 요청"), eq(NotificationType.SETTLEMENT_REQUEST), eq(1L));
+
+        assertThat(reload(club.get(0)).getStatus()).isEqualTo(PushOutboxStatus.SENT);
+        assertThat(reload(club.get(199)).getStatus()).isEqualTo(PushOutboxStatus.FAILED);
+        assertThat(reload(other).getStatus()).isEqualTo(PushOutboxStatus.SENT);
+    }
+
+    @Test
+    @DisplayName("FCM 요청이 연속으로 실패하면 회로를 열고, 그동안 쌓인 행은 시도 횟수를 쓰지 않고 대기열에 남긴다")
+    void drain_opensCircuitOnConsecutiveFailures() {
+        for (int i = 0; i < 5; i++) {
+            enqueue(user("down" + i, "token-down" + i), "정산 요청 " + i); // 내용이 달라 요청 5번
+        }
+        stubTransport(0, token -> PushResult.FAILED); // FCM 장애
+
+        assertThat(dispatcher.drainNow()).isEqualTo(5);
+        assertThat(dispatcher.getCircuitState()).isEqualTo(PushCircuitBreaker.State.OPEN);
+
+        // 회로가 열려 있는 동안에는 선점하지 않음 (QUEUE 정책)
+        PushOutbox waiting = enqueue(user("waiting", "token-waiting"));
+        assertThat(dispatcher.drainNow()).isZero();
+        verify(expoPushService, times(5)).deliverMulticast(any(), any(), any(), any(), any());
+
+        PushOutbox queued = reload(waiting);
+        assertThat(queued.getStatus()).isEqualTo(PushOutboxStatus.PENDING);
+        assertThat(queued.getAttempts()).isZero();
+    }
+
+    @Test
+    @DisplayName("DROP 정책이어도 HALF_OPEN 시험 요청을 기다리느라 거절된 행은 폐기하지 않고 다시 발송한다")
+    void drain_halfOpenProbeDoesNotDropOtherGroups() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PushOutboxDispatcher dropping = new PushOutboxDispatcher(outboxRepository, expoPushService, transactionManager,
+                meterRegistry, 10_000, 1, Duration.ofMillis(200), PushOutboxDispatcher.OpenPolicy.DROP);
+        try {
+            // 요청 1회당 100ms (시험 요청이 나가 있는 동안 나머지 묶음이 거절되도록)
+            AtomicBoolean fcmDown = new AtomicBoolean(true);
+            stubTransport(100, token -> fcmDown.get() ? PushResult.FAILED : PushResult.SENT);
+
+            PushOutbox down = enqueue(user("probe-down", "token-probe-down"), "장애 중 알림");
+            assertThat(dropping.drainNow()).isEqualTo(1);
+            assertThat(dropping.getCircuitState()).isEqualTo(PushCircuitBreaker.State.OPEN);
+
+            Thread.sleep(250); // 회로 유지 시간이 지나 다음 요청이 시험 요청
+            List<PushOutbox> groups = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                groups.add(enqueue(user("probe" + i, "token-probe" + i), "정산 요청 " + i)); // 내용이 달라 요청 3번
+            }
+            fcmDown.set(false);
+
+            dropping.drainNow();
+
+            assertThat(dropping.getCircuitState()).isEqualTo(PushCircuitBreaker.State.CLOSED);
+            for (PushOutbox outbox : groups) {
+                PushOutbox sent = reload(outbox);
+                assertThat(sent.getStatus()).isEqualTo(PushOutboxStatus.SENT);
+                assertThat(sent.getAttempts()).isEqualTo(1);
+            }
+            assertThat(meterRegistry.get("push.dispatch.dropped").counter().count()).isZero();
+            // 장애 중 실패 1번 + 시험 요청 1번 + 회로가 닫힌 뒤 나머지 2번
+            verify(expoPushService, times(4)).deliverMulticast(any(), any(), any(), any(), any());
+            assertThat(reload(down).getStatus()).isEqualTo(PushOutboxStatus.PENDING);
+        } finally {
+            dropping.shutdown();
+        }
+    }
+
+    // 토큰별 결과를 돌려주는 로컬 스텁 전송 (요청 1회당 latencyMillis 지연)
+    private void stubTransport(long latencyMillis, Function<String, PushResult> resultByToken) {
+        given(expoPushService.deliverMulticast(any(), any(), any(), any(), any())).willAnswer(invocation -> {
+            Thread.sleep(latencyMillis);
+            List<String> tokens = invocation.getArgument(0);
+            return tokens.stream().map(resultByToken).toList();
+        });
+    }
+
+    private User user(String name, String token) {
+        User user = userRepository.save(User.builder()
+                .email(name + "@outbox.test")
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .fcmToken(token)
+                .build());
+        userIds.add(user.getId());
+        return user;
+    }
+
+    private PushOutbox enqueue(User recipient) {
+        return enqueue(recipient, NotificationType.SETTLEMENT_REQUEST);
+    }
+
+    private PushOutbox enqueue(User recipient, NotificationType type) {
+        return enqueue(recipient, type, "정산 요청");
+    }
+
+    private PushOutbox enqueue(User recipient, String content) {
+        return enqueue(recipient, NotificationType.SETTLEMENT_REQUEST, content);
+    }
+
+    private PushOutbox enqueue(User recipient, NotificationType type, String content) {
+        return outboxRepository.save(PushOutbox.builder()
+                .recipient(recipient)
+                .type(type)
+                .content(content)
+                .relatedId(1L)
+                .build());
+    }
+
+    private PushOutbox reload(PushOutbox outbox) {
+        return outboxRepository.findById(outbox.getId()).orElseThrow();
+    }
+
+    private void update(PushOutbox outbox, Consumer<PushOutbox> change) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                change.accept(outboxRepository.findById(outbox.getId()).orElseThrow()));
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("10초 안에 발송되지 않음").isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+}
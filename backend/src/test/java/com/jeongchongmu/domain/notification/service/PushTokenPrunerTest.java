@@ -0,0 +1,108 @@
+package com.jeongchongmu.domain.notification.service;
+
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.support.SqlCaptor;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresJpaTest
+@Import({PushTokenPruner.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor")
+@DisplayName("만료 FCM 토큰 정리 (PostgreSQL)")
+class PushTokenPrunerTest {
+
+    @Autowired PushTokenPruner pruner;
+    @Autowired UserRepository userRepository;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired EntityManager em;
+
+    @Test
+    @DisplayName("보고된 만료 토큰을 1,000개 단위 UPDATE로 지우고, 다른 사용자의 토큰은 건드리지 않는다")
+    void flush_clearsReportedTokensInBatches() {
+        List<User> dead = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            dead.add(user("dead" + i, "dead-token-" + i));
+        }
+        User alive = user("alive", "alive-token");
+        em.flush();
+
+        dead.forEach(user -> pruner.recordResult(user.getFcmToken(), PushResult.INVALID_TOKEN));
+        // 같은 토큰이 여러 알림에서 중복 보고되어도 한 번만 지움
+        pruner.recordResult("dead-token-0", PushResult.INVALID_TOKEN);
+        pruner.recordResult("alive-token", PushResult.SENT);
+        SqlCaptor.clear();
+
+        int pruned = pruner.flush();
+
+        assertThat(pruned).isEqualTo(1_500);
+        assertThat(SqlCaptor.count()).isEqualTo(2); // 1,000개 + 501개(중복 포함) 묶음
+        assertThat(userRepository.findById(dead.get(0).getId()).orElseThrow().getFcmToken()).isNull();
+        assertThat(userRepository.findById(dead.get(1_499).getId()).orElseThrow().getFcmToken()).isNull();
+        assertThat(userRepository.findById(alive.getId()).orElseThrow().getFcmToken()).isEqualTo("alive-token");
+
+        // 대기열이 비었으면 UPDATE 없음
+        SqlCaptor.clear();
+        assertThat(pruner.flush()).isZero();
+        assertThat(SqlCaptor.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("보고 이후 새 토큰을 등록한 사용자는 지우지 않는다")
+    void flush_keepsReRegisteredToken() {
+        User user = user("reinstall", "old-token");
+        em.flush();
+        pruner.recordResult("old-token", PushResult.INVALID_TOKEN);
+
+        // 앱 재설치로 새 토큰 등록
+        user.updateFcmToken("new-token");
+        em.flush();
+
+        assertThat(pruner.flush()).isZero();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getFcmToken()).isEqualTo("new-token");
+    }
+
+    @Test
+    @DisplayName("전송 결과별 카운터로 만료 토큰 비율을 구할 수 있다")
+    void recordResult_countsDeadTokenRate() {
+        double before = deliveries("invalid_token");
+        double sentBefore = deliveries("sent");
+
+        pruner.recordResult("token-a", PushResult.SENT);
+        pruner.recordResult("token-b", PushResult.SENT);
+        pruner.recordResult("token-c", PushResult.SENT);
+        pruner.recordResult("token-d", PushResult.INVALID_TOKEN);
+
+        assertThat(deliveries("invalid_token") - before).isEqualTo(1);
+        assertThat(deliveries("sent") - sentBefore).isEqualTo(3);
+        assertThat(meterRegistry.get("push.tokens.prune.queue").gauge().value()).isEqualTo(1);
+    }
+
+    private double deliveries(String result) {
+        return meterRegistry.get("push.deliveries").tag("result", result).counter().count();
+    }
+
+    private User user(String name, String token) {
+        return userRepository.save(User.builder()
+                .email(name + "@prune.test")
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .fcmToken(token)
+                .build());
+    }
+}
@@ -0,0 +1,162 @@
+package com.jeongchongmu.statistics;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.entity.GroupMember;
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.settlement.entity.Settlement;
+import com.jeongchongmu.settlement.entity.SettlementDetail;
+import com.jeongchongmu.settlement.enums.SettlementMethod;
+import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.dto.DashboardStatisticsResponseDto;
+import com.jeongchongmu.statistics.dto.GroupDashboardDto;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.support.SqlCaptor;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@PostgresJpaTest
+@Import({ShareLedgerService.class, SpendingDistributionService.class,
+        GroupAccessService.class, SimpleMeterRegistry.class, StatisticsService.class})
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor")
+@DisplayName("대시보드 통계 일괄 조회 (PostgreSQL)")
+class DashboardStatisticsTest {
+
+    // 정산은 생성 시각(createdAt) 기준으로 집계되므로 이번 달로 테스트합니다.
+    private static final YearMonth THIS_MONTH = YearMonth.now();
+
+    @Autowired StatisticsService statisticsService;
+    @Autowired ShareLedgerService shareLedgerService;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired GroupMemberRepository groupMemberRepository;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired SettlementRepository settlementRepository;
+    @Autowired EntityManager em;
+
+    User jiseong, kyunghwan;
+    List<Group> groups = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jiseong = userRepository.save(user("dash1@test.com", "지성"));
+        kyunghwan = userRepository.save(user("dash2@test.com", "경환"));
+
+        for (int i = 0; i < 15; i++) {
+            Group group = groupRepository.save(Group.builder()
+                    .name("모임" + i).creator(jiseong).inviteCode("DASH%04d".formatted(i)).build());
+            groupMemberRepository.save(GroupMember.builder().user(jiseong).group(group).role(Role.OWNER).build());
+            groupMemberRepository.save(GroupMember.builder().user(kyunghwan).group(group).role(Role.MEMBER).build());
+            groups.add(group);
+        }
+    }
+
+    @Test
+    @DisplayName("그룹 15개의 월간 지출/미완료 정산/내 분담액을 SQL 4번으로 조회한다")
+    void dashboard_fixedStatementCount() {
+        LocalDateTime inMonth = THIS_MONTH.atDay(1).atTime(12, 0);
+
+        // 모임0: 지성 30,000원 결제 (정산 없음) -> 내 분담 30,000
+        Expense dinner = saveExpense(groups.get(0), jiseong, 30_000L, inMonth);
+        shareLedgerService.record(dinner, null);
+
+        // 모임1: 경환 20,000원 결제, 지성에게 8,000원 정산 (미완료) -> 내 분담 8,000
+        Expense cafe = saveExpense(groups.get(1), kyunghwan, 20_000L, inMonth);
+        shareLedgerService.record(cafe, saveSettlement(cafe, jiseong, kyunghwan, 8_000L));
+
+        // 모임2: 지난달 지출 -> 이번 달 집계 제외
+        Expense old = saveExpense(groups.get(2), jiseong, 5_000L, THIS_MONTH.minusMonths(1).atDay(1).atStartOfDay());
+        shareLedgerService.record(old, null);
+
+        em.flush();
+        em.clear();
+        SqlCaptor.clear();
+
+        DashboardStatisticsResponseDto dashboard = statisticsService.getDashboardStatistics(
+                THIS_MONTH.getYear(), THIS_MONTH.getMonthValue(), jiseong.getId());
+
+        assertThat(SqlCaptor.count()).isEqualTo(4);
+        assertThat(dashboard.groups()).hasSize(15);
+        assertThat(dashboard.myTotalShareAmount()).isEqualTo(38_000L);
+        assertThat(dashboard.groups().subList(0, 3))
+                .extracting(GroupDashboardDto::groupName,
+                        GroupDashboardDto::totalExpenseAmount,
+                        GroupDashboardDto::totalExpenseCount,
+                        GroupDashboardDto::notCompletedSettlementCount,
+                        GroupDashboardDto::myShareAmount)
+                .containsExactly(
+                        tuple("모임0", 30_000L, 1L, 0L, 30_000L),
+                        tuple("모임1", 20_000L, 1L, 1L, 8_000L),
+                        tuple("모임2", 0L, 0L, 0L, 0L));
+    }
+
+    @Test
+    @DisplayName("속한 그룹이 없으면 그룹 목록 조회 1번으로 끝난다")
+    void dashboard_noGroups() {
+        User stranger = userRepository.save(user("dash3@test.com", "홍길동"));
+        em.flush();
+        SqlCaptor.clear();
+
+        DashboardStatisticsResponseDto dashboard = statisticsService.getDashboardStatistics(
+                THIS_MONTH.getYear(), THIS_MONTH.getMonthValue(), stranger.getId());
+
+        assertThat(SqlCaptor.count()).isEqualTo(1);
+        assertThat(dashboard.groups()).isEmpty();
+        assertThat(dashboard.myTotalShareAmount()).isZero();
+    }
+
+    private User user(String email, String name) {
+        return User.builder()
+                .email(email)
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build();
+    }
+
+    private Expense saveExpense(Group group, User payer, Long amount, LocalDateTime date) {
+        return expenseRepository.save(Expense.builder()
+                .group(group)
+                .payer(payer)
+                .title("지출")
+                .amount(amount)
+                .expenseDate(date)
+                .build());
+    }
+
+    private Settlement saveSettlement(Expense expense, User debtor, User creditor, long amount) {
+        Settlement settlement = settlementRepository.save(Settlement.builder()
+                .expense(expense)
+                .method(SettlementMethod.DIRECT)
+                .build());
+        settlement.getDetails().add(SettlementDetail.builder()
+                .settlement(settlement)
+                .debtor(debtor)
+                .creditor(creditor)
+                .amount(amount)
+                .build());
+        return settlementRepository.save(settlement);
+    }
+}
@@ -0,0 +1,176 @@
+package com.jeongchongmu.statistics;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.JPA.Tag;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.expense.Repository.TagRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.settlement.entity.Settlement;
+import com.jeongchongmu.settlement.entity.SettlementDetail;
+import com.jeongchongmu.settlement.enums.SettlementMethod;
+import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.dto.CategorySummaryDto;
+import com.jeongchongmu.statistics.dto.MonthlyStatisticsResponseDto;
+import com.jeongchongmu.statistics.repository.UserExpenseShareRepository;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@PostgresJpaTest
+@Import({ShareLedgerService.class, SpendingDistributionService.class,
+        GroupAccessService.class, SimpleMeterRegistry.class, StatisticsService.class})
+@DisplayName("사용자 분담 원장 + 개인 전체 통계 (PostgreSQL)")
+class ShareLedgerServiceTest {
+
+    @Autowired ShareLedgerService shareLedgerService;
+    @Autowired StatisticsService statisticsService;
+    @Autowired UserExpenseShareRepository shareRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired SettlementRepository settlementRepository;
+    @Autowired EntityManager em;
+
+    User jiseong, kyunghwan;
+    Group groupA, groupB;
+
+    @BeforeEach
+    void setUp() {
+        jiseong = userRepository.save(user("u1@test.com", "지성"));
+        kyunghwan = userRepository.save(user("u2@test.com", "경환"));
+
+        groupA = groupRepository.save(Group.builder().name("밥먹자모임").creator(jiseong).inviteCode("LEDGER01").build());
+        groupB = groupRepository.save(Group.builder().name("캡스톤모임").creator(kyunghwan).inviteCode("LEDGER02").build());
+    }
+
+    @Test
+    @DisplayName("정산이 없으면 결제자가 전체 금액, 정산이 있으면 채무자별 금액이 모든 그룹에 걸쳐 합산된다")
+    void userTotalStatistics_acrossGroups() {
+        // groupA: 지성이 3월에 30,000원 결제 (정산 없음)
+        Expense dinner = saveExpense(groupA, jiseong, "저녁", 30_000L, LocalDateTime.of(2025, 3, 10, 19, 0), "식비");
+        shareLedgerService.record(dinner, null);
+
+        // groupB: 경환이 3월에 20,000원 결제, 지성에게 12,000원 정산
+        Expense cafe = saveExpense(groupB, kyunghwan, "카페", 20_000L, LocalDateTime.of(2025, 3, 31, 23, 59), "카페");
+        Settlement settlement = saveSettlement(cafe, jiseong, kyunghwan, 12_000L);
+        shareLedgerService.record(cafe, settlement);
+
+        // groupA: 지성이 4월 1일 00:00에 결제 -> 3월 통계에서 제외
+        Expense april = saveExpense(groupA, jiseong, "4월 모임", 5_000L, LocalDateTime.of(2025, 4, 1, 0, 0), "식비");
+        shareLedgerService.record(april, null);
+
+        em.flush();
+        em.clear();
+
+        MonthlyStatisticsResponseDto march = statisticsService.getUserTotalStatistics(2025, 3, jiseong.getId());
+
+        assertThat(march.totalExpenseAmount()).isEqualTo(42_000L);
+        assertThat(march.categories())
+                .extracting(CategorySummaryDto::tagName, CategorySummaryDto::totalAmount)
+                .containsExactlyInAnyOrder(
+                        tuple("식비", 30_000L),
+                        tuple("카페", 12_000L));
+        assertThat(march.yearlyStatistics().get(2)).isEqualTo(42_000L); // 3월
+        assertThat(march.yearlyStatistics().get(3)).isEqualTo(5_000L);  // 4월
+
+        // 경환은 정산 후 채무가 없으므로 3월 분담액 0
+        MonthlyStatisticsResponseDto kyunghwanMarch = statisticsService.getUserTotalStatistics(2025, 3, kyunghwan.getId());
+        assertThat(kyunghwanMarch.totalExpenseAmount()).isZero();
+    }
+
+    @Test
+    @DisplayName("정산 삭제 후 원장을 다시 기록하면 결제자 전체 부담으로 돌아간다")
+    void record_afterSettlementDeleted() {
+        Expense cafe = saveExpense(groupB, kyunghwan, "카페", 20_000L, LocalDateTime.of(2025, 5, 2, 15, 0), "카페");
+        Settlement settlement = saveSettlement(cafe, jiseong, kyunghwan, 10_000L);
+        shareLedgerService.record(cafe, settlement);
+        em.flush();
+        em.clear();
+
+        Settlement loaded = settlementRepository.findById(settlement.getId()).orElseThrow();
+        Expense expense = loaded.getExpense();
+        settlementRepository.delete(loaded);
+        shareLedgerService.record(expense, null);
+        em.flush();
+        em.clear();
+
+        assertThat(settlementRepository.findByExpenseId(cafe.getId())).isEmpty();
+        assertThat(shareRepository.findByExpenseId(cafe.getId()))
+                .singleElement()
+                .satisfies(share -> {
+                    assertThat(share.getUser().getId()).isEqualTo(kyunghwan.getId());
+                    assertThat(share.getShareAmount()).isEqualTo(20_000L);
+                    assertThat(share.getTagNames()).containsExactly("카페");
+                });
+    }
+
+    @Test
+    @DisplayName("rebuildAll은 기존 지출 전체의 원장을 다시 만든다")
+    void rebuildAll() {
+        saveExpense(groupA, jiseong, "저녁", 10_000L, LocalDateTime.of(2025, 6, 1, 19, 0), "식비");
+        saveExpense(groupB, kyunghwan, "택시", 7_000L, LocalDateTime.of(2025, 6, 2, 1, 0), "교통");
+        em.flush();
+
+        long processed = shareLedgerService.rebuildAll();
+        em.flush();
+        em.clear();
+
+        assertThat(processed).isEqualTo(2);
+        assertThat(statisticsService.getUserTotalStatistics(2025, 6, jiseong.getId()).totalExpenseAmount()).isEqualTo(10_000L);
+        assertThat(statisticsService.getUserTotalStatistics(2025, 6, kyunghwan.getId()).totalExpenseAmount()).isEqualTo(7_000L);
+    }
+
+    private User user(String email, String name) {
+        return User.builder()
+                .email(email)
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build();
+    }
+
+    private Expense saveExpense(Group group, User payer, String title, Long amount, LocalDateTime date, String tagName) {
+        Tag tag = tagRepository.findByGroupAndName(group, tagName)
+                .orElseGet(() -> tagRepository.save(Tag.builder().group(group).name(tagName).build()));
+
+        Expense expense = Expense.builder()
+                .group(group)
+                .payer(payer)
+                .title(title)
+                .amount(amount)
+                .expenseDate(date)
+                .build();
+        expense.addTag(tag);
+        return expenseRepository.save(expense);
+    }
+
+    private Settlement saveSettlement(Expense expense, User debtor, User creditor, long amount) {
+        Settlement settlement = settlementRepository.save(Settlement.builder()
+                .expense(expense)
+                .method(SettlementMethod.DIRECT)
+                .build());
+        settlement.getDetails().add(SettlementDetail.builder()
+                .settlement(settlement)
+                .debtor(debtor)
+                .creditor(creditor)
+                .amount(amount)
+                .build());
+        return settlementRepository.save(settlement);
+    }
+}
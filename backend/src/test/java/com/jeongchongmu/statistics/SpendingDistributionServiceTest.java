@@ -0,0 +1,205 @@
+package com.jeongchongmu.statistics;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.entity.GroupMember;
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.settlement.entity.Settlement;
+import com.jeongchongmu.settlement.entity.SettlementDetail;
+import com.jeongchongmu.settlement.enums.SettlementMethod;
+import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.dto.GroupSpendingDistributionResponseDto;
+import com.jeongchongmu.statistics.dto.MemberSpendingDistributionDto;
+import com.jeongchongmu.statistics.dto.SpendingDistributionDto;
+import com.jeongchongmu.statistics.repository.SpendingSketchRepository;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@PostgresJpaTest
+@Import({ShareLedgerService.class, SpendingDistributionService.class,
+        GroupAccessService.class, SimpleMeterRegistry.class})
+@DisplayName("지출 분포 스케치 (PostgreSQL)")
+class SpendingDistributionServiceTest {
+
+    @Autowired SpendingDistributionService spendingDistributionService;
+    @Autowired ShareLedgerService shareLedgerService;
+    @Autowired SpendingSketchRepository sketchRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired GroupMemberRepository groupMemberRepository;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired SettlementRepository settlementRepository;
+    @Autowired EntityManager em;
+
+    User jiseong, kyunghwan;
+    Group group;
+
+    @BeforeEach
+    void setUp() {
+        jiseong = userRepository.save(user("d1@test.com", "지성"));
+        kyunghwan = userRepository.save(user("d2@test.com", "경환"));
+        group = groupRepository.save(Group.builder().name("분포모임").creator(jiseong).inviteCode("SKETCH01").build());
+        groupMemberRepository.save(GroupMember.builder().group(group).user(jiseong).role(Role.OWNER).build());
+        groupMemberRepository.save(GroupMember.builder().group(group).user(kyunghwan).role(Role.MEMBER).build());
+    }
+
+    @Test
+    @DisplayName("여러 달의 스케치를 병합한 분위수는 실제 분위수와 1% 이내로 일치한다")
+    void distribution_acrossMonths() {
+        Random random = new Random(11);
+        List<Long> amounts = new ArrayList<>();
+        for (int month = 1; month <= 6; month++) {
+            for (int i = 0; i < 40; i++) {
+                long amount = 1_000L + random.nextInt(150) * 1_000L;
+                amounts.add(amount);
+                record(saveExpense(jiseong, amount, LocalDateTime.of(2025, month, 1 + i % 28, 19, 0)));
+            }
+        }
+        // 범위 밖 (7월 1일 00:00)
+        record(saveExpense(jiseong, 9_999_999L, LocalDateTime.of(2025, 7, 1, 0, 0)));
+        em.flush();
+        em.clear();
+
+        GroupSpendingDistributionResponseDto response = spendingDistributionService.getGroupDistribution(
+                group.getId(), YearMonth.of(2025, 1), YearMonth.of(2025, 6), kyunghwan.getId());
+
+        List<Long> sorted = amounts.stream().sorted().toList();
+        SpendingDistributionDto groupDistribution = response.group();
+        assertThat(groupDistribution.count()).isEqualTo(240L);
+        assertThat(groupDistribution.totalAmount()).isEqualTo(amounts.stream().mapToLong(Long::longValue).sum());
+        assertThat(groupDistribution.histogram().stream().mapToLong(bucket -> bucket.count()).sum()).isEqualTo(240L);
+        assertApprox(groupDistribution.p50(), sorted.get((int) Math.floor(0.5 * 239)));
+        assertApprox(groupDistribution.p90(), sorted.get((int) Math.floor(0.9 * 239)));
+
+        // 정산이 없으므로 결제자(지성)의 분담 분포 = 그룹 분포, 경환은 비어있음
+        assertThat(response.members())
+                .extracting(MemberSpendingDistributionDto::userName)
+                .containsExactlyInAnyOrder("지성", "경환");
+        SpendingDistributionDto jiseongDistribution = member(response, jiseong).distribution();
+        assertThat(jiseongDistribution.count()).isEqualTo(240L);
+        assertThat(jiseongDistribution.p50()).isEqualTo(groupDistribution.p50());
+        assertThat(member(response, kyunghwan).distribution().count()).isZero();
+        assertThat(member(response, kyunghwan).distribution().p50()).isNull();
+    }
+
+    @Test
+    @DisplayName("지출 수정/정산/삭제가 반영되고, 재구축 결과와 증분 갱신 결과가 같다")
+    void incrementalUpdates_matchRebuild() {
+        Expense dinner = saveExpense(jiseong, 40_000L, LocalDateTime.of(2025, 3, 10, 19, 0));
+        record(dinner);
+        Expense taxi = saveExpense(kyunghwan, 12_000L, LocalDateTime.of(2025, 3, 11, 1, 0));
+        record(taxi);
+
+        // 금액 수정 40,000 -> 60,000
+        LocalDateTime previousDate = dinner.getExpenseDate();
+        dinner.updateInfo(null, 60_000L, null);
+        shareLedgerService.record(dinner, null);
+        spendingDistributionService.changeExpense(dinner, previousDate, 40_000L);
+
+        // 정산: 경환이 지성에게 30,000원 -> 지성 분담 분포에서 빠지고 경환 분포에 추가
+        Settlement settlement = settlementRepository.save(Settlement.builder().expense(dinner).method(SettlementMethod.DIRECT).build());
+        settlement.getDetails().add(SettlementDetail.builder()
+                .settlement(settlement).debtor(kyunghwan).creditor(jiseong).amount(30_000L).build());
+        shareLedgerService.record(dinner, settlement);
+
+        // 택시 삭제
+        shareLedgerService.remove(taxi.getId());
+        spendingDistributionService.removeExpense(taxi);
+        expenseRepository.delete(taxi);
+        em.flush();
+        em.clear();
+
+        GroupSpendingDistributionResponseDto incremental = spendingDistributionService.getGroupDistribution(
+                group.getId(), YearMonth.of(2025, 3), YearMonth.of(2025, 3), jiseong.getId());
+        assertThat(incremental.group().count()).isEqualTo(1L);
+        assertThat(incremental.group().totalAmount()).isEqualTo(60_000L);
+        assertThat(member(incremental, jiseong).distribution().count()).isZero();
+        assertThat(member(incremental, kyunghwan).distribution().totalAmount()).isEqualTo(30_000L);
+
+        spendingDistributionService.rebuildGroup(group.getId());
+        em.flush();
+        em.clear();
+
+        GroupSpendingDistributionResponseDto rebuilt = spendingDistributionService.getGroupDistribution(
+                group.getId(), YearMonth.of(2025, 3), YearMonth.of(2025, 3), jiseong.getId());
+        assertThat(rebuilt).isEqualTo(incremental);
+    }
+
+    @Test
+    @DisplayName("그룹 멤버가 아니거나 기간이 잘못되면 예외가 발생한다")
+    void invalidRequest() {
+        User stranger = userRepository.save(user("d3@test.com", "외부인"));
+
+        assertThatThrownBy(() -> spendingDistributionService.getGroupDistribution(
+                group.getId(), YearMonth.of(2025, 1), YearMonth.of(2025, 2), stranger.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("해당 그룹의 멤버가 아닙니다.");
+
+        assertThatThrownBy(() -> spendingDistributionService.getGroupDistribution(
+                group.getId(), YearMonth.of(2025, 3), YearMonth.of(2025, 2), jiseong.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> spendingDistributionService.getGroupDistribution(
+                group.getId(), YearMonth.of(2022, 1), YearMonth.of(2025, 1), jiseong.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("최대");
+    }
+
+    private void record(Expense expense) {
+        shareLedgerService.record(expense, null);
+        spendingDistributionService.recordExpense(expense);
+    }
+
+    private static void assertApprox(Long actual, long exact) {
+        assertThat((double) actual).isCloseTo(exact, within(exact * 0.01 + 1));
+    }
+
+    private MemberSpendingDistributionDto member(GroupSpendingDistributionResponseDto response, User user) {
+        return response.members().stream()
+                .filter(member -> member.userId().equals(user.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private User user(String email, String name) {
+        return User.builder()
+                .email(email)
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build();
+    }
+
+    private Expense saveExpense(User payer, Long amount, LocalDateTime date) {
+        return expenseRepository.save(Expense.builder()
+                .group(group)
+                .payer(payer)
+                .title("지출")
+                .amount(amount)
+                .expenseDate(date)
+                .build());
+    }
+}
@@ -0,0 +1,171 @@
+package com.jeongchongmu.statistics;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.dto.MonthlyStatisticsResponseDto;
+import com.jeongchongmu.statistics.repository.UserExpenseShareRepository;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.support.QueryPlans;
+import com.jeongchongmu.support.SqlCaptor;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresJpaTest
+@Import({StatisticsService.class})
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor")
+@DisplayName("통계 기간 조회 실행 계획 (PostgreSQL)")
+class StatisticsQueryPlanTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final LocalDateTime END = START.plusMonths(1);
+
+    @Autowired StatisticsService statisticsService;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired SettlementRepository settlementRepository;
+    @Autowired UserExpenseShareRepository shareRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+
+    User user;
+    Group group;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("plan@test.com").password("pw").name("지성")
+                .bankName("토스뱅크").accountNumber("1000-0000").build());
+        group = groupRepository.save(Group.builder().name("계획모임").creator(user).inviteCode("PLAN0001").build());
+        SqlCaptor.clear();
+    }
+
+    @Test
+    @DisplayName("그룹 지출 통계 쿼리는 expenses(group_id, expense_date) 인덱스 범위 조회를 쓴다")
+    void expenseQueries_useGroupDateIndex() {
+        seedExpenseHistoryAndAnalyze();
+
+        expenseRepository.findMonthlyExpenseSummary(group.getId(), START, END);
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        expenseRepository.findMonthlyCategoryStatistics(group.getId(), START, END);
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        expenseRepository.findTopExpense(group.getId(), START, END, PageRequest.of(0, 1));
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        expenseRepository.findYearlyStatistics(group.getId(), START, END.plusYears(1));
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        expenseRepository.findUserMonthlyExpenseTotal(group.getId(), START, END, user.getId());
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        expenseRepository.findUserMonthlyCategoryStatistics(group.getId(), START, END, user.getId());
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        expenseRepository.findUserYearlyStatistics(group.getId(), START, END.plusYears(1), user.getId());
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+    }
+
+    @Test
+    @DisplayName("정산 통계 쿼리는 settlements(expense_id, created_at) 인덱스 범위 조회를 쓴다")
+    void settlementQueries_useExpenseCreatedIndex() {
+        settlementRepository.findMonthlySettlementSummary(group.getId(), START, END);
+        assertRangeScan(SqlCaptor.lastSelect(), "created_at");
+
+        settlementRepository.findIncompletedSettlements(group.getId(), START, END);
+        assertRangeScan(SqlCaptor.lastSelect(), "created_at");
+    }
+
+    @Test
+    @DisplayName("개인 전체 통계 쿼리는 user_expense_shares(user_id, expense_date) 인덱스 범위 조회를 쓴다")
+    void shareQueries_useUserDateIndex() {
+        seedShareHistoryAndAnalyze();
+
+        shareRepository.sumShareAmount(user.getId(), START, END);
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        shareRepository.findCategoryShares(user.getId(), START, END);
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+
+        shareRepository.findMonthlyShares(user.getId(), START, END.plusYears(1));
+        assertRangeScan(SqlCaptor.lastSelect(), "expense_date");
+    }
+
+    @Test
+    @DisplayName("월 경계: 말일 23:59는 포함되고 다음 달 1일 00:00은 제외된다")
+    void monthBoundary() {
+        saveExpense(10_000L, LocalDateTime.of(2025, 2, 28, 23, 59, 59));
+        saveExpense(20_000L, LocalDateTime.of(2025, 3, 1, 0, 0));
+        saveExpense(30_000L, LocalDateTime.of(2025, 3, 31, 23, 59, 59));
+        saveExpense(40_000L, LocalDateTime.of(2025, 4, 1, 0, 0));
+        em.flush();
+        em.clear();
+
+        assertThat(expenseRepository.findMonthlyExpenseSummary(group.getId(), START, END).totalAmount())
+                .isEqualTo(50_000L);
+
+        MonthlyStatisticsResponseDto march = statisticsService.getMonthlyStatistics(group.getId(), 2025, 3, user.getId());
+        assertThat(march.totalExpenseAmount()).isEqualTo(50_000L);
+        assertThat(march.yearlyStatistics().subList(1, 4)).containsExactly(10_000L, 50_000L, 40_000L);
+    }
+
+    // 인덱스 조건(Index Cond)에 범위 컬럼이 들어가야 "그룹 전체 이력 스캔"이 아닌 범위 스캔
+    private void assertRangeScan(String sql, String rangeColumn) {
+        String plan = QueryPlans.explain(jdbcTemplate, sql);
+        assertThat(plan)
+                .as("SQL: %s%nPLAN:%n%s", sql, plan)
+                .doesNotContain("Seq Scan on expenses")
+                .doesNotContain("Seq Scan on settlements")
+                .doesNotContain("Seq Scan on user_expense_shares")
+                .containsPattern("Index Cond: .*" + rangeColumn + " >= ");
+    }
+
+    // 빈 테이블(또는 다른 테스트가 지우고 난 뒤 자동 ANALYZE된 테이블)은 통계가 "0건"으로 잡혀
+    // 기본 키/유니크 인덱스와 범위 인덱스의 비용이 같아진다. 2년치 이력을 넣고 ANALYZE 해서 실제와 비슷한 통계로 계획을 본다.
+    private void seedExpenseHistoryAndAnalyze() {
+        for (int i = 0; i < 240; i++) {
+            saveExpense(1_000L, START.minusYears(1).plusDays(3L * i));
+        }
+        em.flush();
+        jdbcTemplate.execute("ANALYZE expenses");
+    }
+
+    private void seedShareHistoryAndAnalyze() {
+        seedExpenseHistoryAndAnalyze();
+        jdbcTemplate.update("""
+                INSERT INTO user_expense_shares (user_id, expense_id, group_id, expense_date, share_amount)
+                SELECT e.payer_id, e.id, e.group_id, e.expense_date, e.amount
+                FROM expenses e
+                WHERE e.group_id = ?
+                """, group.getId());
+        jdbcTemplate.execute("ANALYZE user_expense_shares");
+    }
+
+    private void saveExpense(Long amount, LocalDateTime date) {
+        expenseRepository.save(Expense.builder()
+                .group(group)
+                .payer(user)
+                .title("지출")
+                .amount(amount)
+                .expenseDate(date)
+                .build());
+    }
+}
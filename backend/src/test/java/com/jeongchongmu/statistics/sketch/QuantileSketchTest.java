@@ -0,0 +1,163 @@
+package com.jeongchongmu.statistics.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1.0};
+
+    @Nested
+    @DisplayName("분위수 정확도 테스트")
+    class AccuracyTest {
+
+        @Test
+        @DisplayName("정확한 분위수 대비 상대 오차 1% 이내")
+        void quantile_withinRelativeAccuracy() {
+            long[] amounts = randomAmounts(new Random(42), 20_000);
+            QuantileSketch sketch = new QuantileSketch();
+            for (long amount : amounts) {
+                sketch.add(amount);
+            }
+
+            assertWithinAccuracy(sketch, amounts);
+        }
+
+        @Test
+        @DisplayName("월별 스케치를 병합한 결과는 전체를 한 번에 넣은 스케치와 같다")
+        void merge_equalsSingleSketch() {
+            Random random = new Random(7);
+            QuantileSketch whole = new QuantileSketch();
+            QuantileSketch merged = new QuantileSketch();
+            List<Long> all = new ArrayList<>();
+
+            for (int month = 0; month < 12; month++) {
+                QuantileSketch monthly = new QuantileSketch();
+                for (long amount : randomAmounts(random, 500 + month * 100)) {
+                    monthly.add(amount);
+                    whole.add(amount);
+                    all.add(amount);
+                }
+                // DB 저장/조회를 거친 것처럼 직렬화 후 병합
+                merged.merge(QuantileSketch.fromBytes(monthly.toBytes()));
+            }
+
+            assertThat(merged.count()).isEqualTo(all.size());
+            for (double q : QUANTILES) {
+                assertThat(merged.quantile(q)).isEqualTo(whole.quantile(q));
+            }
+            assertWithinAccuracy(merged, all.stream().mapToLong(Long::longValue).toArray());
+        }
+
+        @Test
+        @DisplayName("추가했던 값을 제거하면 남은 값들의 분위수를 반환한다")
+        void remove_restoresDistribution() {
+            long[] kept = randomAmounts(new Random(1), 3_000);
+            long[] removed = randomAmounts(new Random(2), 1_000);
+            QuantileSketch sketch = new QuantileSketch();
+            for (long amount : kept) sketch.add(amount);
+            for (long amount : removed) sketch.add(amount);
+
+            for (long amount : removed) {
+                assertThat(sketch.remove(amount)).isTrue();
+            }
+
+            assertThat(sketch.count()).isEqualTo(kept.length);
+            assertWithinAccuracy(sketch, kept);
+        }
+    }
+
+    @Nested
+    @DisplayName("경계값 테스트")
+    class EdgeCaseTest {
+
+        @Test
+        @DisplayName("비어있으면 null, 0원도 분위수로 계산된다")
+        void emptyAndZero() {
+            QuantileSketch sketch = new QuantileSketch();
+            assertThat(sketch.quantile(0.5)).isNull();
+
+            sketch.add(0);
+            sketch.add(0);
+            sketch.add(10_000);
+            assertThat(sketch.quantile(0.5)).isZero();
+            assertThat(sketch.quantile(1.0)).isCloseTo(10_000L, within(100L));
+        }
+
+        @Test
+        @DisplayName("넣지 않은 값을 제거하면 false를 반환하고 카운트는 그대로다")
+        void remove_unknownValue() {
+            QuantileSketch sketch = new QuantileSketch();
+            sketch.add(10_000);
+
+            assertThat(sketch.remove(500_000)).isFalse();
+            assertThat(sketch.count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("고정 구간 히스토그램 테스트")
+    class HistogramTest {
+
+        @Test
+        @DisplayName("경계값은 다음 구간에 포함되고, 병합/제거/직렬화 후에도 정확한 카운트를 유지한다")
+        void histogram_countsExactly() {
+            long[] amounts = randomAmounts(new Random(3), 5_000);
+            SpendingHistogram first = new SpendingHistogram();
+            SpendingHistogram second = new SpendingHistogram();
+            for (int i = 0; i < amounts.length; i++) {
+                (i % 2 == 0 ? first : second).add(amounts[i]);
+            }
+            first.merge(SpendingHistogram.fromBytes(second.toBytes()));
+
+            long[] expected = new long[SpendingHistogram.BOUNDARIES.length + 1];
+            for (long amount : amounts) {
+                int bucket = 0;
+                while (bucket < SpendingHistogram.BOUNDARIES.length && amount >= SpendingHistogram.BOUNDARIES[bucket]) {
+                    bucket++;
+                }
+                expected[bucket]++;
+            }
+            assertThat(first.counts()).containsExactly(expected);
+
+            SpendingHistogram boundary = new SpendingHistogram();
+            boundary.add(4_999);
+            boundary.add(5_000);
+            assertThat(boundary.counts()[0]).isEqualTo(1);
+            assertThat(boundary.counts()[1]).isEqualTo(1);
+            assertThat(boundary.remove(5_000)).isTrue();
+            assertThat(boundary.remove(5_000)).isFalse();
+        }
+    }
+
+    private static void assertWithinAccuracy(QuantileSketch sketch, long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            long exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            long approx = sketch.quantile(q);
+            // 반올림으로 인한 1원 오차 허용
+            assertThat((double) approx)
+                    .as("q=%s", q)
+                    .isCloseTo(exact, within(exact * QuantileSketch.RELATIVE_ACCURACY + 1));
+        }
+    }
+
+    // 로그 정규 분포 지출 금액 (중앙값 약 2만 원, 긴 꼬리)
+    private static long[] randomAmounts(Random random, int size) {
+        long[] amounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = Math.max(100L, Math.round(Math.exp(Math.log(20_000) + random.nextGaussian())));
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,185 @@
+package com.jeongchongmu.support;
+
+import com.jeongchongmu.domain.expense.Repository.ExpenseParticipantRepository;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.notification.repository.NotificationRepository;
+import com.jeongchongmu.settlement.entity.SettlementDetail;
+import com.jeongchongmu.settlement.repository.SettlementDetailRepository;
+import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.statistics.repository.UserExpenseShareRepository;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import com.jeongchongmu.vote.entity.Vote;
+import com.jeongchongmu.vote.entity.VoteOption;
+import com.jeongchongmu.vote.repository.UserVoteRepository;
+import com.jeongchongmu.vote.repository.VoteOptionRepository;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자주 호출되는 조회 쿼리의 실행 계획 회귀 테스트
+ *
+ * 스키마는 Flyway 마이그레이션(db/migration)으로 만들어지므로,
+ * 마이그레이션에서 인덱스가 빠지면 순차 스캔(Seq Scan)이 나타나 실패합니다.
+ * 새 조회 메서드를 추가하면 여기에도 한 줄 추가해주세요.
+ */
+@PostgresJpaTest
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor")
+@DisplayName("핫 쿼리 실행 계획 회귀 테스트 (PostgreSQL)")
+class HotQueryPlanTest {
+
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired GroupMemberRepository groupMemberRepository;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired ExpenseParticipantRepository expenseParticipantRepository;
+    @Autowired SettlementRepository settlementRepository;
+    @Autowired SettlementDetailRepository settlementDetailRepository;
+    @Autowired UserVoteRepository userVoteRepository;
+    @Autowired VoteOptionRepository voteOptionRepository;
+    @Autowired VoteRepository voteRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired UserExpenseShareRepository shareRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+
+    User user;
+    Group group;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("hot@test.com").password("pw").name("지성")
+                .bankName("토스뱅크").accountNumber("1000-0000").build());
+        group = groupRepository.save(Group.builder().name("핫쿼리모임").creator(user).inviteCode("HOTQ0001").build());
+        em.flush();
+        SqlCaptor.clear();
+    }
+
+    @Test
+    @DisplayName("정산 상세: 정산별/채권자별/채무자별 조회")
+    void settlementDetails() {
+        settlementDetailRepository.sumPendingAmountByCreditor(user.getId());
+        assertNoSeqScan();
+
+        settlementDetailRepository.sumPendingAmountByDebtor(user.getId());
+        assertNoSeqScan();
+
+        settlementRepository.findByExpenseId(1L);
+        assertNoSeqScan();
+
+        // settlement.getDetails() 지연 로딩과 같은 조건 (settlement_id 조회)
+        em.createQuery("SELECT sd FROM SettlementDetail sd WHERE sd.settlement.id = :settlementId", SettlementDetail.class)
+                .setParameter("settlementId", 1L)
+                .getResultList();
+        assertNoSeqScan();
+    }
+
+    @Test
+    @DisplayName("투표: 옵션별 투표, 사용자 중복 투표 확인, 투표별 옵션, 미투표 참여자 수, 진행 중인 투표 목록")
+    void votes() {
+        VoteOption option = em.getReference(VoteOption.class, 1L);
+
+        userVoteRepository.findByVoteOption(option);
+        assertNoSeqScan();
+
+        userVoteRepository.existsByUserAndVoteOption(user, option);
+        assertNoSeqScan();
+
+        voteOptionRepository.findByVote(em.getReference(Vote.class, 1L));
+        assertNoSeqScan();
+
+        voteOptionRepository.findTallyByVoteId(1L);
+        assertNoSeqScan();
+
+        voteRepository.countParticipantsNotVoted(1L, 1L);
+        assertNoSeqScan();
+
+        voteRepository.findOngoingSummariesForUser(user.getId());
+        assertNoSeqScan();
+    }
+
+    @Test
+    @DisplayName("알림: 수신자별 최신순 첫 페이지/커서 페이지, 안 읽은 알림 수")
+    void notifications() {
+        notificationRepository.findFirstPage(user.getId(), PageRequest.ofSize(21));
+        assertNoSeqScan();
+
+        // 커서 조건이 필터가 아니라 인덱스 범위 조건이어야 오래된 페이지도 앞 페이지와 같은 비용
+        // (월 파티션이라 NULL 바인드로는 모든 파티션이 제외되므로 실제 값으로 확인)
+        notificationRepository.findPageAfter(user.getId(), LocalDateTime.now(), 1L, PageRequest.ofSize(21));
+        String plan = QueryPlans.explain(jdbcTemplate, SqlCaptor.lastSelect(),
+                List.of(user.getId().toString(), "LOCALTIMESTAMP", "LOCALTIMESTAMP", "1", "21"));
+        assertThat(plan)
+                .containsPattern("Index Cond: .*ROW\\(created_at, id\\) <")
+                .doesNotContain("Seq Scan");
+        SqlCaptor.clear();
+
+        notificationRepository.countByRecipientIdAndIsReadFalse(user.getId());
+        assertNoSeqScan();
+    }
+
+    @Test
+    @DisplayName("그룹 멤버: 사용자별 그룹, 그룹별 멤버, 멤버 여부 확인, 그룹 목록/단건 프로젝션")
+    void groupMembers() {
+        groupMemberRepository.findByUser(user);
+        assertNoSeqScan();
+
+        groupMemberRepository.findByGroup(group);
+        assertNoSeqScan();
+
+        groupMemberRepository.existsByUserAndGroup(user, group);
+        assertNoSeqScan();
+
+        groupMemberRepository.findRoleByUserIdAndGroupId(user.getId(), group.getId());
+        assertNoSeqScan();
+
+        groupRepository.findGroupDtosByUserId(user.getId());
+        assertNoSeqScan();
+
+        groupRepository.findGroupDtoById(group.getId());
+        assertNoSeqScan();
+    }
+
+    @Test
+    @DisplayName("지출: 그룹별 목록, 영수증 중복 확인, 참여자별 지출, 분담 원장 그룹 조회")
+    void expenses() {
+        expenseRepository.findByGroupWithPayer(group);
+        assertNoSeqScan();
+
+        expenseRepository.existsByReceiptUrl("https://example.com/receipts/1.jpg");
+        assertNoSeqScan();
+
+        expenseParticipantRepository.findByUser(user);
+        assertNoSeqScan();
+
+        shareRepository.findByGroupId(group.getId());
+        assertNoSeqScan();
+    }
+
+    // 마지막으로 실행된 SELECT의 실행 계획에 순차 스캔이 없는지 확인
+    private void assertNoSeqScan() {
+        String sql = SqlCaptor.lastSelect();
+        String plan = QueryPlans.explain(jdbcTemplate, sql);
+        assertThat(plan)
+                .as("SQL: %s%nPLAN:%n%s", sql, plan)
+                .doesNotContain("Seq Scan");
+        SqlCaptor.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.jeongchongmu.support;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 실제 PostgreSQL에 붙는 JPA 통합 테스트용 어노테이션
+ *
+ * - H2로 바꿔치기하지 않고 test 프로필의 데이터소스(SPRING_DATASOURCE_URL)를 그대로 사용합니다.
+ * - CI(backend-ci.yml)처럼 SPRING_DATASOURCE_URL이 설정된 환경에서만 실행됩니다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+public @interface PostgresJpaTest {
+}
@@ -0,0 +1,57 @@
+package com.jeongchongmu.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PostgreSQL 실행 계획 조회 헬퍼
+ *
+ * Hibernate가 만든 SQL의 '?' 바인드 자리를 $1, $2 ... 로 바꿔 PREPARE 한 뒤,
+ * 일반 계획(force_generic_plan)으로 EXPLAIN EXECUTE 합니다. (바인드 값과 무관한 계획)
+ * 테스트 DB는 데이터가 적어 순차 스캔이 더 싸게 나오므로 enable_seqscan을 끄고
+ * "쓸 수 있는 인덱스가 있는지"를 확인합니다. 설정은 현재 트랜잭션에만 적용됩니다.
+ */
+public final class QueryPlans {
+
+    private QueryPlans() {
+    }
+
+    public static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        return explain(jdbcTemplate, sql, List.of());
+    }
+
+    /**
+     * 바인드 자리에 실제 값(SQL 리터럴)을 넣어 실행 계획을 봅니다.
+     * 파티션 테이블은 NULL을 넣으면 모든 파티션이 실행 시점에 제외되어 인덱스 사용 여부를 볼 수 없으므로 이 방법을 씁니다.
+     *
+     * @param arguments 바인드 순서대로의 SQL 리터럴 (비어 있으면 모두 NULL)
+     */
+    public static String explain(JdbcTemplate jdbcTemplate, String sql, List<String> arguments) {
+        StringBuilder positional = new StringBuilder(sql.length() + 16);
+        int parameterCount = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                positional.append('$').append(++parameterCount);
+            } else {
+                positional.append(c);
+            }
+        }
+
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE plan_check AS " + positional);
+        try {
+            List<String> values = arguments.isEmpty() ? Collections.nCopies(parameterCount, "NULL") : arguments;
+            if (values.size() != parameterCount) {
+                throw new IllegalArgumentException("바인드 자리 " + parameterCount + "개, 값 " + values.size() + "개: " + sql);
+            }
+            String executeArguments = parameterCount == 0 ? "" : "(" + String.join(", ", values) + ")";
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN EXECUTE plan_check" + executeArguments, String.class);
+            return String.join("\n", lines);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+}
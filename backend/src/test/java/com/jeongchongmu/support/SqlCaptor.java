@@ -0,0 +1,50 @@
+package com.jeongchongmu.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate가 실행하는 SQL을 기록하는 StatementInspector (실행 계획 테스트용)
+ *
+ * 사용: spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor
+ */
+public class SqlCaptor implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    // clear() 이후 실행된 SQL 문 수
+    public static int count() {
+        synchronized (STATEMENTS) {
+            return STATEMENTS.size();
+        }
+    }
+
+    // 마지막으로 실행된 SELECT 문
+    public static String lastSelect() {
+        synchronized (STATEMENTS) {
+            for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                String sql = STATEMENTS.get(i);
+                if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                    return sql;
+                }
+            }
+        }
+        throw new IllegalStateException("기록된 SELECT 문이 없습니다.");
+    }
+}
@@ -0,0 +1,232 @@
+package com.jeongchongmu.vote.service;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.JPA.ExpenseItem;
+import com.jeongchongmu.domain.expense.JPA.ExpenseParticipant;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.entity.GroupMember;
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.service.NotificationCoalescer;
+import com.jeongchongmu.domain.notification.service.NotificationService;
+import com.jeongchongmu.settlement.entity.Settlement;
+import com.jeongchongmu.settlement.entity.SettlementDetail;
+import com.jeongchongmu.settlement.enums.SettlementMethod;
+import com.jeongchongmu.settlement.enums.SettlementStatus;
+import com.jeongchongmu.settlement.repository.SettlementRepository;
+import com.jeongchongmu.settlement.service.SettlementService;
+import com.jeongchongmu.statistics.ShareLedgerService;
+import com.jeongchongmu.statistics.SpendingDistributionService;
+import com.jeongchongmu.statistics.entity.UserExpenseShare;
+import com.jeongchongmu.statistics.repository.UserExpenseShareRepository;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.support.SqlCaptor;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import com.jeongchongmu.vote.dto.SubmitVoteSelectionsRequest;
+import com.jeongchongmu.vote.entity.Vote;
+import com.jeongchongmu.vote.entity.VoteOption;
+import com.jeongchongmu.vote.repository.VoteOptionRepository;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@PostgresJpaTest
+@Import({VoteAutoCloser.class, VoteService.class, VoteCompletionTracker.class, SettlementService.class,
+        GroupAccessService.class, ShareLedgerService.class, SpendingDistributionService.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+        "vote.auto-close.batch-size=10",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor"})
+@RecordApplicationEvents
+@DisplayName("투표 자동 마감 + 항목별 일괄 정산 (PostgreSQL)")
+class VoteAutoCloserTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteAutoCloserTest.class);
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Autowired VoteAutoCloser voteAutoCloser;
+    @Autowired VoteService voteService;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired GroupMemberRepository groupMemberRepository;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired VoteRepository voteRepository;
+    @Autowired VoteOptionRepository voteOptionRepository;
+    @Autowired SettlementRepository settlementRepository;
+    @Autowired UserExpenseShareRepository shareRepository;
+    @Autowired EntityManager em;
+    @Autowired ApplicationEvents events;
+
+    @MockitoBean NotificationService notificationService;
+    @MockitoBean NotificationCoalescer notificationCoalescer;
+
+    User payer, kyunghwan, minji;
+    Group group;
+
+    @BeforeEach
+    void setUp() {
+        payer = userRepository.save(user("close1@test.com", "지성"));
+        kyunghwan = userRepository.save(user("close2@test.com", "경환"));
+        minji = userRepository.save(user("close3@test.com", "민지"));
+        group = groupRepository.save(Group.builder().name("마감모임").creator(payer).inviteCode("CLOSE001").build());
+        List.of(payer, kyunghwan, minji).forEach(member -> groupMemberRepository.save(GroupMember.builder()
+                .group(group)
+                .user(member)
+                .role(member == payer ? Role.OWNER : Role.MEMBER)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("마감 시각이 지난 투표를 묶음 단위로 마감하고, 투표 수와 무관한 SQL로 항목별 정산/원장을 만든다")
+    void closeExpired_settlesInBatches() {
+        // 마감 시각이 지난 투표 25개: 삼겹살(10,000원)은 셋이 나누고, 냉면(9,000원)은 민지 혼자
+        List<Expense> expired = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Expense expense = saveExpense(NOW.minusHours(1));
+            Long voteId = saveVote(expense, NOW.minusMinutes(i + 1));
+            submit(payer, voteId, "삼겹살");
+            submit(kyunghwan, voteId, "삼겹살");
+            submit(minji, voteId, "삼겹살", "냉면");
+            expired.add(expense);
+        }
+        // 아무도 고르지 않은 투표 -> 정산 없이 마감
+        Long nobodyVoted = saveVote(saveExpense(NOW.minusDays(1)), NOW.minusDays(1));
+        // 아직 마감 시각 전
+        Long stillOpen = saveVote(saveExpense(NOW), NOW.plusHours(1));
+
+        em.flush();
+        em.clear();
+        SqlCaptor.clear();
+
+        int closed = voteAutoCloser.closeExpired(NOW);
+        em.flush(); // 테스트 트랜잭션이라 마지막 묶음의 스케치 UPDATE는 커밋 대신 여기서 실행
+        log.info("투표 {}건 자동 마감 SQL {}번", closed, SqlCaptor.count());
+
+        assertThat(closed).isEqualTo(26);
+        // 묶음(10개) 3번 x (마감 1 + 정산 1 + 상세 1 + 원장 4 + 바뀐 분포 스케치 2개(경환, 민지) x 3)
+        assertThat(SqlCaptor.count()).isEqualTo(3 * (1 + 1 + 1 + 4 + 2 * 3));
+
+        em.clear();
+        assertThat(voteRepository.findById(stillOpen).orElseThrow().isClosed()).isFalse();
+        assertThat(voteRepository.findById(nobodyVoted).orElseThrow().isClosed()).isTrue();
+        assertThat(settlementRepository.count()).isEqualTo(25);
+
+        Settlement settlement = settlementRepository.findByExpenseId(expired.get(0).getId()).orElseThrow();
+        assertThat(settlement.getMethod()).isEqualTo(SettlementMethod.ITEM);
+        assertThat(settlement.getStatus()).isEqualTo(SettlementStatus.PENDING);
+        // 결제자 본인은 제외, 삼겹살 10,000 / 3 = 3,333 (나머지 버림)
+        assertThat(settlement.getDetails())
+                .extracting(detail -> detail.getDebtor().getId(), detail -> detail.getCreditor().getId(), SettlementDetail::getAmount)
+                .containsExactlyInAnyOrder(
+                        tuple(kyunghwan.getId(), payer.getId(), 3_333L),
+                        tuple(minji.getId(), payer.getId(), 12_333L));
+
+        // 원장: 결제자 전액 -> 채무자별 정산 금액
+        assertThat(shareRepository.findByExpenseId(expired.get(0).getId()))
+                .extracting(share -> share.getUser().getId(), UserExpenseShare::getShareAmount)
+                .containsExactlyInAnyOrder(tuple(kyunghwan.getId(), 3_333L), tuple(minji.getId(), 12_333L));
+
+        // 묶음 트랜잭션 안에서 정산마다 채무자 알림, 투표마다 결제자 알림 저장
+        verify(notificationService, times(25)).sendToMultipleUsers(any(), eq(NotificationType.SETTLEMENT_REQUEST), anyString(), anyLong());
+        verify(notificationService, times(26)).send(any(), eq(NotificationType.VOTE_CLOSE), anyString(), anyLong());
+        verify(notificationCoalescer, times(0)).submitAllByIds(any(), any(), anyString(), anyLong());
+        assertThat(events.stream(VoteClosedEvent.class)).hasSize(26);
+
+        // 다시 돌려도 마감할 투표가 없음
+        assertThat(voteAutoCloser.closeExpired(NOW)).isZero();
+    }
+
+    @Test
+    @DisplayName("이미 정산이 있는 지출은 마감만 하고 정산을 새로 만들지 않으며, 마감된 투표에는 더 투표할 수 없다")
+    void closeExpired_keepsExistingSettlement() {
+        Expense expense = saveExpense(NOW.minusHours(1));
+        Long voteId = saveVote(expense, NOW.minusMinutes(1));
+        submit(kyunghwan, voteId, "삼겹살");
+        Settlement manual = settlementRepository.save(Settlement.builder()
+                .expense(expense).method(SettlementMethod.N_BUN_1).status(SettlementStatus.PENDING).build());
+        em.flush();
+        em.clear();
+
+        assertThat(voteAutoCloser.closeExpired(NOW)).isEqualTo(1);
+
+        em.clear();
+        assertThat(settlementRepository.findByExpenseId(expense.getId()).orElseThrow().getId()).isEqualTo(manual.getId());
+        assertThat(settlementRepository.count()).isEqualTo(1);
+        verify(notificationService, times(0)).sendToMultipleUsers(any(), eq(NotificationType.SETTLEMENT_REQUEST), anyString(), anyLong());
+
+        assertThatThrownBy(() -> submit(minji, voteId, "냉면"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void submit(User user, Long voteId, String... itemNames) {
+        List<Long> optionIds = voteOptionRepository.findByVote(voteRepository.getReferenceById(voteId)).stream()
+                .filter(option -> List.of(itemNames).contains(option.getExpenseItem().getName()))
+                .map(VoteOption::getId)
+                .toList();
+        SubmitVoteSelectionsRequest request = new SubmitVoteSelectionsRequest();
+        ReflectionTestUtils.setField(request, "voteId", voteId);
+        ReflectionTestUtils.setField(request, "optionIds", optionIds);
+        voteService.submitSelections(user.getId(), request);
+    }
+
+    private Long saveVote(Expense expense, LocalDateTime deadline) {
+        Vote vote = voteRepository.save(Vote.builder().expense(expense).deadline(deadline).build());
+        voteOptionRepository.insertAllForExpense(vote.getId(), expense.getId());
+        return vote.getId();
+    }
+
+    private Expense saveExpense(LocalDateTime expenseDate) {
+        Expense expense = expenseRepository.save(Expense.builder()
+                .group(group)
+                .payer(payer)
+                .title("회식")
+                .amount(19_000L)
+                .expenseDate(expenseDate)
+                .build());
+        expense.addItem(ExpenseItem.builder().name("삼겹살").price(10_000L).build());
+        expense.addItem(ExpenseItem.builder().name("냉면").price(9_000L).build());
+        List.of(payer, kyunghwan, minji).forEach(member -> expense.addParticipant(new ExpenseParticipant(expense, member)));
+        em.flush();
+        return expense;
+    }
+
+    private User user(String email, String name) {
+        return User.builder()
+                .email(email)
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build();
+    }
+}
@@ -0,0 +1,284 @@
+package com.jeongchongmu.vote.service;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.JPA.ExpenseItem;
+import com.jeongchongmu.domain.expense.JPA.ExpenseParticipant;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.entity.GroupMember;
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.service.NotificationCoalescer;
+import com.jeongchongmu.domain.notification.service.NotificationService;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import com.jeongchongmu.vote.dto.CastVoteRequest;
+import com.jeongchongmu.vote.dto.SetVoteSelectionRequest;
+import com.jeongchongmu.vote.entity.VoteOption;
+import com.jeongchongmu.vote.repository.VoteOptionRepository;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 동시 투표는 각자 커밋해야 서로의 카운터 갱신이 보이므로 테스트 트랜잭션 없이 실행하고 직접 정리합니다.
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({VoteService.class, VoteCompletionTracker.class, GroupAccessService.class, SimpleMeterRegistry.class})
+@DisplayName("영수증 하나에 동시 투표 / 중복 요청 (PostgreSQL)")
+class VoteCompletionConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCompletionConcurrencyTest.class);
+    private static final int PARTICIPANTS = 50;
+
+    @Autowired VoteService voteService;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired GroupMemberRepository groupMemberRepository;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired VoteRepository voteRepository;
+    @Autowired VoteOptionRepository voteOptionRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @MockitoBean NotificationService notificationService;
+    @MockitoBean NotificationCoalescer notificationCoalescer;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private Long groupId;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM user_votes WHERE user_id = ANY(?)", (Object) userIds.toArray(Long[]::new));
+        jdbcTemplate.update("DELETE FROM vote_voters WHERE user_id = ANY(?)", (Object) userIds.toArray(Long[]::new));
+        jdbcTemplate.update("DELETE FROM vote_options WHERE vote_id IN (SELECT v.id FROM votes v JOIN expenses e ON e.id = v.expense_id WHERE e.group_id = ?)", groupId);
+        jdbcTemplate.update("DELETE FROM votes WHERE expense_id IN (SELECT id FROM expenses WHERE group_id = ?)", groupId);
+        jdbcTemplate.update("DELETE FROM expense_items WHERE expense_id IN (SELECT id FROM expenses WHERE group_id = ?)", groupId);
+        jdbcTemplate.update("DELETE FROM expense_participants WHERE expense_id IN (SELECT id FROM expenses WHERE group_id = ?)", groupId);
+        jdbcTemplate.update("DELETE FROM expenses WHERE group_id = ?", groupId);
+        jdbcTemplate.update("DELETE FROM group_members WHERE group_id = ?", groupId);
+        jdbcTemplate.update("DELETE FROM groups WHERE id = ?", groupId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ANY(?)", (Object) userIds.toArray(Long[]::new));
+    }
+
+    @Test
+    @DisplayName("50명이 동시에 투표해도 투표자 수가 정확하고 완료 알림은 한 번만 보낸다")
+    void castVote_fiftyConcurrentVoters() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long expenseId = tx.execute(status -> saveReceipt().getId());
+        Long voteId = voteService.createVote(expenseId);
+        List<Long> optionIds = tx.execute(status -> voteOptionRepository.findByVote(voteRepository.findById(voteId).orElseThrow())
+                .stream().map(VoteOption::getId).toList());
+
+        List<Runnable> votes = new ArrayList<>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            CastVoteRequest request = castVoteRequest(userIds.get(i), optionIds.get(i % optionIds.size()));
+            votes.add(() -> voteService.castVote(request));
+        }
+
+        long elapsedMillis = runConcurrently(votes);
+        log.info("동시 투표 {}건 {}ms ({}건/초)", PARTICIPANTS, elapsedMillis, PARTICIPANTS * 1000L / Math.max(elapsedMillis, 1));
+
+        assertThat(voteRepository.findVoterCount(voteId)).contains(PARTICIPANTS);
+        assertThat(countUserVotes(voteId)).isEqualTo(PARTICIPANTS);
+        verify(notificationCoalescer, times(1))
+                .submit(any(User.class), eq(NotificationType.VOTE_COMPLETED), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("마지막 참여자가 투표를 취소했다가 다시 하면 완료 알림을 다시 보낸다")
+    void castVote_toggleAroundCompletion() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long expenseId = tx.execute(status -> saveReceipt().getId());
+        Long voteId = voteService.createVote(expenseId);
+        Long optionId = tx.execute(status -> voteOptionRepository.findByVote(voteRepository.findById(voteId).orElseThrow())
+                .get(0).getId());
+
+        userIds.forEach(userId -> voteService.castVote(castVoteRequest(userId, optionId)));
+        Long last = userIds.get(PARTICIPANTS - 1);
+        voteService.castVote(castVoteRequest(last, optionId)); // 취소
+        assertThat(voteRepository.findVoterCount(voteId)).contains(PARTICIPANTS - 1);
+
+        voteService.castVote(castVoteRequest(last, optionId));
+        assertThat(voteRepository.findVoterCount(voteId)).contains(PARTICIPANTS);
+        verify(notificationCoalescer, times(2))
+                .submit(any(User.class), eq(NotificationType.VOTE_COMPLETED), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("같은 선택 지정 요청이 네 번씩 동시에 재시도돼도 선택은 한 번만 저장된다")
+    void setSelection_idempotentUnderRetries() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long expenseId = tx.execute(status -> saveReceipt().getId());
+        Long voteId = voteService.createVote(expenseId);
+        Long optionId = tx.execute(status -> voteOptionRepository.findByVote(voteRepository.findById(voteId).orElseThrow())
+                .get(0).getId());
+
+        List<Runnable> requests = new ArrayList<>();
+        for (int retry = 0; retry < 4; retry++) {
+            for (Long userId : userIds) {
+                requests.add(() -> voteService.setSelection(userId, setSelectionRequest(optionId, true)));
+            }
+        }
+        runConcurrently(requests);
+
+        assertThat(countUserVotes(voteId)).isEqualTo(PARTICIPANTS);
+        assertThat(voteRepository.findVoterCount(voteId)).contains(PARTICIPANTS);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT selection_count FROM vote_voters WHERE vote_id = ?", Integer.class, voteId))
+                .containsExactly(1);
+        verify(notificationCoalescer, times(1))
+                .submit(any(User.class), eq(NotificationType.VOTE_COMPLETED), anyString(), anyLong());
+
+        // 해제도 재시도해도 한 번만 반영
+        List<Runnable> deselects = new ArrayList<>();
+        for (int retry = 0; retry < 4; retry++) {
+            deselects.add(() -> voteService.setSelection(userIds.get(0), setSelectionRequest(optionId, false)));
+        }
+        runConcurrently(deselects);
+        assertThat(countUserVotes(voteId)).isEqualTo(PARTICIPANTS - 1);
+        assertThat(voteRepository.findVoterCount(voteId)).contains(PARTICIPANTS - 1);
+    }
+
+    @Test
+    @DisplayName("한 사람이 같은 항목을 동시에 연타해도 중복 저장 없이 투표자 수와 실제 선택이 일치한다")
+    void castVote_doubleTapsNeverDuplicate() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long expenseId = tx.execute(status -> saveReceipt().getId());
+        Long voteId = voteService.createVote(expenseId);
+        List<Long> optionIds = tx.execute(status -> voteOptionRepository.findByVote(voteRepository.findById(voteId).orElseThrow())
+                .stream().map(VoteOption::getId).toList());
+
+        // 10명이 각자 모든 항목을 8번씩 동시에 토글
+        List<Runnable> taps = new ArrayList<>();
+        for (Long userId : userIds.subList(0, 10)) {
+            for (Long optionId : optionIds) {
+                for (int tap = 0; tap < 8; tap++) {
+                    taps.add(() -> voteService.castVote(castVoteRequest(userId, optionId)));
+                }
+            }
+        }
+        long elapsedMillis = runConcurrently(taps);
+        log.info("동시 토글 {}건 {}ms", taps.size(), elapsedMillis);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT user_id, vote_option_id FROM user_votes " +
+                "GROUP BY user_id, vote_option_id HAVING COUNT(*) > 1) dup", Long.class)).isZero();
+        // 사용자별 선택 수 카운터 = 실제 선택 행 수
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vote_voters vv WHERE vv.vote_id = ? AND vv.selection_count <> " +
+                "(SELECT COUNT(*) FROM user_votes uv JOIN vote_options o ON o.id = uv.vote_option_id " +
+                "WHERE o.vote_id = vv.vote_id AND uv.user_id = vv.user_id)", Long.class, voteId)).isZero();
+        assertThat(voteRepository.findVoterCount(voteId)).contains(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT uv.user_id)::int FROM user_votes uv JOIN vote_options o ON o.id = uv.vote_option_id WHERE o.vote_id = ?",
+                Integer.class, voteId));
+    }
+
+    // 모든 작업을 동시에 시작시키고 끝날 때까지 기다림. 걸린 시간(ms)을 돌려줌
+    private long runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    private long countUserVotes(Long voteId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM user_votes uv JOIN vote_options o ON o.id = uv.vote_option_id WHERE o.vote_id = ?",
+                Long.class, voteId);
+    }
+
+    private Expense saveReceipt() {
+        List<User> participants = new ArrayList<>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            User user = userRepository.save(User.builder()
+                    .email("concurrent-vote" + i + "@test.com")
+                    .password("pw")
+                    .name("참여자" + i)
+                    .bankName("토스뱅크")
+                    .accountNumber("1000-0000")
+                    .build());
+            userIds.add(user.getId());
+            participants.add(user);
+        }
+        Group group = groupRepository.save(Group.builder().name("단체회식").creator(participants.get(0)).inviteCode("VOTE0050").build());
+        groupId = group.getId();
+        participants.forEach(participant -> groupMemberRepository.save(GroupMember.builder()
+                .group(group)
+                .user(participant)
+                .role(participant == participants.get(0) ? Role.OWNER : Role.MEMBER)
+                .build()));
+
+        Expense expense = expenseRepository.save(Expense.builder()
+                .group(group)
+                .payer(participants.get(0))
+                .title("회식 영수증")
+                .amount(50_000L)
+                .expenseDate(LocalDateTime.now())
+                .build());
+        for (int i = 0; i < 5; i++) {
+            expense.addItem(ExpenseItem.builder().name("메뉴" + i).price(10_000L).build());
+        }
+        participants.forEach(participant -> expense.addParticipant(new ExpenseParticipant(expense, participant)));
+        return expense;
+    }
+
+    private CastVoteRequest castVoteRequest(Long userId, Long optionId) {
+        CastVoteRequest request = new CastVoteRequest();
+        ReflectionTestUtils.setField(request, "userId", userId);
+        ReflectionTestUtils.setField(request, "optionId", optionId);
+        return request;
+    }
+
+    private SetVoteSelectionRequest setSelectionRequest(Long optionId, boolean selected) {
+        SetVoteSelectionRequest request = new SetVoteSelectionRequest();
+        ReflectionTestUtils.setField(request, "optionId", optionId);
+        ReflectionTestUtils.setField(request, "selected", selected);
+        return request;
+    }
+}
@@ -0,0 +1,339 @@
+package com.jeongchongmu.vote.service;
+
+import com.jeongchongmu.domain.expense.JPA.Expense;
+import com.jeongchongmu.domain.expense.JPA.ExpenseItem;
+import com.jeongchongmu.domain.expense.JPA.ExpenseParticipant;
+import com.jeongchongmu.domain.expense.Repository.ExpenseRepository;
+import com.jeongchongmu.domain.group.entity.Group;
+import com.jeongchongmu.domain.group.entity.GroupMember;
+import com.jeongchongmu.domain.group.entity.Role;
+import com.jeongchongmu.domain.group.repository.GroupMemberRepository;
+import com.jeongchongmu.domain.group.repository.GroupRepository;
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.domain.notification.entity.NotificationType;
+import com.jeongchongmu.domain.notification.service.NotificationCoalescer;
+import com.jeongchongmu.domain.notification.service.NotificationService;
+import com.jeongchongmu.support.PostgresJpaTest;
+import com.jeongchongmu.support.SqlCaptor;
+import com.jeongchongmu.user.User;
+import com.jeongchongmu.user.UserRepository;
+import com.jeongchongmu.vote.dto.OngoingVoteSummary;
+import com.jeongchongmu.vote.dto.SetVoteSelectionRequest;
+import com.jeongchongmu.vote.dto.SubmitVoteSelectionsRequest;
+import com.jeongchongmu.vote.dto.VoteResponse;
+import com.jeongchongmu.vote.entity.UserVote;
+import com.jeongchongmu.vote.entity.VoteOption;
+import com.jeongchongmu.vote.repository.UserVoteRepository;
+import com.jeongchongmu.vote.repository.VoteOptionRepository;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@PostgresJpaTest
+@Import({VoteService.class, VoteCompletionTracker.class, GroupAccessService.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.jeongchongmu.support.SqlCaptor")
+@DisplayName("항목별 정산 투표 (PostgreSQL)")
+class VoteServiceTest {
+
+    @Autowired VoteService voteService;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired GroupMemberRepository groupMemberRepository;
+    @Autowired ExpenseRepository expenseRepository;
+    @Autowired VoteRepository voteRepository;
+    @Autowired VoteOptionRepository voteOptionRepository;
+    @Autowired UserVoteRepository userVoteRepository;
+    @Autowired EntityManager em;
+
+    @MockitoBean NotificationService notificationService;
+    @MockitoBean NotificationCoalescer notificationCoalescer;
+
+    private static final Logger log = LoggerFactory.getLogger(VoteServiceTest.class);
+
+    User jiseong, kyunghwan, minji;
+    Group group;
+
+    @BeforeEach
+    void setUp() {
+        jiseong = userRepository.save(user("vote1@test.com", "지성"));
+        kyunghwan = userRepository.save(user("vote2@test.com", "경환"));
+        minji = userRepository.save(user("vote3@test.com", "민지"));
+        group = groupRepository.save(Group.builder().name("투표모임").creator(jiseong).inviteCode("VOTE0001").build());
+    }
+
+    @Test
+    @DisplayName("투표 현황은 다른 투표가 아무리 많아도 SQL 4번으로 조회한다")
+    void getVoteStatus_constantQueries() {
+        Expense dinner = saveExpense(jiseong, List.of(jiseong, kyunghwan), "김치찌개", "소주", "계란말이");
+        List<VoteOption> options = options(voteService.createVote(dinner.getId()));
+        vote(jiseong, option(options, "김치찌개"));
+        vote(kyunghwan, option(options, "김치찌개"));
+        vote(kyunghwan, option(options, "소주"));
+
+        // 다른 지출의 투표 내역 (조회 대상 아님)
+        for (int i = 0; i < 20; i++) {
+            Expense other = saveExpense(kyunghwan, List.of(kyunghwan, minji), "메뉴A" + i, "메뉴B" + i);
+            options(voteService.createVote(other.getId())).forEach(option -> {
+                vote(kyunghwan, option);
+                vote(minji, option);
+            });
+        }
+
+        em.flush();
+        em.clear();
+        SqlCaptor.clear();
+
+        VoteResponse response = voteService.getVoteStatus(dinner.getId());
+
+        // 지출 + 지출의 정산(OneToOne mappedBy라 즉시 로딩) + 투표 + 현황 1번
+        assertThat(SqlCaptor.count()).isEqualTo(4);
+        assertThat(response.getPayerId()).isEqualTo(jiseong.getId());
+        assertThat(response.getOptions())
+                .extracting(VoteResponse.VoteOptionDto::getItemName,
+                        VoteResponse.VoteOptionDto::getPrice,
+                        VoteResponse.VoteOptionDto::getVotedUserIds)
+                .containsExactlyInAnyOrder(
+                        tuple("김치찌개", 10_000L, List.of(jiseong.getId(), kyunghwan.getId())),
+                        tuple("소주", 10_000L, List.of(kyunghwan.getId())),
+                        tuple("계란말이", 10_000L, List.of()));
+    }
+
+    @Test
+    @DisplayName("60개 항목 영수증도 투표 생성/선택 제출/삭제를 항목 수와 무관한 SQL 몇 번으로 처리한다")
+    void voteLifecycle_bulkStatements() {
+        String[] menus = new String[60];
+        for (int i = 0; i < menus.length; i++) {
+            menus[i] = "메뉴" + i;
+        }
+        Expense receipt = saveExpense(jiseong, List.of(jiseong, kyunghwan), menus);
+        join(jiseong, kyunghwan);
+        em.clear();
+
+        SqlCaptor.clear();
+        Long voteId = voteService.createVote(receipt.getId());
+        em.flush();
+        log.info("투표 생성 SQL {}번", SqlCaptor.count());
+        // 지출 + 정산(즉시 로딩) + 정산 확인 + 기존 투표 확인 + 투표 저장 + 선택지 1번 + 알림 대상 참여자
+        assertThat(SqlCaptor.count()).isEqualTo(7);
+        List<Long> optionIds = options(voteId).stream().map(VoteOption::getId).toList();
+        assertThat(optionIds).hasSize(60);
+
+        em.clear();
+        SqlCaptor.clear();
+        submit(kyunghwan, voteId, optionIds.subList(0, 40));
+        log.info("선택 제출 SQL {}번", SqlCaptor.count());
+        // 투표 + 그룹 ID + 그룹 멤버(캐시 미스) + 지출 참여자 확인 + 선택지 확인 + 추가 1번 + 삭제 1번 + 투표자 수 1번
+        // + 새 투표자가 생겨 참여자 수 확인
+        assertThat(SqlCaptor.count()).isEqualTo(9);
+
+        // 다시 제출하면 목록에서 빠진 것만 지우고 새로 들어온 것만 추가
+        submit(kyunghwan, voteId, optionIds.subList(20, 60));
+        assertThat(selectedOptionIds(kyunghwan, voteId)).containsExactlyInAnyOrderElementsOf(optionIds.subList(20, 60));
+        assertThat(voterCount(voteId)).isEqualTo(1);
+
+        submit(jiseong, voteId, optionIds.subList(0, 1));
+        verify(notificationCoalescer).submit(any(User.class), eq(NotificationType.VOTE_COMPLETED), anyString(), eq(receipt.getId()));
+
+        // 빈 목록이면 전부 해제
+        submit(jiseong, voteId, List.of());
+        assertThat(selectedOptionIds(jiseong, voteId)).isEmpty();
+        assertThat(voterCount(voteId)).isEqualTo(1);
+
+        em.clear();
+        SqlCaptor.clear();
+        voteService.deleteVote(receipt.getId());
+        log.info("투표 삭제 SQL {}번", SqlCaptor.count());
+        // 지출 + 정산(즉시 로딩) + 투표 + 삭제 1번
+        assertThat(SqlCaptor.count()).isEqualTo(4);
+        em.clear(); // 네이티브 삭제라 영속성 컨텍스트에는 남아 있음
+        assertThat(voteRepository.findById(voteId)).isEmpty();
+        assertThat(em.createNativeQuery("SELECT COUNT(*) FROM vote_options WHERE vote_id = :voteId")
+                .setParameter("voteId", voteId).getSingleResult()).isEqualTo(0L);
+        assertThat(selectedOptionIds(kyunghwan, voteId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("다른 투표의 선택지가 섞여 있으면 선택 제출을 거부한다")
+    void submitSelections_rejectsForeignOptions() {
+        join(jiseong);
+        Long voteId = voteService.createVote(saveExpense(jiseong, List.of(jiseong), "김치찌개").getId());
+        Long otherVoteId = voteService.createVote(saveExpense(jiseong, List.of(jiseong), "소주").getId());
+        Long foreign = options(otherVoteId).get(0).getId();
+
+        assertThatThrownBy(() -> submit(jiseong, voteId, List.of(foreign)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("선택지");
+    }
+
+    @Test
+    @DisplayName("선택 목록 제출도 그룹 멤버이면서 지출 참여자인 로그인 사용자만 할 수 있다")
+    void submitSelections_rejectsNonParticipants() {
+        join(jiseong, minji);
+        Long voteId = voteService.createVote(saveExpense(jiseong, List.of(jiseong), "김치찌개").getId());
+        List<Long> optionIds = options(voteId).stream().map(VoteOption::getId).toList();
+
+        assertThatThrownBy(() -> submit(kyunghwan, voteId, optionIds))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("그룹의 멤버");
+        assertThatThrownBy(() -> submit(minji, voteId, optionIds))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("참여자");
+        assertThat(selectedOptionIds(minji, voteId)).isEmpty();
+        assertThat(voterCount(voteId)).isZero();
+    }
+
+    @Test
+    @DisplayName("선택 지정은 그룹 멤버이면서 지출 참여자인 로그인 사용자만 할 수 있다")
+    void setSelection_rejectsNonParticipants() {
+        join(jiseong, minji);
+        Long voteId = voteService.createVote(saveExpense(jiseong, List.of(jiseong), "김치찌개").getId());
+        Long optionId = options(voteId).get(0).getId();
+
+        // 그룹 멤버가 아님
+        assertThatThrownBy(() -> voteService.setSelection(kyunghwan.getId(), selectionRequest(optionId, true)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("그룹의 멤버");
+        // 그룹 멤버지만 지출 참여자가 아님
+        assertThatThrownBy(() -> voteService.setSelection(minji.getId(), selectionRequest(optionId, true)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("참여자");
+        assertThat(selectedOptionIds(minji, voteId)).isEmpty();
+
+        voteService.setSelection(jiseong.getId(), selectionRequest(optionId, true));
+        assertThat(selectedOptionIds(jiseong, voteId)).containsExactly(optionId);
+    }
+
+    @Test
+    @DisplayName("내 그룹들의 진행 중인 투표 목록은 투표 수와 무관하게 SQL 1번으로 투표자 수/내 참여 여부까지 조회한다")
+    void getOngoingVotes_singleQuery() {
+        groupMemberRepository.save(GroupMember.builder().group(group).user(jiseong).role(Role.OWNER).build());
+        groupMemberRepository.save(GroupMember.builder().group(group).user(kyunghwan).role(Role.MEMBER).build());
+        Group otherGroup = groupRepository.save(Group.builder().name("다른모임").creator(minji).inviteCode("VOTE0002").build());
+        groupMemberRepository.save(GroupMember.builder().group(otherGroup).user(minji).role(Role.OWNER).build());
+
+        Long lunch = voteService.createVote(saveExpense(group, jiseong, List.of(jiseong, kyunghwan), "김치찌개", "제육").getId());
+        submit(kyunghwan, lunch, options(lunch).stream().map(VoteOption::getId).toList());
+        Long dinner = voteService.createVote(saveExpense(group, jiseong, List.of(jiseong, kyunghwan), "삼겹살").getId());
+        submit(jiseong, dinner, List.of(options(dinner).get(0).getId()));
+        submit(kyunghwan, dinner, List.of(options(dinner).get(0).getId()));
+        Long closed = voteService.createVote(saveExpense(group, jiseong, List.of(jiseong), "소주").getId());
+        em.createNativeQuery("UPDATE votes SET is_closed = true WHERE id = :voteId").setParameter("voteId", closed).executeUpdate();
+        // 내가 속하지 않은 그룹의 투표
+        voteService.createVote(saveExpense(otherGroup, minji, List.of(minji), "떡볶이").getId());
+
+        em.flush();
+        em.clear();
+        SqlCaptor.clear();
+
+        List<OngoingVoteSummary> ongoing = voteService.getOngoingVotes(jiseong.getId());
+
+        assertThat(SqlCaptor.count()).isEqualTo(1);
+        assertThat(ongoing)
+                .extracting(OngoingVoteSummary::voteId, OngoingVoteSummary::amount, OngoingVoteSummary::groupName,
+                        OngoingVoteSummary::voterCount, OngoingVoteSummary::votedByMe)
+                .containsExactlyInAnyOrder(
+                        tuple(lunch, 20_000L, "투표모임", 1, false),
+                        tuple(dinner, 10_000L, "투표모임", 2, true));
+    }
+
+    private void join(User... members) {
+        for (User member : members) {
+            groupMemberRepository.save(GroupMember.builder()
+                    .group(group)
+                    .user(member)
+                    .role(member == jiseong ? Role.OWNER : Role.MEMBER)
+                    .build());
+        }
+    }
+
+    private SetVoteSelectionRequest selectionRequest(Long optionId, boolean selected) {
+        SetVoteSelectionRequest request = new SetVoteSelectionRequest();
+        ReflectionTestUtils.setField(request, "optionId", optionId);
+        ReflectionTestUtils.setField(request, "selected", selected);
+        return request;
+    }
+
+    private void submit(User user, Long voteId, List<Long> optionIds) {
+        SubmitVoteSelectionsRequest request = new SubmitVoteSelectionsRequest();
+        ReflectionTestUtils.setField(request, "voteId", voteId);
+        ReflectionTestUtils.setField(request, "optionIds", optionIds);
+        voteService.submitSelections(user.getId(), request);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> selectedOptionIds(User user, Long voteId) {
+        return ((List<Number>) em.createNativeQuery("SELECT uv.vote_option_id FROM user_votes uv " +
+                        "JOIN vote_options o ON o.id = uv.vote_option_id WHERE o.vote_id = :voteId AND uv.user_id = :userId")
+                .setParameter("voteId", voteId)
+                .setParameter("userId", user.getId())
+                .getResultList()).stream().map(Number::longValue).toList();
+    }
+
+    private int voterCount(Long voteId) {
+        return voteRepository.findVoterCount(voteId).orElseThrow();
+    }
+
+    private List<VoteOption> options(Long voteId) {
+        return voteOptionRepository.findByVote(voteRepository.findById(voteId).orElseThrow());
+    }
+
+    private VoteOption option(List<VoteOption> options, String itemName) {
+        return options.stream().filter(option -> option.getExpenseItem().getName().equals(itemName)).findFirst().orElseThrow();
+    }
+
+    private void vote(User user, VoteOption option) {
+        userVoteRepository.save(UserVote.builder().user(user).voteOption(option).build());
+    }
+
+    private Expense saveExpense(User payer, List<User> participants, String... itemNames) {
+        return saveExpense(group, payer, participants, itemNames);
+    }
+
+    private Expense saveExpense(Group group, User payer, List<User> participants, String... itemNames) {
+        Expense expense = expenseRepository.save(Expense.builder()
+                .group(group)
+                .payer(payer)
+                .title("저녁")
+                .amount(10_000L * itemNames.length)
+                .expenseDate(LocalDateTime.now())
+                .build());
+        for (String itemName : itemNames) {
+            expense.addItem(ExpenseItem.builder().name(itemName).price(10_000L).build());
+        }
+        participants.forEach(participant -> expense.addParticipant(new ExpenseParticipant(expense, participant)));
+        em.flush();
+        return expense;
+    }
+
+    private User user(String email, String name) {
+        return User.builder()
+                .email(email)
+                .password("pw")
+                .name(name)
+                .bankName("토스뱅크")
+                .accountNumber("1000-0000")
+                .build();
+    }
+}
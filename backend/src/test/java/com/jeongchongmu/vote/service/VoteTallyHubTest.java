@@ -0,0 +1,164 @@
+package com.jeongchongmu.vote.service;
+
+import com.jeongchongmu.domain.group.service.GroupAccessService;
+import com.jeongchongmu.vote.dto.VoteTallyDelta;
+import com.jeongchongmu.vote.dto.VoteTallyRow;
+import com.jeongchongmu.vote.dto.VoteTallySnapshot;
+import com.jeongchongmu.vote.entity.Vote;
+import com.jeongchongmu.vote.repository.VoteOptionRepository;
+import com.jeongchongmu.vote.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("실시간 투표 현황 허브 (SSE)")
+class VoteTallyHubTest {
+
+    private static final Long VOTE_ID = 7L;
+    private static final Long GROUP_ID = 3L;
+    private static final Long MEMBER_ID = 1L;
+    private static final Long STRANGER_ID = 9L;
+
+    private final VoteRepository voteRepository = mock(VoteRepository.class);
+    private final VoteOptionRepository voteOptionRepository = mock(VoteOptionRepository.class);
+    private final GroupAccessService groupAccessService = mock(GroupAccessService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VoteTallyHub hub = new VoteTallyHub(voteRepository, voteOptionRepository, groupAccessService, meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        given(voteRepository.findGroupIdById(VOTE_ID)).willReturn(Optional.of(GROUP_ID));
+        given(groupAccessService.isMember(MEMBER_ID, GROUP_ID)).willReturn(true);
+        given(voteRepository.findById(VOTE_ID)).willReturn(Optional.of(Vote.builder().id(VOTE_ID).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("구독하면 DB 현황을 한 번 보내고, 이후에는 바뀐 선택만 순서 번호와 함께 보낸다")
+    void subscribe_snapshotThenDeltas() throws InterruptedException {
+        given(voteOptionRepository.findTallyByVoteId(VOTE_ID)).willReturn(List.of(
+                row(100L, 1L), row(100L, 2L), row(200L, null)));
+        RecordingEmitter phone = new RecordingEmitter();
+        hub.register(MEMBER_ID, VOTE_ID, phone);
+
+        hub.onSelectionChanged(new VoteSelectionChangedEvent(VOTE_ID, 3L, List.of(200L), List.of()));
+        hub.onSelectionChanged(new VoteSelectionChangedEvent(VOTE_ID, 1L, List.of(), List.of(100L)));
+        hub.onSelectionChanged(new VoteSelectionChangedEvent(99L, 1L, List.of(1L), List.of())); // 구독자 없는 투표
+
+        await(() -> phone.sent.size() == 3);
+        assertThat(phone.sent.get(0)).isEqualTo(new VoteTallySnapshot(VOTE_ID, 0,
+                Map.of(100L, List.of(1L, 2L), 200L, List.of())));
+        assertThat(phone.sent.get(1)).isEqualTo(new VoteTallyDelta(1, 3L, List.of(200L), List.of()));
+        assertThat(phone.sent.get(2)).isEqualTo(new VoteTallyDelta(2, 1L, List.of(), List.of(100L)));
+        assertThat(hub.isTracking(99L)).isFalse();
+
+        // 나중에 들어온 구독자는 지금까지 반영된 현황을 받음
+        RecordingEmitter tablet = new RecordingEmitter();
+        hub.register(MEMBER_ID, VOTE_ID, tablet);
+        await(() -> tablet.sent.size() == 1);
+        assertThat(tablet.sent.getFirst()).isEqualTo(new VoteTallySnapshot(VOTE_ID, 2,
+                Map.of(100L, List.of(2L), 200L, List.of(3L))));
+    }
+
+    @Test
+    @DisplayName("투표가 속한 그룹의 멤버가 아니면 구독을 등록하지 않는다")
+    void subscribe_rejectsNonMembers() {
+        assertThatThrownBy(() -> hub.register(STRANGER_ID, VOTE_ID, new RecordingEmitter()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("그룹의 멤버");
+
+        assertThat(hub.isTracking(VOTE_ID)).isFalse();
+        assertThat(hub.getSubscriberCount()).isZero();
+        verifyNoInteractions(voteOptionRepository);
+    }
+
+    @Test
+    @DisplayName("DB에서 채우는 동안 커밋된 선택도 빠지지 않는다")
+    void selectionDuringSeed_isNotLost() throws InterruptedException {
+        given(voteOptionRepository.findTallyByVoteId(VOTE_ID)).willAnswer(invocation -> {
+            // 현황을 읽은 직후, 메모리에 채우기 전에 다른 요청이 커밋됨
+            hub.onSelectionChanged(new VoteSelectionChangedEvent(VOTE_ID, 2L, List.of(100L), List.of()));
+            return List.of(row(100L, 1L));
+        });
+        RecordingEmitter phone = new RecordingEmitter();
+        hub.register(MEMBER_ID, VOTE_ID, phone);
+
+        await(() -> !phone.sent.isEmpty());
+        assertThat(phone.sent.getFirst()).isEqualTo(new VoteTallySnapshot(VOTE_ID, 1, Map.of(100L, List.of(1L, 2L))));
+    }
+
+    @Test
+    @DisplayName("DB와 어긋난 현황은 주기적 비교로 다시 보내고, 마지막 구독자가 나가면 메모리에서 버린다")
+    void resync_andEvictWhenUnsubscribed() throws InterruptedException {
+        given(voteOptionRepository.findTallyByVoteId(VOTE_ID)).willReturn(List.of(row(100L, 1L)));
+        RecordingEmitter phone = new RecordingEmitter();
+        hub.register(MEMBER_ID, VOTE_ID, phone);
+
+        // 다른 인스턴스에서 커밋된 선택
+        given(voteOptionRepository.findTallyByVoteId(VOTE_ID)).willReturn(List.of(row(100L, 1L), row(100L, 5L)));
+        hub.resync();
+        hub.resync(); // 이미 같으면 보내지 않음
+
+        await(() -> phone.sent.size() == 2);
+        assertThat(phone.sent.get(1)).isEqualTo(new VoteTallySnapshot(VOTE_ID, 1, Map.of(100L, List.of(1L, 5L))));
+        assertThat(meterRegistry.get("vote.tally.resyncs").counter().count()).isEqualTo(1);
+
+        hub.onVoteClosed(new VoteClosedEvent(VOTE_ID));
+        await(() -> phone.completed);
+        assertThat(phone.sent.getLast()).isEqualTo(VOTE_ID);
+        assertThat(hub.isTracking(VOTE_ID)).isFalse();
+        assertThat(hub.getSubscriberCount()).isZero();
+    }
+
+    private VoteTallyRow row(Long optionId, Long userId) {
+        return new VoteTallyRow(optionId, "메뉴" + optionId, 10_000L, userId);
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("5초 안에 조건을 만족하지 않음").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    // 실제 HTTP 응답 대신 보낸 내용을 기록하는 SseEmitter
+    private static class RecordingEmitter extends SseEmitter {
+        final List<Object> sent = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(data -> !(data instanceof String)) // 이벤트 이름/ID 줄 제외
+                    .forEach(sent::add);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -1,8 +1,34 @@
 import apiClient from './apiClient';
-import { NotificationDto } from '../../types/notification.types';
+import { NotificationDto, NotificationPageDto } from '../../types/notification.types';
 
 /**
- * 현재 사용자의 알림 목록을 조회합니다.
+ * 현재 사용자의 알림 목록을 한 페이지씩 조회합니다. (최신순)
+ *
+ * @param cursor - 이전 페이지 응답의 nextCursor (첫 페이지면 생략)
+ * @param size - 페이지 크기 (기본 20, 최대 100)
+ * @returns Promise<NotificationPageDto> - 알림 목록과 다음 페이지 커서
+ *
+ * @throws {Error} 알림 목록 조회 실패 시 에러 발생
+ */
+export const getNotificationPage = async (
+  cursor?: string | null,
+  size: number = 20
+): Promise<NotificationPageDto> => {
+  try {
+    const response = await apiClient.get<NotificationPageDto>('/api/notifications', {
+      params: { cursor: cursor ?? undefined, size },
+    });
+    return response.data;
+  } catch (error: any) {
+    console.error('알림 목록 조회 API 에러:', error.response?.data || error.message);
+    throw new Error(
+      error.response?.data?.message || '알림 목록 조회에 실패했습니다.'
+    );
+  }
+};
+
+/**
+ * 현재 사용자의 최근 알림 목록(첫 페이지)을 조회합니다.
  * 정산 요청, 투표 생성, 지출 추가 등의 알림을 확인할 수 있습니다.
  *
  * @returns Promise<NotificationDto[]> - 알림 목록 배열
@@ -21,15 +47,8 @@ import { NotificationDto } from '../../types/notification.types';
  * ```
  */
 export const getNotifications = async (): Promise<NotificationDto[]> => {
-  try {
-    const response = await apiClient.get<NotificationDto[]>('/api/notifications');
-    return response.data;
-  } catch (error: any) {
-    console.error('알림 목록 조회 API 에러:', error.response?.data || error.message);
-    throw new Error(
-      error.response?.data?.message || '알림 목록 조회에 실패했습니다.'
-    );
-  }
+  const page = await getNotificationPage();
+  return page.notifications;
 };
 
 /**
@@ -85,22 +104,31 @@ export const markAsRead = async (notificationId: number): Promise<void> => {
  */
 export const markAllAsRead = async (): Promise<void> => {
   try {
-    // 모든 알림 조회
-    const notifications = await getNotifications();
-
-    // 읽지 않은 알림만 필터링
-    const unreadNotifications = notifications.filter(n => !n.isRead);
-
-    // 각 알림을 읽음 처리 (병렬 처리)
-    await Promise.all(
-      unreadNotifications.map(notification => markAsRead(notification.id))
-    );
+    // 서버에서 UPDATE 1번으로 일괄 처리
+    await apiClient.patch('/api/notifications/read');
   } catch (error: any) {
-    console.error('일괄 읽음 처리 에러:', error);
+    console.error('일괄 읽음 처리 에러:', error.response?.data || error.message);
     throw new Error('일괄 읽음 처리에 실패했습니다.');
   }
 };
 
+/**
+ * 모든 알림을 삭제합니다. (일괄 처리)
+ *
+ * @returns Promise<number> - 삭제된 알림 수
+ *
+ * @throws {Error} 일괄 삭제 실패 시 에러 발생
+ */
+export const deleteAllNotifications = async (): Promise<number> => {
+  try {
+    const response = await apiClient.delete<{ affectedCount: number }>('/api/notifications');
+    return response.data.affectedCount;
+  } catch (error: any) {
+    console.error('알림 일괄 삭제 에러:', error.response?.data || error.message);
+    throw new Error('알림 일괄 삭제에 실패했습니다.');
+  }
+};
+
 /**
  * 미읽음 알림 개수를 조회합니다.
  *
@@ -120,8 +148,8 @@ export const markAllAsRead = async (): Promise<void> => {
  */
 export const getUnreadCount = async (): Promise<number> => {
   try {
-    const notifications = await getNotifications();
-    return notifications.filter(n => !n.isRead).length;
+    const response = await apiClient.get<{ unreadCount: number }>('/api/notifications/unread-count');
+    return response.data.unreadCount;
   } catch (error: any) {
     console.error('미읽음 개수 조회 에러:', error);
     throw new Error('미읽음 개수 조회에 실패했습니다.');
@@ -1,5 +1,11 @@
 import apiClient from './apiClient';
-import { CastVoteRequest, VoteResponse } from '../../types/vote.types';
+import {
+  CastVoteRequest,
+  OngoingVoteSummary,
+  SetVoteSelectionRequest,
+  SubmitVoteSelectionsRequest,
+  VoteResponse,
+} from '../../types/vote.types';
 
 /**
  * 항목별 정산을 위한 투표를 생성합니다.
@@ -84,6 +90,48 @@ export const castVote = async (data: CastVoteRequest): Promise<string> => {
   }
 };
 
+/**
+ * 투표 선택 상태를 지정합니다.
+ * 토글(castVote)과 달리 원하는 최종 상태를 보내므로, 네트워크 오류로 다시 보내도 결과가 같습니다.
+ *
+ * @param data - 선택 상태 요청 데이터 (옵션 ID, 선택 여부 - 투표자는 로그인한 사용자)
+ * @returns Promise<string> - "투표 반영 완료" 메시지
+ *
+ * @throws {Error} 투표 실패 시 에러 발생
+ */
+export const setVoteSelection = async (data: SetVoteSelectionRequest): Promise<string> => {
+  try {
+    const response = await apiClient.put<string>('/api/votes/selection', data);
+    return response.data;
+  } catch (error: any) {
+    console.error('투표 선택 API 에러:', error.response?.data || error.message);
+    throw new Error(
+      error.response?.data?.message || '투표에 실패했습니다.'
+    );
+  }
+};
+
+/**
+ * 한 투표에서 내가 고른 항목 전체를 한 번에 제출합니다.
+ * 메뉴마다 castVote를 부르는 대신, 기존 선택을 이 목록으로 통째로 교체합니다.
+ *
+ * @param data - 제출 요청 데이터 (투표 ID, 선택한 옵션 ID 목록 - 투표자는 로그인한 사용자)
+ * @returns Promise<string> - "투표 반영 완료" 메시지
+ *
+ * @throws {Error} 투표 실패 시 에러 발생
+ */
+export const submitVoteSelections = async (data: SubmitVoteSelectionsRequest): Promise<string> => {
+  try {
+    const response = await apiClient.put<string>('/api/votes/selections', data);
+    return response.data;
+  } catch (error: any) {
+    console.error('투표 제출 API 에러:', error.response?.data || error.message);
+    throw new Error(
+      error.response?.data?.message || '투표에 실패했습니다.'
+    );
+  }
+};
+
 /**
  * 투표 현황을 조회합니다.
  * 각 옵션(메뉴)별로 누가 투표했는지 확인할 수 있습니다.
@@ -124,6 +172,26 @@ export const getVoteStatus = async (expenseId: number): Promise<VoteResponse | n
   }
 };
 
+/**
+ * 내가 속한 모든 그룹의 진행 중인 투표 목록을 조회합니다.
+ * 투표마다 현황을 따로 부르지 않아도 투표 인원과 내 참여 여부가 함께 옵니다.
+ *
+ * @returns Promise<OngoingVoteSummary[]> - 진행 중인 투표 목록 (지출 날짜 최신순)
+ *
+ * @throws {Error} 조회 실패 시 에러 발생
+ */
+export const getOngoingVotes = async (): Promise<OngoingVoteSummary[]> => {
+  try {
+    const response = await apiClient.get<OngoingVoteSummary[]>('/api/votes/ongoing');
+    return response.data;
+  } catch (error: any) {
+    console.error('진행 중인 투표 조회 API 에러:', error.response?.data || error.message);
+    throw new Error(
+      error.response?.data?.message || '진행 중인 투표 목록 조회에 실패했습니다.'
+    );
+  }
+};
+
 /**
  * 투표를 마감합니다.
  * 투표가 마감되면 더 이상 투표할 수 없으며, 정산이 생성됩니다.
@@ -9,7 +9,8 @@ export type NotificationType =
   | 'VOTE_CREATED'          // 투표 생성
   | 'VOTE_CLOSE'            // 투표 마감
   | 'EXPENSE_ADDED'         // 지출 추가
-  | 'GROUP_INVITE';         // 그룹 초대
+  | 'GROUP_INVITE'          // 그룹 초대
+  | 'NOTIFICATION_DIGEST';  // 묶음 알림 (푸시 전용, 탭하면 알림함으로 이동)
 
 /**
  * 알림 정보 DTO
@@ -22,3 +23,12 @@ export interface NotificationDto {
   isRead: boolean;
   createdAt: string;
 }
+
+/**
+ * 알림 목록 페이지 (커서 페이지네이션)
+ */
+export interface NotificationPageDto {
+  notifications: NotificationDto[];
+  nextCursor: string | null; // 다음 페이지 요청 시 넘길 커서 (마지막 페이지면 null)
+  hasNext: boolean;
+}
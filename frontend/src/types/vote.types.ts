@@ -8,6 +8,22 @@ export interface CastVoteRequest {
   optionId: number;
 }
 
+/**
+ * 투표 선택 상태 지정 요청 DTO (재시도해도 결과가 같음, 투표자는 로그인한 사용자)
+ */
+export interface SetVoteSelectionRequest {
+  optionId: number;
+  selected: boolean;
+}
+
+/**
+ * 내 선택 목록 제출 요청 DTO (기존 선택을 이 목록으로 교체, 빈 배열이면 전부 해제, 투표자는 로그인한 사용자)
+ */
+export interface SubmitVoteSelectionsRequest {
+  voteId: number;
+  optionIds: number[];
+}
+
 /**
  * 투표 현황 응답 DTO
  */
@@ -16,6 +32,7 @@ export interface VoteResponse {
   expenseId: number;
   payerId: number; // 지출 등록자 ID (투표 생성자)
   isClosed: boolean;
+  deadline: string; // 자동 마감 시각 (ISO 8601), 지나면 마감되고 항목별 정산이 생성됨
   options: VoteOptionDto[];
 }
 
@@ -28,3 +45,17 @@ export interface VoteOptionDto {
   price: number;
   votedUserIds: number[]; // 이 항목에 투표한 사용자 ID 목록
 }
+
+/**
+ * 진행 중인 투표 목록 항목 DTO (내 그룹들의 마감 전 투표)
+ */
+export interface OngoingVoteSummary {
+  voteId: number;
+  expenseId: number;
+  expenseTitle: string;
+  amount: number;
+  expenseDate: string; // ISO 8601
+  groupName: string;
+  voterCount: number; // 한 항목 이상 고른 인원
+  votedByMe: boolean;
+}